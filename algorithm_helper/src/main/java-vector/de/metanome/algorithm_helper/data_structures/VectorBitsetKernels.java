@@ -0,0 +1,139 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.algorithm_helper.data_structures;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API implementation of the {@link BitsetKernels}. This class must only be loaded if the
+ * jdk.incubator.vector module is present, use {@link BitsetKernels#getInstance()} to obtain it.
+ * Batched subset tests are vectorized across sets and therefore only for single word sets (up to
+ * 64 columns), wider sets use the scalar loop.
+ */
+class VectorBitsetKernels extends BitsetKernels.ScalarBitsetKernels {
+
+  protected static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+  protected static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+
+  @Override
+  public boolean isVectorized() {
+    return true;
+  }
+
+  @Override
+  public void and(long[] a, long[] b, long[] result, int length) {
+    int i = 0;
+    for (int bound = LONGS.loopBound(length); i < bound; i += LONGS.length()) {
+      LongVector.fromArray(LONGS, a, i).and(LongVector.fromArray(LONGS, b, i)).intoArray(result, i);
+    }
+    for (; i < length; i++) {
+      result[i] = a[i] & b[i];
+    }
+  }
+
+  @Override
+  public void or(long[] a, long[] b, long[] result, int length) {
+    int i = 0;
+    for (int bound = LONGS.loopBound(length); i < bound; i += LONGS.length()) {
+      LongVector.fromArray(LONGS, a, i).or(LongVector.fromArray(LONGS, b, i)).intoArray(result, i);
+    }
+    for (; i < length; i++) {
+      result[i] = a[i] | b[i];
+    }
+  }
+
+  @Override
+  public void andNot(long[] a, long[] b, long[] result, int length) {
+    int i = 0;
+    for (int bound = LONGS.loopBound(length); i < bound; i += LONGS.length()) {
+      LongVector.fromArray(LONGS, a, i)
+        .lanewise(VectorOperators.AND_NOT, LongVector.fromArray(LONGS, b, i))
+        .intoArray(result, i);
+    }
+    for (; i < length; i++) {
+      result[i] = a[i] & ~b[i];
+    }
+  }
+
+  @Override
+  public long popcount(long[] words, int length) {
+    LongVector counts = LongVector.zero(LONGS);
+    int i = 0;
+    for (int bound = LONGS.loopBound(length); i < bound; i += LONGS.length()) {
+      counts = counts.add(LongVector.fromArray(LONGS, words, i).lanewise(VectorOperators.BIT_COUNT));
+    }
+    long count = counts.reduceLanes(VectorOperators.ADD);
+    for (; i < length; i++) {
+      count += Long.bitCount(words[i]);
+    }
+    return count;
+  }
+
+  @Override
+  public int subsetsOf(long[] query, long[] sets, int wordsPerSet, int numberOfSets,
+                       boolean[] result) {
+    if (wordsPerSet != 1) {
+      return super.subsetsOf(query, sets, wordsPerSet, numberOfSets, result);
+    }
+
+    LongVector queryVector = LongVector.broadcast(LONGS, query[0]);
+    int count = 0;
+    int set = 0;
+    for (int bound = LONGS.loopBound(numberOfSets); set < bound; set += LONGS.length()) {
+      VectorMask<Long> isSubset = LongVector.fromArray(LONGS, sets, set)
+        .lanewise(VectorOperators.AND_NOT, queryVector)
+        .eq(0);
+      isSubset.intoArray(result, set);
+      count += isSubset.trueCount();
+    }
+    return count + super.subsetsOf(query, sets, wordsPerSet, set, numberOfSets, result);
+  }
+
+  @Override
+  public int supersetsOf(long[] query, long[] sets, int wordsPerSet, int numberOfSets,
+                         boolean[] result) {
+    if (wordsPerSet != 1) {
+      return super.supersetsOf(query, sets, wordsPerSet, numberOfSets, result);
+    }
+
+    LongVector queryVector = LongVector.broadcast(LONGS, query[0]);
+    int count = 0;
+    int set = 0;
+    for (int bound = LONGS.loopBound(numberOfSets); set < bound; set += LONGS.length()) {
+      VectorMask<Long> isSuperset = queryVector
+        .lanewise(VectorOperators.AND_NOT, LongVector.fromArray(LONGS, sets, set))
+        .eq(0);
+      isSuperset.intoArray(result, set);
+      count += isSuperset.trueCount();
+    }
+    return count + super.supersetsOf(query, sets, wordsPerSet, set, numberOfSets, result);
+  }
+
+  @Override
+  public void gather(int[] table, int[] indices, int length, int[] result) {
+    int i = 0;
+    for (int bound = INTS.loopBound(length); i < bound; i += INTS.length()) {
+      IntVector.fromArray(INTS, table, 0, indices, i).intoArray(result, i);
+    }
+    for (; i < length; i++) {
+      result[i] = table[indices[i]];
+    }
+  }
+}
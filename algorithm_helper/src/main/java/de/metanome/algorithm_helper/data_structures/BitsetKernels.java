@@ -0,0 +1,235 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.algorithm_helper.data_structures;
+
+/**
+ * Bulk operations on bitsets stored as long words and on probing tables. The implementation is
+ * selected at runtime: if the JVM was started with {@code --add-modules jdk.incubator.vector} the
+ * operations use the Vector API, otherwise a scalar fallback is used. The vectorized implementation
+ * can be switched off by setting the system property {@value #VECTORIZATION_PROPERTY} to false.
+ * Builds without the vector kernels, see the module's pom, always use the scalar fallback.
+ * <p>
+ * Sets of a batch are stored consecutively in one long array, each occupying wordsPerSet words.
+ */
+public abstract class BitsetKernels {
+
+  public static final String VECTORIZATION_PROPERTY = "metanome.vectorization";
+
+  protected static final String VECTOR_MODULE = "jdk.incubator.vector";
+  protected static final String VECTOR_KERNELS_CLASS =
+    "de.metanome.algorithm_helper.data_structures.VectorBitsetKernels";
+
+  private static final BitsetKernels INSTANCE = createInstance();
+
+  /**
+   * @return the fastest implementation available in this JVM
+   */
+  public static BitsetKernels getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * @return the scalar implementation
+   */
+  public static BitsetKernels getScalarInstance() {
+    return new ScalarBitsetKernels();
+  }
+
+  protected static BitsetKernels createInstance() {
+    if (!Boolean.parseBoolean(System.getProperty(VECTORIZATION_PROPERTY, "true")) ||
+      !ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+      return getScalarInstance();
+    }
+    try {
+      return (BitsetKernels) Class.forName(VECTOR_KERNELS_CLASS).getDeclaredConstructor()
+        .newInstance();
+    } catch (ReflectiveOperationException | LinkageError e) {
+      return getScalarInstance();
+    }
+  }
+
+  /**
+   * @return true, if the operations use the Vector API
+   */
+  public abstract boolean isVectorized();
+
+  /**
+   * Stores a AND b in result.
+   *
+   * @param a      the first words
+   * @param b      the second words
+   * @param result the array to store the result in (may be a or b)
+   * @param length the number of words
+   */
+  public abstract void and(long[] a, long[] b, long[] result, int length);
+
+  /**
+   * Stores a OR b in result.
+   *
+   * @param a      the first words
+   * @param b      the second words
+   * @param result the array to store the result in (may be a or b)
+   * @param length the number of words
+   */
+  public abstract void or(long[] a, long[] b, long[] result, int length);
+
+  /**
+   * Stores a AND NOT b in result.
+   *
+   * @param a      the first words
+   * @param b      the second words
+   * @param result the array to store the result in (may be a or b)
+   * @param length the number of words
+   */
+  public abstract void andNot(long[] a, long[] b, long[] result, int length);
+
+  /**
+   * @param words  the words
+   * @param length the number of words
+   * @return the number of set bits in the words
+   */
+  public abstract long popcount(long[] words, int length);
+
+  /**
+   * Marks all sets of the batch that are subsets of the query.
+   *
+   * @param query        the words of the potential superset
+   * @param sets         the batch of sets
+   * @param wordsPerSet  the number of words of every set
+   * @param numberOfSets the number of sets in the batch
+   * @param result       result[i] is set to true, if set i is a subset of the query
+   * @return the number of subsets
+   */
+  public abstract int subsetsOf(long[] query, long[] sets, int wordsPerSet, int numberOfSets,
+                                boolean[] result);
+
+  /**
+   * Marks all sets of the batch that are supersets of the query.
+   *
+   * @param query        the words of the potential subset
+   * @param sets         the batch of sets
+   * @param wordsPerSet  the number of words of every set
+   * @param numberOfSets the number of sets in the batch
+   * @param result       result[i] is set to true, if set i is a superset of the query
+   * @return the number of supersets
+   */
+  public abstract int supersetsOf(long[] query, long[] sets, int wordsPerSet, int numberOfSets,
+                                  boolean[] result);
+
+  /**
+   * Looks up the given indices in the table, i.e. result[i] = table[indices[i]].
+   *
+   * @param table   the probing table
+   * @param indices the indices to look up
+   * @param length  the number of indices
+   * @param result  the array to store the looked up values in
+   */
+  public abstract void gather(int[] table, int[] indices, int length, int[] result);
+
+  /**
+   * Scalar implementation of all kernels.
+   */
+  static class ScalarBitsetKernels extends BitsetKernels {
+
+    @Override
+    public boolean isVectorized() {
+      return false;
+    }
+
+    @Override
+    public void and(long[] a, long[] b, long[] result, int length) {
+      for (int i = 0; i < length; i++) {
+        result[i] = a[i] & b[i];
+      }
+    }
+
+    @Override
+    public void or(long[] a, long[] b, long[] result, int length) {
+      for (int i = 0; i < length; i++) {
+        result[i] = a[i] | b[i];
+      }
+    }
+
+    @Override
+    public void andNot(long[] a, long[] b, long[] result, int length) {
+      for (int i = 0; i < length; i++) {
+        result[i] = a[i] & ~b[i];
+      }
+    }
+
+    @Override
+    public long popcount(long[] words, int length) {
+      long count = 0;
+      for (int i = 0; i < length; i++) {
+        count += Long.bitCount(words[i]);
+      }
+      return count;
+    }
+
+    @Override
+    public int subsetsOf(long[] query, long[] sets, int wordsPerSet, int numberOfSets,
+                         boolean[] result) {
+      return subsetsOf(query, sets, wordsPerSet, 0, numberOfSets, result);
+    }
+
+    protected int subsetsOf(long[] query, long[] sets, int wordsPerSet, int fromSet, int toSet,
+                            boolean[] result) {
+      int count = 0;
+      for (int set = fromSet; set < toSet; set++) {
+        boolean isSubset = true;
+        int offset = set * wordsPerSet;
+        for (int word = 0; word < wordsPerSet && isSubset; word++) {
+          isSubset = (sets[offset + word] & ~query[word]) == 0;
+        }
+        result[set] = isSubset;
+        if (isSubset) {
+          count++;
+        }
+      }
+      return count;
+    }
+
+    @Override
+    public int supersetsOf(long[] query, long[] sets, int wordsPerSet, int numberOfSets,
+                           boolean[] result) {
+      return supersetsOf(query, sets, wordsPerSet, 0, numberOfSets, result);
+    }
+
+    protected int supersetsOf(long[] query, long[] sets, int wordsPerSet, int fromSet, int toSet,
+                              boolean[] result) {
+      int count = 0;
+      for (int set = fromSet; set < toSet; set++) {
+        boolean isSuperset = true;
+        int offset = set * wordsPerSet;
+        for (int word = 0; word < wordsPerSet && isSuperset; word++) {
+          isSuperset = (query[word] & ~sets[offset + word]) == 0;
+        }
+        result[set] = isSuperset;
+        if (isSuperset) {
+          count++;
+        }
+      }
+      return count;
+    }
+
+    @Override
+    public void gather(int[] table, int[] indices, int length, int[] result) {
+      for (int i = 0; i < length; i++) {
+        result[i] = table[indices[i]];
+      }
+    }
+  }
+}
@@ -0,0 +1,34 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.algorithm_helper.data_structures;
+
+/**
+ * Pruning callback of the {@link LatticeTraversal}. Pruned candidates are neither validated nor
+ * extended to larger candidates, so an algorithm can cut off parts of the lattice it knows to be
+ * irrelevant (e.g. column combinations containing a constant column). Pruning should be upwards
+ * closed, i.e. all supersets of a pruned column combination should be pruned as well, because the
+ * depth first traversal may reach a superset before the pruned column combination itself.
+ * <p>
+ * Pruners are called concurrently by several threads and have to be thread safe.
+ */
+public interface CandidatePruner {
+
+  /**
+   * @param candidate the column combination to check
+   * @return true, if the column combination and its supersets should not be visited
+   */
+  boolean canBePruned(ColumnCombinationBitset candidate);
+}
@@ -0,0 +1,35 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.algorithm_helper.data_structures;
+
+import de.metanome.algorithm_integration.AlgorithmExecutionException;
+
+/**
+ * Validation callback of the {@link LatticeTraversal}. The validated property has to be monotone
+ * upwards in the lattice, i.e. if a column combination is valid all its supersets are valid, too
+ * (e.g. uniqueness or the left hand side of a functional dependency with a fixed right hand side).
+ * <p>
+ * Validators are called concurrently by several threads and have to be thread safe.
+ */
+public interface CandidateValidator {
+
+  /**
+   * @param candidate the column combination to validate
+   * @return true, if the property holds for the column combination
+   * @throws AlgorithmExecutionException if the validation fails
+   */
+  boolean isValid(ColumnCombinationBitset candidate) throws AlgorithmExecutionException;
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.algorithm_helper.data_structures;
+
+/**
+ * An estimated number of distinct values together with the interval the exact number lies in with
+ * high probability. Estimates are created by {@link HyperLogLog} and {@link SampledDistinctCounter}.
+ */
+public class CardinalityEstimate {
+
+  protected double estimate;
+  protected double lowerBound;
+  protected double upperBound;
+
+  public CardinalityEstimate(double estimate, double lowerBound, double upperBound) {
+    this.estimate = estimate;
+    this.lowerBound = lowerBound;
+    this.upperBound = upperBound;
+  }
+
+  public double getEstimate() {
+    return estimate;
+  }
+
+  public double getLowerBound() {
+    return lowerBound;
+  }
+
+  public double getUpperBound() {
+    return upperBound;
+  }
+
+  /**
+   * @param value the exact value
+   * @return true, if the value lies within the bounds of the estimate
+   */
+  public boolean contains(double value) {
+    return lowerBound <= value && value <= upperBound;
+  }
+
+  /**
+   * Converts the distinct count estimate into an estimate of the raw key error, i.e. the number of
+   * rows that have to be removed to make the column (combination) unique (see {@link
+   * PositionListIndex#getRawKeyError()}).
+   *
+   * @param numberOfRows the number of rows of the input
+   * @return the raw key error estimate
+   */
+  public CardinalityEstimate toRawKeyErrorEstimate(long numberOfRows) {
+    return new CardinalityEstimate(
+      Math.max(0, numberOfRows - estimate),
+      Math.max(0, numberOfRows - upperBound),
+      Math.max(0, numberOfRows - lowerBound));
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%.1f [%.1f, %.1f]", estimate, lowerBound, upperBound);
+  }
+}
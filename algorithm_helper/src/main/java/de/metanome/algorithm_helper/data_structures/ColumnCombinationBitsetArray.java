@@ -0,0 +1,141 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.algorithm_helper.data_structures;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A batch of {@link ColumnCombinationBitset}s packed into one long array. Subset and superset
+ * lookups test all column combinations of the batch at once with the {@link BitsetKernels}, which
+ * is faster than the {@link SubSetGraph} and {@link SuperSetGraph} for small and dense candidate
+ * lists, e.g. the candidates of one lattice level.
+ */
+public class ColumnCombinationBitsetArray {
+
+  protected static final int INITIAL_CAPACITY = 16;
+
+  protected BitsetKernels kernels;
+  protected int wordsPerSet;
+  protected long[] words;
+  protected int size = 0;
+
+  /**
+   * @param numberOfColumns the maximal number of columns of the column combinations
+   */
+  public ColumnCombinationBitsetArray(int numberOfColumns) {
+    this(numberOfColumns, BitsetKernels.getInstance());
+  }
+
+  protected ColumnCombinationBitsetArray(int numberOfColumns, BitsetKernels kernels) {
+    this.kernels = kernels;
+    this.wordsPerSet = Math.max(1, (numberOfColumns + Long.SIZE - 1) / Long.SIZE);
+    this.words = new long[INITIAL_CAPACITY * wordsPerSet];
+  }
+
+  /**
+   * Adds a column combination to the batch.
+   *
+   * @param columnCombination the column combination to add
+   * @return the batch
+   */
+  public ColumnCombinationBitsetArray add(ColumnCombinationBitset columnCombination) {
+    if ((size + 1) * wordsPerSet > words.length) {
+      words = Arrays.copyOf(words, words.length * 2);
+    }
+    long[] setWords = toWords(columnCombination);
+    System.arraycopy(setWords, 0, words, size * wordsPerSet, wordsPerSet);
+    size++;
+    return this;
+  }
+
+  /**
+   * @param index the index of the column combination in the batch
+   * @return the column combination
+   */
+  public ColumnCombinationBitset get(int index) {
+    long[] setWords = Arrays.copyOfRange(words, index * wordsPerSet, (index + 1) * wordsPerSet);
+    return new ColumnCombinationBitset().setColumns(BitSet.valueOf(setWords));
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @param superset the potential superset
+   * @return all column combinations of the batch that are subsets of the given column combination
+   */
+  public List<ColumnCombinationBitset> getSubsetsOf(ColumnCombinationBitset superset) {
+    boolean[] isSubset = new boolean[size];
+    kernels.subsetsOf(toWords(superset), words, wordsPerSet, size, isSubset);
+    return select(isSubset);
+  }
+
+  /**
+   * @param superset the potential superset
+   * @return whether at least one column combination of the batch is a subset of the given one
+   */
+  public boolean containsSubsetOf(ColumnCombinationBitset superset) {
+    return kernels.subsetsOf(toWords(superset), words, wordsPerSet, size, new boolean[size]) > 0;
+  }
+
+  /**
+   * @param subset the potential subset
+   * @return all column combinations of the batch that are supersets of the given column combination
+   */
+  public List<ColumnCombinationBitset> getSupersetsOf(ColumnCombinationBitset subset) {
+    boolean[] isSuperset = new boolean[size];
+    kernels.supersetsOf(toWords(subset), words, wordsPerSet, size, isSuperset);
+    return select(isSuperset);
+  }
+
+  /**
+   * @param subset the potential subset
+   * @return whether at least one column combination of the batch is a superset of the given one
+   */
+  public boolean containsSupersetOf(ColumnCombinationBitset subset) {
+    return kernels.supersetsOf(toWords(subset), words, wordsPerSet, size, new boolean[size]) > 0;
+  }
+
+  /**
+   * @return the summed number of columns of all column combinations in the batch
+   */
+  public long getTotalColumnCount() {
+    return kernels.popcount(words, size * wordsPerSet);
+  }
+
+  protected List<ColumnCombinationBitset> select(boolean[] selection) {
+    List<ColumnCombinationBitset> result = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      if (selection[i]) {
+        result.add(get(i));
+      }
+    }
+    return result;
+  }
+
+  protected long[] toWords(ColumnCombinationBitset columnCombination) {
+    long[] setWords = columnCombination.bitset.toLongArray();
+    if (setWords.length > wordsPerSet) {
+      throw new IllegalArgumentException(
+        "The column combination " + columnCombination + " exceeds the number of columns.");
+    }
+    return Arrays.copyOf(setWords, wordsPerSet);
+  }
+}
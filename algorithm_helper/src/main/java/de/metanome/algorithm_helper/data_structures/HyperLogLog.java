@@ -0,0 +1,239 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.algorithm_helper.data_structures;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A HyperLogLog sketch estimates the number of distinct values of a column or column combination in
+ * a fixed amount of memory (2^precision bytes). The relative standard error of an estimate is
+ * 1.04 / sqrt(2^precision). Sketches of the same precision can be merged, so that partitions of an
+ * input can be sketched independently. Null values are treated as equal.
+ */
+public class HyperLogLog {
+
+  public static final int DEFAULT_PRECISION = 14;
+  public static final int MIN_PRECISION = 4;
+  public static final int MAX_PRECISION = 18;
+
+  protected static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+  protected int precision;
+  protected byte[] registers;
+
+  /**
+   * Constructs a sketch with {@link #DEFAULT_PRECISION}, i.e. a standard error of 0.8%.
+   */
+  public HyperLogLog() {
+    this(DEFAULT_PRECISION);
+  }
+
+  /**
+   * @param precision the number of index bits (between {@link #MIN_PRECISION} and {@link
+   *                  #MAX_PRECISION})
+   */
+  public HyperLogLog(int precision) {
+    if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+      throw new IllegalArgumentException(
+        "The precision has to be between " + MIN_PRECISION + " and " + MAX_PRECISION + ".");
+    }
+    this.precision = precision;
+    this.registers = new byte[1 << precision];
+  }
+
+  /**
+   * Adds a single column value to the sketch.
+   *
+   * @param value the value (may be null)
+   * @return the sketch
+   */
+  public HyperLogLog add(String value) {
+    return addHash(hash(value));
+  }
+
+  /**
+   * Adds the values of a column combination in one row to the sketch.
+   *
+   * @param values the values of the columns (may contain null)
+   * @return the sketch
+   */
+  public HyperLogLog add(List<String> values) {
+    return addHash(hash(values));
+  }
+
+  /**
+   * Adds an already hashed value to the sketch. The hash has to be uniformly distributed over all
+   * 64 bits.
+   *
+   * @param hash the hash of the value
+   * @return the sketch
+   */
+  public HyperLogLog addHash(long hash) {
+    int index = (int) (hash >>> (Long.SIZE - precision));
+    long remainder = hash << precision;
+    int rank = Math.min(Long.numberOfLeadingZeros(remainder), Long.SIZE - precision) + 1;
+    if (rank > registers[index]) {
+      registers[index] = (byte) rank;
+    }
+    return this;
+  }
+
+  /**
+   * Merges the other sketch into this sketch. Afterwards this sketch estimates the number of
+   * distinct values of the union of both inputs.
+   *
+   * @param other the sketch to merge
+   * @return the sketch
+   * @throws IllegalArgumentException if the sketches have different precisions
+   */
+  public HyperLogLog merge(HyperLogLog other) {
+    if (other.precision != this.precision) {
+      throw new IllegalArgumentException("Only sketches of the same precision can be merged.");
+    }
+    for (int i = 0; i < registers.length; i++) {
+      if (other.registers[i] > registers[i]) {
+        registers[i] = other.registers[i];
+      }
+    }
+    return this;
+  }
+
+  /**
+   * @return the estimated number of distinct values
+   */
+  public double estimate() {
+    int numberOfRegisters = registers.length;
+    double sum = 0;
+    int emptyRegisters = 0;
+    for (byte register : registers) {
+      sum += 1.0 / (1L << register);
+      if (register == 0) {
+        emptyRegisters++;
+      }
+    }
+
+    double estimate = getAlpha(numberOfRegisters) * numberOfRegisters * numberOfRegisters / sum;
+
+    // Use linear counting for small cardinalities
+    if (estimate <= 2.5 * numberOfRegisters && emptyRegisters > 0) {
+      estimate = numberOfRegisters * Math.log((double) numberOfRegisters / emptyRegisters);
+    }
+    return estimate;
+  }
+
+  /**
+   * Returns the estimate together with a confidence interval of the given number of standard
+   * errors, e.g. 2 for a confidence of about 95%.
+   *
+   * @param standardErrors the width of the interval in standard errors
+   * @return the estimate and its confidence interval
+   */
+  public CardinalityEstimate getEstimate(double standardErrors) {
+    double estimate = estimate();
+    double error = standardErrors * getRelativeStandardError() * estimate;
+    return new CardinalityEstimate(estimate, Math.max(0, estimate - error), estimate + error);
+  }
+
+  /**
+   * @return the relative standard error of the estimates of this sketch
+   */
+  public double getRelativeStandardError() {
+    return 1.04 / Math.sqrt(registers.length);
+  }
+
+  public int getPrecision() {
+    return precision;
+  }
+
+  public boolean isEmpty() {
+    for (byte register : registers) {
+      if (register != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  protected static double getAlpha(int numberOfRegisters) {
+    switch (numberOfRegisters) {
+      case 16:
+        return 0.673;
+      case 32:
+        return 0.697;
+      case 64:
+        return 0.709;
+      default:
+        return 0.7213 / (1 + 1.079 / numberOfRegisters);
+    }
+  }
+
+  /**
+   * Hashes a single value consistently with a single element column combination.
+   *
+   * @param value the value (may be null)
+   * @return the 64 bit hash
+   */
+  public static long hash(String value) {
+    Hasher hasher = HASH_FUNCTION.newHasher();
+    putValue(hasher, value);
+    return hasher.hash().asLong();
+  }
+
+  /**
+   * @param values the values of a column combination (may contain null)
+   * @return the 64 bit hash
+   */
+  public static long hash(List<String> values) {
+    Hasher hasher = HASH_FUNCTION.newHasher();
+    for (String value : values) {
+      putValue(hasher, value);
+    }
+    return hasher.hash().asLong();
+  }
+
+  protected static void putValue(Hasher hasher, String value) {
+    // The length prefix keeps ("ab", "c") and ("a", "bc") apart
+    if (value == null) {
+      hasher.putInt(-1);
+    } else {
+      hasher.putInt(value.length());
+      hasher.putString(value, StandardCharsets.UTF_8);
+    }
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * precision + Arrays.hashCode(registers);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    HyperLogLog other = (HyperLogLog) obj;
+    return precision == other.precision && Arrays.equals(registers, other.registers);
+  }
+}
@@ -0,0 +1,346 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.algorithm_helper.data_structures;
+
+import de.metanome.algorithm_integration.input.InputIterationException;
+import de.metanome.algorithm_integration.input.RelationalInput;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.util.*;
+
+/**
+ * Maintains the {@link PositionListIndex}es of an append-only input. In contrast to the {@link
+ * PLIBuilder} the value dictionaries of all columns are kept, so that appended rows can be added
+ * to the existing clusters. PLIs of column combinations are either registered and maintained
+ * with every append or updated on demand. Both keep an index from the value ids of a row to its
+ * cluster, which the first update of a combination builds once over all rows. Afterwards, every
+ * appended row is added with a single lookup, so the cost of an append is proportional to the
+ * delta instead of the whole input. The kept indexes cost memory proportional to the rows.
+ * <p>
+ * Every append reports which clusters changed, so that validators only have to recheck the
+ * dependencies affected by the new rows. Row positions are limited to the integer range.
+ */
+public class IncrementalPLIBuilder {
+
+  protected static final int NULL_CLUSTER = -1;
+
+  protected boolean nullEqualsNull;
+  protected long numberOfTuples = 0;
+  // Per column: value -> cluster id
+  protected List<Object2IntOpenHashMap<String>> dictionaries = new ArrayList<>();
+  // Per column: cluster id -> row positions (including clusters of size 1)
+  protected List<List<LongArrayList>> columnClusters = new ArrayList<>();
+  // Per column: row position -> cluster id
+  protected List<IntArrayList> records = new ArrayList<>();
+  protected Map<ColumnCombinationBitset, MaintainedPLI> registeredPLIs = new LinkedHashMap<>();
+  // Column combinations updated on demand, kept for their next update
+  protected Map<ColumnCombinationBitset, MaintainedPLI> updatedPLIs = new HashMap<>();
+
+  public IncrementalPLIBuilder() {
+    this(true);
+  }
+
+  public IncrementalPLIBuilder(boolean nullEqualsNull) {
+    this.nullEqualsNull = nullEqualsNull;
+  }
+
+  /**
+   * Appends all rows of the given input. The first call reads the initial input.
+   *
+   * @param input the appended rows
+   * @return the changes of all single column PLIs and all registered column combination PLIs
+   * @throws InputIterationException if the input cannot be iterated
+   */
+  public Map<ColumnCombinationBitset, PositionListIndexDelta> append(RelationalInput input)
+    throws InputIterationException {
+    long firstAppendedRow = this.numberOfTuples;
+    List<IntLinkedOpenHashSet> changedColumnClusters = new ArrayList<>();
+
+    while (input.hasNext()) {
+      List<String> row = input.next();
+      int columnCount = 0;
+      for (String cellValue : row) {
+        if (changedColumnClusters.size() <= columnCount) {
+          changedColumnClusters.add(new IntLinkedOpenHashSet());
+        }
+        int clusterId = addValue(this.numberOfTuples, columnCount, cellValue);
+        if (clusterId != NULL_CLUSTER &&
+          columnClusters.get(columnCount).get(clusterId).size() > 1) {
+          changedColumnClusters.get(columnCount).add(clusterId);
+        }
+        columnCount++;
+      }
+      this.numberOfTuples++;
+    }
+
+    Map<ColumnCombinationBitset, PositionListIndexDelta> deltas = new LinkedHashMap<>();
+    for (int columnIndex = 0; columnIndex < changedColumnClusters.size(); columnIndex++) {
+      List<LongArrayList> changedClusters = new ArrayList<>();
+      for (int clusterId : changedColumnClusters.get(columnIndex)) {
+        changedClusters.add(columnClusters.get(columnIndex).get(clusterId));
+      }
+      ColumnCombinationBitset column = new ColumnCombinationBitset(columnIndex);
+      deltas.put(column, new PositionListIndexDelta(column, firstAppendedRow, changedClusters));
+    }
+    for (MaintainedPLI maintainedPLI : registeredPLIs.values()) {
+      deltas.put(maintainedPLI.columnCombination, maintainedPLI.update());
+    }
+
+    return deltas;
+  }
+
+  protected int addValue(long rowCount, int columnCount, String attributeCell) {
+    if (columnClusters.size() <= columnCount) {
+      Object2IntOpenHashMap<String> dictionary = new Object2IntOpenHashMap<>();
+      dictionary.defaultReturnValue(NULL_CLUSTER);
+      dictionaries.add(dictionary);
+      columnClusters.add(new ArrayList<LongArrayList>());
+      records.add(new IntArrayList());
+    }
+
+    IntArrayList record = records.get(columnCount);
+    if (!this.nullEqualsNull && attributeCell == null) {
+      record.add(NULL_CLUSTER);
+      return NULL_CLUSTER;
+    }
+
+    List<LongArrayList> clusters = columnClusters.get(columnCount);
+    Object2IntOpenHashMap<String> dictionary = dictionaries.get(columnCount);
+    int clusterId = dictionary.getInt(attributeCell);
+    if (clusterId == NULL_CLUSTER) {
+      clusterId = clusters.size();
+      dictionary.put(attributeCell, clusterId);
+      clusters.add(new LongArrayList());
+    }
+    clusters.get(clusterId).add(rowCount);
+    record.add(clusterId);
+    return clusterId;
+  }
+
+  /**
+   * @param columnIndex the index of the column
+   * @return the current {@link PositionListIndex} of the column
+   */
+  public PositionListIndex getPLI(int columnIndex) {
+    List<LongArrayList> clusters = new ArrayList<>();
+    for (LongArrayList cluster : columnClusters.get(columnIndex)) {
+      if (cluster.size() < 2) {
+        continue;
+      }
+      clusters.add(cluster.clone());
+    }
+    return new PositionListIndex(clusters);
+  }
+
+  /**
+   * @return the current {@link PositionListIndex}es of all columns
+   */
+  public List<PositionListIndex> getPLIList() {
+    List<PositionListIndex> result = new ArrayList<>();
+    for (int columnIndex = 0; columnIndex < columnClusters.size(); columnIndex++) {
+      result.add(getPLI(columnIndex));
+    }
+    return result;
+  }
+
+  /**
+   * Starts maintaining the PLI of the given column combination with every append.
+   *
+   * @param columnCombination the column combination
+   * @return the current PLI of the column combination
+   */
+  public PositionListIndex register(ColumnCombinationBitset columnCombination) {
+    MaintainedPLI maintainedPLI = registeredPLIs.get(columnCombination);
+    if (maintainedPLI == null) {
+      maintainedPLI = updatedPLIs.remove(columnCombination);
+      if (maintainedPLI == null) {
+        maintainedPLI = new MaintainedPLI(new ColumnCombinationBitset(columnCombination));
+      }
+      maintainedPLI.update();
+      registeredPLIs.put(maintainedPLI.columnCombination, maintainedPLI);
+    }
+    return maintainedPLI.getPLI();
+  }
+
+  /**
+   * Stops maintaining the PLI of the given column combination.
+   *
+   * @param columnCombination the column combination
+   */
+  public void unregister(ColumnCombinationBitset columnCombination) {
+    registeredPLIs.remove(columnCombination);
+  }
+
+  /**
+   * @param columnCombination a registered column combination
+   * @return the current PLI of the column combination or null if it is not registered
+   */
+  public PositionListIndex getRegisteredPLI(ColumnCombinationBitset columnCombination) {
+    MaintainedPLI maintainedPLI = registeredPLIs.get(columnCombination);
+    return maintainedPLI == null ? null : maintainedPLI.getPLI();
+  }
+
+  /**
+   * Updates the PLI of a column combination, that was calculated before the rows starting at
+   * firstAppendedRow were appended. The index of the combination is kept, so that its next
+   * update only adds the rows appended in the meantime.
+   *
+   * @param columnCombination the column combination
+   * @param oldPLI            the PLI of the column combination on the old rows
+   * @param firstAppendedRow  the number of rows the old PLI was calculated on
+   * @return the current PLI of the column combination
+   */
+  public PositionListIndex update(ColumnCombinationBitset columnCombination,
+                                  PositionListIndex oldPLI, long firstAppendedRow) {
+    if (firstAppendedRow == numberOfTuples) {
+      return oldPLI;
+    }
+    MaintainedPLI maintainedPLI = registeredPLIs.get(columnCombination);
+    if (maintainedPLI != null) {
+      return maintainedPLI.getPLI();
+    }
+    maintainedPLI = updatedPLIs.get(columnCombination);
+    if (maintainedPLI == null) {
+      maintainedPLI = new MaintainedPLI(new ColumnCombinationBitset(columnCombination));
+      updatedPLIs.put(maintainedPLI.columnCombination, maintainedPLI);
+    }
+    maintainedPLI.update();
+    return maintainedPLI.getPLI();
+  }
+
+  /**
+   * Replaces all PLIs in the cache, that were calculated before the rows starting at
+   * firstAppendedRow were appended, with their current version. The indexes of combinations,
+   * that are not cached anymore, are dropped.
+   *
+   * @param cache            the cache to update
+   * @param firstAppendedRow the number of rows the cached PLIs were calculated on
+   */
+  public void updateCache(PositionListIndexCache cache, long firstAppendedRow) {
+    for (int columnIndex = 0; columnIndex < columnClusters.size(); columnIndex++) {
+      cache.putColumn(columnIndex, getPLI(columnIndex));
+    }
+    Set<ColumnCombinationBitset> cachedCombinations = new HashSet<>();
+    for (BitSet columns : cache.getColumnCombinations()) {
+      if (columns.cardinality() < 2) {
+        continue;
+      }
+      ColumnCombinationBitset columnCombination = new ColumnCombinationBitset();
+      columnCombination.setColumns(columns);
+      PositionListIndex oldPLI = cache.get(columns);
+      if (oldPLI == null) {
+        // evicted in the meantime
+        continue;
+      }
+      cachedCombinations.add(columnCombination);
+      cache.put(columns, update(columnCombination, oldPLI, firstAppendedRow));
+    }
+    updatedPLIs.keySet().retainAll(cachedCombinations);
+  }
+
+  /**
+   * @return the number of rows appended so far
+   */
+  public long getNumberOfTuples() {
+    return numberOfTuples;
+  }
+
+  /**
+   * The clusters of a column combination together with an index from the value ids of a row to
+   * its cluster, so that every appended row is added with a single hash lookup.
+   */
+  protected class MaintainedPLI {
+
+    protected ColumnCombinationBitset columnCombination;
+    protected int[] columns;
+    // Value ids of the columns -> cluster id (including clusters of size 1)
+    protected Object2IntOpenHashMap<IntArrayList> clusterIds = new Object2IntOpenHashMap<>();
+    protected List<LongArrayList> clusters = new ArrayList<>();
+    // The number of rows added to the clusters
+    protected long numberOfRows = 0;
+
+    protected MaintainedPLI(ColumnCombinationBitset columnCombination) {
+      this.columnCombination = columnCombination;
+      List<Integer> setBits = columnCombination.getSetBits();
+      this.columns = new int[setBits.size()];
+      for (int i = 0; i < columns.length; i++) {
+        columns[i] = setBits.get(i);
+      }
+      clusterIds.defaultReturnValue(NULL_CLUSTER);
+    }
+
+    /**
+     * Adds the rows appended since the last update. The first update adds all rows.
+     */
+    protected PositionListIndexDelta update() {
+      long firstAppendedRow = numberOfRows;
+      IntLinkedOpenHashSet changedClusters = new IntLinkedOpenHashSet();
+
+      for (long row = firstAppendedRow; row < numberOfTuples; row++) {
+        IntArrayList valueIds = getValueIds(row);
+        if (valueIds == null) {
+          continue;
+        }
+        int clusterId = clusterIds.getInt(valueIds);
+        if (clusterId == NULL_CLUSTER) {
+          clusterIds.put(valueIds, clusters.size());
+          LongArrayList cluster = new LongArrayList();
+          cluster.add(row);
+          clusters.add(cluster);
+        } else {
+          clusters.get(clusterId).add(row);
+          changedClusters.add(clusterId);
+        }
+      }
+      numberOfRows = numberOfTuples;
+
+      List<LongArrayList> changed = new ArrayList<>();
+      for (int clusterId : changedClusters) {
+        changed.add(clusters.get(clusterId));
+      }
+      return new PositionListIndexDelta(columnCombination, firstAppendedRow, changed);
+    }
+
+    /**
+     * @return the cluster ids of the row's values in the columns of the combination or null, if
+     * one of the values is a null that does not equal null
+     */
+    protected IntArrayList getValueIds(long row) {
+      int[] valueIds = new int[columns.length];
+      for (int i = 0; i < columns.length; i++) {
+        valueIds[i] = records.get(columns[i]).getInt((int) row);
+        if (valueIds[i] == NULL_CLUSTER) {
+          return null;
+        }
+      }
+      return IntArrayList.wrap(valueIds);
+    }
+
+    protected PositionListIndex getPLI() {
+      List<LongArrayList> copy = new ArrayList<>();
+      for (LongArrayList cluster : clusters) {
+        if (cluster.size() < 2) {
+          continue;
+        }
+        copy.add(cluster.clone());
+      }
+      return new PositionListIndex(copy);
+    }
+  }
+}
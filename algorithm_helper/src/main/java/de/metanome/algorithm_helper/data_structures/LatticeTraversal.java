@@ -0,0 +1,353 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.algorithm_helper.data_structures;
+
+import de.metanome.algorithm_integration.AlgorithmExecutionException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Searches the column combination lattice bottom up for all minimal valid column combinations of
+ * an upwards monotone property (e.g. minimal unique column combinations or minimal left hand sides
+ * of functional dependencies with a fixed right hand side). The property is supplied as
+ * {@link CandidateValidator}, irrelevant parts of the lattice can be cut off with a
+ * {@link CandidatePruner}.
+ * <p>
+ * Candidates are validated in parallel on a {@link ForkJoinPool}, so that idle threads steal the
+ * remaining candidates of busy ones. Two strategies are supported:
+ * <ul>
+ * <li>{@link Strategy#LEVEL_WISE}: apriori style traversal. The candidates of a level are
+ * generated by joining the non valid column combinations of the previous level that share a prefix
+ * and are only kept if all their direct subsets are non valid.</li>
+ * <li>{@link Strategy#DEPTH_FIRST}: traverses the set enumeration tree depth first. Supersets of
+ * valid column combinations are pruned with a {@link SubSetGraph}, subsets of non valid column
+ * combinations are known to be non valid from a {@link SuperSetGraph} and are not validated
+ * again.</li>
+ * </ul>
+ */
+public class LatticeTraversal {
+
+  public enum Strategy {
+    LEVEL_WISE, DEPTH_FIRST
+  }
+
+  protected int numberOfColumns;
+  protected CandidateValidator validator;
+  protected CandidatePruner pruner;
+  protected Strategy strategy = Strategy.LEVEL_WISE;
+  protected int maxLevel;
+  protected int parallelism = Runtime.getRuntime().availableProcessors();
+
+  protected SubSetGraph validCombinations;
+  protected SuperSetGraph nonValidCombinations;
+  protected AtomicLong numberOfValidations = new AtomicLong();
+
+  /**
+   * @param numberOfColumns the number of columns of the lattice
+   * @param validator       the validation callback
+   */
+  public LatticeTraversal(int numberOfColumns, CandidateValidator validator) {
+    this.numberOfColumns = numberOfColumns;
+    this.validator = validator;
+    this.maxLevel = numberOfColumns;
+  }
+
+  public LatticeTraversal setStrategy(Strategy strategy) {
+    this.strategy = strategy;
+    return this;
+  }
+
+  public LatticeTraversal setPruner(CandidatePruner pruner) {
+    this.pruner = pruner;
+    return this;
+  }
+
+  /**
+   * @param maxLevel the maximal size of the visited column combinations
+   * @return the traversal
+   */
+  public LatticeTraversal setMaxLevel(int maxLevel) {
+    this.maxLevel = maxLevel;
+    return this;
+  }
+
+  /**
+   * @param parallelism the number of threads validating candidates
+   * @return the traversal
+   */
+  public LatticeTraversal setParallelism(int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("The parallelism has to be positive.");
+    }
+    this.parallelism = parallelism;
+    return this;
+  }
+
+  /**
+   * Traverses the lattice.
+   *
+   * @return the minimal valid column combinations in ascending order
+   * @throws AlgorithmExecutionException if a validation fails
+   */
+  public List<ColumnCombinationBitset> execute() throws AlgorithmExecutionException {
+    validCombinations = new SubSetGraph();
+    nonValidCombinations = new SuperSetGraph(numberOfColumns);
+    numberOfValidations.set(0);
+
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      List<ColumnCombinationBitset> result;
+      if (strategy == Strategy.LEVEL_WISE) {
+        result = traverseLevelWise(pool);
+      } else {
+        result = traverseDepthFirst(pool);
+      }
+      Collections.sort(result);
+      return result;
+    } catch (ValidationException e) {
+      throw e.getCause();
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * @return the number of validator calls of the last traversal
+   */
+  public long getNumberOfValidations() {
+    return numberOfValidations.get();
+  }
+
+  protected List<ColumnCombinationBitset> traverseLevelWise(ForkJoinPool pool) {
+    List<ColumnCombinationBitset> result = new ArrayList<>();
+
+    List<ColumnCombinationBitset> candidates = new ArrayList<>();
+    for (int columnIndex = 0; columnIndex < numberOfColumns; columnIndex++) {
+      candidates.add(new ColumnCombinationBitset(columnIndex));
+    }
+
+    for (int level = 1; level <= maxLevel && !candidates.isEmpty(); level++) {
+      final List<ColumnCombinationBitset> levelCandidates = candidates;
+      // 0: pruned, 1: non valid, 2: valid
+      final byte[] states = new byte[levelCandidates.size()];
+      pool.invoke(new LevelValidationTask(levelCandidates, states, 0, levelCandidates.size()));
+
+      List<ColumnCombinationBitset> nonValid = new ArrayList<>();
+      for (int i = 0; i < states.length; i++) {
+        if (states[i] == 2) {
+          result.add(levelCandidates.get(i));
+          validCombinations.add(levelCandidates.get(i));
+        } else if (states[i] == 1) {
+          nonValid.add(levelCandidates.get(i));
+        }
+      }
+
+      candidates = generateNextLevel(nonValid);
+    }
+
+    return result;
+  }
+
+  /**
+   * Generates the candidates of the next level from the non valid column combinations of the
+   * current level. Two column combinations are joined if they only differ in their last column. A
+   * joined candidate is only kept if all its direct subsets are non valid, because otherwise it
+   * is either non minimal or was pruned.
+   *
+   * @param nonValid the non valid column combinations of the current level
+   * @return the candidates of the next level
+   */
+  protected List<ColumnCombinationBitset> generateNextLevel(List<ColumnCombinationBitset> nonValid) {
+    List<ColumnCombinationBitset> nextLevel = new ArrayList<>();
+    Set<ColumnCombinationBitset> nonValidSet = new HashSet<>(nonValid);
+    List<ColumnCombinationBitset> sorted = new ArrayList<>(nonValid);
+    Collections.sort(sorted);
+
+    int groupStart = 0;
+    while (groupStart < sorted.size()) {
+      ColumnCombinationBitset prefix = getPrefix(sorted.get(groupStart));
+      int groupEnd = groupStart + 1;
+      while (groupEnd < sorted.size() && prefix.equals(getPrefix(sorted.get(groupEnd)))) {
+        groupEnd++;
+      }
+
+      for (int i = groupStart; i < groupEnd; i++) {
+        for (int j = i + 1; j < groupEnd; j++) {
+          ColumnCombinationBitset candidate = sorted.get(i).union(sorted.get(j));
+          if (nonValidSet.containsAll(candidate.getDirectSubsets())) {
+            nextLevel.add(candidate);
+          }
+        }
+      }
+      groupStart = groupEnd;
+    }
+
+    return nextLevel;
+  }
+
+  protected ColumnCombinationBitset getPrefix(ColumnCombinationBitset columnCombination) {
+    int lastColumn = columnCombination.bitset.length() - 1;
+    return new ColumnCombinationBitset(columnCombination).removeColumn(lastColumn);
+  }
+
+  protected List<ColumnCombinationBitset> traverseDepthFirst(ForkJoinPool pool) {
+    List<ColumnCombinationBitset> valid = Collections.synchronizedList(
+      new ArrayList<ColumnCombinationBitset>());
+    pool.invoke(new DepthFirstTask(new ColumnCombinationBitset(), valid));
+
+    // Subsets are not necessarily visited before their supersets in the set enumeration tree
+    SubSetGraph minimal = new SubSetGraph().addAll(valid);
+    return new ArrayList<>(minimal.getMinimalSubsets());
+  }
+
+  protected boolean isPruned(ColumnCombinationBitset candidate) {
+    return pruner != null && pruner.canBePruned(candidate);
+  }
+
+  protected boolean validate(ColumnCombinationBitset candidate) {
+    numberOfValidations.incrementAndGet();
+    try {
+      return validator.isValid(candidate);
+    } catch (AlgorithmExecutionException e) {
+      throw new ValidationException(e);
+    }
+  }
+
+  /**
+   * Validates a range of the candidates of one level, splitting it until every task holds a single
+   * candidate, because validations are usually expensive and of very different duration.
+   */
+  protected class LevelValidationTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    protected transient List<ColumnCombinationBitset> candidates;
+    protected transient byte[] states;
+    protected int from;
+    protected int to;
+
+    protected LevelValidationTask(List<ColumnCombinationBitset> candidates, byte[] states,
+                                  int from, int to) {
+      this.candidates = candidates;
+      this.states = states;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from > 1) {
+        int middle = (from + to) >>> 1;
+        invokeAll(new LevelValidationTask(candidates, states, from, middle),
+          new LevelValidationTask(candidates, states, middle, to));
+        return;
+      }
+      ColumnCombinationBitset candidate = candidates.get(from);
+      if (isPruned(candidate)) {
+        states[from] = 0;
+      } else {
+        states[from] = validate(candidate) ? (byte) 2 : (byte) 1;
+      }
+    }
+  }
+
+  /**
+   * Visits a node of the set enumeration tree and forks a task for every child, i.e. every superset
+   * extended by a column behind the last column of the node.
+   */
+  protected class DepthFirstTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    protected transient ColumnCombinationBitset node;
+    protected transient List<ColumnCombinationBitset> valid;
+
+    protected DepthFirstTask(ColumnCombinationBitset node, List<ColumnCombinationBitset> valid) {
+      this.node = node;
+      this.valid = valid;
+    }
+
+    @Override
+    protected void compute() {
+      if (!node.isEmpty() && !visit()) {
+        return;
+      }
+      if (node.size() >= maxLevel) {
+        return;
+      }
+
+      List<DepthFirstTask> children = new ArrayList<>();
+      for (int columnIndex = node.bitset.length(); columnIndex < numberOfColumns; columnIndex++) {
+        children.add(new DepthFirstTask(new ColumnCombinationBitset(node).addColumn(columnIndex),
+          valid));
+      }
+      invokeAll(children);
+    }
+
+    /**
+     * @return true, if the children of the node have to be visited
+     */
+    protected boolean visit() {
+      if (isPruned(node)) {
+        return false;
+      }
+      synchronized (LatticeTraversal.this) {
+        if (validCombinations.containsSubset(node)) {
+          return false;
+        }
+        if (nonValidCombinations.containsSuperset(node)) {
+          return true;
+        }
+      }
+
+      if (validate(node)) {
+        synchronized (LatticeTraversal.this) {
+          validCombinations.add(node);
+        }
+        valid.add(node);
+        return false;
+      }
+      synchronized (LatticeTraversal.this) {
+        nonValidCombinations.add(node);
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Transports a checked validation exception out of the fork join tasks.
+   */
+  protected static class ValidationException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    protected ValidationException(AlgorithmExecutionException cause) {
+      super(cause);
+    }
+
+    @Override
+    public synchronized AlgorithmExecutionException getCause() {
+      return (AlgorithmExecutionException) super.getCause();
+    }
+  }
+}
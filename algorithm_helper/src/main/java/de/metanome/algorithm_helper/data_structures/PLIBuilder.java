@@ -17,9 +17,12 @@ package de.metanome.algorithm_helper.data_structures;
 
 import de.metanome.algorithm_integration.input.InputIterationException;
 import de.metanome.algorithm_integration.input.RelationalInput;
+import de.metanome.algorithm_integration.input.RelationalInputPartition;
 import it.unimi.dsi.fastutil.longs.LongArrayList;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
 
 /**
  * Constructs a list of {@link PositionListIndex}es from the given {@link
@@ -31,6 +34,7 @@ public class PLIBuilder {
   protected long numberOfTuples = -1;
   protected List<HashMap<String, LongArrayList>> columns = null;
   protected RelationalInput input;
+  protected List<? extends RelationalInputPartition> partitions;
   protected boolean nullEqualsNull;
 
   public PLIBuilder(RelationalInput input) {
@@ -43,6 +47,19 @@ public class PLIBuilder {
     this.nullEqualsNull = nullEqualsNull;
   }
 
+  /**
+   * Builds the PLIs from the partitions of an input. The partitions are read concurrently and the
+   * resulting clusters are merged in the order of the partitions' first row numbers. Partitions
+   * whose first row number is unknown are merged in list order.
+   *
+   * @param partitions     the partitions of the input
+   * @param nullEqualsNull whether null values are considered equal
+   */
+  public PLIBuilder(List<? extends RelationalInputPartition> partitions, boolean nullEqualsNull) {
+    this.partitions = partitions;
+    this.nullEqualsNull = nullEqualsNull;
+  }
+
   /**
    * Builds a {@link PositionListIndex} for every column in the input.
    *
@@ -113,6 +130,10 @@ public class PLIBuilder {
   }
 
   protected void calculateUnpurgedPLI() throws InputIterationException {
+    if (partitions != null) {
+      calculateUnpurgedPLIFromPartitions();
+      return;
+    }
     long rowCount = 0;
     this.numberOfTuples = 0;
     while (input.hasNext()) {
@@ -127,6 +148,61 @@ public class PLIBuilder {
     }
   }
 
+  protected void calculateUnpurgedPLIFromPartitions() throws InputIterationException {
+    // The sort is stable, so partitions with unknown row numbers stay in input order
+    List<RelationalInputPartition> sortedPartitions = new ArrayList<>(partitions);
+    Collections.sort(sortedPartitions, new Comparator<RelationalInputPartition>() {
+      @Override
+      public int compare(RelationalInputPartition first, RelationalInputPartition second) {
+        return Long.compare(first.getFirstRowNumber(), second.getFirstRowNumber());
+      }
+    });
+
+    final List<PLIBuilder> partitionBuilders = new ArrayList<>();
+    for (RelationalInputPartition partition : sortedPartitions) {
+      PLIBuilder partitionBuilder = new PLIBuilder(partition, nullEqualsNull);
+      partitionBuilder.columns = new ArrayList<>();
+      partitionBuilders.add(partitionBuilder);
+    }
+    final AtomicReference<InputIterationException> failure = new AtomicReference<>();
+    IntStream.range(0, partitionBuilders.size()).parallel().forEach(i -> {
+      try {
+        partitionBuilders.get(i).calculateUnpurgedPLI();
+      } catch (InputIterationException e) {
+        failure.compareAndSet(null, e);
+      }
+    });
+    if (failure.get() != null) {
+      throw failure.get();
+    }
+
+    // The rows of a partition follow the rows of all preceding partitions
+    this.numberOfTuples = 0;
+    for (int i = 0; i < partitionBuilders.size(); i++) {
+      PLIBuilder partitionBuilder = partitionBuilders.get(i);
+      long firstRowNumber = this.numberOfTuples;
+      this.numberOfTuples += partitionBuilder.numberOfTuples;
+      for (int columnIndex = 0; columnIndex < partitionBuilder.columns.size(); columnIndex++) {
+        if (columns.size() <= columnIndex) {
+          columns.add(new HashMap<String, LongArrayList>());
+        }
+        HashMap<String, LongArrayList> column = columns.get(columnIndex);
+        for (Map.Entry<String, LongArrayList> entry :
+          partitionBuilder.columns.get(columnIndex).entrySet()) {
+          LongArrayList cluster = column.get(entry.getKey());
+          if (cluster == null) {
+            cluster = new LongArrayList(entry.getValue().size());
+            column.put(entry.getKey(), cluster);
+          }
+          LongArrayList rows = entry.getValue();
+          for (int j = 0; j < rows.size(); j++) {
+            cluster.add(firstRowNumber + rows.getLong(j));
+          }
+        }
+      }
+    }
+  }
+
   protected void addValue(long rowCount, int columnCount, String attributeCell) {
     if (columns.size() <= columnCount) {
       columns.add(new HashMap<String, LongArrayList>());
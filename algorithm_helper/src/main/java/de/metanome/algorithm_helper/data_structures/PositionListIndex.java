@@ -15,6 +15,7 @@
  */
 package de.metanome.algorithm_helper.data_structures;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.longs.*;
 
 import java.util.*;
@@ -185,6 +186,80 @@ public class PositionListIndex {
     }
   }
 
+  /**
+   * Returns the position list index as probing table. Entry i of the table holds the index of the
+   * cluster row i belongs to or -1 if the value of row i is unique. The position list index ((0,
+   * 1), (2, 4), (3, 5)) would be represented by [0, 0, 1, 2, 1, 2].
+   *
+   * @param numberOfRows the number of rows of the input
+   * @return the pli as probing table
+   */
+  public int[] getProbingTable(int numberOfRows) {
+    int[] probingTable = new int[numberOfRows];
+    Arrays.fill(probingTable, -1);
+    int clusterIndex = 0;
+    for (LongArrayList cluster : clusters) {
+      for (long rowIndex : cluster) {
+        probingTable[(int) rowIndex] = clusterIndex;
+      }
+      clusterIndex++;
+    }
+    return probingTable;
+  }
+
+  /**
+   * Intersects this PositionListIndex with the PositionListIndex represented by the given probing
+   * table. The probing table entries of each cluster are looked up in bulk by the {@link
+   * BitsetKernels}, which use vector gathers if available. The probing table can be reused for
+   * many intersections and should therefore belong to the PositionListIndex that is intersected
+   * more often.
+   *
+   * @param otherProbingTable the probing table of the other {@link PositionListIndex} (see {@link
+   *                          #getProbingTable(int)})
+   * @return the intersected {@link PositionListIndex}
+   */
+  public PositionListIndex intersect(int[] otherProbingTable) {
+    return intersect(otherProbingTable, BitsetKernels.getInstance());
+  }
+
+  protected PositionListIndex intersect(int[] otherProbingTable, BitsetKernels kernels) {
+    List<LongArrayList> intersectedClusters = new ArrayList<>();
+    Int2ObjectOpenHashMap<LongArrayList> subClusters = new Int2ObjectOpenHashMap<>();
+    int[] rows = new int[0];
+    int[] probes = new int[0];
+
+    for (LongArrayList cluster : clusters) {
+      int clusterSize = cluster.size();
+      if (rows.length < clusterSize) {
+        rows = new int[clusterSize];
+        probes = new int[clusterSize];
+      }
+      for (int i = 0; i < clusterSize; i++) {
+        rows[i] = (int) cluster.getLong(i);
+      }
+      kernels.gather(otherProbingTable, rows, clusterSize, probes);
+
+      subClusters.clear();
+      for (int i = 0; i < clusterSize; i++) {
+        if (probes[i] == -1) {
+          continue;
+        }
+        LongArrayList subCluster = subClusters.get(probes[i]);
+        if (subCluster == null) {
+          subCluster = new LongArrayList();
+          subClusters.put(probes[i], subCluster);
+        }
+        subCluster.add(rows[i]);
+      }
+      for (LongArrayList subCluster : subClusters.values()) {
+        if (subCluster.size() > 1) {
+          intersectedClusters.add(subCluster);
+        }
+      }
+    }
+    return new PositionListIndex(intersectedClusters);
+  }
+
   /**
    * Returns the position list index in a map representation. Every row index maps to a value
    * reconstruction. As the original values are unknown they are represented by a counter. The
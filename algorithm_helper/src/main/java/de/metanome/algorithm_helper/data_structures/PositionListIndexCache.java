@@ -0,0 +1,392 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.algorithm_helper.data_structures;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
+import java.util.*;
+
+/**
+ * A memory bounded cache for {@link PositionListIndex}es of column combinations. The single column
+ * PLIs are the base of every intersection and are therefore pinned in the cache. All other PLIs are
+ * evicted following the greedy dual size strategy, i.e. PLIs that are cheap to recompute but occupy
+ * a lot of memory are evicted first. Missing PLIs are calculated starting from the largest cached
+ * subset of the requested column combination.
+ * <p>
+ * All methods are thread safe, so one cache can be shared by several threads of an algorithm.
+ */
+public final class PositionListIndexCache {
+
+  /**
+   * Fraction of the maximum heap size the cache uses if no explicit budget is given.
+   */
+  public static final double DEFAULT_MEMORY_FRACTION = 0.25;
+
+  // Estimated sizes of the java objects a PLI consists of
+  protected static final long PLI_OVERHEAD = 64;
+  protected static final long CLUSTER_OVERHEAD = 48;
+
+  protected long maxBytes;
+  protected long usedBytes = 0;
+
+  protected Map<BitSet, CacheEntry> entries = new HashMap<>();
+  protected TreeSet<CacheEntry> evictionQueue = new TreeSet<>();
+  // Priority of the last evicted entry (the "inflation" value of greedy dual size)
+  protected double inflation = 0;
+  protected long nextSequenceNumber = 0;
+
+  protected long hitCount = 0;
+  protected long missCount = 0;
+  protected long evictionCount = 0;
+
+  /**
+   * Constructs a cache that uses {@link #DEFAULT_MEMORY_FRACTION} of the maximum heap size.
+   */
+  public PositionListIndexCache() {
+    this((long) (Runtime.getRuntime().maxMemory() * DEFAULT_MEMORY_FRACTION));
+  }
+
+  /**
+   * @param maxBytes the memory budget of the cache in bytes
+   */
+  public PositionListIndexCache(long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Constructs a cache with the default budget containing the given PLIs. PLIs of single columns are
+   * pinned.
+   *
+   * @param plis the initial PLIs of the cache
+   */
+  public PositionListIndexCache(Map<BitSet, PositionListIndex> plis) {
+    this();
+    for (Map.Entry<BitSet, PositionListIndex> pli : plis.entrySet()) {
+      if (pli.getKey().cardinality() == 1) {
+        putColumn(pli.getKey().nextSetBit(0), pli.getValue());
+      } else {
+        put(pli.getKey(), pli.getValue());
+      }
+    }
+  }
+
+  /**
+   * Adds the PLI of a single column. Single column PLIs are never evicted.
+   *
+   * @param columnIndex the index of the column
+   * @param pli         the PLI of the column
+   */
+  public synchronized void putColumn(int columnIndex, PositionListIndex pli) {
+    BitSet key = new BitSet();
+    key.set(columnIndex);
+    CacheEntry entry = new CacheEntry(key, pli, estimateSize(pli), Double.POSITIVE_INFINITY, true);
+    insert(entry);
+  }
+
+  /**
+   * Adds the PLIs of all columns. The index of a PLI in the list is used as column index.
+   *
+   * @param columnPLIs the PLIs of all columns, e.g. created by {@link PLIBuilder#getPLIList()}
+   */
+  public synchronized void putColumns(List<PositionListIndex> columnPLIs) {
+    for (int columnIndex = 0; columnIndex < columnPLIs.size(); columnIndex++) {
+      putColumn(columnIndex, columnPLIs.get(columnIndex));
+    }
+  }
+
+  /**
+   * Adds the PLI of a column combination. As the cost to recompute the PLI is unknown, it is
+   * estimated by the number of intersections times the number of positions in the PLI.
+   *
+   * @param columns the column combination
+   * @param pli     the PLI of the column combination
+   */
+  public synchronized void put(BitSet columns, PositionListIndex pli) {
+    double cost = (double) Math.max(1, columns.cardinality() - 1) * getNumberOfPositions(pli);
+    put(columns, pli, cost);
+  }
+
+  /**
+   * Adds the PLI of a column combination together with the cost to recompute it.
+   *
+   * @param columns the column combination
+   * @param pli     the PLI of the column combination
+   * @param cost    the cost to recompute the PLI (e.g. the number of processed positions)
+   */
+  public synchronized void put(BitSet columns, PositionListIndex pli, double cost) {
+    insert(new CacheEntry((BitSet) columns.clone(), pli, estimateSize(pli), cost, false));
+  }
+
+  /**
+   * Returns the cached PLI of the given column combination.
+   *
+   * @param columns the column combination
+   * @return the PLI or null if it is not cached
+   */
+  public synchronized PositionListIndex get(BitSet columns) {
+    CacheEntry entry = entries.get(columns);
+    if (entry == null) {
+      missCount++;
+      return null;
+    }
+    hitCount++;
+    touch(entry);
+    return entry.pli;
+  }
+
+  /**
+   * @param columns the column combination
+   * @return the cached PLI of the given column combination or null if it is not cached
+   * @see #get(BitSet)
+   */
+  public PositionListIndex get(ColumnCombinationBitset columns) {
+    return get(columns.bitset);
+  }
+
+  /**
+   * @param columns the column combination
+   * @return true, if the PLI of the column combination is cached
+   */
+  public synchronized boolean containsKey(BitSet columns) {
+    return entries.containsKey(columns);
+  }
+
+  /**
+   * @return a snapshot of the column combinations whose PLIs are cached
+   */
+  public synchronized List<BitSet> getColumnCombinations() {
+    List<BitSet> columnCombinations = new ArrayList<>();
+    for (BitSet columns : entries.keySet()) {
+      columnCombinations.add((BitSet) columns.clone());
+    }
+    return columnCombinations;
+  }
+
+  /**
+   * Returns the PLI of the given column combination. If the PLI is not cached, it is calculated by
+   * intersecting the largest cached subsets until all columns are covered. The calculated PLI is
+   * added to the cache.
+   *
+   * @param columns the column combination
+   * @return the PLI of the column combination
+   * @throws IllegalArgumentException if the column combination is empty or the PLI of a contained
+   *                                  column is not cached
+   */
+  public PositionListIndex getOrCalculate(BitSet columns) {
+    if (columns.isEmpty()) {
+      throw new IllegalArgumentException("The column combination must not be empty.");
+    }
+
+    List<PositionListIndex> plan;
+    synchronized (this) {
+      PositionListIndex cached = get(columns);
+      if (cached != null) {
+        return cached;
+      }
+      plan = planIntersection(columns);
+    }
+
+    PositionListIndex pli = plan.get(0);
+    double cost = 0;
+    for (int i = 1; i < plan.size(); i++) {
+      PositionListIndex other = plan.get(i);
+      cost += getNumberOfPositions(pli) + getNumberOfPositions(other);
+      pli = pli.intersect(other);
+    }
+
+    synchronized (this) {
+      if (!entries.containsKey(columns)) {
+        put(columns, pli, cost);
+      }
+    }
+    return pli;
+  }
+
+  /**
+   * @param columns the column combination
+   * @return the PLI of the column combination
+   * @see #getOrCalculate(BitSet)
+   */
+  public PositionListIndex getOrCalculate(ColumnCombinationBitset columns) {
+    return getOrCalculate(columns.bitset);
+  }
+
+  /**
+   * Greedily selects cached subsets of the given column combination, that cover as many of the not
+   * yet covered columns as possible. Smaller PLIs are preferred on ties, because they are cheaper
+   * to intersect.
+   *
+   * @param columns the column combination to cover
+   * @return the PLIs to intersect
+   */
+  protected List<PositionListIndex> planIntersection(BitSet columns) {
+    List<PositionListIndex> plan = new ArrayList<>();
+    BitSet uncovered = (BitSet) columns.clone();
+
+    while (!uncovered.isEmpty()) {
+      CacheEntry best = null;
+      int bestCoverage = 0;
+      for (CacheEntry entry : entries.values()) {
+        if (!isSubset(entry.columns, columns)) {
+          continue;
+        }
+        BitSet covered = (BitSet) entry.columns.clone();
+        covered.and(uncovered);
+        int coverage = covered.cardinality();
+        if (coverage > bestCoverage ||
+          (coverage == bestCoverage && coverage > 0 && entry.size < best.size)) {
+          best = entry;
+          bestCoverage = coverage;
+        }
+      }
+
+      if (best == null) {
+        throw new IllegalArgumentException(
+          "The PLI of column " + uncovered.nextSetBit(0) + " is not cached.");
+      }
+      touch(best);
+      plan.add(best.pli);
+      uncovered.andNot(best.columns);
+    }
+
+    return plan;
+  }
+
+  protected boolean isSubset(BitSet potentialSubset, BitSet potentialSuperset) {
+    BitSet remainder = (BitSet) potentialSubset.clone();
+    remainder.andNot(potentialSuperset);
+    return remainder.isEmpty();
+  }
+
+  protected void insert(CacheEntry entry) {
+    CacheEntry previous = entries.remove(entry.columns);
+    if (previous != null) {
+      evictionQueue.remove(previous);
+      usedBytes -= previous.size;
+    }
+
+    entries.put(entry.columns, entry);
+    usedBytes += entry.size;
+    if (!entry.pinned) {
+      entry.priority = inflation + entry.cost / entry.size;
+      entry.sequenceNumber = nextSequenceNumber++;
+      evictionQueue.add(entry);
+    }
+
+    evict();
+  }
+
+  /**
+   * Resets the priority of the given entry after an access.
+   */
+  protected void touch(CacheEntry entry) {
+    if (entry.pinned) {
+      return;
+    }
+    evictionQueue.remove(entry);
+    entry.priority = inflation + entry.cost / entry.size;
+    entry.sequenceNumber = nextSequenceNumber++;
+    evictionQueue.add(entry);
+  }
+
+  /**
+   * Evicts the entries with the lowest priority until the memory budget is met or only pinned
+   * entries are left.
+   */
+  protected void evict() {
+    while (usedBytes > maxBytes && !evictionQueue.isEmpty()) {
+      CacheEntry victim = evictionQueue.pollFirst();
+      entries.remove(victim.columns);
+      usedBytes -= victim.size;
+      inflation = victim.priority;
+      evictionCount++;
+    }
+  }
+
+  /**
+   * Estimates the heap size of the given {@link PositionListIndex} in bytes.
+   *
+   * @param pli the PLI
+   * @return the estimated size in bytes
+   */
+  public static long estimateSize(PositionListIndex pli) {
+    long size = PLI_OVERHEAD;
+    for (LongArrayList cluster : pli.getClusters()) {
+      size += CLUSTER_OVERHEAD + 8L * cluster.elements().length;
+    }
+    return size;
+  }
+
+  protected static long getNumberOfPositions(PositionListIndex pli) {
+    return pli.getRawKeyError() + pli.size();
+  }
+
+  /**
+   * @return the number of cached PLIs
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public synchronized long getUsedBytes() {
+    return usedBytes;
+  }
+
+  public long getMaxBytes() {
+    return maxBytes;
+  }
+
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+
+  public synchronized long getEvictionCount() {
+    return evictionCount;
+  }
+
+  protected static class CacheEntry implements Comparable<CacheEntry> {
+
+    protected BitSet columns;
+    protected PositionListIndex pli;
+    protected long size;
+    protected double cost;
+    protected boolean pinned;
+    protected double priority;
+    protected long sequenceNumber;
+
+    protected CacheEntry(BitSet columns, PositionListIndex pli, long size, double cost,
+                         boolean pinned) {
+      this.columns = columns;
+      this.pli = pli;
+      this.size = size;
+      this.cost = cost;
+      this.pinned = pinned;
+    }
+
+    @Override
+    public int compareTo(CacheEntry other) {
+      int result = Double.compare(this.priority, other.priority);
+      if (result != 0) {
+        return result;
+      }
+      return Long.compare(this.sequenceNumber, other.sequenceNumber);
+    }
+  }
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.algorithm_helper.data_structures;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
+import java.util.List;
+
+/**
+ * Describes how the {@link PositionListIndex} of a column combination changed when rows were
+ * appended to the input. Only the changed clusters have to be rechecked by validators, because all
+ * other clusters are identical to the ones before the append. A changed cluster is either new or
+ * contains at least one appended row.
+ */
+public class PositionListIndexDelta {
+
+  protected ColumnCombinationBitset columnCombination;
+  protected long firstAppendedRow;
+  protected List<LongArrayList> changedClusters;
+
+  public PositionListIndexDelta(ColumnCombinationBitset columnCombination, long firstAppendedRow,
+                                List<LongArrayList> changedClusters) {
+    this.columnCombination = columnCombination;
+    this.firstAppendedRow = firstAppendedRow;
+    this.changedClusters = changedClusters;
+  }
+
+  public ColumnCombinationBitset getColumnCombination() {
+    return columnCombination;
+  }
+
+  /**
+   * @return the position of the first appended row, all positions below are old rows
+   */
+  public long getFirstAppendedRow() {
+    return firstAppendedRow;
+  }
+
+  /**
+   * @return the new or grown clusters (must not be modified)
+   */
+  public List<LongArrayList> getChangedClusters() {
+    return changedClusters;
+  }
+
+  /**
+   * @return true, if no cluster changed, i.e. all appended rows are unique in the column
+   * combination
+   */
+  public boolean isEmpty() {
+    return changedClusters.isEmpty();
+  }
+}
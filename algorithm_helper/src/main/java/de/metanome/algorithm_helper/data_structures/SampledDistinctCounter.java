@@ -0,0 +1,135 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.algorithm_helper.data_structures;
+
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Estimates the number of distinct values of a column or column combination from a Bernoulli
+ * sample of the rows. The estimate is the guaranteed-error estimator (GEE) of Charikar et al.:
+ * values seen once in the sample are scaled by sqrt(n/r), values seen more often are counted once.
+ * The bounds assume that every value seen once in the sample is either unique in the sample only
+ * or occurs n/r times in the input. In contrast to {@link HyperLogLog} the sample also yields the
+ * frequency distribution, which makes the estimate robust for skewed columns. Counters with the
+ * same sampling rate can be merged across partitions.
+ */
+public class SampledDistinctCounter {
+
+  protected double samplingRate;
+  protected Random random;
+  protected long numberOfRows = 0;
+  protected long sampleSize = 0;
+  protected Object2LongOpenHashMap<List<String>> sampleFrequencies = new Object2LongOpenHashMap<>();
+
+  /**
+   * @param samplingRate the probability of a row to be sampled (0 &lt; rate &lt;= 1)
+   * @param seed         the seed of the sampling, so that estimates are reproducible
+   */
+  public SampledDistinctCounter(double samplingRate, long seed) {
+    if (samplingRate <= 0 || samplingRate > 1) {
+      throw new IllegalArgumentException("The sampling rate has to be in (0, 1].");
+    }
+    this.samplingRate = samplingRate;
+    this.random = new Random(seed);
+  }
+
+  /**
+   * Offers the value of a single column in the next row to the counter.
+   *
+   * @param value the value (may be null)
+   * @return the counter
+   */
+  public SampledDistinctCounter add(String value) {
+    return add(Collections.singletonList(value));
+  }
+
+  /**
+   * Offers the values of a column combination in the next row to the counter.
+   *
+   * @param values the values (may contain null)
+   * @return the counter
+   */
+  public SampledDistinctCounter add(List<String> values) {
+    numberOfRows++;
+    if (samplingRate >= 1 || random.nextDouble() < samplingRate) {
+      sampleSize++;
+      sampleFrequencies.addTo(new ArrayList<>(values), 1);
+    }
+    return this;
+  }
+
+  /**
+   * Merges the sample of another partition into this counter.
+   *
+   * @param other the counter of another partition
+   * @return the counter
+   * @throws IllegalArgumentException if the sampling rates differ
+   */
+  public SampledDistinctCounter merge(SampledDistinctCounter other) {
+    if (Double.compare(other.samplingRate, this.samplingRate) != 0) {
+      throw new IllegalArgumentException("Only counters with the same sampling rate can be merged.");
+    }
+    numberOfRows += other.numberOfRows;
+    sampleSize += other.sampleSize;
+    for (Object2LongMap.Entry<List<String>> entry : other.sampleFrequencies.object2LongEntrySet()) {
+      sampleFrequencies.addTo(entry.getKey(), entry.getLongValue());
+    }
+    return this;
+  }
+
+  /**
+   * @return the estimated number of distinct values and its lower and upper bound
+   */
+  public CardinalityEstimate getEstimate() {
+    if (sampleSize == 0) {
+      return new CardinalityEstimate(0, 0, numberOfRows);
+    }
+
+    long singletons = 0;
+    long repeated = 0;
+    for (long frequency : sampleFrequencies.values()) {
+      if (frequency == 1) {
+        singletons++;
+      } else {
+        repeated++;
+      }
+    }
+
+    double scale = (double) numberOfRows / sampleSize;
+    double lowerBound = singletons + repeated;
+    double upperBound = Math.min(numberOfRows, scale * singletons + repeated);
+    double estimate = Math.min(upperBound, Math.sqrt(scale) * singletons + repeated);
+    return new CardinalityEstimate(estimate, lowerBound, upperBound);
+  }
+
+  public long getNumberOfRows() {
+    return numberOfRows;
+  }
+
+  public long getSampleSize() {
+    return sampleSize;
+  }
+
+  public double getSamplingRate() {
+    return samplingRate;
+  }
+}
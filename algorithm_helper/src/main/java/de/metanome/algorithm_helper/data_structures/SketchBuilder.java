@@ -0,0 +1,116 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.algorithm_helper.data_structures;
+
+import de.metanome.algorithm_integration.input.InputIterationException;
+import de.metanome.algorithm_integration.input.RelationalInput;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Constructs {@link HyperLogLog} sketches for all columns and the given column combinations of a
+ * {@link de.metanome.algorithm_integration.input.RelationalInput} in a single pass. The sketches
+ * can be used to order or prune candidates before the exact {@link PositionListIndex}es are built
+ * with the {@link PLIBuilder}.
+ */
+public class SketchBuilder {
+
+  protected RelationalInput input;
+  protected int precision;
+  protected long numberOfTuples = -1;
+
+  public SketchBuilder(RelationalInput input) {
+    this(input, HyperLogLog.DEFAULT_PRECISION);
+  }
+
+  public SketchBuilder(RelationalInput input, int precision) {
+    this.input = input;
+    this.precision = precision;
+  }
+
+  /**
+   * Builds a sketch for every column in the input.
+   *
+   * @return list of sketches for all columns
+   * @throws InputIterationException if the input cannot be iterated
+   */
+  public List<HyperLogLog> getColumnSketches() throws InputIterationException {
+    List<HyperLogLog> sketches = new ArrayList<>();
+
+    this.numberOfTuples = 0;
+    while (input.hasNext()) {
+      this.numberOfTuples++;
+      List<String> row = input.next();
+      int columnCount = 0;
+      for (String cellValue : row) {
+        if (sketches.size() <= columnCount) {
+          sketches.add(new HyperLogLog(precision));
+        }
+        sketches.get(columnCount).add(cellValue);
+        columnCount++;
+      }
+    }
+
+    return sketches;
+  }
+
+  /**
+   * Builds a sketch for every given column combination.
+   *
+   * @param columnCombinations the column combinations to sketch
+   * @return the sketches in the order of the column combinations
+   * @throws InputIterationException if the input cannot be iterated
+   */
+  public List<HyperLogLog> getSketches(List<ColumnCombinationBitset> columnCombinations)
+    throws InputIterationException {
+    List<HyperLogLog> sketches = new ArrayList<>();
+    List<List<Integer>> columnIndices = new ArrayList<>();
+    for (ColumnCombinationBitset columnCombination : columnCombinations) {
+      sketches.add(new HyperLogLog(precision));
+      columnIndices.add(columnCombination.getSetBits());
+    }
+
+    this.numberOfTuples = 0;
+    List<String> values = new ArrayList<>();
+    while (input.hasNext()) {
+      this.numberOfTuples++;
+      List<String> row = input.next();
+      for (int i = 0; i < sketches.size(); i++) {
+        values.clear();
+        for (int columnIndex : columnIndices.get(i)) {
+          values.add(row.get(columnIndex));
+        }
+        sketches.get(i).add(values);
+      }
+    }
+
+    return sketches;
+  }
+
+  /**
+   * Returns the number of tuples in the input after building the sketches.
+   *
+   * @return number of tuples in dataset
+   * @throws InputIterationException if the sketches have not been built yet
+   */
+  public long getNumberOfTuples() throws InputIterationException {
+    if (this.numberOfTuples == -1) {
+      throw new InputIterationException();
+    }
+    return this.numberOfTuples;
+  }
+}
@@ -221,6 +221,74 @@ public class SubSetGraph {
     return result;
   }
 
+  /**
+   * Returns all supersets of the given column combination that are in the graph. The search only
+   * follows paths that can still contain every column of the subset, because the column indices
+   * along a path are ascending.
+   *
+   * @param subset given subset to search for supersets
+   * @return a list containing all found supersets
+   */
+  public ArrayList<ColumnCombinationBitset> getExistingSupersets(ColumnCombinationBitset subset) {
+    ArrayList<ColumnCombinationBitset> supersets = new ArrayList<>();
+    collectSupersets(subset.getSetBits(), 0, new ColumnCombinationBitset(), supersets);
+    return supersets;
+  }
+
+  protected void collectSupersets(List<Integer> requiredColumns, int numberOfContainedColumns,
+                                  ColumnCombinationBitset path,
+                                  List<ColumnCombinationBitset> supersets) {
+    if (subSetEnds && numberOfContainedColumns == requiredColumns.size()) {
+      supersets.add(new ColumnCombinationBitset(path));
+    }
+
+    for (Int2ObjectMap.Entry<SubSetGraph> entry : subGraphs.int2ObjectEntrySet()) {
+      int columnIndex = entry.getIntKey();
+      int containedColumns = numberOfContainedColumns;
+      if (containedColumns < requiredColumns.size()) {
+        int nextRequiredColumn = requiredColumns.get(containedColumns);
+        // the required column can not appear behind a larger column index
+        if (columnIndex > nextRequiredColumn) {
+          continue;
+        }
+        if (columnIndex == nextRequiredColumn) {
+          containedColumns++;
+        }
+      }
+      entry.getValue().collectSupersets(requiredColumns, containedColumns,
+        new ColumnCombinationBitset(path).addColumn(columnIndex), supersets);
+    }
+  }
+
+  /**
+   * Removes a column combination from the graph. Subgraphs that no longer lead to any column
+   * combination are pruned, so every leaf of the graph still ends a column combination.
+   *
+   * @param columnCombination the column combination to remove
+   * @return whether the column combination was contained in the graph
+   */
+  public boolean remove(ColumnCombinationBitset columnCombination) {
+    return remove(columnCombination.getSetBits(), 0);
+  }
+
+  protected boolean remove(List<Integer> setColumnIndices, int position) {
+    if (position == setColumnIndices.size()) {
+      boolean contained = subSetEnds;
+      subSetEnds = false;
+      return contained;
+    }
+
+    int columnIndex = setColumnIndices.get(position);
+    SubSetGraph subGraph = subGraphs.get(columnIndex);
+    if (subGraph == null || !subGraph.remove(setColumnIndices, position + 1)) {
+      return false;
+    }
+    if (subGraph.isEmpty() && !subGraph.subSetEnds) {
+      subGraphs.remove(columnIndex);
+    }
+    return true;
+  }
+
   /**
    * @return whether the graph is empty
    */
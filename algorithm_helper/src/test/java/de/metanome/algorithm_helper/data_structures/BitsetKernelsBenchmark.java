@@ -0,0 +1,107 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.algorithm_helper.data_structures;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the scalar and the vectorized {@link BitsetKernels} and the hash based and the probing
+ * table based PLI intersection. Not a unit test, run it with
+ * <pre>
+ * java --add-modules jdk.incubator.vector -cp ... \
+ *   de.metanome.algorithm_helper.data_structures.BitsetKernelsBenchmark
+ * </pre>
+ */
+public class BitsetKernelsBenchmark {
+
+  protected static final int WARMUP_ROUNDS = 5;
+  protected static final int MEASURED_ROUNDS = 10;
+
+  // Consumes the results, so that the JIT cannot eliminate the measured operations
+  protected static long sink = 0;
+
+  public static void main(String[] args) {
+    BitsetKernels scalar = BitsetKernels.getScalarInstance();
+    BitsetKernels selected = BitsetKernels.getInstance();
+    System.out.println("Selected kernels vectorized: " + selected.isVectorized());
+
+    Random random = new Random(42);
+    int numberOfWords = 1 << 16;
+    long[] a = randomWords(random, numberOfWords);
+    long[] b = randomWords(random, numberOfWords);
+    long[] result = new long[numberOfWords];
+
+    for (BitsetKernels kernels : new BitsetKernels[]{scalar, selected}) {
+      String name = kernels.isVectorized() ? "vector" : "scalar";
+      report("andNot " + name, () -> {
+        kernels.andNot(a, b, result, numberOfWords);
+        sink += result[numberOfWords - 1];
+      }, 1000);
+      report("popcount " + name, () -> sink += kernels.popcount(a, numberOfWords), 1000);
+      boolean[] subsets = new boolean[numberOfWords];
+      long[] query = {a[0] | a[1]};
+      report("subsetsOf " + name,
+        () -> sink += kernels.subsetsOf(query, b, 1, numberOfWords, subsets), 1000);
+    }
+
+    int numberOfRows = 2_000_000;
+    PositionListIndex first = randomPLI(random, numberOfRows, 1000);
+    PositionListIndex second = randomPLI(random, numberOfRows, 50);
+    int[] probingTable = second.getProbingTable(numberOfRows);
+    report("intersect hash map", () -> sink += first.intersect(second).size(), 1);
+    report("intersect probing table scalar",
+      () -> sink += first.intersect(probingTable, scalar).size(), 1);
+    report("intersect probing table " + (selected.isVectorized() ? "vector" : "scalar"),
+      () -> sink += first.intersect(probingTable, selected).size(), 1);
+    System.out.println("(" + sink + ")");
+  }
+
+  protected static long[] randomWords(Random random, int numberOfWords) {
+    long[] words = new long[numberOfWords];
+    for (int i = 0; i < numberOfWords; i++) {
+      words[i] = random.nextLong();
+    }
+    return words;
+  }
+
+  protected static PositionListIndex randomPLI(Random random, int numberOfRows,
+                                               int numberOfValues) {
+    List<LongArrayList> clusters = new ArrayList<>();
+    for (int i = 0; i < numberOfValues; i++) {
+      clusters.add(new LongArrayList());
+    }
+    for (int row = 0; row < numberOfRows; row++) {
+      clusters.get(random.nextInt(numberOfValues)).add(row);
+    }
+    return new PositionListIndex(clusters);
+  }
+
+  protected static void report(String name, Runnable operation, int repetitions) {
+    for (int i = 0; i < WARMUP_ROUNDS * repetitions; i++) {
+      operation.run();
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < MEASURED_ROUNDS * repetitions; i++) {
+      operation.run();
+    }
+    double microseconds = (System.nanoTime() - start) / 1000.0 / (MEASURED_ROUNDS * repetitions);
+    System.out.printf("%-40s %12.1f us/op%n", name, microseconds);
+  }
+}
@@ -0,0 +1,139 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.algorithm_helper.data_structures;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link de.metanome.algorithm_helper.data_structures.BitsetKernels}. The selected
+ * implementation is compared with the scalar fallback on random input.
+ */
+public class BitsetKernelsTest {
+
+  // Odd lengths to cover the scalar tails of the vector loops
+  protected static final int NUMBER_OF_WORDS = 1029;
+
+  protected BitsetKernels kernels;
+  protected BitsetKernels scalarKernels;
+  protected long[] a;
+  protected long[] b;
+
+  @Before
+  public void setUp() {
+    kernels = BitsetKernels.getInstance();
+    scalarKernels = BitsetKernels.getScalarInstance();
+    Random random = new Random(42);
+    a = new long[NUMBER_OF_WORDS];
+    b = new long[NUMBER_OF_WORDS];
+    for (int i = 0; i < NUMBER_OF_WORDS; i++) {
+      a[i] = random.nextLong();
+      b[i] = random.nextLong() & random.nextLong();
+    }
+  }
+
+  /**
+   * If the tests run with the vector module, the vectorized implementation should be selected.
+   */
+  @Test
+  public void testGetInstance() {
+    assertEquals(ModuleLayer.boot().findModule(BitsetKernels.VECTOR_MODULE).isPresent(),
+      kernels.isVectorized());
+    assertFalse(scalarKernels.isVectorized());
+  }
+
+  /**
+   * Test method for {@link BitsetKernels#and(long[], long[], long[], int)}, {@link
+   * BitsetKernels#or(long[], long[], long[], int)}, {@link BitsetKernels#andNot(long[], long[],
+   * long[], int)} and {@link BitsetKernels#popcount(long[], int)}
+   */
+  @Test
+  public void testBulkOperations() {
+    long[] expected = new long[NUMBER_OF_WORDS];
+    long[] actual = new long[NUMBER_OF_WORDS];
+
+    scalarKernels.and(a, b, expected, NUMBER_OF_WORDS);
+    kernels.and(a, b, actual, NUMBER_OF_WORDS);
+    assertArrayEquals(expected, actual);
+    assertEquals(expected[7], a[7] & b[7]);
+
+    scalarKernels.or(a, b, expected, NUMBER_OF_WORDS);
+    kernels.or(a, b, actual, NUMBER_OF_WORDS);
+    assertArrayEquals(expected, actual);
+
+    scalarKernels.andNot(a, b, expected, NUMBER_OF_WORDS);
+    kernels.andNot(a, b, actual, NUMBER_OF_WORDS);
+    assertArrayEquals(expected, actual);
+    assertEquals(expected[7], a[7] & ~b[7]);
+
+    assertEquals(scalarKernels.popcount(a, NUMBER_OF_WORDS), kernels.popcount(a, NUMBER_OF_WORDS));
+  }
+
+  /**
+   * Test method for {@link BitsetKernels#subsetsOf(long[], long[], int, int, boolean[])} and
+   * {@link BitsetKernels#supersetsOf(long[], long[], int, int, boolean[])}
+   */
+  @Test
+  public void testSubsetsAndSupersets() {
+    for (int wordsPerSet = 1; wordsPerSet <= 2; wordsPerSet++) {
+      int numberOfSets = NUMBER_OF_WORDS / wordsPerSet;
+      long[] query = new long[]{a[0] | a[1], a[2] | a[3]};
+      long[] sets = new long[numberOfSets * wordsPerSet];
+      for (int i = 0; i < sets.length; i++) {
+        // every third set is a subset of the query
+        sets[i] = (i / wordsPerSet) % 3 == 0 ? query[i % wordsPerSet] & b[i] : b[i];
+      }
+      boolean[] expected = new boolean[numberOfSets];
+      boolean[] actual = new boolean[numberOfSets];
+
+      int expectedCount = scalarKernels.subsetsOf(query, sets, wordsPerSet, numberOfSets, expected);
+      assertEquals(expectedCount,
+        kernels.subsetsOf(query, sets, wordsPerSet, numberOfSets, actual));
+      assertArrayEquals(expected, actual);
+      assertTrue(expected[0] && expected[3]);
+
+      expectedCount = scalarKernels.supersetsOf(query, sets, wordsPerSet, numberOfSets, expected);
+      assertEquals(expectedCount,
+        kernels.supersetsOf(query, sets, wordsPerSet, numberOfSets, actual));
+      assertArrayEquals(expected, actual);
+    }
+  }
+
+  /**
+   * Test method for {@link BitsetKernels#gather(int[], int[], int, int[])}
+   */
+  @Test
+  public void testGather() {
+    int[] table = new int[NUMBER_OF_WORDS];
+    int[] indices = new int[NUMBER_OF_WORDS];
+    for (int i = 0; i < NUMBER_OF_WORDS; i++) {
+      table[i] = i * 7;
+      indices[i] = (int) ((a[i] & Long.MAX_VALUE) % NUMBER_OF_WORDS);
+    }
+    int[] result = new int[NUMBER_OF_WORDS];
+
+    kernels.gather(table, indices, NUMBER_OF_WORDS - 1, result);
+
+    for (int i = 0; i < NUMBER_OF_WORDS - 1; i++) {
+      assertEquals(indices[i] * 7, result[i]);
+    }
+    assertEquals(0, result[NUMBER_OF_WORDS - 1]);
+  }
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.algorithm_helper.data_structures;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link de.metanome.algorithm_helper.data_structures.ColumnCombinationBitsetArray}
+ */
+public class ColumnCombinationBitsetArrayTest {
+
+  /**
+   * Test method for {@link ColumnCombinationBitsetArray#getSubsetsOf(ColumnCombinationBitset)} and
+   * {@link ColumnCombinationBitsetArray#getSupersetsOf(ColumnCombinationBitset)}
+   * <p/>
+   * The lookups should agree with the {@link SubSetGraph} and {@link SuperSetGraph} fixtures.
+   */
+  @Test
+  public void testGetSubsetsAndSupersetsOf() {
+    // Setup
+    SubSetGraphFixture fixture = new SubSetGraphFixture();
+    ColumnCombinationBitsetArray array = new ColumnCombinationBitsetArray(100);
+    for (ColumnCombinationBitset columnCombination : fixture.getExpectedIncludedColumnCombinations()) {
+      array.add(columnCombination);
+    }
+    ColumnCombinationBitset query = fixture.getColumnCombinationForSubsetQuery();
+
+    // Execute functionality
+    List<ColumnCombinationBitset> subsets = array.getSubsetsOf(query);
+
+    // Check result
+    assertThat(subsets, containsInAnyOrder(fixture.getExpectedSubsetsFromQuery()));
+    assertEquals(!subsets.isEmpty(), array.containsSubsetOf(query));
+    for (ColumnCombinationBitset superset : array.getSupersetsOf(new ColumnCombinationBitset(2))) {
+      assertTrue(superset.containsColumn(2));
+    }
+  }
+
+  /**
+   * Test method for {@link ColumnCombinationBitsetArray#add(ColumnCombinationBitset)}
+   * <p/>
+   * The array should grow and return the added column combinations.
+   */
+  @Test
+  public void testAddAndGet() {
+    // Setup
+    ColumnCombinationBitsetArray array = new ColumnCombinationBitsetArray(70);
+
+    // Execute functionality
+    for (int i = 0; i < 40; i++) {
+      array.add(new ColumnCombinationBitset(i, i + 30));
+    }
+
+    // Check result
+    assertEquals(40, array.size());
+    assertEquals(new ColumnCombinationBitset(39, 69), array.get(39));
+    assertEquals(80, array.getTotalColumnCount());
+    assertEquals(2, array.getSupersetsOf(new ColumnCombinationBitset(35)).size());
+    assertTrue(array.containsSubsetOf(new ColumnCombinationBitset(1, 3, 31)));
+    assertFalse(array.containsSupersetOf(new ColumnCombinationBitset(1, 2)));
+  }
+
+  /**
+   * Test method for {@link ColumnCombinationBitsetArray#add(ColumnCombinationBitset)}
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddTooManyColumns() {
+    new ColumnCombinationBitsetArray(64).add(new ColumnCombinationBitset(64));
+  }
+}
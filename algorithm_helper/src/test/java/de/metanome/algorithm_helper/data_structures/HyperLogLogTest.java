@@ -0,0 +1,118 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.algorithm_helper.data_structures;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link de.metanome.algorithm_helper.data_structures.HyperLogLog}
+ */
+public class HyperLogLogTest {
+
+  /**
+   * Test method for {@link HyperLogLog#getEstimate(double)}
+   * <p/>
+   * The exact number of distinct values should lie within three standard errors.
+   */
+  @Test
+  public void testEstimate() {
+    // Setup
+    HyperLogLog sketch = new HyperLogLog();
+    int numberOfDistinctValues = 100000;
+
+    // Execute functionality
+    for (int i = 0; i < 3 * numberOfDistinctValues; i++) {
+      sketch.add(Integer.toString(i % numberOfDistinctValues));
+    }
+
+    // Check result
+    assertTrue(sketch.getEstimate(3).contains(numberOfDistinctValues));
+  }
+
+  /**
+   * Test method for {@link HyperLogLog#estimate()}
+   * <p/>
+   * Small cardinalities should be estimated almost exactly and null should be a value.
+   */
+  @Test
+  public void testEstimateSmallCardinality() {
+    // Setup
+    HyperLogLog sketch = new HyperLogLog();
+
+    // Execute functionality
+    sketch.add("a").add("b").add("a").add((String) null).add((String) null);
+
+    // Check result
+    assertEquals(3.0, sketch.estimate(), 0.01);
+  }
+
+  /**
+   * Test method for {@link HyperLogLog#merge(HyperLogLog)}
+   * <p/>
+   * Merging the sketches of two partitions should yield the sketch of the whole input.
+   */
+  @Test
+  public void testMerge() {
+    // Setup
+    HyperLogLog firstPartition = new HyperLogLog(10);
+    HyperLogLog secondPartition = new HyperLogLog(10);
+    HyperLogLog wholeInput = new HyperLogLog(10);
+    for (int i = 0; i < 5000; i++) {
+      String value = Integer.toString(i);
+      wholeInput.add(value);
+      if (i % 2 == 0) {
+        firstPartition.add(value);
+      } else {
+        secondPartition.add(value);
+      }
+    }
+
+    // Execute functionality
+    firstPartition.merge(secondPartition);
+
+    // Check result
+    assertEquals(wholeInput, firstPartition);
+  }
+
+  /**
+   * Test method for {@link HyperLogLog#merge(HyperLogLog)}
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testMergeDifferentPrecision() {
+    new HyperLogLog(10).merge(new HyperLogLog(12));
+  }
+
+  /**
+   * Test method for {@link HyperLogLog#hash(java.util.List)}
+   * <p/>
+   * Column combinations with the same concatenated values should have different hashes and single
+   * values should hash like one element combinations.
+   */
+  @Test
+  public void testHashColumnCombination() {
+    // Check result
+    assertNotEquals(HyperLogLog.hash(Arrays.asList("ab", "c")),
+      HyperLogLog.hash(Arrays.asList("a", "bc")));
+    assertNotEquals(HyperLogLog.hash(Arrays.asList(null, "a")),
+      HyperLogLog.hash(Arrays.asList("a", null)));
+    assertEquals(HyperLogLog.hash("a"), HyperLogLog.hash(Arrays.asList("a")));
+  }
+
+}
@@ -0,0 +1,266 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.algorithm_helper.data_structures;
+
+import de.metanome.algorithm_integration.input.RelationalInput;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link de.metanome.algorithm_helper.data_structures.IncrementalPLIBuilder}
+ */
+public class IncrementalPLIBuilderTest {
+
+  protected PLIBuilderFixture fixture;
+
+  @Before
+  public void setUp() throws Exception {
+    fixture = new PLIBuilderFixture();
+  }
+
+  /**
+   * Test method for {@link IncrementalPLIBuilder#append(RelationalInput)}
+   * <p/>
+   * Appending the rows in two steps should yield the same PLIs as building them at once.
+   */
+  @Test
+  public void testAppend() throws Exception {
+    // Setup
+    IncrementalPLIBuilder builder = new IncrementalPLIBuilder();
+    // Expected values
+    List<PositionListIndex> expectedPLIs = fixture.getExpectedPLIList(true);
+
+    // Execute functionality
+    builder.append(getRows(0, 3));
+    Map<ColumnCombinationBitset, PositionListIndexDelta> deltas = builder.append(getRows(3, 5));
+
+    // Check result
+    assertEquals(expectedPLIs, builder.getPLIList());
+    assertEquals(5, builder.getNumberOfTuples());
+    // column 0 is unique, column 1 has one growing cluster, column 2 two, column 3 none
+    assertTrue(deltas.get(new ColumnCombinationBitset(0)).isEmpty());
+    assertEquals(1, deltas.get(new ColumnCombinationBitset(1)).getChangedClusters().size());
+    assertEquals(2, deltas.get(new ColumnCombinationBitset(2)).getChangedClusters().size());
+    assertTrue(deltas.get(new ColumnCombinationBitset(3)).isEmpty());
+    assertEquals(3, deltas.get(new ColumnCombinationBitset(1)).getFirstAppendedRow());
+  }
+
+  /**
+   * Test method for {@link IncrementalPLIBuilder#register(ColumnCombinationBitset)}
+   * <p/>
+   * Registered column combination PLIs should be maintained with every append.
+   */
+  @Test
+  public void testRegister() throws Exception {
+    // Setup
+    IncrementalPLIBuilder builder = new IncrementalPLIBuilder();
+    ColumnCombinationBitset columnCombination = new ColumnCombinationBitset(1, 2);
+    builder.append(getRows(0, 3));
+    builder.register(columnCombination);
+
+    // Execute functionality
+    Map<ColumnCombinationBitset, PositionListIndexDelta> deltas = builder.append(getRows(3, 5));
+
+    // Check result
+    List<PositionListIndex> expectedPLIs = fixture.getExpectedPLIList(true);
+    assertEquals(expectedPLIs.get(1).intersect(expectedPLIs.get(2)),
+      builder.getRegisteredPLI(columnCombination));
+    List<LongArrayList> changedClusters = deltas.get(columnCombination).getChangedClusters();
+    assertEquals(2, changedClusters.size());
+    assertEquals(new LongArrayList(new long[]{2, 3}), changedClusters.get(0));
+    assertEquals(new LongArrayList(new long[]{0, 1, 4}), changedClusters.get(1));
+  }
+
+  /**
+   * Test method for {@link IncrementalPLIBuilder#updateCache(PositionListIndexCache, long)}
+   * <p/>
+   * Cached column combination PLIs should be updated through a delta intersection.
+   */
+  @Test
+  public void testUpdateCache() throws Exception {
+    // Setup
+    IncrementalPLIBuilder builder = new IncrementalPLIBuilder();
+    builder.append(getRows(0, 3));
+    PositionListIndexCache cache = new PositionListIndexCache(Long.MAX_VALUE);
+    cache.putColumns(builder.getPLIList());
+    BitSet columns = new BitSet();
+    columns.set(1);
+    columns.set(2);
+    cache.getOrCalculate(columns);
+    long firstAppendedRow = builder.getNumberOfTuples();
+    builder.append(getRows(3, 5));
+
+    // Execute functionality
+    builder.updateCache(cache, firstAppendedRow);
+
+    // Check result
+    List<PositionListIndex> expectedPLIs = fixture.getExpectedPLIList(true);
+    assertEquals(expectedPLIs.get(2), cache.get(new ColumnCombinationBitset(2)));
+    assertEquals(expectedPLIs.get(1).intersect(expectedPLIs.get(2)), cache.get(columns));
+  }
+
+  /**
+   * Test method for {@link IncrementalPLIBuilder#append(RelationalInput)}
+   * <p/>
+   * Null values should not be clustered if null does not equal null.
+   */
+  @Test
+  public void testAppendNullNotEqualsNull() throws Exception {
+    // Setup
+    IncrementalPLIBuilder builder = new IncrementalPLIBuilder(false);
+
+    // Execute functionality
+    builder.append(getRows(0, 2));
+    builder.append(getRows(2, 5));
+
+    // Check result
+    assertEquals(fixture.getExpectedPLIList(false), builder.getPLIList());
+  }
+
+  /**
+   * Test method for {@link IncrementalPLIBuilder#append(RelationalInput)} and {@link
+   * IncrementalPLIBuilder#update(ColumnCombinationBitset, PositionListIndex, long)}
+   * <p/>
+   * The work of updating column combination PLIs should not grow with the number of old rows.
+   */
+  @Test
+  public void testUpdateWorkIndependentOfOldRows() throws Exception {
+    // Setup
+    ColumnCombinationBitset columnCombination = new ColumnCombinationBitset(0, 1);
+
+    // Execute functionality
+    long smallRegisteredWork = countRegisteredUpdateWork(1000, columnCombination);
+    long largeRegisteredWork = countRegisteredUpdateWork(10000, columnCombination);
+    long smallUpdateWork = countOnDemandUpdateWork(1000, columnCombination);
+    long largeUpdateWork = countOnDemandUpdateWork(10000, columnCombination);
+
+    // Check result
+    assertTrue(smallRegisteredWork > 0);
+    assertEquals(smallRegisteredWork, largeRegisteredWork);
+    assertTrue(smallUpdateWork > 0);
+    assertEquals(smallUpdateWork, largeUpdateWork);
+  }
+
+  /**
+   * @return the values read to maintain the registered column combination during an append
+   */
+  protected long countRegisteredUpdateWork(int oldRows, ColumnCombinationBitset columnCombination)
+    throws Exception {
+    IncrementalPLIBuilder builder = new IncrementalPLIBuilder();
+    builder.append(getOldRows(oldRows));
+    builder.register(columnCombination);
+    long[] reads = countReads(builder);
+
+    builder.append(getNewRows());
+
+    assertEquals(1, builder.getRegisteredPLI(columnCombination).getClusters().size());
+    return reads[0];
+  }
+
+  /**
+   * @return the values read by the second on demand update of the column combination
+   */
+  protected long countOnDemandUpdateWork(int oldRows, ColumnCombinationBitset columnCombination)
+    throws Exception {
+    IncrementalPLIBuilder builder = new IncrementalPLIBuilder();
+    builder.append(getOldRows(oldRows));
+    PositionListIndex pli = builder.getPLI(0).intersect(builder.getPLI(1));
+    long firstAppendedRow = builder.getNumberOfTuples();
+    builder.append(getNewRows());
+    pli = builder.update(columnCombination, pli, firstAppendedRow);
+    long[] reads = countReads(builder);
+
+    firstAppendedRow = builder.getNumberOfTuples();
+    builder.append(getNewRows());
+    pli = builder.update(columnCombination, pli, firstAppendedRow);
+
+    assertEquals(1, pli.getClusters().size());
+    return reads[0];
+  }
+
+  /**
+   * Every old row shares its value in one of the two columns with the new rows, so that probing
+   * the rows of a single column value would grow with the old rows.
+   */
+  protected RelationalInput getOldRows(int numberOfRows) throws Exception {
+    List<List<String>> rows = new ArrayList<>();
+    for (int row = 0; row < numberOfRows; row++) {
+      rows.add(row % 2 == 0 ?
+        Arrays.asList("a", String.valueOf(row)) : Arrays.asList(String.valueOf(row), "b"));
+    }
+    return getInput(rows);
+  }
+
+  protected RelationalInput getNewRows() throws Exception {
+    List<List<String>> rows = new ArrayList<>();
+    for (int row = 0; row < 10; row++) {
+      rows.add(Arrays.asList("a", "b"));
+    }
+    return getInput(rows);
+  }
+
+  /**
+   * Replaces the row records of the builder with ones, that count the read values.
+   */
+  protected long[] countReads(IncrementalPLIBuilder builder) {
+    final long[] reads = {0};
+    for (int column = 0; column < builder.records.size(); column++) {
+      builder.records.set(column, new IntArrayList(builder.records.get(column)) {
+        @Override
+        public int getInt(int index) {
+          reads[0]++;
+          return super.getInt(index);
+        }
+      });
+    }
+    return reads;
+  }
+
+  protected RelationalInput getRows(final int fromRow, final int toRow) throws Exception {
+    return getInput(fixture.table.subList(fromRow, toRow));
+  }
+
+  protected RelationalInput getInput(List<? extends List<String>> table) throws Exception {
+    final List<List<String>> rows = new ArrayList<List<String>>(table);
+    final int[] position = {0};
+    RelationalInput input = mock(RelationalInput.class);
+    when(input.hasNext()).thenAnswer(new Answer<Boolean>() {
+      public Boolean answer(InvocationOnMock invocation) throws Throwable {
+        return position[0] < rows.size();
+      }
+    });
+    when(input.next()).thenAnswer(new Answer<List<String>>() {
+      public List<String> answer(InvocationOnMock invocation) throws Throwable {
+        return rows.get(position[0]++);
+      }
+    });
+    return input;
+  }
+}
@@ -0,0 +1,193 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.algorithm_helper.data_structures;
+
+import de.metanome.algorithm_integration.AlgorithmExecutionException;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link de.metanome.algorithm_helper.data_structures.LatticeTraversal}
+ */
+public class LatticeTraversalTest {
+
+  protected static final int NUMBER_OF_COLUMNS = 6;
+
+  /**
+   * Column combinations are valid if they contain one of the minimal valid column combinations.
+   */
+  protected static final List<ColumnCombinationBitset> MINIMAL_VALID = Arrays.asList(
+    new ColumnCombinationBitset(4),
+    new ColumnCombinationBitset(0, 2),
+    new ColumnCombinationBitset(1, 3),
+    new ColumnCombinationBitset(0, 1, 5));
+
+  protected CandidateValidator validator = new CandidateValidator() {
+    @Override
+    public boolean isValid(ColumnCombinationBitset candidate) {
+      for (ColumnCombinationBitset minimalValid : MINIMAL_VALID) {
+        if (candidate.containsSubset(minimalValid)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  };
+
+  /**
+   * Test method for {@link LatticeTraversal#execute()}
+   * <p/>
+   * The level wise traversal should find exactly the minimal valid column combinations and never
+   * validate a superset of a valid column combination.
+   */
+  @Test
+  public void testExecuteLevelWise() throws AlgorithmExecutionException {
+    // Setup
+    LatticeTraversal traversal = new LatticeTraversal(NUMBER_OF_COLUMNS, validator)
+      .setStrategy(LatticeTraversal.Strategy.LEVEL_WISE)
+      .setParallelism(4);
+
+    // Execute functionality
+    List<ColumnCombinationBitset> actual = traversal.execute();
+
+    // Check result
+    assertEquals(getSortedMinimalValid(), actual);
+    // 6 columns, 10 pairs of the non valid columns 0, 1, 2, 3, 5 and the candidates {0, 1, 5} and
+    // {0, 3, 5} as well as {1, 2, 5} and {2, 3, 5}
+    assertEquals(20, traversal.getNumberOfValidations());
+  }
+
+  /**
+   * Test method for {@link LatticeTraversal#execute()}
+   * <p/>
+   * The depth first traversal should find the same minimal valid column combinations.
+   */
+  @Test
+  public void testExecuteDepthFirst() throws AlgorithmExecutionException {
+    // Setup
+    LatticeTraversal traversal = new LatticeTraversal(NUMBER_OF_COLUMNS, validator)
+      .setStrategy(LatticeTraversal.Strategy.DEPTH_FIRST)
+      .setParallelism(4);
+
+    // Execute functionality
+    List<ColumnCombinationBitset> actual = traversal.execute();
+
+    // Check result
+    assertEquals(getSortedMinimalValid(), actual);
+  }
+
+  /**
+   * Test method for {@link LatticeTraversal#setPruner(CandidatePruner)}
+   * <p/>
+   * Pruned column combinations and their supersets should neither be validated nor returned.
+   */
+  @Test
+  public void testSetPruner() throws AlgorithmExecutionException {
+    // Setup
+    CandidatePruner pruner = new CandidatePruner() {
+      @Override
+      public boolean canBePruned(ColumnCombinationBitset candidate) {
+        return candidate.containsColumn(4) || candidate.containsColumn(3);
+      }
+    };
+    // Expected values
+    List<ColumnCombinationBitset> expected = Arrays.asList(
+      new ColumnCombinationBitset(0, 2),
+      new ColumnCombinationBitset(0, 1, 5));
+
+    for (LatticeTraversal.Strategy strategy : LatticeTraversal.Strategy.values()) {
+      LatticeTraversal traversal = new LatticeTraversal(NUMBER_OF_COLUMNS, validator)
+        .setStrategy(strategy)
+        .setPruner(pruner);
+
+      // Execute functionality
+      List<ColumnCombinationBitset> actual = traversal.execute();
+
+      // Check result
+      assertEquals(expected, actual);
+    }
+  }
+
+  /**
+   * Test method for {@link LatticeTraversal#setMaxLevel(int)}
+   * <p/>
+   * No column combination larger than the maximal level should be visited.
+   */
+  @Test
+  public void testSetMaxLevel() throws AlgorithmExecutionException {
+    // Setup
+    // Expected values
+    List<ColumnCombinationBitset> expected = Arrays.asList(
+      new ColumnCombinationBitset(4),
+      new ColumnCombinationBitset(0, 2),
+      new ColumnCombinationBitset(1, 3));
+
+    for (LatticeTraversal.Strategy strategy : LatticeTraversal.Strategy.values()) {
+      LatticeTraversal traversal = new LatticeTraversal(NUMBER_OF_COLUMNS, validator)
+        .setStrategy(strategy)
+        .setMaxLevel(2);
+
+      // Execute functionality
+      List<ColumnCombinationBitset> actual = traversal.execute();
+
+      // Check result
+      assertEquals(expected, actual);
+    }
+  }
+
+  /**
+   * Test method for {@link LatticeTraversal#execute()}
+   * <p/>
+   * Exceptions of the validator should be passed to the caller.
+   */
+  @Test
+  public void testExecuteValidatorException() {
+    // Setup
+    final AlgorithmExecutionException expectedException =
+      new AlgorithmExecutionException("validation failed");
+    CandidateValidator failingValidator = new CandidateValidator() {
+      @Override
+      public boolean isValid(ColumnCombinationBitset candidate)
+        throws AlgorithmExecutionException {
+        throw expectedException;
+      }
+    };
+
+    for (LatticeTraversal.Strategy strategy : LatticeTraversal.Strategy.values()) {
+      LatticeTraversal traversal = new LatticeTraversal(NUMBER_OF_COLUMNS, failingValidator)
+        .setStrategy(strategy);
+
+      // Execute functionality
+      // Check result
+      try {
+        traversal.execute();
+        fail("Exception should have been thrown.");
+      } catch (AlgorithmExecutionException actualException) {
+        assertSame(expectedException, actualException);
+      }
+    }
+  }
+
+  protected List<ColumnCombinationBitset> getSortedMinimalValid() {
+    ColumnCombinationBitset[] sorted = MINIMAL_VALID.toArray(new ColumnCombinationBitset[0]);
+    Arrays.sort(sorted);
+    return Arrays.asList(sorted);
+  }
+}
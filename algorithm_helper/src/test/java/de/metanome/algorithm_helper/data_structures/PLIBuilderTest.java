@@ -18,17 +18,24 @@ package de.metanome.algorithm_helper.data_structures;
 import de.metanome.algorithm_integration.AlgorithmConfigurationException;
 import de.metanome.algorithm_integration.input.InputGenerationException;
 import de.metanome.algorithm_integration.input.InputIterationException;
+import de.metanome.algorithm_integration.input.RelationalInputPartition;
 import org.hamcrest.collection.IsIterableContainingInAnyOrder;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.TreeSet;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * Tests for {@link de.metanome.algorithm_helper.data_structures.PLIBuilder}
@@ -131,4 +138,45 @@ public class PLIBuilderTest {
     assertEquals(expectedNumberOfColumns, builder.getNumberOfTuples());
 
   }
+
+  /**
+   * Test method for {@link PLIBuilder#PLIBuilder(List, boolean)} <p/> PLIs built from partitions
+   * that are passed in arbitrary order should equal the PLIs built from the whole input.
+   */
+  @Test
+  public void testCalculatePLIFromPartitions() throws InputIterationException {
+    // Setup
+    List<RelationalInputPartition> partitions = Arrays.asList(
+      getPartition(3, 5), getPartition(0, 2), getPartition(2, 3));
+    PLIBuilder partitionBuilder = new PLIBuilder(partitions, true);
+    // Expected values
+    List<PositionListIndex> expectedPLIList = fixture.getExpectedPLIList(true);
+
+    // Execute functionality
+    List<PositionListIndex> actualPLIList = partitionBuilder.getPLIList();
+
+    // Check result
+    assertEquals(expectedPLIList, actualPLIList);
+    assertEquals(fixture.getExpectedNumberOfTuples(), partitionBuilder.getNumberOfTuples());
+  }
+
+  protected RelationalInputPartition getPartition(final int fromRow, final int toRow)
+    throws InputIterationException {
+    final List<List<String>> rows = new ArrayList<List<String>>(fixture.table.subList(fromRow, toRow));
+    final int[] position = {0};
+    RelationalInputPartition partition = mock(RelationalInputPartition.class);
+    when(partition.getFirstRowNumber()).thenReturn((long) fromRow);
+    when(partition.getNumberOfRows()).thenReturn((long) rows.size());
+    when(partition.hasNext()).thenAnswer(new Answer<Boolean>() {
+      public Boolean answer(InvocationOnMock invocation) throws Throwable {
+        return position[0] < rows.size();
+      }
+    });
+    when(partition.next()).thenAnswer(new Answer<List<String>>() {
+      public List<String> answer(InvocationOnMock invocation) throws Throwable {
+        return rows.get(position[0]++);
+      }
+    });
+    return partition;
+  }
 }
@@ -0,0 +1,157 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.algorithm_helper.data_structures;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link de.metanome.algorithm_helper.data_structures.PositionListIndexCache}
+ */
+public class PositionListIndexCacheTest {
+
+  protected List<PositionListIndex> columnPLIs;
+
+  @Before
+  public void setUp() throws Exception {
+    PLIBuilderFixture fixture = new PLIBuilderFixture();
+    PLIBuilder builder = new PLIBuilder(fixture.getInputGenerator().generateNewCopy());
+    columnPLIs = builder.getPLIList();
+  }
+
+  /**
+   * Test method for {@link PositionListIndexCache#getOrCalculate(BitSet)}
+   * <p/>
+   * A calculated PLI should be equal to the intersection of the column PLIs and should be cached.
+   */
+  @Test
+  public void testGetOrCalculate() {
+    // Setup
+    PositionListIndexCache cache = new PositionListIndexCache(Long.MAX_VALUE);
+    cache.putColumns(columnPLIs);
+    BitSet columns = createBitSet(0, 2, 3);
+    // Expected values
+    PositionListIndex expectedPLI =
+      columnPLIs.get(0).intersect(columnPLIs.get(2)).intersect(columnPLIs.get(3));
+
+    // Execute functionality
+    PositionListIndex actualPLI = cache.getOrCalculate(columns);
+
+    // Check result
+    assertEquals(expectedPLI, actualPLI);
+    assertTrue(cache.containsKey(columns));
+    assertSame(actualPLI, cache.getOrCalculate(columns));
+    assertEquals(columnPLIs.size() + 1, cache.size());
+  }
+
+  /**
+   * Test method for {@link PositionListIndexCache#planIntersection(BitSet)}
+   * <p/>
+   * The largest cached subset should be used as starting point of the intersection.
+   */
+  @Test
+  public void testPlanIntersectionUsesLargestSubset() {
+    // Setup
+    PositionListIndexCache cache = new PositionListIndexCache(Long.MAX_VALUE);
+    cache.putColumns(columnPLIs);
+    PositionListIndex subsetPLI = cache.getOrCalculate(createBitSet(0, 2));
+
+    // Execute functionality
+    List<PositionListIndex> plan = cache.planIntersection(createBitSet(0, 2, 3));
+
+    // Check result
+    assertEquals(2, plan.size());
+    assertSame(subsetPLI, plan.get(0));
+    assertSame(columnPLIs.get(3), plan.get(1));
+  }
+
+  /**
+   * Test method for {@link PositionListIndexCache#getOrCalculate(BitSet)}
+   * <p/>
+   * The memory budget should be met by evicting calculated PLIs, while the column PLIs are pinned.
+   */
+  @Test
+  public void testEviction() {
+    // Setup
+    PositionListIndexCache cache = new PositionListIndexCache(0);
+    cache.putColumns(columnPLIs);
+    BitSet columns = createBitSet(0, 1);
+
+    // Execute functionality
+    PositionListIndex pli = cache.getOrCalculate(columns);
+
+    // Check result
+    assertEquals(columnPLIs.get(0).intersect(columnPLIs.get(1)), pli);
+    assertFalse(cache.containsKey(columns));
+    assertEquals(columnPLIs.size(), cache.size());
+    assertEquals(1, cache.getEvictionCount());
+  }
+
+  /**
+   * Test method for {@link PositionListIndexCache#put(BitSet, PositionListIndex, double)}
+   * <p/>
+   * The PLI that is cheapest to recompute relative to its size should be evicted first.
+   */
+  @Test
+  public void testEvictionPrefersCheapEntries() {
+    // Setup
+    PositionListIndex pli = columnPLIs.get(0);
+    long pliSize = PositionListIndexCache.estimateSize(pli);
+    PositionListIndexCache cache = new PositionListIndexCache(2 * pliSize);
+    BitSet expensive = createBitSet(0, 1);
+    BitSet cheap = createBitSet(0, 2);
+    BitSet other = createBitSet(0, 3);
+
+    // Execute functionality
+    cache.put(expensive, pli, 1000);
+    cache.put(cheap, pli, 1);
+    cache.put(other, pli, 100);
+
+    // Check result
+    assertTrue(cache.containsKey(expensive));
+    assertFalse(cache.containsKey(cheap));
+    assertTrue(cache.containsKey(other));
+    assertEquals(2 * pliSize, cache.getUsedBytes());
+  }
+
+  /**
+   * Test method for {@link PositionListIndexCache#getOrCalculate(BitSet)}
+   * <p/>
+   * Missing column PLIs should be reported.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetOrCalculateMissingColumn() {
+    // Setup
+    PositionListIndexCache cache = new PositionListIndexCache(Long.MAX_VALUE);
+    cache.putColumn(0, columnPLIs.get(0));
+
+    // Execute functionality
+    cache.getOrCalculate(createBitSet(0, 1));
+  }
+
+  protected BitSet createBitSet(int... columnIndices) {
+    BitSet bitSet = new BitSet();
+    for (int columnIndex : columnIndices) {
+      bitSet.set(columnIndex);
+    }
+    return bitSet;
+  }
+}
@@ -77,6 +77,33 @@ public class PositionListIndexTest {
     assertEquals(expectedPLI, actualIntersectedPLI);
   }
 
+  /**
+   * Test method for {@link de.metanome.algorithm_helper.data_structures.PositionListIndex#intersect(int[])}
+   * <p/>
+   * Intersecting with a probing table should yield the same result with the selected and the
+   * scalar kernels.
+   */
+  @Test
+  public void testIntersectProbingTable() {
+    // Setup
+    PositionListIndex firstPLI = fixture.getFirstPLI();
+    int[] probingTable = fixture.getSecondPLI().getProbingTable(10);
+    // Expected values
+    PositionListIndex expectedPLI = fixture.getExpectedIntersectedPLI();
+
+    // Execute functionality
+    PositionListIndex actualIntersectedPLI = firstPLI.intersect(probingTable);
+    PositionListIndex scalarIntersectedPLI =
+      firstPLI.intersect(probingTable, BitsetKernels.getScalarInstance());
+
+    // Check result
+    assertEquals(expectedPLI, actualIntersectedPLI);
+    assertEquals(expectedPLI, scalarIntersectedPLI);
+    assertEquals(-1, probingTable[0]);
+    assertEquals(0, probingTable[1]);
+    assertEquals(1, probingTable[4]);
+  }
+
   /**
    * Test method for {@link PositionListIndex#hashCode()}
    */
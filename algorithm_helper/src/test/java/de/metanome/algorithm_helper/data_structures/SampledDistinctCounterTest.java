@@ -0,0 +1,81 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.algorithm_helper.data_structures;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link de.metanome.algorithm_helper.data_structures.SampledDistinctCounter}
+ */
+public class SampledDistinctCounterTest {
+
+  /**
+   * Test method for {@link SampledDistinctCounter#getEstimate()}
+   * <p/>
+   * Without sampling the estimate should be exact.
+   */
+  @Test
+  public void testEstimateFullSample() {
+    // Setup
+    SampledDistinctCounter counter = new SampledDistinctCounter(1.0, 42);
+
+    // Execute functionality
+    counter.add("a").add("b").add("a").add("c").add((String) null);
+    CardinalityEstimate estimate = counter.getEstimate();
+
+    // Check result
+    assertEquals(4.0, estimate.getEstimate(), 0.0);
+    assertEquals(4.0, estimate.getLowerBound(), 0.0);
+    assertEquals(4.0, estimate.getUpperBound(), 0.0);
+    assertEquals(1.0, estimate.toRawKeyErrorEstimate(counter.getNumberOfRows()).getEstimate(), 0.0);
+  }
+
+  /**
+   * Test method for {@link SampledDistinctCounter#merge(SampledDistinctCounter)}
+   * <p/>
+   * The bounds of merged partition samples should contain the exact number of distinct values.
+   */
+  @Test
+  public void testMergeBoundsContainExactValue() {
+    // Setup
+    SampledDistinctCounter firstPartition = new SampledDistinctCounter(0.1, 1);
+    SampledDistinctCounter secondPartition = new SampledDistinctCounter(0.1, 2);
+    for (int i = 0; i < 50000; i++) {
+      firstPartition.add(Integer.toString(i % 1000));
+      secondPartition.add(Integer.toString(i % 2000));
+    }
+
+    // Execute functionality
+    firstPartition.merge(secondPartition);
+    CardinalityEstimate estimate = firstPartition.getEstimate();
+
+    // Check result
+    assertEquals(100000, firstPartition.getNumberOfRows());
+    assertTrue(estimate.contains(2000));
+    assertEquals(2000, estimate.getEstimate(), 500);
+  }
+
+  /**
+   * Test method for {@link SampledDistinctCounter#merge(SampledDistinctCounter)}
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testMergeDifferentSamplingRates() {
+    new SampledDistinctCounter(0.1, 1).merge(new SampledDistinctCounter(0.2, 1));
+  }
+
+}
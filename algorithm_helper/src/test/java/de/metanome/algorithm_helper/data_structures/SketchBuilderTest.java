@@ -0,0 +1,79 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.algorithm_helper.data_structures;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link de.metanome.algorithm_helper.data_structures.SketchBuilder}
+ */
+public class SketchBuilderTest {
+
+  protected PLIBuilderFixture fixture;
+
+  @Before
+  public void setUp() throws Exception {
+    fixture = new PLIBuilderFixture();
+  }
+
+  /**
+   * Test method for {@link SketchBuilder#getColumnSketches()}
+   * <p/>
+   * The estimated raw key errors should match the raw key errors of the exact PLIs.
+   */
+  @Test
+  public void testGetColumnSketches() throws Exception {
+    // Setup
+    SketchBuilder builder = new SketchBuilder(fixture.getInputGenerator().generateNewCopy());
+    List<PositionListIndex> expectedPLIs = fixture.getExpectedPLIList(true);
+
+    // Execute functionality
+    List<HyperLogLog> sketches = builder.getColumnSketches();
+
+    // Check result
+    assertEquals(expectedPLIs.size(), sketches.size());
+    for (int i = 0; i < sketches.size(); i++) {
+      CardinalityEstimate keyError =
+        sketches.get(i).getEstimate(3).toRawKeyErrorEstimate(builder.getNumberOfTuples());
+      assertEquals(expectedPLIs.get(i).getRawKeyError(), keyError.getEstimate(), 0.01);
+    }
+  }
+
+  /**
+   * Test method for {@link SketchBuilder#getSketches(List)}
+   */
+  @Test
+  public void testGetSketchesOfColumnCombinations() throws Exception {
+    // Setup
+    SketchBuilder builder = new SketchBuilder(fixture.getInputGenerator().generateNewCopy());
+
+    // Execute functionality
+    List<HyperLogLog> sketches = builder.getSketches(Arrays.asList(
+      new ColumnCombinationBitset(1, 2), new ColumnCombinationBitset(2, 3)));
+
+    // Check result
+    assertEquals(2.0, sketches.get(0).estimate(), 0.01);
+    assertEquals(5.0, sketches.get(1).estimate(), 0.01);
+    assertEquals(fixture.getExpectedNumberOfTuples(), builder.getNumberOfTuples());
+  }
+
+}
@@ -217,4 +217,66 @@ public class SubSetGraphTest {
       IsIterableContainingInAnyOrder
         .containsInAnyOrder(fixture.getExpectedMinimalSubsets()));
   }
+
+  /**
+   * Test method for {@link SubSetGraph#getExistingSupersets(ColumnCombinationBitset)}
+   * <p/>
+   * Only column combinations containing every column of the query should be returned, including
+   * the query itself.
+   */
+  @Test
+  public void testGetExistingSupersets() {
+    // Setup
+    SubSetGraph graph = new SubSetGraph();
+    ColumnCombinationBitset expectedSuperset1 = new ColumnCombinationBitset(1, 3, 5);
+    ColumnCombinationBitset expectedSuperset2 = new ColumnCombinationBitset(0, 3, 4, 5);
+    ColumnCombinationBitset expectedSuperset3 = new ColumnCombinationBitset(3, 5);
+    graph.add(expectedSuperset1);
+    graph.add(expectedSuperset2);
+    graph.add(expectedSuperset3);
+    graph.add(new ColumnCombinationBitset(3, 4));
+    graph.add(new ColumnCombinationBitset(5, 7));
+    graph.add(new ColumnCombinationBitset(1, 2));
+
+    // Execute functionality
+    List<ColumnCombinationBitset> actualSupersets =
+      graph.getExistingSupersets(new ColumnCombinationBitset(3, 5));
+
+    // Check result
+    assertThat(actualSupersets, IsIterableContainingInAnyOrder
+      .containsInAnyOrder(expectedSuperset1, expectedSuperset2, expectedSuperset3));
+  }
+
+  /**
+   * Test method for {@link SubSetGraph#remove(ColumnCombinationBitset)}
+   * <p/>
+   * Removing a column combination should prune its path but keep column combinations sharing a
+   * prefix. Removing all column combinations should leave an empty graph.
+   */
+  @Test
+  public void testRemove() {
+    // Setup
+    SubSetGraph graph = new SubSetGraph();
+    ColumnCombinationBitset prefix = new ColumnCombinationBitset(1, 2);
+    ColumnCombinationBitset extension = new ColumnCombinationBitset(1, 2, 4);
+    graph.add(prefix);
+    graph.add(extension);
+
+    // Execute functionality
+    boolean removedExtension = graph.remove(extension);
+    boolean removedAgain = graph.remove(extension);
+
+    // Check result
+    assertTrue(removedExtension);
+    assertFalse(removedAgain);
+    assertEquals(new SubSetGraph().add(prefix), graph);
+    assertTrue(graph.containsSubset(extension));
+
+    // Execute functionality
+    assertTrue(graph.remove(prefix));
+
+    // Check result
+    assertTrue(graph.isEmpty());
+    assertFalse(graph.containsSubset(extension));
+  }
 }
@@ -20,9 +20,11 @@ import au.com.bytecode.opencsv.CSVReader;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import de.metanome.algorithm_integration.AlgorithmConfigurationException;
+import de.metanome.algorithm_integration.input.InputSampling;
 import de.metanome.algorithm_integration.input.RelationalInputGeneratorInitializer;
 
 import javax.xml.bind.annotation.XmlTransient;
+import java.util.Objects;
 
 /**
  * The setting of a {@link de.metanome.algorithm_integration.configuration.ConfigurationRequirementFileInput}
@@ -56,6 +58,11 @@ public class ConfigurationSettingFileInput extends ConfigurationSettingRelationa
   private boolean header;
   private boolean skipDifferingLines;
   private String nullValue;
+  // Optional sampling of the rows, see InputSampling
+  private String sampleStrategy;
+  private Long sampleSize;
+  private Double sampleFraction;
+  private Long sampleSeed;
 
   /**
    * Exists for serialization.
@@ -213,6 +220,75 @@ public class ConfigurationSettingFileInput extends ConfigurationSettingRelationa
     return this;
   }
 
+  public String getSampleStrategy() {
+    return sampleStrategy;
+  }
+
+  /**
+   * @param sampleStrategy the name of an {@link InputSampling.Strategy} or null to read all rows
+   * @return the setting
+   */
+  public ConfigurationSettingFileInput setSampleStrategy(String sampleStrategy) {
+    this.sampleStrategy = sampleStrategy;
+    return this;
+  }
+
+  public Long getSampleSize() {
+    return sampleSize;
+  }
+
+  public ConfigurationSettingFileInput setSampleSize(Long sampleSize) {
+    this.sampleSize = sampleSize;
+    return this;
+  }
+
+  public Double getSampleFraction() {
+    return sampleFraction;
+  }
+
+  public ConfigurationSettingFileInput setSampleFraction(Double sampleFraction) {
+    this.sampleFraction = sampleFraction;
+    return this;
+  }
+
+  public Long getSampleSeed() {
+    return sampleSeed;
+  }
+
+  public ConfigurationSettingFileInput setSampleSeed(Long sampleSeed) {
+    this.sampleSeed = sampleSeed;
+    return this;
+  }
+
+  /**
+   * @param sampling the sampling of the rows or null to read all rows
+   * @return the setting
+   */
+  public ConfigurationSettingFileInput setSampling(InputSampling sampling) {
+    if (sampling == null) {
+      this.sampleStrategy = null;
+      this.sampleSize = null;
+      this.sampleFraction = null;
+      this.sampleSeed = null;
+      return this;
+    }
+    this.sampleStrategy = sampling.getStrategy().name();
+    this.sampleSize = sampling.hasSampleSize() ? sampling.getSampleSize() : null;
+    this.sampleFraction = sampling.getFraction();
+    this.sampleSeed = sampling.getSeed();
+    return this;
+  }
+
+  /**
+   * @return the sampling of the rows or null if all rows are read
+   * @throws IllegalArgumentException if the sampling values are invalid
+   */
+  @XmlTransient
+  @JsonIgnore
+  public InputSampling getSampling() {
+    return InputSampling.fromValues(sampleStrategy, sampleSize, sampleFraction, sampleSeed);
+  }
+
   @XmlTransient
   @JsonIgnore
   public char getSeparatorAsChar() {
@@ -288,7 +364,11 @@ public class ConfigurationSettingFileInput extends ConfigurationSettingRelationa
       !(this.ignoreLeadingWhiteSpace != that.ignoreLeadingWhiteSpace) ||
       !(this.skipDifferingLines != that.skipDifferingLines) ||
       !(this.header != that.header) ||
-      !(!this.skipLines.equals(that.skipLines)));
+      !(!this.skipLines.equals(that.skipLines)) ||
+      !Objects.equals(this.sampleStrategy, that.sampleStrategy) ||
+      !Objects.equals(this.sampleSize, that.sampleSize) ||
+      !Objects.equals(this.sampleFraction, that.sampleFraction) ||
+      !Objects.equals(this.sampleSeed, that.sampleSeed));
   }
 
   @Override
@@ -316,6 +396,8 @@ public class ConfigurationSettingFileInput extends ConfigurationSettingRelationa
     result = 31 * result + hashCode(this.skipDifferingLines);
     result = 31 * result + hashCode(this.header);
     result = 31 * result + this.skipLines;
+    result = 31 * result + Objects.hash(this.sampleStrategy, this.sampleSize, this.sampleFraction,
+      this.sampleSeed);
     return result;
   }
 
@@ -0,0 +1,212 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.algorithm_integration.input;
+
+import java.io.Serializable;
+import java.util.Locale;
+
+/**
+ * Describes how a representative subset of the rows of a relational input is selected. Sampling
+ * lets exploratory runs on huge inputs finish quickly, and as all random strategies are seeded, a
+ * sampled run can be reproduced from its parameters.
+ */
+public class InputSampling implements Serializable {
+
+  /**
+   * The number of consecutive rows that form one block of {@link Strategy#BLOCK} sampling if the
+   * input cannot be sampled on disk.
+   */
+  public static final int BLOCK_ROWS = 1024;
+
+  public static final long NO_LIMIT = Long.MAX_VALUE;
+  private static final long serialVersionUID = 4830461950278354632L;
+
+  /**
+   * The supported sampling strategies.
+   */
+  public enum Strategy {
+    /**
+     * The first rows of the input.
+     */
+    FIRST_N,
+    /**
+     * Every row is selected independently with the sample fraction as probability.
+     */
+    BERNOULLI,
+    /**
+     * A uniform sample of exactly the sample size rows (or all rows of smaller inputs). All rows
+     * have to be read, but only the sample is kept in memory.
+     */
+    RESERVOIR,
+    /**
+     * Blocks of consecutive rows are selected with the sample fraction as probability. Inputs that
+     * support it skip the unselected blocks without reading them.
+     */
+    BLOCK
+  }
+
+  protected Strategy strategy;
+  protected long sampleSize;
+  protected double fraction;
+  protected long seed;
+
+  /**
+   * @param strategy   the sampling strategy
+   * @param sampleSize the maximal number of sampled rows or {@link #NO_LIMIT}
+   * @param fraction   the probability with which rows or blocks are selected
+   * @param seed       the seed of the random selection
+   * @throws IllegalArgumentException if the parameters do not fit the strategy
+   */
+  public InputSampling(Strategy strategy, long sampleSize, double fraction, long seed) {
+    if (strategy == null) {
+      throw new IllegalArgumentException("The sampling strategy is missing.");
+    }
+    if (sampleSize < 0) {
+      throw new IllegalArgumentException("The sample size must not be negative.");
+    }
+    if ((strategy == Strategy.FIRST_N || strategy == Strategy.RESERVOIR) &&
+      sampleSize == NO_LIMIT) {
+      throw new IllegalArgumentException("The strategy " + strategy + " needs a sample size.");
+    }
+    if (strategy == Strategy.RESERVOIR && sampleSize > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("The reservoir does not fit into memory.");
+    }
+    if (!(fraction > 0 && fraction <= 1)) {
+      throw new IllegalArgumentException("The sample fraction has to be in (0, 1].");
+    }
+    this.strategy = strategy;
+    this.sampleSize = sampleSize;
+    this.fraction = fraction;
+    this.seed = seed;
+  }
+
+  /**
+   * @param sampleSize the number of rows to read
+   * @return a sampling of the first rows
+   */
+  public static InputSampling firstN(long sampleSize) {
+    return new InputSampling(Strategy.FIRST_N, sampleSize, 1, 0);
+  }
+
+  /**
+   * @param fraction the probability of a row to be selected
+   * @param seed     the seed of the random selection
+   * @return a Bernoulli sampling of the rows
+   */
+  public static InputSampling bernoulli(double fraction, long seed) {
+    return new InputSampling(Strategy.BERNOULLI, NO_LIMIT, fraction, seed);
+  }
+
+  /**
+   * @param sampleSize the number of rows to sample
+   * @param seed       the seed of the random selection
+   * @return a uniform sampling of a fixed number of rows
+   */
+  public static InputSampling reservoir(long sampleSize, long seed) {
+    return new InputSampling(Strategy.RESERVOIR, sampleSize, 1, seed);
+  }
+
+  /**
+   * @param fraction the probability of a block to be selected
+   * @param seed     the seed of the random selection
+   * @return a sampling of blocks of consecutive rows
+   */
+  public static InputSampling block(double fraction, long seed) {
+    return new InputSampling(Strategy.BLOCK, NO_LIMIT, fraction, seed);
+  }
+
+  /**
+   * Creates a sampling from the plain values of an input setting.
+   *
+   * @param strategy   the name of the strategy (case insensitive) or null
+   * @param sampleSize the maximal number of sampled rows or null
+   * @param fraction   the selection probability or null
+   * @param seed       the seed or null
+   * @return the sampling or null if no strategy is given
+   * @throws IllegalArgumentException if the strategy is unknown or the values do not fit it
+   */
+  public static InputSampling fromValues(String strategy, Long sampleSize, Double fraction,
+                                         Long seed) {
+    if (strategy == null || strategy.trim().isEmpty()) {
+      return null;
+    }
+    Strategy parsedStrategy;
+    try {
+      parsedStrategy = Strategy.valueOf(strategy.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unknown sampling strategy " + strategy, e);
+    }
+    return new InputSampling(parsedStrategy,
+      sampleSize == null ? NO_LIMIT : sampleSize, fraction == null ? 1 : fraction,
+      seed == null ? 0 : seed);
+  }
+
+  /**
+   * @param input the input to sample, it is closed with the sampled input
+   * @return the sampled rows of the input
+   */
+  public RelationalInput sample(RelationalInput input) {
+    return new SampledRelationalInput(input, this);
+  }
+
+  public Strategy getStrategy() {
+    return strategy;
+  }
+
+  public long getSampleSize() {
+    return sampleSize;
+  }
+
+  public boolean hasSampleSize() {
+    return sampleSize != NO_LIMIT;
+  }
+
+  public double getFraction() {
+    return fraction;
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    InputSampling that = (InputSampling) o;
+    return strategy == that.strategy && sampleSize == that.sampleSize &&
+      Double.compare(fraction, that.fraction) == 0 && seed == that.seed;
+  }
+
+  @Override
+  public int hashCode() {
+    int result = strategy.hashCode();
+    result = 31 * result + Long.hashCode(sampleSize);
+    result = 31 * result + Double.hashCode(fraction);
+    result = 31 * result + Long.hashCode(seed);
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return strategy + "(size=" + (hasSampleSize() ? String.valueOf(sampleSize) : "all") +
+      ", fraction=" + fraction + ", seed=" + seed + ")";
+  }
+}
@@ -0,0 +1,42 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.algorithm_integration.input;
+
+import de.metanome.algorithm_integration.AlgorithmConfigurationException;
+
+import java.util.List;
+
+/**
+ * Generates {@link RelationalInput}s that can also be split into partitions, which can be consumed
+ * concurrently.
+ */
+@SuppressWarnings("try")
+public interface PartitionableInputGenerator extends RelationalInputGenerator {
+
+  /**
+   * Splits a new copy of the relational input into partitions. The partitions are in input order
+   * and cover all rows of the input. Fewer partitions than requested may be returned for small
+   * inputs.
+   *
+   * @param numberOfPartitions the requested number of partitions
+   * @return the partitions of the relational input
+   * @throws InputGenerationException        if the input could not be split
+   * @throws AlgorithmConfigurationException if the configuration is not correct
+   */
+  List<RelationalInputPartition> generatePartitions(int numberOfPartitions)
+    throws InputGenerationException, AlgorithmConfigurationException;
+
+}
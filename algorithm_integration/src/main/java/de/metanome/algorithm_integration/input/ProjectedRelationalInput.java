@@ -0,0 +1,80 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.algorithm_integration.input;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Restricts the rows of a {@link RelationalInput} to some of its columns.
+ */
+@SuppressWarnings("try")
+public final class ProjectedRelationalInput implements RelationalInput {
+
+  protected RelationalInput input;
+  protected int[] columns;
+  protected List<String> columnNames;
+
+  /**
+   * @param input   the input to project
+   * @param columns the indices of the columns to keep in the order they should be returned
+   */
+  public ProjectedRelationalInput(RelationalInput input, int[] columns) {
+    this.input = input;
+    this.columns = columns.clone();
+    this.columnNames = input.columnNames() == null ? null : project(input.columnNames());
+  }
+
+  @Override
+  public boolean hasNext() throws InputIterationException {
+    return input.hasNext();
+  }
+
+  @Override
+  public List<String> next() throws InputIterationException {
+    List<String> row = input.next();
+    return row == null ? null : project(row);
+  }
+
+  protected List<String> project(List<String> row) {
+    List<String> projectedRow = new ArrayList<>(columns.length);
+    for (int column : columns) {
+      projectedRow.add(row.get(column));
+    }
+    return Collections.unmodifiableList(projectedRow);
+  }
+
+  @Override
+  public int numberOfColumns() {
+    return columns.length;
+  }
+
+  @Override
+  public String relationName() {
+    return input.relationName();
+  }
+
+  @Override
+  public List<String> columnNames() {
+    return columnNames;
+  }
+
+  @Override
+  public void close() throws Exception {
+    input.close();
+  }
+}
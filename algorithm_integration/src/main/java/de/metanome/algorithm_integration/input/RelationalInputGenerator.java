@@ -32,4 +32,19 @@ public interface RelationalInputGenerator extends AutoCloseable {
    * @throws AlgorithmConfigurationException if the configuration is not correct
    */
   public RelationalInput generateNewCopy() throws InputGenerationException, AlgorithmConfigurationException;
+
+  /**
+   * Generates a new copy of the relational input that only contains the given columns in the given
+   * order. Generators that can avoid reading the other columns should override this method, the
+   * default implementation projects the rows of a full copy.
+   *
+   * @param columns the indices of the columns to read
+   * @return new copy of the projected relational input
+   * @throws InputGenerationException if no new copy could be created
+   * @throws AlgorithmConfigurationException if the configuration is not correct
+   */
+  default RelationalInput generateNewCopy(int[] columns)
+    throws InputGenerationException, AlgorithmConfigurationException {
+    return new ProjectedRelationalInput(generateNewCopy(), columns);
+  }
 }
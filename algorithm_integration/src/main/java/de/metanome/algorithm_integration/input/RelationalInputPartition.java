@@ -0,0 +1,47 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.algorithm_integration.input;
+
+import java.io.IOException;
+
+/**
+ * A contiguous range of the rows of a relational input. The partitions of an input can be iterated
+ * concurrently, the position of a row in the whole input is the number of rows of the preceding
+ * partitions plus its position in the partition.
+ */
+public interface RelationalInputPartition extends RelationalInput {
+
+  /**
+   * @return the position of the partition's first row in the whole input or -1 if it is not known
+   * before the preceding partitions are read
+   */
+  long getFirstRowNumber();
+
+  /**
+   * @return the number of rows of the partition or -1 if it is not known before the partition is
+   * read
+   */
+  long getNumberOfRows();
+
+  /**
+   * Releases the resources of the partition.
+   *
+   * @throws IOException if the resources cannot be released
+   */
+  @Override
+  void close() throws IOException;
+
+}
@@ -0,0 +1,186 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.algorithm_integration.input;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Returns the rows of a {@link RelationalInput} selected by an {@link InputSampling} in input
+ * order. The selection only depends on the row positions and the seed, so all copies of an input,
+ * including projected ones, yield the same sample.
+ */
+@SuppressWarnings("try")
+public class SampledRelationalInput implements RelationalInput {
+
+  protected RelationalInput input;
+  protected InputSampling sampling;
+  protected Random random;
+
+  protected List<String> nextRow;
+  protected boolean nextRowRead = false;
+  protected long numberOfReadRows = 0;
+  protected long numberOfSampledRows = 0;
+  protected boolean blockSelected = false;
+
+  // Sampled rows of the reservoir strategy in input order
+  protected List<List<String>> reservoir;
+  protected int reservoirPosition = 0;
+
+  /**
+   * @param input    the input to sample
+   * @param sampling the sampling parameters
+   */
+  public SampledRelationalInput(RelationalInput input, InputSampling sampling) {
+    this.input = input;
+    this.sampling = sampling;
+    this.random = new Random(sampling.getSeed());
+  }
+
+  @Override
+  public boolean hasNext() throws InputIterationException {
+    if (!nextRowRead) {
+      nextRow = numberOfSampledRows < sampling.getSampleSize() ? readNextSampledRow() : null;
+      nextRowRead = true;
+      if (nextRow != null) {
+        numberOfSampledRows++;
+      }
+    }
+    return nextRow != null;
+  }
+
+  @Override
+  public List<String> next() throws InputIterationException {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    nextRowRead = false;
+    return nextRow;
+  }
+
+  protected List<String> readNextSampledRow() throws InputIterationException {
+    switch (sampling.getStrategy()) {
+      case FIRST_N:
+        return readNextRow();
+      case BERNOULLI:
+        while (input.hasNext()) {
+          List<String> row = readNextRow();
+          if (random.nextDouble() < sampling.getFraction()) {
+            return row;
+          }
+        }
+        return null;
+      case BLOCK:
+        while (input.hasNext()) {
+          if (numberOfReadRows % InputSampling.BLOCK_ROWS == 0) {
+            blockSelected = random.nextDouble() < sampling.getFraction();
+          }
+          List<String> row = readNextRow();
+          if (blockSelected) {
+            return row;
+          }
+        }
+        return null;
+      case RESERVOIR:
+        if (reservoir == null) {
+          fillReservoir();
+        }
+        return reservoirPosition < reservoir.size() ? reservoir.get(reservoirPosition++) : null;
+      default:
+        throw new IllegalStateException("Unknown sampling strategy " + sampling.getStrategy());
+    }
+  }
+
+  protected List<String> readNextRow() throws InputIterationException {
+    if (!input.hasNext()) {
+      return null;
+    }
+    numberOfReadRows++;
+    return input.next();
+  }
+
+  /**
+   * Reads the whole input and keeps a uniform sample of the rows (Vitter's algorithm R). The
+   * sampled rows are sorted back into input order.
+   */
+  protected void fillReservoir() throws InputIterationException {
+    int size = (int) sampling.getSampleSize();
+    List<List<String>> rows = new ArrayList<>();
+    long[] positions = new long[Math.min(size, 1024)];
+    while (input.hasNext()) {
+      long position = numberOfReadRows;
+      List<String> row = readNextRow();
+      if (rows.size() < size) {
+        if (rows.size() == positions.length) {
+          positions = Arrays.copyOf(positions, (int) Math.min(size, 2L * positions.length));
+        }
+        positions[rows.size()] = position;
+        rows.add(row);
+        continue;
+      }
+      long replaced = random.nextLong(position + 1);
+      if (replaced < size) {
+        positions[(int) replaced] = position;
+        rows.set((int) replaced, row);
+      }
+    }
+
+    Integer[] order = new Integer[rows.size()];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    final long[] rowPositions = positions;
+    Arrays.sort(order, (first, second) -> Long.compare(rowPositions[first], rowPositions[second]));
+    reservoir = new ArrayList<>(rows.size());
+    for (int index : order) {
+      reservoir.add(rows.get(index));
+    }
+  }
+
+  /**
+   * @return the number of rows read from the sampled input so far
+   */
+  public long getNumberOfReadRows() {
+    return numberOfReadRows;
+  }
+
+  public InputSampling getSampling() {
+    return sampling;
+  }
+
+  @Override
+  public int numberOfColumns() {
+    return input.numberOfColumns();
+  }
+
+  @Override
+  public String relationName() {
+    return input.relationName();
+  }
+
+  @Override
+  public List<String> columnNames() {
+    return input.columnNames();
+  }
+
+  @Override
+  public void close() throws Exception {
+    input.close();
+  }
+}
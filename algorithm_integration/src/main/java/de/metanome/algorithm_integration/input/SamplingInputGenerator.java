@@ -0,0 +1,64 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.algorithm_integration.input;
+
+import de.metanome.algorithm_integration.AlgorithmConfigurationException;
+
+/**
+ * Wraps any {@link RelationalInputGenerator}, so that all generated copies only contain the rows
+ * selected by an {@link InputSampling}. Block sampling reads and drops the unselected blocks,
+ * generators that can skip them on disk should apply the sampling themselves.
+ */
+@SuppressWarnings("try")
+public class SamplingInputGenerator implements RelationalInputGenerator {
+
+  protected RelationalInputGenerator generator;
+  protected InputSampling sampling;
+
+  /**
+   * @param generator the generator of the full input
+   * @param sampling  the sampling applied to every copy
+   */
+  public SamplingInputGenerator(RelationalInputGenerator generator, InputSampling sampling) {
+    this.generator = generator;
+    this.sampling = sampling;
+  }
+
+  @Override
+  public RelationalInput generateNewCopy()
+    throws InputGenerationException, AlgorithmConfigurationException {
+    return sampling.sample(generator.generateNewCopy());
+  }
+
+  @Override
+  public RelationalInput generateNewCopy(int[] columns)
+    throws InputGenerationException, AlgorithmConfigurationException {
+    return sampling.sample(generator.generateNewCopy(columns));
+  }
+
+  public RelationalInputGenerator getGenerator() {
+    return generator;
+  }
+
+  public InputSampling getSampling() {
+    return sampling;
+  }
+
+  @Override
+  public void close() throws Exception {
+    generator.close();
+  }
+}
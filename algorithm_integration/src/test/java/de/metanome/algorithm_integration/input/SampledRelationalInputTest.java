@@ -0,0 +1,187 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.algorithm_integration.input;
+
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link SampledRelationalInput} and {@link InputSampling}
+ */
+public class SampledRelationalInputTest {
+
+  protected static final int NUMBER_OF_ROWS = 10000;
+
+  /**
+   * Test method for {@link SampledRelationalInput#next()}
+   * <p/>
+   * The first n rows should be returned.
+   */
+  @Test
+  public void testFirstN() throws Exception {
+    // Execute functionality
+    List<Integer> sample = readSample(InputSampling.firstN(3));
+
+    // Check result
+    assertEquals(Arrays.asList(0, 1, 2), sample);
+  }
+
+  /**
+   * Test method for {@link SampledRelationalInput#next()}
+   * <p/>
+   * An exhausted sample should not return further rows.
+   */
+  @Test(expected = NoSuchElementException.class)
+  public void testNextExhausted() throws Exception {
+    // Setup
+    RelationalInput input = InputSampling.firstN(1).sample(createInput());
+    input.next();
+
+    // Execute functionality
+    input.next();
+  }
+
+  /**
+   * Test method for {@link SampledRelationalInput#next()}
+   * <p/>
+   * A Bernoulli sample should contain about the sample fraction of the rows in input order and be
+   * reproducible with the same seed.
+   */
+  @Test
+  public void testBernoulli() throws Exception {
+    // Execute functionality
+    List<Integer> sample = readSample(InputSampling.bernoulli(0.1, 42));
+
+    // Check result
+    assertTrue(sample.size() > 800 && sample.size() < 1200);
+    assertInputOrder(sample);
+    assertEquals(sample, readSample(InputSampling.bernoulli(0.1, 42)));
+    assertNotEquals(sample, readSample(InputSampling.bernoulli(0.1, 43)));
+  }
+
+  /**
+   * Test method for {@link SampledRelationalInput#next()}
+   * <p/>
+   * A reservoir sample should contain exactly the sample size rows in input order and cover the
+   * whole input.
+   */
+  @Test
+  public void testReservoir() throws Exception {
+    // Execute functionality
+    List<Integer> sample = readSample(InputSampling.reservoir(100, 7));
+
+    // Check result
+    assertEquals(100, sample.size());
+    assertInputOrder(sample);
+    assertTrue(sample.get(sample.size() - 1) > NUMBER_OF_ROWS / 2);
+    assertEquals(sample, readSample(InputSampling.reservoir(100, 7)));
+    // Smaller inputs are returned completely
+    assertEquals(NUMBER_OF_ROWS, readSample(InputSampling.reservoir(2 * NUMBER_OF_ROWS, 7)).size());
+  }
+
+  /**
+   * Test method for {@link SampledRelationalInput#next()}
+   * <p/>
+   * A block sample should consist of complete blocks of consecutive rows and respect the sample
+   * size.
+   */
+  @Test
+  public void testBlock() throws Exception {
+    // Execute functionality
+    List<Integer> sample = readSample(InputSampling.block(0.5, 3));
+    List<Integer> limitedSample = readSample(new InputSampling(InputSampling.Strategy.BLOCK, 10,
+      0.5, 3));
+
+    // Check result
+    assertFalse(sample.isEmpty());
+    assertInputOrder(sample);
+    for (int row : sample) {
+      int blockStart = row - row % InputSampling.BLOCK_ROWS;
+      int blockEnd = Math.min(blockStart + InputSampling.BLOCK_ROWS, NUMBER_OF_ROWS) - 1;
+      assertTrue(sample.contains(blockStart));
+      assertTrue(sample.contains(blockEnd));
+    }
+    assertEquals(sample.subList(0, 10), limitedSample);
+  }
+
+  /**
+   * Test method for {@link InputSampling#fromValues(String, Long, Double, Long)}
+   * <p/>
+   * Missing strategies disable sampling and strategies without their parameters are rejected.
+   */
+  @Test
+  public void testFromValues() {
+    // Execute functionality
+    // Check result
+    assertNull(InputSampling.fromValues(null, 10L, null, null));
+    assertEquals(InputSampling.reservoir(10, 5),
+      InputSampling.fromValues("reservoir", 10L, null, 5L));
+    try {
+      InputSampling.fromValues("first_n", null, null, null);
+      fail("Exception should have been thrown.");
+    } catch (IllegalArgumentException actualException) {
+      // Intentionally left blank
+    }
+    try {
+      InputSampling.fromValues("bernoulli", null, 1.5, null);
+      fail("Exception should have been thrown.");
+    } catch (IllegalArgumentException actualException) {
+      // Intentionally left blank
+    }
+  }
+
+  protected void assertInputOrder(List<Integer> sample) {
+    for (int i = 1; i < sample.size(); i++) {
+      assertTrue(sample.get(i - 1) < sample.get(i));
+    }
+  }
+
+  protected List<Integer> readSample(InputSampling sampling) throws Exception {
+    RelationalInput input = sampling.sample(createInput());
+    List<Integer> sample = new ArrayList<>();
+    while (input.hasNext()) {
+      sample.add(Integer.parseInt(input.next().get(0)));
+    }
+    input.close();
+    return sample;
+  }
+
+  protected RelationalInput createInput() throws Exception {
+    final int[] position = {0};
+    RelationalInput input = mock(RelationalInput.class);
+    when(input.hasNext()).thenAnswer(new Answer<Boolean>() {
+      public Boolean answer(InvocationOnMock invocation) throws Throwable {
+        return position[0] < NUMBER_OF_ROWS;
+      }
+    });
+    when(input.next()).thenAnswer(new Answer<List<String>>() {
+      public List<String> answer(InvocationOnMock invocation) throws Throwable {
+        return Arrays.asList(String.valueOf(position[0]++), "value");
+      }
+    });
+    return input;
+  }
+}
@@ -28,6 +28,7 @@ import de.metanome.backend.result_receiver.ResultCache;
 import de.metanome.backend.result_receiver.ResultCounter;
 import de.metanome.backend.result_receiver.ResultPrinter;
 import de.metanome.backend.result_receiver.ResultReceiver;
+import de.metanome.backend.result_receiver.ResultStreamSender;
 import de.metanome.backend.results_db.ExecutionSetting;
 import de.metanome.backend.results_db.EntityStorageException;
 import de.metanome.backend.results_db.FileInput;
@@ -151,10 +152,31 @@ public class AlgorithmExecution {
    * @return an {@link de.metanome.backend.algorithm_execution.AlgorithmExecutor}
    * @throws java.io.FileNotFoundException when the result files cannot be opened
    * @throws java.io.UnsupportedEncodingException when the temp files cannot be opened
+   * @throws java.io.IOException when the results cannot be streamed to the backend
    */
   protected static AlgorithmExecutor buildExecutor(ExecutionSetting executionSetting,
       List<ColumnIdentifier> acceptedColumns)
-      throws FileNotFoundException, UnsupportedEncodingException {
+      throws IOException {
+    return buildExecutor(executionSetting, acceptedColumns,
+        Integer.getInteger(ResultStreamSender.PORT_PROPERTY),
+        System.getenv(ResultStreamSender.TOKEN_ENVIRONMENT));
+  }
+
+  /**
+   * Builds an {@link de.metanome.backend.algorithm_execution.AlgorithmExecutor} with the given
+   * execution settings.
+   *
+   * @param executionSetting the execution setting
+   * @param acceptedColumns the column identifiers of the accepted columns
+   * @param resultPort the port of the backend's result stream or null to write the results to files
+   * @param resultToken the token of the backend's result stream
+   * @return an {@link de.metanome.backend.algorithm_execution.AlgorithmExecutor}
+   * @throws java.io.IOException when the result files cannot be opened or the results cannot be
+   *         streamed to the backend
+   */
+  protected static AlgorithmExecutor buildExecutor(ExecutionSetting executionSetting,
+      List<ColumnIdentifier> acceptedColumns, Integer resultPort, String resultToken)
+      throws IOException {
     FileGenerator fileGenerator = new TempFileGenerator();
     String identifier = executionSetting.getExecutionIdentifier();
 
@@ -163,6 +185,9 @@ public class AlgorithmExecution {
       resultReceiver = new ResultCache(identifier, acceptedColumns);
     } else if (executionSetting.getCountResults()) {
       resultReceiver = new ResultCounter(identifier);
+    } else if (resultPort != null) {
+      // the backend persists the results
+      resultReceiver = new ResultStreamSender(identifier, acceptedColumns, resultPort, resultToken);
     } else {
       resultReceiver = new ResultPrinter(identifier, acceptedColumns);
     }
@@ -232,6 +257,23 @@ public class AlgorithmExecution {
     Long algorithmId = Long.valueOf(args[0]);
     String executionIdentifier = args[1];
 
+    System.exit(execute(algorithmId, executionIdentifier,
+        Integer.getInteger(ResultStreamSender.PORT_PROPERTY),
+        System.getenv(ResultStreamSender.TOKEN_ENVIRONMENT)));
+  }
+
+  /**
+   * Loads the algorithm and the execution setting from the database and executes the algorithm in
+   * the current process.
+   *
+   * @param algorithmId the id of the algorithm
+   * @param executionIdentifier the identifier of the execution setting
+   * @param resultPort the port of the backend's result stream or null to write the results to files
+   * @param resultToken the token of the backend's result stream
+   * @return the exit code of the execution, 0 on success
+   */
+  public static int execute(Long algorithmId, String executionIdentifier, Integer resultPort,
+      String resultToken) {
     // Get the algorithm object
     AlgorithmResource algorithmResource = new AlgorithmResource();
     de.metanome.backend.results_db.Algorithm algorithm = algorithmResource.get(algorithmId);
@@ -243,8 +285,7 @@ public class AlgorithmExecution {
           HibernateUtil.eq("executionIdentifier", executionIdentifier)).get(0);
     } catch (EntityStorageException e) {
       e.printStackTrace();
-      System.exit(1);
-      return;
+      return 1;
     }
 
     // Parse the parameters
@@ -257,16 +298,20 @@ public class AlgorithmExecution {
       List<ColumnIdentifier> columnNames = extractColumnNames(inputs);
 
       // Get the algorithm executor
-      AlgorithmExecutor executor = buildExecutor(executionSetting, columnNames);
-      executor.executeAlgorithm(algorithm, parameters, inputs, executionIdentifier,
-          executionSetting);
-
-      executor.close();
+      AlgorithmExecutor executor = buildExecutor(executionSetting, columnNames, resultPort,
+          resultToken);
+      try {
+        executor.executeAlgorithm(algorithm, parameters, inputs, executionIdentifier,
+            executionSetting);
+      } finally {
+        // Flushes the buffered results of failed executions as well
+        executor.close();
+      }
     } catch (Exception e) {
       e.printStackTrace();
-      System.exit(1);
+      return 1;
     }
-    System.exit(0);
+    return 0;
   }
 
 
@@ -22,10 +22,14 @@ import de.metanome.algorithm_integration.algorithm_types.*;
 import de.metanome.algorithm_integration.configuration.ConfigurationValue;
 import de.metanome.backend.algorithm_loading.AlgorithmAnalyzer;
 import de.metanome.backend.result_receiver.CloseableOmniscientResultReceiver;
+import de.metanome.backend.result_receiver.MinimalityFilter;
+import de.metanome.backend.result_receiver.ResultReceiver;
 import de.metanome.backend.results_db.*;
 
 import java.io.Closeable;
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
@@ -39,6 +43,25 @@ public class AlgorithmExecutor implements Closeable {
   protected CloseableOmniscientResultReceiver resultReceiver;
   protected FileGenerator fileGenerator;
   protected String resultPathPrefix;
+  // The class loaders of the executed algorithms are closed with the executor
+  protected List<AlgorithmAnalyzer> loadedAlgorithms = new ArrayList<>();
+
+  /**
+   * @param inputs the inputs of an execution
+   * @return the files or directories of the file inputs
+   */
+  protected static List<File> getInputFiles(List<Input> inputs) {
+    List<File> files = new ArrayList<>();
+    if (inputs == null) {
+      return files;
+    }
+    for (Input input : inputs) {
+      if (input instanceof FileInput) {
+        files.add(new File(((FileInput) input).getFileName()));
+      }
+    }
+    return files;
+  }
 
   /**
    * Constructs a new executor with new result receivers and generators.
@@ -77,8 +100,24 @@ public class AlgorithmExecutor implements Closeable {
     throws Exception {
 
     AlgorithmAnalyzer analyzer = new AlgorithmAnalyzer(storedAlgorithm.getFileName());
+    loadedAlgorithms.add(analyzer);
     Algorithm algorithm = analyzer.getAlgorithm(); 
 
+    // The algorithm sends its results through the profiler, which counts them. Input reads are
+    // only counted for executions, that request a flight recording, or if enabled globally.
+    RuntimeProfiler profiler = new RuntimeProfiler().setInputFiles(getInputFiles(inputs));
+    if (executionSetting.getFlightRecordingProfile() != null) {
+      profiler.setCountInputReads(true);
+    }
+    CloseableOmniscientResultReceiver resultReceiver = profiler.wrap(this.resultReceiver);
+    // The filter is in front of the profiler, so that dropped results are not counted
+    MinimalityFilter minimalityFilter = null;
+    if (Boolean.TRUE.equals(executionSetting.getMinimalResults())) {
+      minimalityFilter = new MinimalityFilter(resultReceiver)
+        .setHoldResults(!Boolean.TRUE.equals(executionSetting.getMinimalResultsFirst()));
+      resultReceiver = minimalityFilter;
+    }
+
     Set<Result> results = new HashSet<>();
 
     for (ConfigurationValue configValue : parameters) {
@@ -205,14 +244,34 @@ public class AlgorithmExecutor implements Closeable {
     execution.setExecutionSetting(executionSetting);
     HibernateUtil.store(execution);
 
+    FlightRecording recording = null;
+    if (executionSetting.getFlightRecordingProfile() != null) {
+      recording = FlightRecording.start(executionSetting.getFlightRecordingProfile(),
+        getFlightRecordingFile(executionIdentifier));
+      execution.setFlightRecording(recording.getFile().getPath());
+    }
+
+    profiler.start();
     try {
       algorithm.execute();
+      if (minimalityFilter != null) {
+        // The held results of a failed algorithm are discarded
+        minimalityFilter.flush();
+      }
     } catch (Throwable e) {
       // Update DB entry when execution of Algorithm throws an exception
 
       execution = execution
               .setRunning(false)
-              .setAborted(true);
+              .setAborted(true)
+              .setRuntimeProfile(RuntimeProfiler.toJson(profiler.stop()));
+      if (recording != null) {
+        // The failure of the algorithm is reported, not the one of its recording
+        IOException recordingFailure = stopFlightRecording(recording, execution);
+        if (recordingFailure != null) {
+          e.addSuppressed(recordingFailure);
+        }
+      }
 
       for (Result result : results) {
         result.setExecution(execution);
@@ -224,11 +283,21 @@ public class AlgorithmExecutor implements Closeable {
       throw new AlgorithmExecutionException("Algorithm execution failed.", e);
     }
     long after = System.nanoTime(); // nanoseconds
+    if (recording != null) {
+      IOException recordingFailure = stopFlightRecording(recording, execution);
+      if (recordingFailure != null) {
+        // The execution succeeded nonetheless
+        System.err.println("The flight recording of " + executionIdentifier
+          + " could not be written.");
+        recordingFailure.printStackTrace();
+      }
+    }
     long executionTimeInNanos = after - before;
     long executionTimeInMs = executionTimeInNanos / 1000000; // milliseconds
 
     execution = execution
       .setRunning(false)
+      .setRuntimeProfile(RuntimeProfiler.toJson(profiler.stop()))
       .setEnd(beforeWallClockTime + executionTimeInMs)
       .setResults(results)
       .setCountResult(executionSetting.getCountResults());
@@ -248,9 +317,53 @@ public class AlgorithmExecutor implements Closeable {
     this.resultPathPrefix = prefix;
   }
 
+  /**
+   * Stops the recording without failing the execution. The recording is removed from the
+   * execution, if it could not be written.
+   *
+   * @param recording the recording of the execution
+   * @param execution the execution
+   * @return the failure of writing the recording or null
+   */
+  protected static IOException stopFlightRecording(FlightRecording recording,
+                                                   Execution execution) {
+    try {
+      recording.stop();
+      return null;
+    } catch (IOException e) {
+      execution.setFlightRecording(null);
+      return e;
+    }
+  }
+
+  /**
+   * @param executionIdentifier the identifier of the execution
+   * @return the file of the execution's flight recording next to its result files
+   */
+  protected File getFlightRecordingFile(String executionIdentifier) {
+    if (resultPathPrefix != null) {
+      return new File(resultPathPrefix + FlightRecording.FILE_ENDING);
+    }
+    return new File(ResultReceiver.RESULT_DIR,
+      executionIdentifier + FlightRecording.FILE_ENDING);
+  }
+
+  /**
+   * Closes the result receiver and the class loaders of the executed algorithms, so that an
+   * {@link AlgorithmWorker} does not keep the algorithms of previous executions.
+   *
+   * @throws IOException if the result receiver or an algorithm jar could not be closed
+   */
   @Override
   public void close() throws IOException {
-    resultReceiver.close();
+    try {
+      resultReceiver.close();
+    } finally {
+      for (AlgorithmAnalyzer analyzer : loadedAlgorithms) {
+        analyzer.close();
+      }
+      loadedAlgorithms.clear();
+    }
   }
 
 }
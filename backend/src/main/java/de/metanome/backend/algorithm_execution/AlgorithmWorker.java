@@ -0,0 +1,77 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.algorithm_execution;
+
+import de.metanome.backend.results_db.HibernateUtil;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+/**
+ * Long running process, that executes algorithms on request of a {@link WorkerPool}. The worker
+ * connects to the results database once and then reads one command per line from its standard
+ * input: the algorithm id, the execution identifier, the port of the result stream or
+ * {@link #NO_PORT} and the token of the result stream. Each execution loads the algorithm with its
+ * own class loader, which is closed with the {@link AlgorithmExecutor} at the end of the execution.
+ * <p>
+ * The output of the executions is written to the standard output. Control lines prefixed with
+ * {@link #CONTROL_PREFIX} signal that the worker is ready and report the exit code and heap usage
+ * of every execution.
+ */
+public class AlgorithmWorker {
+
+  public static final String CONTROL_PREFIX = "#metanome-worker ";
+  public static final String READY = "ready";
+  public static final String DONE = "done";
+  public static final String NO_PORT = "-";
+
+  public static void main(String args[]) throws IOException {
+    // Keeps the stack traces of failed executions in order with the control lines
+    System.setErr(System.out);
+
+    // Opens the database connection before the first execution arrives
+    HibernateUtil.getSessionFactory();
+    System.out.println(CONTROL_PREFIX + READY);
+
+    BufferedReader commands = new BufferedReader(new InputStreamReader(System.in));
+    String command;
+    while ((command = commands.readLine()) != null) {
+      String[] arguments = command.trim().split(" ");
+      if (arguments.length < 2) {
+        continue;
+      }
+      Integer resultPort = null;
+      String resultToken = null;
+      if (arguments.length > 3 && !arguments[2].equals(NO_PORT)) {
+        resultPort = Integer.valueOf(arguments[2]);
+        resultToken = arguments[3];
+      }
+
+      int exitCode = AlgorithmExecution.execute(Long.valueOf(arguments[0]), arguments[1],
+          resultPort, resultToken);
+
+      // Collects the algorithm's class loader, so that the reported heap usage shows leaks only
+      System.gc();
+      Runtime runtime = Runtime.getRuntime();
+      System.out.println(CONTROL_PREFIX + DONE + " " + exitCode + " "
+          + (runtime.totalMemory() - runtime.freeMemory()) + " " + runtime.maxMemory());
+    }
+
+    System.exit(0);
+  }
+
+}
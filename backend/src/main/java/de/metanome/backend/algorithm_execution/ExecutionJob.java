@@ -0,0 +1,96 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.algorithm_execution;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.concurrent.Future;
+
+/**
+ * An algorithm execution submitted to the {@link ExecutionQueue}. It reports the status of the
+ * execution and, once the execution finished, the id of the stored
+ * {@link de.metanome.backend.results_db.Execution}.
+ */
+public class ExecutionJob {
+
+  public enum Status {
+    QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED
+  }
+
+  protected String executionIdentifier;
+  protected volatile Status status = Status.QUEUED;
+  protected volatile boolean cancelRequested = false;
+  // Set when the cancellation destroyed the process or interrupted the execution
+  protected volatile boolean stopped = false;
+  protected volatile Long executionId;
+  protected volatile String errorMessage;
+  protected long submitted;
+  protected volatile Long started;
+  protected volatile Long finished;
+  protected volatile Future<?> future;
+
+  public ExecutionJob(String executionIdentifier) {
+    this.executionIdentifier = executionIdentifier;
+    this.submitted = System.currentTimeMillis();
+  }
+
+  public String getExecutionIdentifier() {
+    return executionIdentifier;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  /**
+   * @return the id of the stored execution or null, if the execution did not succeed (yet)
+   */
+  public Long getExecutionId() {
+    return executionId;
+  }
+
+  public String getErrorMessage() {
+    return errorMessage;
+  }
+
+  public long getSubmitted() {
+    return submitted;
+  }
+
+  public Long getStarted() {
+    return started;
+  }
+
+  public Long getFinished() {
+    return finished;
+  }
+
+  /**
+   * @return true, if the execution succeeded and its results were stored
+   */
+  public boolean isResultReady() {
+    return status == Status.SUCCEEDED;
+  }
+
+  /**
+   * @return true, if the execution will not change its status anymore
+   */
+  @JsonIgnore
+  public boolean isDone() {
+    return status == Status.SUCCEEDED || status == Status.FAILED || status == Status.CANCELLED;
+  }
+
+}
@@ -0,0 +1,203 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.algorithm_execution;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs submitted algorithm executions in the background, so that the submitting request returns
+ * immediately. At most {@link #CONCURRENCY_PROPERTY} executions run at the same time and at most
+ * {@link #CAPACITY_PROPERTY} executions wait for a free slot; further submissions are rejected.
+ * <p>
+ * The jobs are tracked by their execution identifier. Finished jobs are kept for status requests
+ * until {@link #MAX_FINISHED_JOBS} newer jobs finished.
+ */
+public class ExecutionQueue implements Closeable {
+
+  public static final String CONCURRENCY_PROPERTY = "metanome.executions.concurrency";
+  public static final String CAPACITY_PROPERTY = "metanome.executions.queueCapacity";
+
+  public static final int DEFAULT_CONCURRENCY = 1;
+  public static final int DEFAULT_CAPACITY = 64;
+  protected static final int MAX_FINISHED_JOBS = 1024;
+
+  private static ExecutionQueue instance;
+
+  protected ThreadPoolExecutor executor;
+  protected Map<String, ExecutionJob> jobs = new ConcurrentHashMap<>();
+  protected Queue<String> finishedJobs = new ConcurrentLinkedQueue<>();
+
+  /**
+   * @param concurrency the maximum number of concurrently running executions
+   * @param capacity    the maximum number of waiting executions
+   */
+  public ExecutionQueue(int concurrency, int capacity) {
+    AtomicInteger threadNumber = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<Runnable>(capacity), runnable -> {
+      Thread thread = new Thread(runnable, "metanome-execution-" + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * @return the queue configured by {@link #CONCURRENCY_PROPERTY} and {@link #CAPACITY_PROPERTY}
+   */
+  public static synchronized ExecutionQueue getInstance() {
+    if (instance == null) {
+      instance = new ExecutionQueue(
+          Integer.getInteger(CONCURRENCY_PROPERTY, DEFAULT_CONCURRENCY),
+          Integer.getInteger(CAPACITY_PROPERTY, DEFAULT_CAPACITY));
+    }
+    return instance;
+  }
+
+  /**
+   * Queues the execution.
+   *
+   * @param executionIdentifier the identifier of the execution
+   * @param execution           executes the algorithm and returns the id of the stored execution
+   * @return the queued job
+   * @throws IllegalStateException      if a job with the identifier is queued or running
+   * @throws RejectedExecutionException if the queue is full
+   */
+  public ExecutionJob submit(String executionIdentifier, Callable<Long> execution) {
+    ExecutionJob job = new ExecutionJob(executionIdentifier);
+    // Replaces finished jobs only, atomically with the check
+    jobs.compute(executionIdentifier, (identifier, existing) -> {
+      if (existing != null && !existing.isDone()) {
+        throw new IllegalStateException(
+            "The execution " + executionIdentifier + " is already submitted.");
+      }
+      return job;
+    });
+
+    try {
+      job.future = executor.submit(() -> run(job, execution));
+    } catch (RejectedExecutionException e) {
+      jobs.remove(executionIdentifier, job);
+      throw e;
+    }
+    return job;
+  }
+
+  protected void run(ExecutionJob job, Callable<Long> execution) {
+    if (job.cancelRequested) {
+      // Cancelled while the execution was taken from the queue
+      job.status = ExecutionJob.Status.CANCELLED;
+      finish(job);
+      return;
+    }
+    job.started = System.currentTimeMillis();
+    job.status = ExecutionJob.Status.RUNNING;
+    try {
+      job.executionId = execution.call();
+      // A cancellation, that came too late to stop the execution, does not discard its results
+      job.status = ExecutionJob.Status.SUCCEEDED;
+    } catch (Exception e) {
+      job.errorMessage = e.getMessage();
+      job.status = job.stopped ? ExecutionJob.Status.CANCELLED : ExecutionJob.Status.FAILED;
+    } finally {
+      finish(job);
+    }
+  }
+
+  protected void finish(ExecutionJob job) {
+    job.finished = System.currentTimeMillis();
+    finishedJobs.add(job.getExecutionIdentifier());
+    while (finishedJobs.size() > MAX_FINISHED_JOBS) {
+      String identifier = finishedJobs.poll();
+      ExecutionJob finishedJob = jobs.get(identifier);
+      if (finishedJob != null && finishedJob.isDone()) {
+        jobs.remove(identifier, finishedJob);
+      }
+    }
+  }
+
+  /**
+   * @param executionIdentifier the identifier of the execution
+   * @return the job of the execution or null, if no such job is known
+   */
+  public ExecutionJob get(String executionIdentifier) {
+    return jobs.get(executionIdentifier);
+  }
+
+  /**
+   * Removes a waiting execution from the queue or stops a running execution by destroying its
+   * process registered in the {@link ProcessRegistry}. Executions, that have not started their
+   * process yet, e.g. because they wait for a {@link ResourceManager} reservation, are
+   * interrupted.
+   *
+   * @param executionIdentifier the identifier of the execution
+   * @return the job of the execution or null, if no such job is known
+   */
+  public ExecutionJob cancel(String executionIdentifier) {
+    ExecutionJob job = jobs.get(executionIdentifier);
+    if (job == null || job.isDone()) {
+      return job;
+    }
+
+    job.cancelRequested = true;
+    Future<?> future = job.future;
+    if (future == null) {
+      // Not handed to the executor yet, the job is cancelled when it is taken from the queue
+      return job;
+    }
+    if (executor.remove((Runnable) future)) {
+      job.status = ExecutionJob.Status.CANCELLED;
+      finish(job);
+      return job;
+    }
+
+    // Set before stopping, so that the failing execution is reported as cancelled
+    job.stopped = true;
+    Process process = ProcessRegistry.getInstance().get(executionIdentifier);
+    if (process != null) {
+      process.destroy();
+    } else {
+      future.cancel(true);
+    }
+    return job;
+  }
+
+  /**
+   * @return the number of executions waiting for a free slot
+   */
+  public int getNumberOfQueuedJobs() {
+    return executor.getQueue().size();
+  }
+
+  /**
+   * Stops accepting executions, running executions are not interrupted.
+   */
+  @Override
+  public void close() {
+    executor.shutdown();
+  }
+
+}
@@ -0,0 +1,193 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.algorithm_execution;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * A JDK Flight Recorder recording around an algorithm execution or a DPQL run, that is written to
+ * a file next to the results. The recording covers the whole JVM, so concurrent runs in the same
+ * JVM show up in each other's recordings.
+ */
+public class FlightRecording implements Closeable {
+
+  public static final String FILE_ENDING = ".jfr";
+  /**
+   * The recording settings of the JDK with low overhead, "profile" samples more often.
+   */
+  public static final String DEFAULT_PROFILE = "default";
+
+  protected static final String UNKNOWN_FRAME = "<unknown>";
+
+  protected Recording recording;
+  protected File file;
+
+  protected FlightRecording(Recording recording, File file) {
+    this.recording = recording;
+    this.file = file;
+  }
+
+  /**
+   * Starts a recording.
+   *
+   * @param profile the name of the JDK's recording settings, e.g. "default" or "profile"
+   * @param file    the file the recording is written to once it stops
+   * @return the started recording
+   * @throws IOException if the settings could not be read
+   */
+  public static FlightRecording start(String profile, File file) throws IOException {
+    Configuration configuration;
+    try {
+      configuration = Configuration.getConfiguration(
+          profile == null || profile.isEmpty() ? DEFAULT_PROFILE : profile);
+    } catch (ParseException e) {
+      throw new IOException("Could not read the recording settings " + profile, e);
+    }
+    Recording recording = new Recording(configuration);
+    recording.setName("metanome-" + file.getName());
+    recording.start();
+    return new FlightRecording(recording, file);
+  }
+
+  /**
+   * Stops the recording and writes it to its file.
+   *
+   * @return the file of the recording
+   * @throws IOException if the recording could not be written
+   */
+  public File stop() throws IOException {
+    try {
+      recording.stop();
+      File directory = file.getAbsoluteFile().getParentFile();
+      if (directory != null && !directory.exists()) {
+        directory.mkdirs();
+      }
+      recording.dump(file.toPath());
+    } finally {
+      recording.close();
+    }
+    return file;
+  }
+
+  public File getFile() {
+    return file;
+  }
+
+  @Override
+  public void close() {
+    recording.close();
+  }
+
+  /**
+   * Extracts the hot methods, the allocation hot spots, the contended monitors and the park times
+   * of a recording. Parked threads are reported apart from the contended monitors, as they are
+   * mostly idle workers waiting on queues or conditions rather than threads blocked on a lock.
+   *
+   * @param file the recording
+   * @param top  the maximum number of entries of each hot spot list
+   * @return the summary of the recording
+   * @throws IOException if the recording could not be read
+   */
+  public static FlightRecordingSummary summarize(File file, int top) throws IOException {
+    long executionSamples = 0;
+    Map<String, Long> hotMethods = new HashMap<>();
+    Map<String, Long> allocations = new HashMap<>();
+    Map<String, Long> lockNanos = new HashMap<>();
+    Map<String, Long> parkNanos = new HashMap<>();
+
+    try (RecordingFile recordingFile = new RecordingFile(file.toPath())) {
+      while (recordingFile.hasMoreEvents()) {
+        RecordedEvent event = recordingFile.readEvent();
+        switch (event.getEventType().getName()) {
+          case "jdk.ExecutionSample":
+            executionSamples++;
+            hotMethods.merge(topFrame(event), 1L, Long::sum);
+            break;
+          case "jdk.ObjectAllocationSample":
+            allocations.merge(topFrame(event), event.getLong("weight"), Long::sum);
+            break;
+          case "jdk.JavaMonitorEnter":
+            lockNanos.merge(className(event.getClass("monitorClass")),
+                event.getDuration().toNanos(), Long::sum);
+            break;
+          case "jdk.ThreadPark":
+            parkNanos.merge(className(event.getClass("parkedClass")),
+                event.getDuration().toNanos(), Long::sum);
+            break;
+          default:
+            break;
+        }
+      }
+    }
+
+    return new FlightRecordingSummary()
+        .setExecutionSamples(executionSamples)
+        .setHotMethods(largest(hotMethods, top))
+        .setAllocationHotSpots(largest(allocations, top))
+        .setLockContention(largest(toMillis(lockNanos), top))
+        .setParkTime(largest(toMillis(parkNanos), top));
+  }
+
+  protected static Map<String, Long> toMillis(Map<String, Long> nanos) {
+    Map<String, Long> millis = new HashMap<>();
+    for (Map.Entry<String, Long> entry : nanos.entrySet()) {
+      millis.put(entry.getKey(), entry.getValue() / 1000000);
+    }
+    return millis;
+  }
+
+  protected static String topFrame(RecordedEvent event) {
+    RecordedStackTrace stackTrace = event.getStackTrace();
+    if (stackTrace == null) {
+      return UNKNOWN_FRAME;
+    }
+    List<RecordedFrame> frames = stackTrace.getFrames();
+    if (frames.isEmpty() || frames.get(0).getMethod() == null) {
+      return UNKNOWN_FRAME;
+    }
+    RecordedFrame frame = frames.get(0);
+    return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+  }
+
+  protected static String className(RecordedClass recordedClass) {
+    return recordedClass == null ? UNKNOWN_FRAME : recordedClass.getName();
+  }
+
+  protected static Map<String, Long> largest(Map<String, Long> values, int top) {
+    Map<String, Long> largest = new LinkedHashMap<>();
+    values.entrySet().stream()
+        .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+        .limit(top)
+        .forEach(entry -> largest.put(entry.getKey(), entry.getValue()));
+    return largest;
+  }
+
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.algorithm_execution;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The hot spots of a JDK Flight Recorder recording extracted by
+ * {@link FlightRecording#summarize(java.io.File, int)}. The entries of every map are ordered by
+ * their value, the largest first.
+ */
+public class FlightRecordingSummary {
+
+  protected long executionSamples;
+  protected Map<String, Long> hotMethods = new LinkedHashMap<>();
+  protected Map<String, Long> allocationHotSpots = new LinkedHashMap<>();
+  protected Map<String, Long> lockContention = new LinkedHashMap<>();
+  protected Map<String, Long> parkTime = new LinkedHashMap<>();
+
+  public long getExecutionSamples() {
+    return executionSamples;
+  }
+
+  public FlightRecordingSummary setExecutionSamples(long executionSamples) {
+    this.executionSamples = executionSamples;
+    return this;
+  }
+
+  /**
+   * @return the number of execution samples by the sampled method
+   */
+  public Map<String, Long> getHotMethods() {
+    return hotMethods;
+  }
+
+  public FlightRecordingSummary setHotMethods(Map<String, Long> hotMethods) {
+    this.hotMethods = hotMethods;
+    return this;
+  }
+
+  /**
+   * @return the estimated allocated bytes by the allocating method
+   */
+  public Map<String, Long> getAllocationHotSpots() {
+    return allocationHotSpots;
+  }
+
+  public FlightRecordingSummary setAllocationHotSpots(Map<String, Long> allocationHotSpots) {
+    this.allocationHotSpots = allocationHotSpots;
+    return this;
+  }
+
+  /**
+   * @return the milliseconds threads were blocked entering a monitor by the class of the monitor
+   */
+  public Map<String, Long> getLockContention() {
+    return lockContention;
+  }
+
+  public FlightRecordingSummary setLockContention(Map<String, Long> lockContention) {
+    this.lockContention = lockContention;
+    return this;
+  }
+
+  /**
+   * @return the milliseconds threads were parked by the class they were parked on, e.g. the
+   * conditions of idle thread pools as well as contended locks
+   */
+  public Map<String, Long> getParkTime() {
+    return parkTime;
+  }
+
+  public FlightRecordingSummary setParkTime(Map<String, Long> parkTime) {
+    this.parkTime = parkTime;
+    return this;
+  }
+
+}
@@ -15,11 +15,12 @@
  */
 package de.metanome.backend.algorithm_execution;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Used to manage/maintain process instances
+ * Used to manage/maintain process instances. The registry is shared by concurrently running
+ * executions and is therefore thread-safe.
  */
 public class ProcessRegistry {
 
@@ -33,7 +34,7 @@ public class ProcessRegistry {
     return INSTANCE;
   }
 
-  private final Map<String, Process> _processes = new HashMap<String, Process>();
+  private final Map<String, Process> _processes = new ConcurrentHashMap<String, Process>();
 
   public void put(String key, Process p) {
     _processes.put(key, p);
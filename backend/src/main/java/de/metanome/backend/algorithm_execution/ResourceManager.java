@@ -0,0 +1,337 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.algorithm_execution;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * Admits algorithm executions and DPQL runs only while their memory fits into the memory of the
+ * machine, so that concurrent work queues up instead of oversubscribing the host. Every admitted
+ * piece of work holds a {@link Reservation} until it finishes. Waiting requests are admitted in
+ * the order of their arrival; a request larger than the whole budget is admitted once nothing
+ * else runs.
+ * <p>
+ * The memory budget defaults to the physical memory minus the heap of the backend and can be set
+ * with {@link #MEMORY_PROPERTY}. At most {@link #MAX_CONCURRENT_PROPERTY} reservations, by default
+ * the number of processors, are held at the same time. Requests of synchronous calls give up after
+ * {@link #RESERVE_TIMEOUT_PROPERTY} milliseconds.
+ * <p>
+ * Holders of reservations, that are only kept for future work, e.g. idle pooled workers, register
+ * a reclaimer with {@link #addReclaimer(Runnable)}. It is run whenever a request cannot be
+ * admitted right away and should release such reservations.
+ */
+public class ResourceManager {
+
+  public static final String MEMORY_PROPERTY = "metanome.resources.memoryMb";
+  public static final String MAX_CONCURRENT_PROPERTY = "metanome.resources.maxConcurrent";
+  public static final String DPQL_MEMORY_PROPERTY = "metanome.resources.dpqlMemoryMb";
+  public static final String RESERVE_TIMEOUT_PROPERTY = "metanome.resources.reserveTimeoutMs";
+
+  public static final long DEFAULT_DPQL_MEMORY_MB = 1024;
+  public static final long DEFAULT_RESERVE_TIMEOUT_MS = 5 * 60 * 1000;
+  // Memory of an algorithm process beyond its heap, e.g. metaspace, code cache and thread stacks
+  public static final long JVM_OVERHEAD_MB = 256;
+
+  protected static final long MB = 1024 * 1024;
+  // The memory argument is passed as -Xmx<memory>m to the executing process
+  protected static final Pattern MEMORY_ARGUMENT = Pattern.compile("[1-9][0-9]{0,8}");
+
+  public enum Kind {
+    ALGORITHM_EXECUTION, DPQL_RUN
+  }
+
+  private static ResourceManager instance;
+
+  protected long physicalMemoryMb;
+  protected int cpuCount;
+  protected long memoryBudgetMb;
+  protected int maxConcurrent;
+  protected long reservedMemoryMb = 0;
+  protected List<Reservation> reservations = new ArrayList<>();
+  protected Deque<Reservation> waiting = new ArrayDeque<>();
+  protected List<Runnable> reclaimers = new CopyOnWriteArrayList<>();
+
+  /**
+   * @param physicalMemoryMb the physical memory of the machine
+   * @param cpuCount         the number of processors of the machine
+   * @param memoryBudgetMb   the memory, that may be reserved at the same time
+   * @param maxConcurrent    the maximum number of reservations held at the same time
+   */
+  public ResourceManager(long physicalMemoryMb, int cpuCount, long memoryBudgetMb,
+                         int maxConcurrent) {
+    this.physicalMemoryMb = physicalMemoryMb;
+    this.cpuCount = cpuCount;
+    this.memoryBudgetMb = memoryBudgetMb;
+    this.maxConcurrent = maxConcurrent;
+  }
+
+  /**
+   * @return the resource manager of this machine
+   */
+  public static synchronized ResourceManager getInstance() {
+    if (instance == null) {
+      long physicalMemoryMb = getPhysicalMemoryMb();
+      int cpuCount = Runtime.getRuntime().availableProcessors();
+      long backendMemoryMb = Runtime.getRuntime().maxMemory() / MB;
+      long defaultBudgetMb = Math.max(physicalMemoryMb - backendMemoryMb, JVM_OVERHEAD_MB);
+      instance = new ResourceManager(physicalMemoryMb, cpuCount,
+          Long.getLong(MEMORY_PROPERTY, defaultBudgetMb),
+          Integer.getInteger(MAX_CONCURRENT_PROPERTY, cpuCount));
+    }
+    return instance;
+  }
+
+  protected static long getPhysicalMemoryMb() {
+    OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    if (os instanceof com.sun.management.OperatingSystemMXBean) {
+      return ((com.sun.management.OperatingSystemMXBean) os).getTotalMemorySize() / MB;
+    }
+    // The default maximum heap of a JVM is a quarter of the physical memory
+    return 4 * Runtime.getRuntime().maxMemory() / MB;
+  }
+
+  /**
+   * @param memory the memory argument of an algorithm execution
+   * @return true, if the memory is empty or a positive number of MB
+   */
+  public static boolean isValidMemory(String memory) {
+    return memory == null || memory.isEmpty() || MEMORY_ARGUMENT.matcher(memory).matches();
+  }
+
+  /**
+   * @param memory the memory argument of an algorithm execution in MB or an empty string
+   * @return the memory of the execution's process including the JVM overhead
+   * @throws IllegalArgumentException if the memory argument is not valid
+   */
+  public long getExecutionMemoryMb(String memory) {
+    if (!isValidMemory(memory)) {
+      throw new IllegalArgumentException("Invalid memory argument: " + memory);
+    }
+    if (memory == null || memory.isEmpty()) {
+      // The default maximum heap of a JVM is a quarter of the physical memory
+      return physicalMemoryMb / 4 + JVM_OVERHEAD_MB;
+    }
+    return Long.parseLong(memory) + JVM_OVERHEAD_MB;
+  }
+
+  /**
+   * @return the time a synchronous request waits for its reservation in milliseconds
+   */
+  public long getReserveTimeoutMillis() {
+    return Long.getLong(RESERVE_TIMEOUT_PROPERTY, DEFAULT_RESERVE_TIMEOUT_MS);
+  }
+
+  /**
+   * @return the memory of a DPQL run, which is executed in the backend's JVM
+   */
+  public long getDpqlMemoryMb() {
+    return Long.getLong(DPQL_MEMORY_PROPERTY, DEFAULT_DPQL_MEMORY_MB);
+  }
+
+  /**
+   * Waits until the memory fits and all earlier requests are admitted and reserves the memory.
+   *
+   * @param owner    the identifier of the execution or run
+   * @param kind     the kind of work
+   * @param memoryMb the memory to reserve
+   * @return the reservation, that has to be closed once the work finished
+   * @throws InterruptedException if the thread was interrupted while waiting
+   */
+  public Reservation reserve(String owner, Kind kind, long memoryMb)
+      throws InterruptedException {
+    try {
+      return reserve(owner, kind, memoryMb, 0);
+    } catch (TimeoutException e) {
+      // does not occur without a timeout
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Waits at most the given time until the memory fits and all earlier requests are admitted and
+   * reserves the memory.
+   *
+   * @param owner         the identifier of the execution or run
+   * @param kind          the kind of work
+   * @param memoryMb      the memory to reserve
+   * @param timeoutMillis the maximum time to wait in milliseconds, 0 to wait without a timeout
+   * @return the reservation, that has to be closed once the work finished
+   * @throws InterruptedException if the thread was interrupted while waiting
+   * @throws TimeoutException     if the memory was not available in time
+   */
+  public Reservation reserve(String owner, Kind kind, long memoryMb, long timeoutMillis)
+      throws InterruptedException, TimeoutException {
+    Reservation reservation = new Reservation(owner, kind, memoryMb);
+    long deadline = System.currentTimeMillis() + timeoutMillis;
+    boolean admissible;
+    synchronized (this) {
+      waiting.add(reservation);
+      admissible = isAdmissible(reservation);
+    }
+    if (!admissible) {
+      // Reclaimers release reservations and thereby lock this manager, so that they must not run
+      // while a thread holds its lock. Requests enqueued before are visible to them.
+      for (Runnable reclaimer : reclaimers) {
+        reclaimer.run();
+      }
+    }
+    return admit(reservation, deadline, timeoutMillis);
+  }
+
+  protected synchronized Reservation admit(Reservation reservation, long deadline,
+                                           long timeoutMillis)
+      throws InterruptedException, TimeoutException {
+    long memoryMb = reservation.memoryMb;
+    String owner = reservation.owner;
+    try {
+      while (!isAdmissible(reservation)) {
+        long remaining = deadline - System.currentTimeMillis();
+        if (timeoutMillis > 0 && remaining <= 0) {
+          throw new TimeoutException("Waited " + timeoutMillis + " ms for " + memoryMb
+              + " MB of memory for " + owner + ".");
+        }
+        wait(timeoutMillis > 0 ? remaining : 0);
+      }
+    } catch (InterruptedException | TimeoutException e) {
+      waiting.remove(reservation);
+      notifyAll();
+      throw e;
+    }
+    waiting.poll();
+    reservation.since = System.currentTimeMillis();
+    reservations.add(reservation);
+    reservedMemoryMb += memoryMb;
+    // The next request may fit as well
+    notifyAll();
+    return reservation;
+  }
+
+  /**
+   * @param memoryMb the memory to reserve
+   * @return true, if a reservation of the memory would be admitted without waiting
+   */
+  public synchronized boolean isAvailable(long memoryMb) {
+    return waiting.isEmpty() && fits(memoryMb);
+  }
+
+  /**
+   * @return true, if requests wait for their reservation
+   */
+  public synchronized boolean hasWaitingRequests() {
+    return !waiting.isEmpty();
+  }
+
+  /**
+   * Registers a reclaimer, that releases reservations only kept for future work. It is run without
+   * holding the lock of this manager, whenever a request cannot be admitted right away.
+   *
+   * @param reclaimer releases reservations, e.g. of idle workers
+   */
+  public void addReclaimer(Runnable reclaimer) {
+    reclaimers.add(reclaimer);
+  }
+
+  /**
+   * @param reclaimer a reclaimer registered with {@link #addReclaimer(Runnable)}
+   */
+  public void removeReclaimer(Runnable reclaimer) {
+    reclaimers.remove(reclaimer);
+  }
+
+  protected boolean isAdmissible(Reservation reservation) {
+    return waiting.peek() == reservation && fits(reservation.memoryMb);
+  }
+
+  protected boolean fits(long memoryMb) {
+    return reservations.isEmpty()
+        || (reservations.size() < maxConcurrent && reservedMemoryMb + memoryMb <= memoryBudgetMb);
+  }
+
+  protected synchronized void release(Reservation reservation) {
+    if (reservations.remove(reservation)) {
+      reservedMemoryMb -= reservation.memoryMb;
+      notifyAll();
+    }
+  }
+
+  /**
+   * @return the resources of the machine, the held reservations and the number of waiting requests
+   */
+  public synchronized Map<String, Object> getStatus() {
+    Map<String, Object> status = new LinkedHashMap<>();
+    status.put("physicalMemoryMb", physicalMemoryMb);
+    status.put("cpuCount", cpuCount);
+    status.put("memoryBudgetMb", memoryBudgetMb);
+    status.put("reservedMemoryMb", reservedMemoryMb);
+    status.put("maxConcurrent", maxConcurrent);
+    status.put("waiting", waiting.size());
+    List<Map<String, Object>> held = new ArrayList<>();
+    for (Reservation reservation : reservations) {
+      Map<String, Object> entry = new LinkedHashMap<>();
+      entry.put("owner", reservation.owner);
+      entry.put("kind", reservation.kind.name());
+      entry.put("memoryMb", reservation.memoryMb);
+      entry.put("since", reservation.since);
+      held.add(entry);
+    }
+    status.put("reservations", held);
+    return status;
+  }
+
+  /**
+   * Memory reserved for an algorithm execution or a DPQL run.
+   */
+  public class Reservation implements AutoCloseable {
+
+    protected String owner;
+    protected Kind kind;
+    protected long memoryMb;
+    protected long since;
+
+    protected Reservation(String owner, Kind kind, long memoryMb) {
+      this.owner = owner;
+      this.kind = kind;
+      this.memoryMb = memoryMb;
+    }
+
+    public String getOwner() {
+      return owner;
+    }
+
+    public long getMemoryMb() {
+      return memoryMb;
+    }
+
+    /**
+     * Releases the memory and admits waiting requests.
+     */
+    @Override
+    public void close() {
+      release(this);
+    }
+  }
+
+}
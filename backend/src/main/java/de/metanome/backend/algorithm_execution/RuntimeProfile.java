@@ -0,0 +1,153 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.algorithm_execution;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The resource usage of an algorithm execution measured by a {@link RuntimeProfiler} in the
+ * executing JVM.
+ */
+public class RuntimeProfile {
+
+  protected long durationMillis;
+  protected long cpuTimeMillis;
+  protected long gcCount;
+  protected long gcTimeMillis;
+  protected long peakHeapBytes;
+  protected long peakOffHeapBytes;
+  protected int peakThreadCount;
+  protected long inputBytesRead;
+  protected long results;
+  protected long sampleIntervalMillis;
+  protected List<Double> resultsPerSecond = new ArrayList<>();
+
+  public long getDurationMillis() {
+    return durationMillis;
+  }
+
+  public RuntimeProfile setDurationMillis(long durationMillis) {
+    this.durationMillis = durationMillis;
+    return this;
+  }
+
+  /**
+   * @return the CPU time of all threads of the executing JVM
+   */
+  public long getCpuTimeMillis() {
+    return cpuTimeMillis;
+  }
+
+  public RuntimeProfile setCpuTimeMillis(long cpuTimeMillis) {
+    this.cpuTimeMillis = cpuTimeMillis;
+    return this;
+  }
+
+  public long getGcCount() {
+    return gcCount;
+  }
+
+  public RuntimeProfile setGcCount(long gcCount) {
+    this.gcCount = gcCount;
+    return this;
+  }
+
+  /**
+   * @return the accumulated time of the garbage collections
+   */
+  public long getGcTimeMillis() {
+    return gcTimeMillis;
+  }
+
+  public RuntimeProfile setGcTimeMillis(long gcTimeMillis) {
+    this.gcTimeMillis = gcTimeMillis;
+    return this;
+  }
+
+  public long getPeakHeapBytes() {
+    return peakHeapBytes;
+  }
+
+  public RuntimeProfile setPeakHeapBytes(long peakHeapBytes) {
+    this.peakHeapBytes = peakHeapBytes;
+    return this;
+  }
+
+  /**
+   * @return the peak of the non-heap memory pools plus the peak of the direct buffers
+   */
+  public long getPeakOffHeapBytes() {
+    return peakOffHeapBytes;
+  }
+
+  public RuntimeProfile setPeakOffHeapBytes(long peakOffHeapBytes) {
+    this.peakOffHeapBytes = peakOffHeapBytes;
+    return this;
+  }
+
+  public int getPeakThreadCount() {
+    return peakThreadCount;
+  }
+
+  public RuntimeProfile setPeakThreadCount(int peakThreadCount) {
+    this.peakThreadCount = peakThreadCount;
+    return this;
+  }
+
+  /**
+   * @return the bytes read from the input files, -1 if they were not or could not be recorded
+   */
+  public long getInputBytesRead() {
+    return inputBytesRead;
+  }
+
+  public RuntimeProfile setInputBytesRead(long inputBytesRead) {
+    this.inputBytesRead = inputBytesRead;
+    return this;
+  }
+
+  public long getResults() {
+    return results;
+  }
+
+  public RuntimeProfile setResults(long results) {
+    this.results = results;
+    return this;
+  }
+
+  public long getSampleIntervalMillis() {
+    return sampleIntervalMillis;
+  }
+
+  public RuntimeProfile setSampleIntervalMillis(long sampleIntervalMillis) {
+    this.sampleIntervalMillis = sampleIntervalMillis;
+    return this;
+  }
+
+  /**
+   * @return the results emitted per second in each sample interval
+   */
+  public List<Double> getResultsPerSecond() {
+    return resultsPerSecond;
+  }
+
+  public RuntimeProfile setResultsPerSecond(List<Double> resultsPerSecond) {
+    this.resultsPerSecond = resultsPerSecond;
+    return this;
+  }
+
+}
@@ -0,0 +1,319 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.algorithm_execution;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.metanome.algorithm_integration.results.Result;
+import de.metanome.backend.result_receiver.CloseableOmniscientResultReceiver;
+import de.metanome.backend.result_receiver.ForwardingResultReceiver;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Measures the resource usage of an algorithm execution in the executing JVM. CPU time, garbage
+ * collections, memory and threads are read from the platform MXBeans. The results emitted per
+ * second are sampled every {@link #SAMPLE_INTERVAL_PROPERTY} milliseconds from the receiver
+ * returned by {@link #wrap(CloseableOmniscientResultReceiver)}.
+ * <p>
+ * The bytes read from the input files, see {@link #setInputFiles(Collection)}, are streamed from
+ * JDK Flight Recorder file read events; reads of other files, e.g. libraries or results, are not
+ * counted. As every file read of the JVM is recorded then, they are only counted if requested with
+ * {@link #setCountInputReads(boolean)} or {@link #INPUT_READS_PROPERTY}.
+ */
+public class RuntimeProfiler {
+
+  public static final String SAMPLE_INTERVAL_PROPERTY = "metanome.profile.sampleIntervalMillis";
+  public static final long DEFAULT_SAMPLE_INTERVAL_MILLIS = 1000;
+  public static final String INPUT_READS_PROPERTY = "metanome.profile.inputReads";
+
+  protected static final String FILE_READ_EVENT = "jdk.FileRead";
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  protected long sampleIntervalMillis;
+  protected AtomicLong results = new AtomicLong();
+  protected AtomicLong inputBytesRead = new AtomicLong();
+  // Input files and directories, whose reads are counted
+  protected List<Path> inputPaths = new ArrayList<>();
+  protected boolean countInputReads = Boolean.getBoolean(INPUT_READS_PROPERTY);
+  protected List<Double> resultsPerSecond = new ArrayList<>();
+  protected RecordingStream inputEvents;
+  protected Thread sampler;
+  protected long startNanos;
+  protected long startCpuNanos;
+  protected long startGcCount;
+  protected long startGcMillis;
+  // Only accessed by the sampler until it terminated
+  protected long lastSampleNanos;
+  protected long lastSampleResults;
+  protected long peakDirectBytes;
+
+  public RuntimeProfiler() {
+    this(Long.getLong(SAMPLE_INTERVAL_PROPERTY, DEFAULT_SAMPLE_INTERVAL_MILLIS));
+  }
+
+  /**
+   * @param sampleIntervalMillis the interval of the results per second time series
+   */
+  public RuntimeProfiler(long sampleIntervalMillis) {
+    this.sampleIntervalMillis = sampleIntervalMillis;
+  }
+
+  /**
+   * @param files the input files or directories of the execution, set before {@link #start()}
+   * @return this profiler
+   */
+  public RuntimeProfiler setInputFiles(Collection<File> files) {
+    for (File file : files) {
+      inputPaths.add(file.toPath().toAbsolutePath().normalize());
+    }
+    return this;
+  }
+
+  /**
+   * @param countInputReads true to count the bytes read from the input files, set before
+   *                        {@link #start()}
+   * @return this profiler
+   */
+  public RuntimeProfiler setCountInputReads(boolean countInputReads) {
+    this.countInputReads = countInputReads;
+    return this;
+  }
+
+  /**
+   * @param receiver the receiver of the algorithm's results
+   * @return a receiver, that counts the results and forwards them to the given receiver
+   */
+  public CloseableOmniscientResultReceiver wrap(CloseableOmniscientResultReceiver receiver) {
+    return new ForwardingResultReceiver(receiver) {
+      @Override
+      protected boolean forward(Result result) {
+        results.incrementAndGet();
+        return true;
+      }
+    };
+  }
+
+  /**
+   * Resets the peak usages and starts measuring.
+   *
+   * @return this profiler
+   */
+  public RuntimeProfiler start() {
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      pool.resetPeakUsage();
+    }
+    ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+    for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+      startGcCount += Math.max(collector.getCollectionCount(), 0);
+      startGcMillis += Math.max(collector.getCollectionTime(), 0);
+    }
+    startInputEvents();
+
+    startCpuNanos = getProcessCpuNanos();
+    startNanos = System.nanoTime();
+    lastSampleNanos = startNanos;
+    peakDirectBytes = getDirectBytes();
+
+    sampler = new Thread(() -> {
+      while (true) {
+        try {
+          Thread.sleep(sampleIntervalMillis);
+        } catch (InterruptedException e) {
+          break;
+        }
+        sample();
+      }
+    }, "metanome-runtime-profiler");
+    sampler.setDaemon(true);
+    sampler.start();
+    return this;
+  }
+
+  protected void startInputEvents() {
+    if (!countInputReads) {
+      inputBytesRead.set(-1);
+      return;
+    }
+    if (inputPaths.isEmpty()) {
+      // e.g. database inputs, their reads are not distinguishable from other socket reads
+      return;
+    }
+    try {
+      RecordingStream stream = new RecordingStream();
+      stream.enable(FILE_READ_EVENT).withThreshold(Duration.ZERO).withoutStackTrace();
+      stream.onEvent(FILE_READ_EVENT, readEvent -> {
+        long bytesRead = readEvent.getLong("bytesRead");
+        if (bytesRead > 0 && isInputPath(readEvent.getString("path"))) {
+          inputBytesRead.addAndGet(bytesRead);
+        }
+      });
+      stream.startAsync();
+      inputEvents = stream;
+    } catch (Exception e) {
+      // Flight Recorder is not available in this JVM
+      e.printStackTrace();
+      inputBytesRead.set(-1);
+    }
+  }
+
+  /**
+   * @param path the path of a read file
+   * @return true, if the file is an input file or in an input directory
+   */
+  protected boolean isInputPath(String path) {
+    if (path == null) {
+      return false;
+    }
+    try {
+      Path readPath = Paths.get(path).toAbsolutePath().normalize();
+      for (Path inputPath : inputPaths) {
+        if (readPath.startsWith(inputPath)) {
+          return true;
+        }
+      }
+    } catch (InvalidPathException e) {
+      // not a file of the inputs
+    }
+    return false;
+  }
+
+  protected void sample() {
+    long now = System.nanoTime();
+    long currentResults = results.get();
+    double seconds = (now - lastSampleNanos) / 1e9;
+    if (seconds > 0) {
+      synchronized (resultsPerSecond) {
+        resultsPerSecond.add((currentResults - lastSampleResults) / seconds);
+      }
+    }
+    lastSampleNanos = now;
+    lastSampleResults = currentResults;
+    peakDirectBytes = Math.max(peakDirectBytes, getDirectBytes());
+  }
+
+  /**
+   * Stops measuring.
+   *
+   * @return the measured profile
+   */
+  public RuntimeProfile stop() {
+    long durationNanos = System.nanoTime() - startNanos;
+    long cpuNanos = getProcessCpuNanos() - startCpuNanos;
+
+    sampler.interrupt();
+    try {
+      sampler.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    // The last, partial interval
+    sample();
+
+    if (inputEvents != null) {
+      // Waits until the recorded read events are consumed
+      inputEvents.stop();
+      inputEvents.close();
+    }
+
+    long gcCount = 0;
+    long gcMillis = 0;
+    for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+      gcCount += Math.max(collector.getCollectionCount(), 0);
+      gcMillis += Math.max(collector.getCollectionTime(), 0);
+    }
+    long peakHeapBytes = 0;
+    long peakNonHeapBytes = 0;
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        peakHeapBytes += pool.getPeakUsage().getUsed();
+      } else {
+        peakNonHeapBytes += pool.getPeakUsage().getUsed();
+      }
+    }
+
+    List<Double> series;
+    synchronized (resultsPerSecond) {
+      series = new ArrayList<>(resultsPerSecond);
+    }
+    return new RuntimeProfile()
+        .setDurationMillis(durationNanos / 1000000)
+        .setCpuTimeMillis(cpuNanos / 1000000)
+        .setGcCount(gcCount - startGcCount)
+        .setGcTimeMillis(gcMillis - startGcMillis)
+        .setPeakHeapBytes(peakHeapBytes)
+        .setPeakOffHeapBytes(peakNonHeapBytes + peakDirectBytes)
+        .setPeakThreadCount(ManagementFactory.getThreadMXBean().getPeakThreadCount())
+        .setInputBytesRead(inputBytesRead.get())
+        .setResults(results.get())
+        .setSampleIntervalMillis(sampleIntervalMillis)
+        .setResultsPerSecond(series);
+  }
+
+  protected static long getProcessCpuNanos() {
+    OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    if (os instanceof com.sun.management.OperatingSystemMXBean) {
+      return ((com.sun.management.OperatingSystemMXBean) os).getProcessCpuTime();
+    }
+    return ManagementFactory.getThreadMXBean().getCurrentThreadCpuTime();
+  }
+
+  protected static long getDirectBytes() {
+    long bytes = 0;
+    for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+      bytes += Math.max(pool.getMemoryUsed(), 0);
+    }
+    return bytes;
+  }
+
+  /**
+   * @param profile the profile
+   * @return the profile as JSON, as stored on the execution
+   * @throws JsonProcessingException if the profile could not be serialized
+   */
+  public static String toJson(RuntimeProfile profile) throws JsonProcessingException {
+    return MAPPER.writeValueAsString(profile);
+  }
+
+  /**
+   * @param json the profile as stored on the execution
+   * @return the profile
+   * @throws IOException if the JSON is no profile
+   */
+  public static RuntimeProfile fromJson(String json) throws IOException {
+    return MAPPER.readValue(json, RuntimeProfile.class);
+  }
+
+}
@@ -0,0 +1,343 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.algorithm_execution;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Keeps started {@link AlgorithmWorker} processes, so that executions do not pay the start up of
+ * a new JVM and the database connection. Workers are pooled by their memory size class, i.e. the
+ * memory argument of the execution, because the heap of a JVM cannot be changed after its start.
+ * <p>
+ * A worker is retired after {@link #getMaxRuns()} executions or when its used heap after an
+ * execution exceeds {@link #getMaxHeapUsage()} of its maximum heap, as the executed algorithms may
+ * leak memory through static state.
+ * <p>
+ * If a {@link ResourceManager} is set, every live worker, idle or executing, holds a reservation of
+ * its memory, which is released when the worker is retired. Executions in pooled workers therefore
+ * do not reserve memory themselves. Idle workers are retired, whenever a request of the resource
+ * manager, e.g. a worker of another memory size class or a DPQL run, does not fit otherwise, and
+ * released workers are not kept while requests wait.
+ */
+public class WorkerPool implements Closeable {
+
+  /**
+   * System property to execute algorithms in pooled workers instead of a new process each.
+   */
+  public static final String ENABLED_PROPERTY = "metanome.workers.enabled";
+  /**
+   * System property with the number of workers started with the default memory on start up.
+   */
+  public static final String PRESTART_PROPERTY = "metanome.workers.prestart";
+  public static final String MAX_RUNS_PROPERTY = "metanome.workers.maxRuns";
+  public static final String MAX_HEAP_USAGE_PROPERTY = "metanome.workers.maxHeapUsage";
+
+  public static final int DEFAULT_PRESTART = 1;
+  public static final int DEFAULT_MAX_RUNS = 20;
+  public static final double DEFAULT_MAX_HEAP_USAGE = 0.5;
+
+  // Exit code of executions, whose worker died
+  public static final int WORKER_DIED = -1;
+
+  protected Function<String, ProcessBuilder> launcher;
+  protected Map<String, Deque<Worker>> idleWorkers = new HashMap<>();
+  protected int maxRuns = Integer.getInteger(MAX_RUNS_PROPERTY, DEFAULT_MAX_RUNS);
+  protected double maxHeapUsage = Double.parseDouble(
+      System.getProperty(MAX_HEAP_USAGE_PROPERTY, String.valueOf(DEFAULT_MAX_HEAP_USAGE)));
+  protected boolean closed = false;
+  protected ResourceManager resourceManager;
+  protected Runnable reclaimer = this::retireIdleWorkers;
+
+  /**
+   * @param launcher builds the process of an {@link AlgorithmWorker} for the given memory argument
+   */
+  public WorkerPool(Function<String, ProcessBuilder> launcher) {
+    this.launcher = launcher;
+  }
+
+  public int getMaxRuns() {
+    return maxRuns;
+  }
+
+  public WorkerPool setMaxRuns(int maxRuns) {
+    this.maxRuns = maxRuns;
+    return this;
+  }
+
+  public double getMaxHeapUsage() {
+    return maxHeapUsage;
+  }
+
+  public WorkerPool setMaxHeapUsage(double maxHeapUsage) {
+    this.maxHeapUsage = maxHeapUsage;
+    return this;
+  }
+
+  /**
+   * @param resourceManager reserves the memory of the workers, null to start workers without
+   *                        reservations
+   * @return the pool
+   */
+  public WorkerPool setResourceManager(ResourceManager resourceManager) {
+    if (this.resourceManager != null) {
+      this.resourceManager.removeReclaimer(reclaimer);
+    }
+    this.resourceManager = resourceManager;
+    if (resourceManager != null) {
+      resourceManager.addReclaimer(reclaimer);
+    }
+    return this;
+  }
+
+  /**
+   * Starts workers of the given memory size class and keeps them idle.
+   *
+   * @param memory the memory argument of the workers
+   * @param count  the number of workers to start
+   * @throws IOException          if a worker could not be started
+   * @throws InterruptedException if the thread was interrupted while waiting for memory
+   * @throws TimeoutException     if the memory of a worker was not available in time
+   */
+  public void prestart(String memory, int count)
+      throws IOException, InterruptedException, TimeoutException {
+    for (int i = 0; i < count; i++) {
+      release(start(memory));
+    }
+  }
+
+  /**
+   * Returns an idle worker of the given memory size class or starts a new one.
+   *
+   * @param memory the memory argument of the execution
+   * @return a worker, that is ready to execute an algorithm
+   * @throws IOException          if a new worker could not be started
+   * @throws InterruptedException if the thread was interrupted while waiting for memory
+   * @throws TimeoutException     if the memory of a new worker was not available in time
+   */
+  public Worker acquire(String memory)
+      throws IOException, InterruptedException, TimeoutException {
+    synchronized (this) {
+      Deque<Worker> idle = idleWorkers.get(memory);
+      while (idle != null && !idle.isEmpty()) {
+        Worker worker = idle.pop();
+        if (worker.isAlive()) {
+          return worker;
+        }
+        worker.destroy();
+      }
+    }
+    return start(memory);
+  }
+
+  /**
+   * Reserves the memory of a new worker and starts it.
+   *
+   * @param memory the memory argument of the worker
+   * @return the started worker
+   */
+  protected Worker start(String memory)
+      throws IOException, InterruptedException, TimeoutException {
+    ResourceManager.Reservation reservation = null;
+    if (resourceManager != null) {
+      // The registered reclaimer retires idle workers, if the worker does not fit otherwise
+      reservation = resourceManager.reserve("algorithm worker " + memory,
+          ResourceManager.Kind.ALGORITHM_EXECUTION, resourceManager.getExecutionMemoryMb(memory),
+          resourceManager.getReserveTimeoutMillis());
+    }
+    try {
+      Worker worker = new Worker(memory, launcher.apply(memory).start());
+      worker.reservation = reservation;
+      return worker;
+    } catch (IOException | RuntimeException e) {
+      if (reservation != null) {
+        reservation.close();
+      }
+      throw e;
+    }
+  }
+
+  protected synchronized void retireIdleWorkers() {
+    for (Deque<Worker> idle : idleWorkers.values()) {
+      for (Worker worker : idle) {
+        worker.destroy();
+      }
+    }
+    idleWorkers.clear();
+  }
+
+  /**
+   * Returns the worker to the pool or destroys it, if it should be retired or requests of the
+   * resource manager wait.
+   *
+   * @param worker the worker acquired from this pool
+   */
+  public synchronized void release(Worker worker) {
+    // A waiting request of the resource manager needs the memory more than future executions
+    if (closed || !isReusable(worker)
+        || (resourceManager != null && resourceManager.hasWaitingRequests())) {
+      worker.destroy();
+      return;
+    }
+    idleWorkers.computeIfAbsent(worker.getMemory(), memory -> new ArrayDeque<>()).push(worker);
+  }
+
+  protected boolean isReusable(Worker worker) {
+    return worker.isAlive() && worker.getRuns() < maxRuns
+        && worker.getUsedHeap() <= maxHeapUsage * worker.getMaxHeap();
+  }
+
+  /**
+   * @param memory the memory size class
+   * @return the number of idle workers of the memory size class
+   */
+  public synchronized int getNumberOfIdleWorkers(String memory) {
+    Deque<Worker> idle = idleWorkers.get(memory);
+    return idle == null ? 0 : idle.size();
+  }
+
+  /**
+   * Destroys all idle workers. Workers released afterwards are destroyed as well.
+   */
+  @Override
+  public synchronized void close() {
+    closed = true;
+    if (resourceManager != null) {
+      resourceManager.removeReclaimer(reclaimer);
+    }
+    retireIdleWorkers();
+  }
+
+  /**
+   * A started {@link AlgorithmWorker} process.
+   */
+  public static class Worker {
+
+    protected String memory;
+    protected Process process;
+    protected BufferedReader output;
+    protected Writer input;
+    protected int runs = 0;
+    protected long usedHeap = 0;
+    protected long maxHeap = Long.MAX_VALUE;
+    protected ResourceManager.Reservation reservation;
+
+    /**
+     * Waits until the started worker is ready, its output is forwarded to the console.
+     *
+     * @param memory  the memory size class of the worker
+     * @param process the started worker process
+     * @throws IOException if the worker terminated before it was ready
+     */
+    protected Worker(String memory, Process process) throws IOException {
+      this.memory = memory;
+      this.process = process;
+      this.output = new BufferedReader(new InputStreamReader(process.getInputStream()));
+      this.input = new OutputStreamWriter(process.getOutputStream());
+
+      String line;
+      while ((line = output.readLine()) != null) {
+        if (line.equals(AlgorithmWorker.CONTROL_PREFIX + AlgorithmWorker.READY)) {
+          return;
+        }
+        System.out.println(line);
+      }
+      throw new IOException("The algorithm worker terminated before it was ready.");
+    }
+
+    /**
+     * Executes the algorithm in the worker and waits for the execution to finish.
+     *
+     * @param algorithmId         the id of the algorithm
+     * @param executionIdentifier the identifier of the execution setting
+     * @param resultPort          the port of the result stream or null to write result files
+     * @param resultToken         the token of the result stream, it is passed on the standard
+     *                            input and not visible to other processes
+     * @param outputConsumer      receives the output lines of the execution
+     * @return the exit code of the execution or {@link #WORKER_DIED}
+     * @throws IOException if the command could not be sent to the worker
+     */
+    public int execute(String algorithmId, String executionIdentifier, Integer resultPort,
+                       String resultToken, Consumer<String> outputConsumer) throws IOException {
+      runs++;
+      input.write(algorithmId + " " + executionIdentifier + " "
+          + (resultPort == null ? AlgorithmWorker.NO_PORT : resultPort + " " + resultToken)
+          + "\n");
+      input.flush();
+
+      String donePrefix = AlgorithmWorker.CONTROL_PREFIX + AlgorithmWorker.DONE + " ";
+      String line;
+      while ((line = output.readLine()) != null) {
+        if (line.startsWith(donePrefix)) {
+          String[] status = line.substring(donePrefix.length()).split(" ");
+          usedHeap = Long.parseLong(status[1]);
+          maxHeap = Long.parseLong(status[2]);
+          return Integer.parseInt(status[0]);
+        }
+        outputConsumer.accept(line);
+      }
+      // The worker was destroyed, e.g. because the execution was stopped
+      return WORKER_DIED;
+    }
+
+    public String getMemory() {
+      return memory;
+    }
+
+    public Process getProcess() {
+      return process;
+    }
+
+    public int getRuns() {
+      return runs;
+    }
+
+    public long getUsedHeap() {
+      return usedHeap;
+    }
+
+    public long getMaxHeap() {
+      return maxHeap;
+    }
+
+    public boolean isAlive() {
+      return process.isAlive();
+    }
+
+    /**
+     * Destroys the worker process and releases its memory reservation.
+     */
+    public void destroy() {
+      process.destroy();
+      if (reservation != null) {
+        reservation.close();
+        reservation = null;
+      }
+    }
+  }
+
+}
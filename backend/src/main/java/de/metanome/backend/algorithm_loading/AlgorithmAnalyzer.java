@@ -21,18 +21,23 @@ import de.metanome.algorithm_integration.algorithm_types.*;
 import de.metanome.backend.results_db.AlgorithmType;
 import org.apache.commons.lang3.ClassUtils;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.net.URLClassLoader;
 import java.util.HashSet;
 import java.util.Set;
 
 /**
- * Loads the algorithm and checks which algorithm types are supported.
+ * Loads the algorithm and checks which algorithm types are supported. Closing the analyzer closes
+ * the class loader of the algorithm.
  */
-public class AlgorithmAnalyzer {
+public class AlgorithmAnalyzer implements Closeable {
 
   private Algorithm algorithm;
 
+  private URLClassLoader classLoader;
+
   private HashSet<AlgorithmType> types;
 
   Set<Class<?>> interfaces;
@@ -52,6 +57,7 @@ public class AlgorithmAnalyzer {
     AlgorithmJarLoader loader = new AlgorithmJarLoader();
 
     this.algorithm = loader.loadAlgorithm(algorithmPath);
+    this.classLoader = loader.getClassLoader();
 
     this.types = new HashSet<>();
 
@@ -86,4 +92,16 @@ public class AlgorithmAnalyzer {
     return new HashSet<>(ClassUtils.getAllInterfaces(object.getClass()));
   }
 
+  /**
+   * Closes the class loader of the algorithm, the algorithm must not be used afterwards.
+   *
+   * @throws IOException if the algorithm jar could not be closed
+   */
+  @Override
+  public void close() throws IOException {
+    if (classLoader != null) {
+      classLoader.close();
+    }
+  }
+
 }
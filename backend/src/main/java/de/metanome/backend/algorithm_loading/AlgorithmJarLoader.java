@@ -35,9 +35,11 @@ import com.ibm.db2.jcc.am.s;
 
 public class AlgorithmJarLoader {
   protected Algorithm algorithmSubclass;
+  protected URLClassLoader classLoader;
 
   /**
-   * Loads a jar file containing an algorithm and returns an instance of the bootstrap class.
+   * Loads a jar file containing an algorithm and returns an instance of the bootstrap class. The
+   * algorithm is loaded by a new class loader, see {@link #getClassLoader()}.
    *
    * @param filePath the file path to the algorithm jar
    * @return runnable algorithm
@@ -118,14 +120,28 @@ public class AlgorithmJarLoader {
     }
 
     URL[] url = {file.toURI().toURL()};
-    ClassLoader loader = new URLClassLoader(url, Algorithm.class.getClassLoader());
+    URLClassLoader loader = new URLClassLoader(url, Algorithm.class.getClassLoader());
 
-    Class<? extends Algorithm> algorithmClass =
-      Class.forName(className, true, loader).asSubclass(Algorithm.class);
-
-    jar.close();
+    try {
+      Class<? extends Algorithm> algorithmClass =
+        Class.forName(className, true, loader).asSubclass(Algorithm.class);
+      Algorithm algorithm = algorithmClass.getConstructor().newInstance();
+      this.classLoader = loader;
+      return algorithm;
+    } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+      loader.close();
+      throw e;
+    } finally {
+      jar.close();
+    }
+  }
 
-    return algorithmClass.getConstructor().newInstance();
+  /**
+   * @return the class loader of the last loaded algorithm, it keeps the algorithm jar open until it
+   *         is closed
+   */
+  public URLClassLoader getClassLoader() {
+    return classLoader;
   }
 
   private File findAlternativeJar(File originalCandidate, String requestedPath, String algorithmsDir) {
@@ -72,7 +72,8 @@ public class InputDataFinder {
   }
 
   /**
-   * Retrieves all csv and tsv files located directly in the given directory.
+   * Retrieves all csv and tsv files located directly in the given directory, including gzip and zip
+   * compressed ones.
    *
    * @param pathToFolder path to the folder to be searched in
    * @param dir decides whether all directories and files or just all files are returned
@@ -30,7 +30,7 @@ public class Constants {
     public static final String BOOTRSTAP_CLASS_TAG_NAME = "Algorithm-Bootstrap-Class";
     public static final String JAR_FILE_ENDING = ".jar";
     public static final String FILE_SEPARATOR = System.getProperty("file.separator");
-    public static final String[] ACCEPTED_FILE_ENDINGS_ARRAY = new String[]{".csv", ".tsv"};
+    public static final String[] ACCEPTED_FILE_ENDINGS_ARRAY = new String[]{".csv", ".tsv", ".csv.gz", ".tsv.gz", ".zip"};
     public static final Stream<String> ACCEPTED_FILE_ENDINGS_STREAM = Arrays.asList(ACCEPTED_FILE_ENDINGS_ARRAY).stream();
     public static final String ALGORITHMS_RESOURCE_NAME = "algorithms";
     public static final String INPUTDATA_RESOURCE_NAME = "inputData";
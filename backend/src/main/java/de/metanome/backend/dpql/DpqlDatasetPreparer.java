@@ -1,10 +1,13 @@
 package de.metanome.backend.dpql;
 
+import de.metanome.backend.helper.InputToGeneratorConverter;
+import de.metanome.backend.input.file.CompressedFiles;
 import de.metanome.backend.results_db.FileInput;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
@@ -22,6 +25,7 @@ import java.util.Set;
  * Requirement: engines read their input datasets from Metanome DB.
  * Therefore, before executing a query, copy all required input files
  * (derived from the FROM part via CC(...)) into the engine's dataset directory.
+ * Gzip and zip compressed inputs are decompressed while they are copied.
  */
 final class DpqlDatasetPreparer {
 
@@ -126,8 +130,10 @@ final class DpqlDatasetPreparer {
             }
             File source = resolveExistingFile(fi.getFileName().trim());
             Path src = source.toPath();
+            boolean compressed = CompressedFiles.isCompressed(source);
 
-            String destName = src.getFileName().toString();
+            String destName = compressed ? CompressedFiles.getDecompressedName(source)
+                : src.getFileName().toString();
             Path dest = destinationDatasetDir.resolve(destName);
 
             if (Files.exists(dest)) {
@@ -136,7 +142,8 @@ final class DpqlDatasetPreparer {
                     long destSize = Files.size(dest);
                     long srcMtime = Files.getLastModifiedTime(src).toMillis();
                     long destMtime = Files.getLastModifiedTime(dest).toMillis();
-                    if (srcSize == destSize && destMtime >= srcMtime) {
+                    // Decompressed copies differ in size, their modification time is the source's
+                    if ((compressed || srcSize == destSize) && destMtime >= srcMtime) {
                         continue;
                     }
                 } catch (Exception ignored) {
@@ -144,7 +151,15 @@ final class DpqlDatasetPreparer {
                 }
             }
 
-            Files.copy(src, dest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+            if (compressed) {
+                try (InputStream decompressed = CompressedFiles.open(source,
+                        InputToGeneratorConverter.convertInputToSetting(fi))) {
+                    Files.copy(decompressed, dest, StandardCopyOption.REPLACE_EXISTING);
+                }
+                Files.setLastModifiedTime(dest, Files.getLastModifiedTime(src));
+            } else {
+                Files.copy(src, dest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+            }
             copied++;
         }
         return copied;
@@ -191,7 +206,8 @@ final class DpqlDatasetPreparer {
         if (dot > 0 && dot < t.length() - 1) {
             // Keep extension like .csv by checking last dot against common endings.
             String suffix = t.substring(dot + 1);
-            if (!("csv".equalsIgnoreCase(suffix) || "tsv".equalsIgnoreCase(suffix) || "txt".equalsIgnoreCase(suffix))) {
+            if (!("csv".equalsIgnoreCase(suffix) || "tsv".equalsIgnoreCase(suffix) || "txt".equalsIgnoreCase(suffix)
+                    || "gz".equalsIgnoreCase(suffix) || "zip".equalsIgnoreCase(suffix))) {
                 t = t.substring(dot + 1);
             }
         }
@@ -211,6 +227,10 @@ final class DpqlDatasetPreparer {
             // Prefer first match; keep stable behavior.
             index.putIfAbsent(normalize(fileName), fi);
             index.putIfAbsent(normalize(base), fi);
+            if (CompressedFiles.isGzip(fileName)) {
+                // orders.csv.gz is also referenced as orders
+                index.putIfAbsent(normalize(stripExtension(base)), fi);
+            }
         }
         return index;
     }
@@ -20,6 +20,9 @@ public class DpqlQuerryRequest {
     private String quoteChar;
     private Boolean cached;
 
+    // Optional JDK Flight Recorder settings (e.g. "default" or "profile") to record the run with
+    private String flightRecordingProfile;
+
     // Engine-specific optional parameters (transported as strings)
     private Map<String, String> engineParameters;
 
@@ -110,4 +113,12 @@ public class DpqlQuerryRequest {
         this.engineParameters = engineParameters;
     }
 
+    public String getFlightRecordingProfile() {
+        return flightRecordingProfile;
+    }
+
+    public void setFlightRecordingProfile(String flightRecordingProfile) {
+        this.flightRecordingProfile = flightRecordingProfile;
+    }
+
 }
@@ -1,5 +1,8 @@
 package de.metanome.backend.dpql;
 
+import de.metanome.backend.algorithm_execution.FlightRecording;
+import de.metanome.backend.algorithm_execution.FlightRecordingSummary;
+import de.metanome.backend.algorithm_execution.ResourceManager;
 import de.metanome.backend.dpql.result.DiskResultCollector;
 import de.metanome.backend.dpql.result.ResultReader;
 import de.metanome.backend.dpql.result.CancelAwareResultReceiver;
@@ -83,11 +86,19 @@ public class DpqlService {
         entry.message = "Queued";
 
         entry.future = DpqlRunRegistry.executor().submit(() -> {
-            entry.status = DpqlRunRegistry.Status.RUNNING;
-            entry.startedAt = System.currentTimeMillis();
-            entry.message = "Running";
             de.metanome.engine.api.result_receiver.EngineResultReceiver receiver = null;
+            ResourceManager.Reservation reservation = null;
             try {
+                // Queue the run until its memory is available, the run fails if it waits too long
+                entry.message = "Waiting for resources";
+                ResourceManager resourceManager = ResourceManager.getInstance();
+                reservation = resourceManager.reserve(executionId,
+                        ResourceManager.Kind.DPQL_RUN, resourceManager.getDpqlMemoryMb(),
+                        resourceManager.getReserveTimeoutMillis());
+
+                entry.status = DpqlRunRegistry.Status.RUNNING;
+                entry.startedAt = System.currentTimeMillis();
+                entry.message = "Running";
                 final CancellationToken cancel = entry.cancellationToken;
                 throwIfCanceled(cancel);
 
@@ -100,7 +111,18 @@ public class DpqlService {
                 DiskResultCollector disk = new DiskResultCollector(RESULTS_DIR, executionId);
                 receiver = new CancelAwareResultReceiver(disk, entry.cancellationToken);
 
-                executeWithSelectedEngine(request, ctx, receiver);
+                FlightRecording recording = null;
+                if (request.getFlightRecordingProfile() != null) {
+                    recording = FlightRecording.start(request.getFlightRecordingProfile(),
+                            getFlightRecordingFile(executionId));
+                }
+                try {
+                    executeWithSelectedEngine(request, ctx, receiver);
+                } finally {
+                    if (recording != null) {
+                        recording.stop();
+                    }
+                }
 
                 // If cancel was requested during engine execution, stop immediately.
                 throwIfCanceled(cancel);
@@ -136,6 +158,10 @@ public class DpqlService {
                     t.printStackTrace();
                 } catch (Exception ignored) {
                 }
+            } finally {
+                if (reservation != null) {
+                    reservation.close();
+                }
             }
         });
 
@@ -1164,6 +1190,37 @@ public class DpqlService {
         return null;
     }
 
+    /**
+     * Summarizes the JFR recording of a DPQL run.
+     *
+     * @return the summary or null, if the run was not recorded
+     */
+    public FlightRecordingSummary getFlightRecordingSummary(String executionId, int top)
+            throws IOException, EntityStorageException {
+        DpqlExecution execution =
+                (DpqlExecution) HibernateUtil.retrieve(DpqlExecution.class, executionId);
+        if (execution == null || execution.getFlightRecording() == null) {
+            return null;
+        }
+        File file = new File(execution.getFlightRecording());
+        if (!file.exists()) {
+            return null;
+        }
+        return FlightRecording.summarize(file, top);
+    }
+
+    private static File getFlightRecordingFile(String executionId) {
+        return new File(RESULTS_DIR, executionId + FlightRecording.FILE_ENDING);
+    }
+
+    private static String getFlightRecordingPath(String executionId, DpqlQuerryRequest request) {
+        if (request.getFlightRecordingProfile() == null) {
+            return null;
+        }
+        File file = getFlightRecordingFile(executionId);
+        return file.exists() ? file.getPath() : null;
+    }
+
     public boolean cancelRun(String executionId) {
         return DpqlRunRegistry.cancel(executionId);
     }
@@ -1256,6 +1313,7 @@ public class DpqlService {
         e.setQuery(request.getQuery());
         e.setEngineId(request.getEngineId());
         e.setEngineFileName(request.getEngineFileName());
+        e.setFlightRecording(getFlightRecordingPath(executionId, request));
         e.setNormalizedOnly(true);
 
         for (TableHeader h : headersByTableId.values()) {
@@ -1448,6 +1506,7 @@ public class DpqlService {
         e.setQuery(request.getQuery());
         e.setEngineId(request.getEngineId());
         e.setEngineFileName(request.getEngineFileName());
+        e.setFlightRecording(getFlightRecordingPath(executionId, request));
         e.setNormalizedOnly(Boolean.TRUE.equals(request.getNormalizedOnly()));
 
         List<DpqlNormCell> normCells = new ArrayList<>();
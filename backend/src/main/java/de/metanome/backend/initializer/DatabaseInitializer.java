@@ -15,6 +15,7 @@
  */
 package de.metanome.backend.initializer;
 
+import de.metanome.backend.algorithm_execution.WorkerPool;
 import de.metanome.backend.algorithm_loading.AlgorithmFinder;
 import de.metanome.backend.algorithm_loading.AlgorithmJarLoader;
 import de.metanome.backend.algorithm_loading.InputDataFinder;
@@ -22,6 +23,7 @@ import de.metanome.backend.constants.Constants;
 import de.metanome.backend.results_db.Algorithm;
 import de.metanome.backend.results_db.EntityStorageException;
 import de.metanome.backend.results_db.FileInput;
+import de.metanome.backend.resources.AlgorithmExecutionResource;
 import de.metanome.backend.results_db.HibernateUtil;
 import org.hsqldb.persist.HsqlProperties;
 import org.hsqldb.server.Server;
@@ -34,6 +36,7 @@ import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Is called upon servlet initialization and initializes Metanome's results database.
@@ -74,6 +77,14 @@ public class DatabaseInitializer implements ServletContextListener {
     } catch (Exception e) {
       e.printStackTrace();
     }
+    if (Boolean.getBoolean(WorkerPool.ENABLED_PROPERTY)) {
+      try {
+        AlgorithmExecutionResource.getWorkerPool().prestart("",
+          Integer.getInteger(WorkerPool.PRESTART_PROPERTY, WorkerPool.DEFAULT_PRESTART));
+      } catch (IOException | InterruptedException | TimeoutException e) {
+        e.printStackTrace();
+      }
+    }
   }
 
   /**
@@ -141,6 +152,7 @@ public class DatabaseInitializer implements ServletContextListener {
 
   @Override
   public void contextDestroyed(ServletContextEvent servletContextEvent) {
+    AlgorithmExecutionResource.getWorkerPool().close();
     server.shutdown();
   }
 
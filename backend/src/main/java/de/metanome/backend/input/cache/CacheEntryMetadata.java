@@ -0,0 +1,141 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.input.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The metadata of one entry of the {@link ColumnarInputCache}. It is written after all column files
+ * of the entry, so an entry without a readable metadata file is incomplete.
+ */
+public class CacheEntryMetadata {
+
+  public static final String FILE_NAME = "metadata";
+
+  protected static final int MAGIC = 0x4D434943;
+  protected static final int FORMAT_VERSION = 1;
+
+  protected String fingerprint;
+  protected String sourceVersion;
+  protected long creationTime;
+  protected String relationName;
+  protected List<String> columnNames;
+  protected long numberOfRows;
+
+  public CacheEntryMetadata(String fingerprint, String sourceVersion, String relationName,
+                            List<String> columnNames, long numberOfRows) {
+    this.fingerprint = fingerprint;
+    this.sourceVersion = sourceVersion;
+    this.creationTime = System.currentTimeMillis();
+    this.relationName = relationName;
+    this.columnNames = columnNames;
+    this.numberOfRows = numberOfRows;
+  }
+
+  protected CacheEntryMetadata() {
+  }
+
+  /**
+   * @param entryDirectory the directory of the cache entry
+   * @return the metadata of the entry
+   * @throws IOException if the metadata is missing, incomplete or of another format version
+   */
+  public static CacheEntryMetadata read(File entryDirectory) throws IOException {
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+      new FileInputStream(new File(entryDirectory, FILE_NAME))))) {
+      if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+        throw new IOException("The cache entry " + entryDirectory + " has an unknown format.");
+      }
+      CacheEntryMetadata metadata = new CacheEntryMetadata();
+      metadata.fingerprint = in.readUTF();
+      metadata.sourceVersion = in.readUTF();
+      metadata.creationTime = in.readLong();
+      metadata.relationName = in.readUTF();
+      int numberOfColumns = in.readInt();
+      metadata.columnNames = new ArrayList<>(numberOfColumns);
+      for (int i = 0; i < numberOfColumns; i++) {
+        metadata.columnNames.add(in.readBoolean() ? in.readUTF() : null);
+      }
+      metadata.numberOfRows = in.readLong();
+      return metadata;
+    }
+  }
+
+  /**
+   * @param entryDirectory the directory of the cache entry
+   * @throws IOException if the metadata cannot be written
+   */
+  public void write(File entryDirectory) throws IOException {
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+      new FileOutputStream(new File(entryDirectory, FILE_NAME))))) {
+      out.writeInt(MAGIC);
+      out.writeInt(FORMAT_VERSION);
+      out.writeUTF(fingerprint);
+      out.writeUTF(sourceVersion);
+      out.writeLong(creationTime);
+      out.writeUTF(relationName == null ? "" : relationName);
+      out.writeInt(columnNames.size());
+      for (String columnName : columnNames) {
+        out.writeBoolean(columnName != null);
+        if (columnName != null) {
+          out.writeUTF(columnName);
+        }
+      }
+      out.writeLong(numberOfRows);
+    }
+  }
+
+  public String getFingerprint() {
+    return fingerprint;
+  }
+
+  /**
+   * @return the version of the source the entry was built from or an empty string if the source
+   * cannot tell its version
+   */
+  public String getSourceVersion() {
+    return sourceVersion;
+  }
+
+  public long getCreationTime() {
+    return creationTime;
+  }
+
+  public String getRelationName() {
+    return relationName;
+  }
+
+  public List<String> getColumnNames() {
+    return columnNames;
+  }
+
+  public int getNumberOfColumns() {
+    return columnNames.size();
+  }
+
+  public long getNumberOfRows() {
+    return numberOfRows;
+  }
+}
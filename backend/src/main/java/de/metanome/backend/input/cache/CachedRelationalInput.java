@@ -0,0 +1,167 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.input.cache;
+
+import de.metanome.algorithm_integration.input.InputIterationException;
+import de.metanome.algorithm_integration.input.RelationalInput;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Streams the rows of a {@link ColumnarInputCache} entry. The codes files of the read columns are
+ * memory mapped and the dictionaries are loaded to the heap, so all rows share the same value
+ * strings. Only the given columns are read, the others are neither mapped nor loaded.
+ */
+public final class CachedRelationalInput implements RelationalInput {
+
+  // The codes are mapped in windows, because a single mapping is limited to 2 GB
+  protected static final int WINDOW_SHIFT = 27;
+  protected static final long WINDOW_MASK = (1L << WINDOW_SHIFT) - 1;
+
+  protected String relationName;
+  protected List<String> columnNames;
+  protected long numberOfRows;
+  protected long nextRow = 0;
+
+  protected String[][] dictionaries;
+  protected IntBuffer[][] codes;
+
+  /**
+   * @param directory the directory of the cache entry
+   * @param metadata  the metadata of the entry
+   * @param columns   the indices of the columns to read or null to read all columns
+   * @throws IOException if the column files of the entry cannot be read
+   */
+  public CachedRelationalInput(File directory, CacheEntryMetadata metadata, int[] columns)
+    throws IOException {
+    if (columns == null) {
+      columns = new int[metadata.getNumberOfColumns()];
+      for (int i = 0; i < columns.length; i++) {
+        columns[i] = i;
+      }
+    }
+
+    this.relationName = metadata.getRelationName();
+    this.numberOfRows = metadata.getNumberOfRows();
+    this.columnNames = new ArrayList<>(columns.length);
+    this.dictionaries = new String[columns.length][];
+    this.codes = new IntBuffer[columns.length][];
+    for (int i = 0; i < columns.length; i++) {
+      if (columns[i] < 0 || columns[i] >= metadata.getNumberOfColumns()) {
+        throw new IndexOutOfBoundsException("The column " + columns[i] + " does not exist.");
+      }
+      this.columnNames.add(metadata.getColumnNames().get(columns[i]));
+      this.dictionaries[i] =
+        readDictionary(ColumnarInputWriter.getDictionaryFile(directory, columns[i]));
+      this.codes[i] = mapCodes(ColumnarInputWriter.getCodesFile(directory, columns[i]));
+    }
+  }
+
+  protected String[] readDictionary(File file) throws IOException {
+    try (DataInputStream in = new DataInputStream(
+      new BufferedInputStream(new FileInputStream(file), ColumnarInputWriter.BUFFER_SIZE))) {
+      String[] dictionary = new String[in.readInt()];
+      byte[] bytes = new byte[64];
+      for (int i = 0; i < dictionary.length; i++) {
+        int length = in.readInt();
+        if (length > bytes.length) {
+          bytes = new byte[Math.max(length, bytes.length * 2)];
+        }
+        in.readFully(bytes, 0, length);
+        dictionary[i] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+      }
+      return dictionary;
+    }
+  }
+
+  protected IntBuffer[] mapCodes(File file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      long windowBytes = (long) Integer.BYTES << WINDOW_SHIFT;
+      long size = channel.size();
+      if (size != numberOfRows * Integer.BYTES) {
+        throw new IOException("The codes file " + file + " is incomplete.");
+      }
+      int numberOfWindows = (int) ((size + windowBytes - 1) / windowBytes);
+      IntBuffer[] windows = new IntBuffer[numberOfWindows];
+      for (int i = 0; i < numberOfWindows; i++) {
+        long position = i * windowBytes;
+        windows[i] = channel.map(FileChannel.MapMode.READ_ONLY, position,
+          Math.min(windowBytes, size - position)).asIntBuffer();
+      }
+      return windows;
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    return nextRow < numberOfRows;
+  }
+
+  @Override
+  public List<String> next() throws InputIterationException {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    int window = (int) (nextRow >>> WINDOW_SHIFT);
+    int position = (int) (nextRow & WINDOW_MASK);
+    String[] values = new String[dictionaries.length];
+    for (int i = 0; i < values.length; i++) {
+      int code = codes[i][window].get(position);
+      values[i] = code == ColumnarInputWriter.NULL_CODE ? null : dictionaries[i][code];
+    }
+    nextRow++;
+    return Collections.unmodifiableList(Arrays.asList(values));
+  }
+
+  @Override
+  public int numberOfColumns() {
+    return columnNames.size();
+  }
+
+  @Override
+  public String relationName() {
+    return relationName;
+  }
+
+  @Override
+  public List<String> columnNames() {
+    return columnNames;
+  }
+
+  /**
+   * Releases the references to the mapped codes. The mappings are unmapped by the garbage
+   * collector.
+   */
+  @Override
+  public void close() {
+    dictionaries = new String[0][];
+    codes = new IntBuffer[0][];
+    numberOfRows = 0;
+  }
+}
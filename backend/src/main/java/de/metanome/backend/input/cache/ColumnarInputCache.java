@@ -0,0 +1,487 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.input.cache;
+
+import de.metanome.algorithm_integration.AlgorithmConfigurationException;
+import de.metanome.algorithm_integration.input.InputGenerationException;
+import de.metanome.algorithm_integration.input.InputIterationException;
+import de.metanome.algorithm_integration.input.RelationalInput;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A disk cache for parsed inputs. The first copy of an input is read completely and written into a
+ * dictionary encoded, per column binary entry (see {@link ColumnarInputWriter}). All later copies
+ * stream the rows from the memory mapped entry (see {@link CachedRelationalInput}) instead of
+ * parsing the file or running the query again.
+ * <p>
+ * Entries are keyed by a fingerprint of the input and its parse settings. Each entry records the
+ * version of its source, e.g. the size and modification time of a file, and is rebuilt if the
+ * version changed. Changes of sources without a version, e.g. database tables, cannot be detected,
+ * so they are only cached if a maximal age is configured, after which their entries expire. If the
+ * summed size of all entries exceeds the size limit, the least recently used entries are evicted.
+ * Inputs that do not fit into the limit on their own are not cached at all, the cache remembers the
+ * versions of at most {@link #MAX_REJECTED} such inputs.
+ * <p>
+ * A cache directory can be shared by several processes, e.g. by pooled or forked workers. An entry
+ * is therefore only read, built or deleted while its lock file is locked.
+ * <p>
+ * The cache is disabled by default and enabled by setting {@link #DIRECTORY_PROPERTY}.
+ */
+public class ColumnarInputCache {
+
+  /**
+   * System property holding the cache directory. The cache is disabled if it is not set.
+   */
+  public static final String DIRECTORY_PROPERTY = "metanome.input.cache.directory";
+  /**
+   * System property holding the size limit of the cache in bytes.
+   */
+  public static final String MAX_BYTES_PROPERTY = "metanome.input.cache.maxBytes";
+  /**
+   * System property holding the maximal age in milliseconds of entries without source version.
+   * Sources without version are not cached if it is not set.
+   */
+  public static final String MAX_AGE_PROPERTY = "metanome.input.cache.maxAge";
+
+  public static final long DEFAULT_MAX_BYTES = 1L << 30;
+  public static final long DEFAULT_MAX_AGE = 0;
+
+  public static final int MAX_REJECTED = 1024;
+
+  protected static final String TEMPORARY_SUFFIX = ".tmp-";
+  protected static final String LOCK_SUFFIX = ".lock";
+
+  protected static ColumnarInputCache defaultCache;
+
+  protected File directory;
+  protected long maxBytes;
+  protected long maxAge;
+
+  // Guards the lock files, as file locks are held by the whole JVM
+  protected ConcurrentHashMap<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+  // Source versions of the inputs that exceeded the size limit by their fingerprints
+  protected ConcurrentHashMap<String, String> rejected = new ConcurrentHashMap<>();
+
+  protected long hitCount = 0;
+  protected long missCount = 0;
+  protected long evictionCount = 0;
+
+  /**
+   * @param directory the directory holding the cache entries, is created if it does not exist
+   * @param maxBytes  the size limit of the cache in bytes
+   * @param maxAge    the maximal age in milliseconds of entries whose source has no version, such
+   *                  sources are not cached if it is not positive
+   */
+  public ColumnarInputCache(File directory, long maxBytes, long maxAge) {
+    this.directory = directory;
+    this.maxBytes = maxBytes;
+    this.maxAge = maxAge;
+  }
+
+  /**
+   * @return the cache configured by the system properties or null if the cache is disabled
+   */
+  public static synchronized ColumnarInputCache getDefault() {
+    String directoryName = System.getProperty(DIRECTORY_PROPERTY);
+    if (directoryName == null || directoryName.trim().isEmpty()) {
+      return null;
+    }
+    File directory = new File(directoryName.trim());
+    if (defaultCache == null || !defaultCache.directory.equals(directory)) {
+      defaultCache = new ColumnarInputCache(directory,
+        Long.getLong(MAX_BYTES_PROPERTY, DEFAULT_MAX_BYTES),
+        Long.getLong(MAX_AGE_PROPERTY, DEFAULT_MAX_AGE));
+    }
+    return defaultCache;
+  }
+
+  /**
+   * Returns a copy of the input read from the cache. A missing or stale entry is built from a new
+   * copy of the source first.
+   *
+   * @param fingerprint   identifies the input and its parse settings
+   * @param sourceVersion the current version of the source or an empty string if it is unknown
+   * @param source        creates uncached copies of the input
+   * @param columns       the indices of the columns to read or null to read all columns
+   * @return the cached input or null if the input cannot be cached, the caller has to read the
+   * source then
+   * @throws InputGenerationException        if the source cannot be read
+   * @throws AlgorithmConfigurationException if the source is not configured correctly
+   */
+  public RelationalInput getInput(String fingerprint, String sourceVersion, InputSource source,
+                                  int[] columns)
+    throws InputGenerationException, AlgorithmConfigurationException {
+    if (sourceVersion.equals(rejected.get(fingerprint)) ||
+      (sourceVersion.isEmpty() && maxAge <= 0)) {
+      return null;
+    }
+
+    String key = hash(fingerprint);
+    ReentrantLock lock = getLock(key);
+    lock.lock();
+    FileChannel lockFile = null;
+    try {
+      lockFile = lockFile(key);
+      File entry = new File(directory, key);
+      CacheEntryMetadata metadata = readValidMetadata(entry, fingerprint, sourceVersion);
+      if (metadata != null) {
+        countHit();
+        entry.setLastModified(System.currentTimeMillis());
+      } else {
+        countMiss();
+        metadata = build(entry, fingerprint, sourceVersion, source);
+        if (metadata == null) {
+          return null;
+        }
+      }
+
+      try {
+        return new CachedRelationalInput(entry, metadata, columns);
+      } catch (IOException e) {
+        delete(entry);
+        return null;
+      }
+    } catch (IOException e) {
+      // The lock file cannot be created, e.g. in a read only directory
+      return null;
+    } finally {
+      unlockFile(lockFile);
+      lock.unlock();
+    }
+  }
+
+  protected ReentrantLock getLock(String key) {
+    return locks.computeIfAbsent(key, k -> new ReentrantLock());
+  }
+
+  /**
+   * Locks the lock file of an entry against other processes, the caller has to hold the lock of
+   * the entry.
+   *
+   * @return the channel holding the lock, closing it releases the lock
+   * @throws IOException if the lock file cannot be created or locked
+   */
+  protected FileChannel lockFile(String key) throws IOException {
+    directory.mkdirs();
+    FileChannel channel = FileChannel.open(new File(directory, key + LOCK_SUFFIX).toPath(),
+      StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    try {
+      channel.lock();
+      return channel;
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Locks the lock file of an entry, if no other process holds it. The caller has to hold the lock
+   * of the entry.
+   *
+   * @return the channel holding the lock or null if the file is locked or cannot be locked
+   */
+  protected FileChannel tryLockFile(String key) {
+    try {
+      FileChannel channel = FileChannel.open(new File(directory, key + LOCK_SUFFIX).toPath(),
+        StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+      try {
+        if (channel.tryLock() != null) {
+          return channel;
+        }
+      } catch (IOException | OverlappingFileLockException e) {
+        // Not lockable
+      }
+      channel.close();
+    } catch (IOException e) {
+      // Not lockable
+    }
+    return null;
+  }
+
+  protected static void unlockFile(FileChannel channel) {
+    if (channel == null) {
+      return;
+    }
+    try {
+      channel.close();
+    } catch (IOException e) {
+      // The lock is released with the channel in any case
+    }
+  }
+
+  /**
+   * @param entry the directory of the entry
+   * @return the metadata of the entry or null if the entry is missing or stale, stale entries are
+   * deleted
+   */
+  protected CacheEntryMetadata readValidMetadata(File entry, String fingerprint,
+                                                 String sourceVersion) {
+    if (!entry.isDirectory()) {
+      return null;
+    }
+    try {
+      CacheEntryMetadata metadata = CacheEntryMetadata.read(entry);
+      boolean expired = sourceVersion.isEmpty() &&
+        System.currentTimeMillis() - metadata.getCreationTime() > maxAge;
+      if (metadata.getFingerprint().equals(fingerprint) &&
+        metadata.getSourceVersion().equals(sourceVersion) && !expired) {
+        return metadata;
+      }
+    } catch (IOException e) {
+      // Incomplete or corrupt entries are rebuilt
+    }
+    delete(entry);
+    return null;
+  }
+
+  /**
+   * Writes the entry into a temporary directory, which is renamed when it is complete. Concurrent
+   * readers of a replaced entry keep their mapped files.
+   */
+  @SuppressWarnings("try")
+  protected CacheEntryMetadata build(File entry, String fingerprint, String sourceVersion,
+                                     InputSource source)
+    throws InputGenerationException, AlgorithmConfigurationException {
+    File temporary = new File(directory, entry.getName() + TEMPORARY_SUFFIX + UUID.randomUUID());
+    if (!temporary.mkdirs()) {
+      return null;
+    }
+
+    CacheEntryMetadata metadata;
+    try (RelationalInput input = source.generateNewCopy()) {
+      metadata = new ColumnarInputWriter(temporary, maxBytes).write(input, fingerprint,
+        sourceVersion);
+    } catch (InputGenerationException | AlgorithmConfigurationException e) {
+      delete(temporary);
+      throw e;
+    } catch (InputIterationException e) {
+      delete(temporary);
+      throw new InputGenerationException("Could not read the input to cache it", e);
+    } catch (RuntimeException e) {
+      delete(temporary);
+      throw e;
+    } catch (Exception e) {
+      // The entry cannot be written, e.g. on a full disk, or the copy cannot be closed
+      System.err.println("Could not cache the input " + entry.getName() + ", it is read uncached");
+      e.printStackTrace();
+      delete(temporary);
+      return null;
+    }
+
+    if (metadata == null) {
+      if (rejected.size() >= MAX_REJECTED) {
+        rejected.clear();
+      }
+      rejected.put(fingerprint, sourceVersion);
+      delete(temporary);
+      return null;
+    }
+
+    try {
+      Files.move(temporary.toPath(), entry.toPath(), StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      delete(temporary);
+      return null;
+    }
+    evict(entry);
+    return metadata;
+  }
+
+  /**
+   * Deletes the least recently used entries until the cache meets its size limit. Entries that are
+   * locked by other threads or processes are skipped.
+   *
+   * @param keep an entry that must not be evicted
+   */
+  protected void evict(File keep) {
+    File[] files = directory.listFiles(
+      file -> file.isDirectory() && !file.getName().contains(TEMPORARY_SUFFIX));
+    if (files == null) {
+      return;
+    }
+
+    List<File> entries = new ArrayList<>();
+    long usedBytes = 0;
+    for (File entry : files) {
+      entries.add(entry);
+      usedBytes += getSize(entry);
+    }
+    entries.sort(Comparator.comparingLong(File::lastModified));
+
+    for (File entry : entries) {
+      if (usedBytes <= maxBytes) {
+        break;
+      }
+      if (entry.equals(keep)) {
+        continue;
+      }
+      ReentrantLock lock = getLock(entry.getName());
+      if (!lock.tryLock()) {
+        continue;
+      }
+      try {
+        FileChannel lockFile = tryLockFile(entry.getName());
+        if (lockFile == null) {
+          continue;
+        }
+        try {
+          usedBytes -= getSize(entry);
+          delete(entry);
+          countEviction();
+        } finally {
+          unlockFile(lockFile);
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Deletes the entry of the given input.
+   *
+   * @param fingerprint identifies the input and its parse settings
+   */
+  public void invalidate(String fingerprint) {
+    String key = hash(fingerprint);
+    rejected.remove(fingerprint);
+    ReentrantLock lock = getLock(key);
+    lock.lock();
+    FileChannel lockFile = null;
+    try {
+      try {
+        lockFile = lockFile(key);
+      } catch (IOException e) {
+        // The entry is deleted without the lock file
+      }
+      delete(new File(directory, key));
+    } finally {
+      unlockFile(lockFile);
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the summed size of all complete entries in bytes
+   */
+  public long getUsedBytes() {
+    File[] files = directory.listFiles(
+      file -> file.isDirectory() && !file.getName().contains(TEMPORARY_SUFFIX));
+    long usedBytes = 0;
+    if (files != null) {
+      for (File entry : files) {
+        usedBytes += getSize(entry);
+      }
+    }
+    return usedBytes;
+  }
+
+  protected static long getSize(File entry) {
+    File[] files = entry.listFiles();
+    long size = 0;
+    if (files != null) {
+      for (File file : files) {
+        size += file.length();
+      }
+    }
+    return size;
+  }
+
+  protected static void delete(File entry) {
+    File[] files = entry.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        file.delete();
+      }
+    }
+    entry.delete();
+  }
+
+  protected static String hash(String fingerprint) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256")
+        .digest(fingerprint.getBytes(StandardCharsets.UTF_8));
+      StringBuilder key = new StringBuilder();
+      for (int i = 0; i < 16; i++) {
+        key.append(String.format("%02x", digest[i]));
+      }
+      return key.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  protected synchronized void countHit() {
+    hitCount++;
+  }
+
+  protected synchronized void countMiss() {
+    missCount++;
+  }
+
+  protected synchronized void countEviction() {
+    evictionCount++;
+  }
+
+  public File getDirectory() {
+    return directory;
+  }
+
+  public long getMaxBytes() {
+    return maxBytes;
+  }
+
+  public long getMaxAge() {
+    return maxAge;
+  }
+
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+
+  public synchronized long getEvictionCount() {
+    return evictionCount;
+  }
+
+  /**
+   * Creates uncached copies of an input, e.g. by parsing a file or running a query.
+   */
+  public interface InputSource {
+
+    RelationalInput generateNewCopy()
+      throws InputGenerationException, AlgorithmConfigurationException;
+  }
+}
@@ -0,0 +1,163 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.input.cache;
+
+import de.metanome.algorithm_integration.input.InputIterationException;
+import de.metanome.algorithm_integration.input.RelationalInput;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Writes all rows of a {@link RelationalInput} into a {@link ColumnarInputCache} entry. Every column
+ * is dictionary encoded: the dictionary file holds the distinct values in order of their first
+ * occurrence and the codes file one big endian int per row, which is the index of the value in the
+ * dictionary or {@link #NULL_CODE} for null values.
+ */
+public class ColumnarInputWriter {
+
+  public static final int NULL_CODE = -1;
+
+  protected static final int BUFFER_SIZE = 1 << 16;
+
+  protected File directory;
+  protected long maxBytes;
+
+  /**
+   * @param directory the directory of the cache entry, has to exist
+   * @param maxBytes  the maximal size of the entry in bytes
+   */
+  public ColumnarInputWriter(File directory, long maxBytes) {
+    this.directory = directory;
+    this.maxBytes = maxBytes;
+  }
+
+  public static File getDictionaryFile(File directory, int columnIndex) {
+    return new File(directory, "column-" + columnIndex + ".dictionary");
+  }
+
+  public static File getCodesFile(File directory, int columnIndex) {
+    return new File(directory, "column-" + columnIndex + ".codes");
+  }
+
+  /**
+   * Consumes the input and writes the column files and the metadata of the entry.
+   *
+   * @param input         the input to cache
+   * @param fingerprint   the fingerprint of the input and its parse settings
+   * @param sourceVersion the version of the source or an empty string
+   * @return the metadata of the written entry or null if the entry would exceed the size limit
+   * @throws InputIterationException if the input cannot be read
+   * @throws IOException             if the column files cannot be written
+   */
+  public CacheEntryMetadata write(RelationalInput input, String fingerprint, String sourceVersion)
+    throws InputIterationException, IOException {
+    int numberOfColumns = input.numberOfColumns();
+    List<String> columnNames = input.columnNames() != null ? new ArrayList<>(input.columnNames())
+      : new ArrayList<>(Collections.<String>nCopies(numberOfColumns, null));
+
+    List<Object2IntOpenHashMap<String>> dictionaries = new ArrayList<>(numberOfColumns);
+    List<List<String>> values = new ArrayList<>(numberOfColumns);
+    DataOutputStream[] codes = new DataOutputStream[numberOfColumns];
+    long size = 0;
+    long numberOfRows = 0;
+    try {
+      for (int columnIndex = 0; columnIndex < numberOfColumns; columnIndex++) {
+        Object2IntOpenHashMap<String> dictionary = new Object2IntOpenHashMap<>();
+        dictionary.defaultReturnValue(NULL_CODE);
+        dictionaries.add(dictionary);
+        values.add(new ArrayList<String>());
+        codes[columnIndex] = new DataOutputStream(new BufferedOutputStream(
+          new FileOutputStream(getCodesFile(directory, columnIndex)), BUFFER_SIZE));
+      }
+
+      while (input.hasNext()) {
+        List<String> row = input.next();
+        for (int columnIndex = 0; columnIndex < numberOfColumns; columnIndex++) {
+          String value = columnIndex < row.size() ? row.get(columnIndex) : null;
+          int code = NULL_CODE;
+          if (value != null) {
+            Object2IntOpenHashMap<String> dictionary = dictionaries.get(columnIndex);
+            code = dictionary.getInt(value);
+            if (code == NULL_CODE) {
+              code = dictionary.size();
+              dictionary.put(value, code);
+              values.get(columnIndex).add(value);
+              size += Integer.BYTES + getEncodedLength(value);
+            }
+          }
+          codes[columnIndex].writeInt(code);
+        }
+        numberOfRows++;
+        size += (long) Integer.BYTES * numberOfColumns;
+        if (size > maxBytes) {
+          return null;
+        }
+      }
+    } finally {
+      for (DataOutputStream out : codes) {
+        if (out != null) {
+          out.close();
+        }
+      }
+    }
+
+    for (int columnIndex = 0; columnIndex < numberOfColumns; columnIndex++) {
+      writeDictionary(getDictionaryFile(directory, columnIndex), values.get(columnIndex));
+    }
+    CacheEntryMetadata metadata = new CacheEntryMetadata(fingerprint, sourceVersion,
+      input.relationName(), columnNames, numberOfRows);
+    metadata.write(directory);
+    return metadata;
+  }
+
+  /**
+   * @return the number of bytes of the value in the UTF-8 encoded dictionary
+   */
+  protected static int getEncodedLength(String value) {
+    int length = value.length();
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c >= 0x800) {
+        // Surrogate pairs need four bytes, which are two per char
+        length += Character.isSurrogate(c) ? 1 : 2;
+      } else if (c >= 0x80) {
+        length++;
+      }
+    }
+    return length;
+  }
+
+  protected void writeDictionary(File file, List<String> values) throws IOException {
+    try (DataOutputStream out = new DataOutputStream(
+      new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE))) {
+      out.writeInt(values.size());
+      for (String value : values) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+      }
+    }
+  }
+}
@@ -17,13 +17,21 @@ package de.metanome.backend.input.database;
 
 import java.sql.SQLException;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 
 import de.metanome.algorithm_integration.AlgorithmConfigurationException;
 import de.metanome.algorithm_integration.configuration.ConfigurationSettingTableInput;
 import de.metanome.algorithm_integration.input.InputGenerationException;
+import de.metanome.algorithm_integration.input.InputSampling;
+import de.metanome.algorithm_integration.input.PartitionableInputGenerator;
 import de.metanome.algorithm_integration.input.RelationalInput;
+import de.metanome.algorithm_integration.input.RelationalInputPartition;
 import de.metanome.algorithm_integration.input.TableInputGenerator;
 import de.metanome.algorithm_integration.input.DatabaseConnectionGenerator;
+import de.metanome.backend.input.cache.ColumnarInputCache;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 /**
@@ -34,14 +42,22 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
  * @see de.metanome.algorithm_integration.input.RelationalInput
  * @see DefaultDatabaseConnectionGenerator
  */
-public class DefaultTableInputGenerator implements TableInputGenerator {
+public class DefaultTableInputGenerator implements TableInputGenerator, PartitionableInputGenerator {
 
   protected static final String BASE_STATEMENT = "SELECT * FROM %s";
   protected static final String SORT_STATEMENT = "SELECT * FROM %s ORDER BY %s %s";
   protected static final String FILTER_STATEMENT = "SELECT * FROM %s WHERE %s";
+  protected static final String PROJECTION_STATEMENT = "SELECT %s FROM %s";
+  protected static final String METADATA_STATEMENT = "SELECT * FROM %s WHERE 1 = 0";
 
   protected DefaultDatabaseConnectionGenerator defaultDatabaseConnectionGenerator;
   protected String table;
+  protected ColumnarInputCache inputCache = ColumnarInputCache.getDefault();
+  protected String partitionColumn;
+  protected TablePartitioner.Strategy partitionStrategy = TablePartitioner.Strategy.RANGE;
+  protected String hashExpression;
+  protected int parallelism = 1;
+  protected InputSampling sampling;
 
   protected DefaultTableInputGenerator() {
   }
@@ -72,18 +88,207 @@ public class DefaultTableInputGenerator implements TableInputGenerator {
 
   /**
    * Generates a new {@link de.metanome.algorithm_integration.input.RelationalInput} to iterate over
-   * the data in the table.
+   * the data in the table. If a sampling is set, only the sampled rows are returned.
    *
    * @return the {@link de.metanome.algorithm_integration.input.RelationalInput}
    * @throws InputGenerationException if the database statement could not be executed
    */
   @Override
   public RelationalInput generateNewCopy() throws InputGenerationException, AlgorithmConfigurationException {
+    return sample(generateUnsampledCopy());
+  }
+
+  protected RelationalInput generateUnsampledCopy()
+    throws InputGenerationException, AlgorithmConfigurationException {
+    RelationalInput cachedCopy = generateCachedCopy(null);
+    if (cachedCopy != null) {
+      return cachedCopy;
+    }
+    return generateUncachedCopy();
+  }
+
+  protected RelationalInput generateUncachedCopy()
+    throws InputGenerationException, AlgorithmConfigurationException {
+    if (partitionColumn != null && parallelism > 1) {
+      return createPartitioner().generateMergedInput(parallelism);
+    }
     String query = String.format(BASE_STATEMENT, table);
     return defaultDatabaseConnectionGenerator
       .generateRelationalInputFromSql(query, table);
   }
 
+  /**
+   * Generates a new {@link de.metanome.algorithm_integration.input.RelationalInput} that only
+   * selects the given columns from the table.
+   *
+   * @param columns the indices of the columns to select
+   * @return the {@link de.metanome.algorithm_integration.input.RelationalInput}
+   * @throws InputGenerationException if the database statements could not be executed
+   */
+  @Override
+  public RelationalInput generateNewCopy(int[] columns)
+    throws InputGenerationException, AlgorithmConfigurationException {
+    return sample(generateUnsampledCopy(columns));
+  }
+
+  protected RelationalInput generateUnsampledCopy(int[] columns)
+    throws InputGenerationException, AlgorithmConfigurationException {
+    RelationalInput cachedCopy = generateCachedCopy(columns);
+    if (cachedCopy != null) {
+      return cachedCopy;
+    }
+    List<String> columnNames = retrieveColumnNames();
+    String quote = getIdentifierQuote();
+
+    StringBuilder selectList = new StringBuilder();
+    for (int column : columns) {
+      if (column < 0 || column >= columnNames.size()) {
+        throw new InputGenerationException("The column " + column + " does not exist.");
+      }
+      if (selectList.length() > 0) {
+        selectList.append(", ");
+      }
+      selectList.append(quote).append(columnNames.get(column)).append(quote);
+    }
+
+    String query = String.format(PROJECTION_STATEMENT, selectList, table);
+    return defaultDatabaseConnectionGenerator
+      .generateRelationalInputFromSql(query, table);
+  }
+
+  /**
+   * Tables are read by a single cursor, so block samples read and drop the unselected blocks.
+   */
+  protected RelationalInput sample(RelationalInput input) {
+    return sampling == null ? input : sampling.sample(input);
+  }
+
+  /**
+   * Reads the table from the {@link ColumnarInputCache} if it is enabled. The database cannot tell
+   * whether a table changed, so tables are only cached if the cache has a maximal age, after which
+   * they are reread.
+   *
+   * @param columns the columns to read or null to read all columns
+   * @return a copy read from the input cache or null if the cache is disabled or cannot hold the
+   * table
+   */
+  protected RelationalInput generateCachedCopy(int[] columns)
+    throws InputGenerationException, AlgorithmConfigurationException {
+    if (inputCache == null) {
+      return null;
+    }
+    String fingerprint = "table\n" + defaultDatabaseConnectionGenerator.getDbUrl() + "\n" +
+      defaultDatabaseConnectionGenerator.getUserName() + "\n" + table;
+    return inputCache.getInput(fingerprint, "", this::generateUncachedCopy, columns);
+  }
+
+  /**
+   * Splits the table by the partition column, see {@link TablePartitioner}. Tables without
+   * partition column are returned as a single partition.
+   */
+  @Override
+  public List<RelationalInputPartition> generatePartitions(int numberOfPartitions)
+    throws InputGenerationException, AlgorithmConfigurationException {
+    if (partitionColumn == null) {
+      numberOfPartitions = 1;
+    }
+    return createPartitioner().partition(numberOfPartitions);
+  }
+
+  protected TablePartitioner createPartitioner() throws InputGenerationException {
+    if (partitionColumn == null) {
+      return new TablePartitioner(defaultDatabaseConnectionGenerator, table, "1",
+        TablePartitioner.Strategy.RANGE, null);
+    }
+    String quote = getIdentifierQuote();
+    return new TablePartitioner(defaultDatabaseConnectionGenerator, table,
+      quote + partitionColumn + quote, partitionStrategy, hashExpression);
+  }
+
+  /**
+   * Sets the column the table is partitioned by for {@link #generatePartitions(int)} and parallel
+   * reads.
+   *
+   * @param partitionColumn the name of the partition column
+   * @param strategy        how the rows are assigned to partitions
+   * @return the table input generator
+   */
+  public DefaultTableInputGenerator setPartitioning(String partitionColumn,
+                                                    TablePartitioner.Strategy strategy) {
+    this.partitionColumn = partitionColumn;
+    this.partitionStrategy = strategy;
+    return this;
+  }
+
+  /**
+   * @param hashExpression format string of the hash expression used by {@link
+   *                       TablePartitioner.Strategy#HASH}, e.g. "CRC32(%s)"
+   * @return the table input generator
+   */
+  public DefaultTableInputGenerator setHashExpression(String hashExpression) {
+    this.hashExpression = hashExpression;
+    return this;
+  }
+
+  /**
+   * @param parallelism the number of concurrent cursors new copies are read with, only used if a
+   *                    partition column is set
+   * @return the table input generator
+   */
+  public DefaultTableInputGenerator setParallelism(int parallelism) {
+    this.parallelism = parallelism;
+    return this;
+  }
+
+  /**
+   * @param sampling the sampling of the rows of new copies or null to read all rows
+   * @return the table input generator
+   */
+  public DefaultTableInputGenerator setSampling(InputSampling sampling) {
+    this.sampling = sampling;
+    return this;
+  }
+
+  /**
+   * @param inputCache the cache new copies are read from or null to query the table every time
+   */
+  public void setInputCache(ColumnarInputCache inputCache) {
+    this.inputCache = inputCache;
+  }
+
+  /**
+   * @return the names of all columns of the table in table order
+   */
+  // the statement is only declared to close it after its result set
+  @SuppressWarnings("try")
+  protected List<String> retrieveColumnNames()
+    throws InputGenerationException, AlgorithmConfigurationException {
+    String query = String.format(METADATA_STATEMENT, table);
+    ResultSet resultSet = defaultDatabaseConnectionGenerator.generateResultSetFromSql(query);
+    // The statement and its result set are closed on failures as well
+    try (ResultSet metadataResultSet = resultSet;
+         Statement statement = metadataResultSet.getStatement()) {
+      ResultSetMetaData metaData = metadataResultSet.getMetaData();
+      List<String> columnNames = new ArrayList<>();
+      for (int i = 1; i <= metaData.getColumnCount(); i++) {
+        columnNames.add(metaData.getColumnName(i));
+      }
+      return columnNames;
+    } catch (SQLException e) {
+      throw new InputGenerationException("Could not retrieve the columns of " + table, e);
+    }
+  }
+
+  protected String getIdentifierQuote() throws InputGenerationException {
+    try {
+      String quote = defaultDatabaseConnectionGenerator.getConnection().getMetaData()
+        .getIdentifierQuoteString();
+      return quote == null || quote.trim().isEmpty() ? "" : quote;
+    } catch (SQLException e) {
+      throw new InputGenerationException("Could not retrieve the identifier quote", e);
+    }
+  }
+
   @Override
   public ResultSet sortBy(String column, Boolean descending) throws InputGenerationException, AlgorithmConfigurationException {
 	String query = String.format(SORT_STATEMENT, table, column, descending ? "DESC" : "ASC");
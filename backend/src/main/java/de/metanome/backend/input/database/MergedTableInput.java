@@ -0,0 +1,197 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.input.database;
+
+import de.metanome.algorithm_integration.input.InputIterationException;
+import de.metanome.algorithm_integration.input.RelationalInput;
+import de.metanome.algorithm_integration.input.RelationalInputPartition;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merges the partitions of a table into one stream. Each partition is read by its own thread into
+ * a bounded queue of row batches, so the cursors fetch and convert rows concurrently. The rows of
+ * different partitions are interleaved in the order their batches arrive; like the rows of a
+ * select statement without order by clause, they have no defined order.
+ * <p>
+ * Every reader ends its partition with a last batch, which is either the end marker or the error
+ * that stopped it, so the merged input never waits for a stopped reader. Once a partition failed,
+ * every further call fails with the same error.
+ */
+public final class MergedTableInput implements RelationalInput {
+
+  protected static final int BATCH_SIZE = 256;
+  protected static final int BATCHES_PER_PARTITION = 4;
+  protected static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+  protected List<? extends RelationalInputPartition> partitions;
+  protected String relationName;
+  protected List<String> columnNames;
+
+  protected ExecutorService readers;
+  protected BlockingQueue<Batch> queue;
+  protected int finishedPartitions = 0;
+  protected List<List<String>> currentRows = Collections.emptyList();
+  protected int nextRow = 0;
+  protected InputIterationException failure;
+
+  /**
+   * Starts reading all partitions.
+   *
+   * @param partitions the partitions of the table, are closed with the merged input
+   */
+  public MergedTableInput(List<? extends RelationalInputPartition> partitions) {
+    this.partitions = partitions;
+    this.relationName = partitions.get(0).relationName();
+    this.columnNames = partitions.get(0).columnNames();
+    this.queue = new ArrayBlockingQueue<>(BATCHES_PER_PARTITION * partitions.size());
+    this.readers = Executors.newFixedThreadPool(partitions.size(), runnable -> {
+      Thread thread = new Thread(runnable, "metanome-table-reader");
+      thread.setDaemon(true);
+      return thread;
+    });
+    for (final RelationalInput partition : partitions) {
+      readers.execute(() -> read(partition));
+    }
+  }
+
+  protected void read(RelationalInput partition) {
+    Batch last = Batch.END;
+    try {
+      List<List<String>> rows = new ArrayList<>(BATCH_SIZE);
+      while (partition.hasNext()) {
+        rows.add(partition.next());
+        if (rows.size() == BATCH_SIZE) {
+          queue.put(new Batch(rows, null));
+          rows = new ArrayList<>(BATCH_SIZE);
+        }
+      }
+      if (!rows.isEmpty()) {
+        queue.put(new Batch(rows, null));
+      }
+    } catch (InterruptedException | InputIterationException | RuntimeException e) {
+      last = new Batch(null, e);
+    } finally {
+      try {
+        queue.put(last);
+      } catch (InterruptedException e) {
+        // Only closing the merged input interrupts the readers, nobody waits for the batch then
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @Override
+  public boolean hasNext() throws InputIterationException {
+    if (failure != null) {
+      throw failure;
+    }
+    while (nextRow >= currentRows.size()) {
+      if (finishedPartitions == partitions.size()) {
+        return false;
+      }
+      Batch batch;
+      try {
+        batch = queue.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InputIterationException("Interrupted while waiting for the next rows", e);
+      }
+      if (batch.error != null) {
+        failure = new InputIterationException("Could not read a partition of the table",
+          batch.error);
+        throw failure;
+      }
+      if (batch == Batch.END) {
+        finishedPartitions++;
+      } else {
+        currentRows = batch.rows;
+        nextRow = 0;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public List<String> next() throws InputIterationException {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return currentRows.get(nextRow++);
+  }
+
+  @Override
+  public int numberOfColumns() {
+    return columnNames.size();
+  }
+
+  @Override
+  public String relationName() {
+    return relationName;
+  }
+
+  @Override
+  public List<String> columnNames() {
+    return columnNames;
+  }
+
+  /**
+   * Stops the reader threads and closes all partitions.
+   */
+  @Override
+  public void close() throws IOException {
+    readers.shutdownNow();
+    queue.clear();
+    try {
+      readers.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    IOException closeFailure = null;
+    for (RelationalInputPartition partition : partitions) {
+      try {
+        partition.close();
+      } catch (IOException e) {
+        closeFailure = e;
+      }
+    }
+    if (closeFailure != null) {
+      throw closeFailure;
+    }
+  }
+
+  protected static class Batch {
+
+    protected static final Batch END = new Batch(Collections.<List<String>>emptyList(), null);
+
+    protected List<List<String>> rows;
+    protected Exception error;
+
+    protected Batch(List<List<String>> rows, Exception error) {
+      this.rows = rows;
+      this.error = error;
+    }
+  }
+}
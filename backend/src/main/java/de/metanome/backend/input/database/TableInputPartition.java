@@ -0,0 +1,125 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.input.database;
+
+import de.metanome.algorithm_integration.input.InputIterationException;
+import de.metanome.algorithm_integration.input.RelationalInputPartition;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Iterates the rows of a table that match one partition predicate of a {@link TablePartitioner}.
+ * Every partition reads through its own connection, so partitions can be read concurrently.
+ * <p>
+ * The fetch size starts at the fetch size of the connection and is adapted to the width of the
+ * rows once a sample of rows has been read: narrow rows are fetched in larger batches to save
+ * round trips, wide rows in smaller ones to bound the memory of a fetch.
+ */
+public class TableInputPartition extends ResultSetIterator implements RelationalInputPartition {
+
+  /**
+   * Approximate number of bytes the adapted fetch size targets per fetch.
+   */
+  public static final long TARGET_FETCH_BYTES = 4L << 20;
+  public static final int MAX_FETCH_SIZE = 100000;
+
+  protected DefaultDatabaseConnectionGenerator connectionGenerator;
+  protected long firstRowNumber;
+  protected long numberOfRows;
+
+  protected int sampleSize;
+  protected long sampledRows = 0;
+  protected long sampledChars = 0;
+
+  /**
+   * @param connectionGenerator the connection the partition's query was executed on, is closed
+   *                            with the partition
+   * @param resultSet           the result of the partition's query
+   * @param relationName        the name of the partitioned table
+   * @param firstRowNumber      the position of the partition's first row or -1 if unknown
+   * @param numberOfRows        the number of rows of the partition or -1 if unknown
+   * @throws SQLException if the meta data of the result set cannot be read
+   */
+  public TableInputPartition(DefaultDatabaseConnectionGenerator connectionGenerator,
+                             ResultSet resultSet, String relationName, long firstRowNumber,
+                             long numberOfRows) throws SQLException {
+    super(resultSet, relationName);
+    this.connectionGenerator = connectionGenerator;
+    this.firstRowNumber = firstRowNumber;
+    this.numberOfRows = numberOfRows;
+    this.sampleSize = Math.max(1, connectionGenerator.getFetchSize());
+  }
+
+  @Override
+  public List<String> next() throws InputIterationException {
+    List<String> row = super.next();
+    if (sampledRows < sampleSize) {
+      for (String value : row) {
+        sampledChars += value == null ? 0 : value.length();
+      }
+      if (++sampledRows == sampleSize) {
+        adaptFetchSize();
+      }
+    }
+    return row;
+  }
+
+  protected void adaptFetchSize() {
+    // Two bytes per char plus a rough per value overhead of the driver
+    long bytesPerRow = Math.max(1, (2 * sampledChars + 16L * numberOfColumns * sampledRows)
+      / sampledRows);
+    int fetchSize = (int) Math.max(DefaultDatabaseConnectionGenerator.DEFAULT_FETCH_SIZE,
+      Math.min(MAX_FETCH_SIZE, TARGET_FETCH_BYTES / bytesPerRow));
+    try {
+      resultSet.setFetchSize(fetchSize);
+    } catch (SQLException e) {
+      // The fetch size is only a hint, drivers may refuse to change it
+    }
+  }
+
+  /**
+   * @return the current fetch size hint of the partition's cursor
+   */
+  public int getFetchSize() throws SQLException {
+    return resultSet.getFetchSize();
+  }
+
+  @Override
+  public long getFirstRowNumber() {
+    return firstRowNumber;
+  }
+
+  @Override
+  public long getNumberOfRows() {
+    return numberOfRows;
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      try {
+        super.close();
+      } finally {
+        connectionGenerator.close();
+      }
+    } catch (Exception e) {
+      throw new IOException("Could not close the partition of " + relationName, e);
+    }
+  }
+}
@@ -0,0 +1,356 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.input.database;
+
+import de.metanome.algorithm_integration.AlgorithmConfigurationException;
+import de.metanome.algorithm_integration.configuration.DbSystem;
+import de.metanome.algorithm_integration.input.InputGenerationException;
+import de.metanome.algorithm_integration.input.RelationalInput;
+import de.metanome.algorithm_integration.input.RelationalInputPartition;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Splits a table into partitions by predicates on a partition column and reads every partition
+ * through its own connection. The predicates of all partitions are disjoint and together cover all
+ * rows; rows with a null partition column belong to the first partition.
+ *
+ * @see Strategy
+ */
+public class TablePartitioner {
+
+  protected static final String PARTITION_STATEMENT = "SELECT * FROM %s WHERE %s";
+  protected static final String COUNT_STATEMENT = "SELECT COUNT(*) FROM %s WHERE %s";
+  protected static final String RANGE_STATEMENT = "SELECT MIN(%1$s), MAX(%1$s) FROM %2$s";
+
+  /**
+   * How the rows are assigned to the partitions.
+   */
+  public enum Strategy {
+    /**
+     * Splits the value range of a numeric column into equally wide ranges. Needs an index on the
+     * column to be efficient and works best for evenly distributed keys.
+     */
+    RANGE,
+    /**
+     * Assigns rows by the remainder of an integer column, which balances the partitions for any
+     * dense key, but every cursor scans the whole table.
+     */
+    MODULO,
+    /**
+     * Assigns rows by the remainder of a hash of the column, which works for columns of any type.
+     * The hash expression depends on the database system.
+     */
+    HASH
+  }
+
+  protected DefaultDatabaseConnectionGenerator connectionGenerator;
+  protected String table;
+  protected String column;
+  protected Strategy strategy;
+  protected String hashExpression;
+
+  /**
+   * @param connectionGenerator the connection of the table input, its settings are used to open
+   *                            one connection per partition
+   * @param table               the table to partition
+   * @param column              the quoted partition column
+   * @param strategy            the partitioning strategy
+   * @param hashExpression      format string of the hash expression of {@link Strategy#HASH}, e.g.
+   *                            "CRC32(%s)", or null to use the default of the database system
+   */
+  public TablePartitioner(DefaultDatabaseConnectionGenerator connectionGenerator, String table,
+                          String column, Strategy strategy, String hashExpression) {
+    this.connectionGenerator = connectionGenerator;
+    this.table = table;
+    this.column = column;
+    this.strategy = strategy;
+    this.hashExpression = hashExpression;
+  }
+
+  /**
+   * @param system the database system
+   * @return the default hash expression of the database system or null if there is none
+   */
+  public static String getDefaultHashExpression(DbSystem system) {
+    if (system == null) {
+      return null;
+    }
+    switch (system) {
+      case PostgreSQL:
+        return "hashtext(CAST(%s AS TEXT))";
+      case MySQL:
+        return "CRC32(%s)";
+      case Oracle:
+        return "ORA_HASH(%s)";
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Creates the partitions and counts their rows concurrently, so that each partition knows its
+   * row numbers. Empty partitions are dropped.
+   *
+   * @param numberOfPartitions the requested number of partitions
+   * @return the partitions ordered by their first row number
+   * @throws InputGenerationException        if the table cannot be partitioned
+   * @throws AlgorithmConfigurationException if a connection cannot be opened
+   */
+  public List<RelationalInputPartition> partition(int numberOfPartitions)
+    throws InputGenerationException, AlgorithmConfigurationException {
+    List<String> predicates = createPredicates(numberOfPartitions);
+    long[] counts = countRows(predicates);
+
+    List<TableInputPartition> partitions = new ArrayList<>();
+    long firstRowNumber = 0;
+    try {
+      for (int i = 0; i < predicates.size(); i++) {
+        // An empty table still gets one partition
+        boolean isEmptyTable = partitions.isEmpty() && i == predicates.size() - 1;
+        if (counts[i] == 0 && !isEmptyTable) {
+          continue;
+        }
+        partitions.add(openPartition(predicates.get(i), firstRowNumber, counts[i]));
+        firstRowNumber += counts[i];
+      }
+    } catch (InputGenerationException | AlgorithmConfigurationException e) {
+      closeQuietly(partitions);
+      throw e;
+    }
+    return new ArrayList<RelationalInputPartition>(partitions);
+  }
+
+  /**
+   * Opens one cursor per partition and merges them into a single stream.
+   *
+   * @param numberOfPartitions the requested number of concurrent cursors
+   * @return the merged input
+   * @throws InputGenerationException        if the table cannot be partitioned
+   * @throws AlgorithmConfigurationException if a connection cannot be opened
+   */
+  public RelationalInput generateMergedInput(int numberOfPartitions)
+    throws InputGenerationException, AlgorithmConfigurationException {
+    List<TableInputPartition> partitions = new ArrayList<>();
+    try {
+      for (String predicate : createPredicates(numberOfPartitions)) {
+        partitions.add(openPartition(predicate, -1, -1));
+      }
+    } catch (InputGenerationException | AlgorithmConfigurationException e) {
+      closeQuietly(partitions);
+      throw e;
+    }
+    return new MergedTableInput(partitions);
+  }
+
+  /**
+   * @param numberOfPartitions the requested number of partitions
+   * @return the disjoint predicates of the partitions, fewer than requested if the value range of
+   * the partition column is too small
+   * @throws InputGenerationException        if the value range of the column cannot be queried
+   * @throws AlgorithmConfigurationException if a connection cannot be opened
+   */
+  public List<String> createPredicates(int numberOfPartitions)
+    throws InputGenerationException, AlgorithmConfigurationException {
+    numberOfPartitions = Math.max(1, numberOfPartitions);
+    switch (strategy) {
+      case RANGE:
+        return createRangePredicates(numberOfPartitions);
+      case MODULO:
+        return createModuloPredicates(column, numberOfPartitions);
+      default:
+        String expression = hashExpression != null ? hashExpression
+          : getDefaultHashExpression(connectionGenerator.getSystem());
+        if (expression == null) {
+          throw new InputGenerationException(
+            "No hash expression is known for " + connectionGenerator.getSystem() + ".");
+        }
+        return createModuloPredicates("ABS(" + String.format(expression, column) + ")",
+          numberOfPartitions);
+    }
+  }
+
+  protected List<String> createModuloPredicates(String expression, int numberOfPartitions) {
+    List<String> predicates = new ArrayList<>();
+    for (int i = 0; i < numberOfPartitions; i++) {
+      if (i == 0) {
+        predicates.add(String.format("MOD(%s, %d) = 0 OR %s IS NULL", expression,
+          numberOfPartitions, column));
+      } else {
+        // The sign of the remainder of negative values differs between database systems
+        predicates.add(String.format("MOD(%1$s, %2$d) = %3$d OR MOD(%1$s, %2$d) = %4$d",
+          expression, numberOfPartitions, i, -i));
+      }
+    }
+    return predicates;
+  }
+
+  protected List<String> createRangePredicates(int numberOfPartitions)
+    throws InputGenerationException, AlgorithmConfigurationException {
+    List<String> predicates = new ArrayList<>();
+    if (numberOfPartitions == 1) {
+      predicates.add("1 = 1");
+      return predicates;
+    }
+
+    BigDecimal min;
+    BigDecimal max;
+    DefaultDatabaseConnectionGenerator rangeConnection = newConnectionGenerator();
+    try {
+      ResultSet resultSet =
+        rangeConnection.generateResultSetFromSql(String.format(RANGE_STATEMENT, column, table));
+      resultSet.next();
+      min = resultSet.getBigDecimal(1);
+      max = resultSet.getBigDecimal(2);
+    } catch (SQLException e) {
+      throw new InputGenerationException("Could not query the range of " + column, e);
+    } finally {
+      closeQuietly(rangeConnection);
+    }
+
+    if (min == null || min.compareTo(max) == 0) {
+      predicates.add("1 = 1");
+      return predicates;
+    }
+
+    // Integer keys get integer bounds, so that no two partitions share a bound
+    boolean isInteger = min.stripTrailingZeros().scale() <= 0 &&
+      max.stripTrailingZeros().scale() <= 0;
+    BigDecimal width = max.subtract(min)
+      .divide(BigDecimal.valueOf(numberOfPartitions), 20, RoundingMode.HALF_UP);
+    List<BigDecimal> bounds = new ArrayList<>();
+    for (int i = 1; i < numberOfPartitions; i++) {
+      BigDecimal bound = min.add(width.multiply(BigDecimal.valueOf(i)));
+      if (isInteger) {
+        bound = bound.setScale(0, RoundingMode.CEILING);
+      }
+      if (bound.compareTo(min) > 0 && bound.compareTo(max) <= 0 &&
+        (bounds.isEmpty() || bound.compareTo(bounds.get(bounds.size() - 1)) > 0)) {
+        bounds.add(bound);
+      }
+    }
+
+    for (int i = 0; i <= bounds.size(); i++) {
+      String lower = i == 0 ? null : column + " >= " + bounds.get(i - 1).toPlainString();
+      String upper = i == bounds.size() ? null : column + " < " + bounds.get(i).toPlainString();
+      if (lower == null) {
+        predicates.add(upper + " OR " + column + " IS NULL");
+      } else if (upper == null) {
+        predicates.add(lower);
+      } else {
+        predicates.add(lower + " AND " + upper);
+      }
+    }
+    return predicates;
+  }
+
+  /**
+   * Counts the rows of all partitions concurrently, each on its own connection.
+   */
+  protected long[] countRows(List<String> predicates)
+    throws InputGenerationException, AlgorithmConfigurationException {
+    ExecutorService counters = Executors.newFixedThreadPool(predicates.size());
+    try {
+      List<Future<Long>> futures = new ArrayList<>();
+      for (final String predicate : predicates) {
+        futures.add(counters.submit(() -> countRows(predicate)));
+      }
+      long[] counts = new long[predicates.size()];
+      for (int i = 0; i < counts.length; i++) {
+        counts[i] = futures.get(i).get();
+      }
+      return counts;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InputGenerationException("Interrupted while counting the partition rows", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof AlgorithmConfigurationException) {
+        throw (AlgorithmConfigurationException) e.getCause();
+      }
+      throw new InputGenerationException("Could not count the partition rows", e.getCause());
+    } finally {
+      counters.shutdownNow();
+    }
+  }
+
+  protected long countRows(String predicate)
+    throws InputGenerationException, AlgorithmConfigurationException, SQLException {
+    DefaultDatabaseConnectionGenerator countConnection = newConnectionGenerator();
+    try {
+      ResultSet resultSet = countConnection.generateResultSetFromSql(
+        String.format(COUNT_STATEMENT, table, predicate));
+      resultSet.next();
+      return resultSet.getLong(1);
+    } finally {
+      closeQuietly(countConnection);
+    }
+  }
+
+  protected TableInputPartition openPartition(String predicate, long firstRowNumber,
+                                              long numberOfRows)
+    throws InputGenerationException, AlgorithmConfigurationException {
+    DefaultDatabaseConnectionGenerator partitionConnection = newConnectionGenerator();
+    try {
+      ResultSet resultSet = partitionConnection.generateResultSetFromSql(
+        String.format(PARTITION_STATEMENT, table, predicate));
+      return new TableInputPartition(partitionConnection, resultSet, table, firstRowNumber,
+        numberOfRows);
+    } catch (SQLException e) {
+      closeQuietly(partitionConnection);
+      throw new InputGenerationException("Could not construct database input", e);
+    } catch (InputGenerationException | AlgorithmConfigurationException e) {
+      closeQuietly(partitionConnection);
+      throw e;
+    }
+  }
+
+  protected DefaultDatabaseConnectionGenerator newConnectionGenerator()
+    throws AlgorithmConfigurationException {
+    return new DefaultDatabaseConnectionGenerator(connectionGenerator.getDbUrl(),
+      connectionGenerator.getUserName(), connectionGenerator.getPassword(),
+      connectionGenerator.getSystem())
+      .setFetchSize(connectionGenerator.getFetchSize())
+      .setResultSetType(connectionGenerator.getResultSetType())
+      .setResultSetConcurrency(connectionGenerator.getResultSetConcurrency());
+  }
+
+  protected static void closeQuietly(DefaultDatabaseConnectionGenerator connection) {
+    try {
+      connection.close();
+    } catch (SQLException e) {
+      // The connection is not used anymore
+    }
+  }
+
+  protected static void closeQuietly(List<TableInputPartition> partitions) {
+    for (TableInputPartition partition : partitions) {
+      try {
+        partition.close();
+      } catch (Exception e) {
+        // The partitions are not used anymore
+      }
+    }
+  }
+}
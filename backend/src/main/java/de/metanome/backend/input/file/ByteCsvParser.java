@@ -0,0 +1,570 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.input.file;
+
+import de.metanome.algorithm_integration.configuration.ConfigurationSettingFileInput;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Parses csv records directly from the UTF-8 bytes of a channel. Files are scanned through large
+ * memory mapped windows, other channels through a direct buffer. Plain bytes are copied in bulk
+ * into the record, strings are only created when a value of the returned {@link ByteCsvRow} is
+ * read.
+ * <p>
+ * The parser follows the rules of the opencsv parser used by the {@link FileIterator}: values are
+ * split at the separator, quoted values may contain separators and line breaks, doubled quotes and
+ * the escape character followed by a quote or escape character denote the literal character,
+ * characters outside of quotes are dropped with strict quotes and white space before an opening
+ * quote is dropped if leading white space is ignored. Line breaks (\n, \r\n or \r) inside quotes
+ * are normalized to \n. The separator, quote and escape characters have to be ASCII characters,
+ * which can never be part of a multi byte UTF-8 character.
+ * <p>
+ * With a projection, the bytes of all other values are scanned but not copied.
+ */
+public final class ByteCsvParser implements Closeable {
+
+  public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+  public static final long MAPPED_WINDOW_SIZE = 1L << 26;
+
+  // Never equal to a byte value
+  protected static final int NONE = 0x100;
+  protected static final byte CR = '\r';
+  protected static final byte LF = '\n';
+  protected static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+  // States of the value that is currently parsed
+  protected static final int VALUE_START = 0;
+  protected static final int UNQUOTED = 1;
+  protected static final int QUOTED = 2;
+  // A quote was read inside of a quoted section, it is either doubled or closes the section
+  protected static final int QUOTE_IN_QUOTED = 3;
+
+  protected ReadableByteChannel channel;
+  protected FileChannel fileChannel;
+  protected ByteBuffer buffer;
+  protected int position = 0;
+  protected int limit = 0;
+  // Absolute offset of the first byte of the buffer and of the next window
+  protected long bufferOffset;
+  protected long nextWindowOffset;
+  protected long endOffset;
+
+  protected int separator;
+  protected int quote;
+  protected int escape;
+  protected boolean strictQuotes;
+  protected boolean ignoreLeadingWhiteSpace;
+  protected byte[] nullValue;
+  protected boolean[] special = new boolean[256];
+
+  protected byte[] record = new byte[256];
+  protected int recordLength;
+  protected int[] bounds = new int[64];
+  protected int numberOfValues;
+  protected boolean[] projected;
+  // Whether the bytes of the current value are dropped
+  protected boolean skipValue = false;
+  protected boolean skipLineFeed = false;
+  protected long recordStartOffset = -1;
+  // Whether the last skipped record contains a line break in a quoted value
+  protected boolean recordSpansLines = false;
+
+  /**
+   * Parses a file starting at the given offset. The offset has to be the start of a record.
+   *
+   * @param fileChannel the channel of the file
+   * @param setting     the setting of the file input
+   * @param startOffset the offset of the first record
+   * @throws IOException if the file cannot be read
+   */
+  public ByteCsvParser(FileChannel fileChannel, ConfigurationSettingFileInput setting,
+                       long startOffset) throws IOException {
+    this(setting);
+    this.fileChannel = fileChannel;
+    this.channel = fileChannel;
+    this.bufferOffset = startOffset;
+    this.nextWindowOffset = startOffset;
+    this.endOffset = fileChannel.size();
+    if (startOffset == 0) {
+      skipByteOrderMark();
+    }
+  }
+
+  /**
+   * Parses an arbitrary channel from its current position.
+   *
+   * @param channel the channel to read from
+   * @param setting the setting of the input
+   * @throws IOException if the channel cannot be read
+   */
+  public ByteCsvParser(ReadableByteChannel channel, ConfigurationSettingFileInput setting)
+    throws IOException {
+    this(channel, setting, DEFAULT_BUFFER_SIZE);
+  }
+
+  protected ByteCsvParser(ReadableByteChannel channel, ConfigurationSettingFileInput setting,
+                          int bufferSize) throws IOException {
+    this(setting);
+    this.channel = channel;
+    this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    skipByteOrderMark();
+  }
+
+  private ByteCsvParser(ConfigurationSettingFileInput setting) {
+    if (!supports(setting)) {
+      throw new IllegalArgumentException(
+        "The separator, quote and escape characters have to be ASCII characters.");
+    }
+    this.separator = setting.getSeparatorAsChar();
+    this.quote = toByte(setting.getQuoteCharAsChar());
+    this.escape = toByte(setting.getEscapeCharAsChar());
+    this.strictQuotes = setting.isStrictQuotes();
+    this.ignoreLeadingWhiteSpace = setting.isIgnoreLeadingWhiteSpace();
+    this.nullValue = setting.getNullValue() == null ? null :
+      setting.getNullValue().getBytes(StandardCharsets.UTF_8);
+
+    special[separator] = true;
+    special[CR] = true;
+    special[LF] = true;
+    if (quote != NONE) {
+      special[quote] = true;
+    }
+    if (escape != NONE) {
+      special[escape] = true;
+    }
+  }
+
+  /**
+   * @param setting the setting of a file input
+   * @return true, if the separator, quote and escape characters can be matched on single bytes
+   */
+  public static boolean supports(ConfigurationSettingFileInput setting) {
+    return setting.getSeparatorAsChar() != '\0' &&
+      setting.getSeparatorAsChar() < 0x80 &&
+      setting.getQuoteCharAsChar() < 0x80 &&
+      setting.getEscapeCharAsChar() < 0x80;
+  }
+
+  protected static int toByte(char character) {
+    return character == '\0' ? NONE : character;
+  }
+
+  /**
+   * Restricts the copied values to the given columns. The returned rows still have a value for
+   * every column, but all other values are empty.
+   *
+   * @param columns the indices of the columns to copy or null to copy all columns
+   */
+  public void setProjection(int[] columns) {
+    if (columns == null) {
+      projected = null;
+      return;
+    }
+    int maxColumn = -1;
+    for (int column : columns) {
+      maxColumn = Math.max(maxColumn, column);
+    }
+    projected = new boolean[maxColumn + 1];
+    for (int column : columns) {
+      projected[column] = true;
+    }
+  }
+
+  /**
+   * Skips the given number of physical lines without parsing them.
+   *
+   * @param numberOfLines the number of lines to skip
+   * @throws IOException if the input cannot be read
+   */
+  public void skipLines(int numberOfLines) throws IOException {
+    int skipped = 0;
+    while (skipped < numberOfLines) {
+      if (position >= limit && !nextWindow()) {
+        return;
+      }
+      byte current = buffer.get(position++);
+      if (skipLineFeed) {
+        skipLineFeed = false;
+        if (current == LF) {
+          continue;
+        }
+      }
+      if (current == LF) {
+        skipped++;
+      } else if (current == CR) {
+        skipped++;
+        skipLineFeed = true;
+      }
+    }
+  }
+
+  /**
+   * Reads the next record.
+   *
+   * @return the record or null if the end of the input is reached
+   * @throws IOException if the input cannot be read
+   */
+  public ByteCsvRow readRecord() throws IOException {
+    recordLength = 0;
+    numberOfValues = 0;
+    updateSkipValue();
+    int valueStart = 0;
+    int state = VALUE_START;
+    boolean escaped = false;
+    boolean started = false;
+
+    while (true) {
+      if (position >= limit && !nextWindow()) {
+        if (!started) {
+          return null;
+        }
+        endValue(valueStart);
+        return createRow();
+      }
+      byte current = buffer.get(position++);
+
+      if (skipLineFeed) {
+        skipLineFeed = false;
+        if (current == LF) {
+          continue;
+        }
+      }
+      if (!started) {
+        started = true;
+        recordStartOffset = bufferOffset + position - 1;
+      }
+
+      if (escaped) {
+        escaped = false;
+        if (current == quote || current == escape) {
+          append(current);
+          if (state == VALUE_START) {
+            state = UNQUOTED;
+          }
+          continue;
+        }
+        // The escape character is dropped if it does not escape anything
+      }
+
+      if (state == QUOTE_IN_QUOTED) {
+        if (current == quote) {
+          append(current);
+          state = QUOTED;
+          continue;
+        }
+        // The quote closed the quoted section, it is kept if the value continues
+        if (!strictQuotes && current != separator && current != CR && current != LF) {
+          append((byte) quote);
+        }
+        state = UNQUOTED;
+      }
+
+      if (state == QUOTED) {
+        if (current == quote) {
+          state = QUOTE_IN_QUOTED;
+        } else if (current == escape) {
+          escaped = true;
+        } else if (current == CR || current == LF) {
+          append(LF);
+          skipLineFeed = current == CR;
+        } else {
+          append(current);
+          appendPlainBytes();
+        }
+        continue;
+      }
+
+      // Outside of quotes
+      if (current == separator) {
+        endValue(valueStart);
+        updateSkipValue();
+        valueStart = recordLength;
+        state = VALUE_START;
+      } else if (current == CR || current == LF) {
+        skipLineFeed = current == CR;
+        endValue(valueStart);
+        return createRow();
+      } else if (current == quote) {
+        if (state == VALUE_START || strictQuotes) {
+          state = QUOTED;
+        } else if (ignoreLeadingWhiteSpace && isWhiteSpace(valueStart, recordLength)) {
+          recordLength = valueStart;
+          state = QUOTED;
+        } else {
+          // A quote in the middle of a value is kept, but still starts a quoted section
+          append(current);
+          state = QUOTED;
+        }
+      } else if (current == escape) {
+        escaped = state == UNQUOTED;
+      } else if (!strictQuotes) {
+        append(current);
+        appendPlainBytes();
+        state = UNQUOTED;
+      }
+    }
+  }
+
+  /**
+   * Skips the next record without copying its values. The record boundaries are the same as the
+   * ones of {@link #readRecord()}.
+   *
+   * @return the number of values of the skipped record or -1 if the end of the input is reached
+   * @throws IOException if the input cannot be read
+   */
+  public int skipRecord() throws IOException {
+    int values = 1;
+    int state = VALUE_START;
+    boolean escaped = false;
+    boolean started = false;
+    recordSpansLines = false;
+
+    while (true) {
+      if (position >= limit && !nextWindow()) {
+        return started ? values : -1;
+      }
+      byte current = buffer.get(position++);
+
+      if (skipLineFeed) {
+        skipLineFeed = false;
+        if (current == LF) {
+          continue;
+        }
+      }
+      if (!started) {
+        started = true;
+        recordStartOffset = bufferOffset + position - 1;
+      }
+
+      if (escaped) {
+        escaped = false;
+        if (current == quote || current == escape) {
+          if (state == VALUE_START) {
+            state = UNQUOTED;
+          }
+          continue;
+        }
+      }
+
+      if (state == QUOTE_IN_QUOTED) {
+        if (current == quote) {
+          state = QUOTED;
+          continue;
+        }
+        state = UNQUOTED;
+      }
+
+      if (state == QUOTED) {
+        if (current == quote) {
+          state = QUOTE_IN_QUOTED;
+        } else if (current == escape) {
+          escaped = true;
+        } else if (current == CR || current == LF) {
+          skipLineFeed = current == CR;
+          recordSpansLines = true;
+        }
+        continue;
+      }
+
+      if (current == separator) {
+        values++;
+        state = VALUE_START;
+      } else if (current == CR || current == LF) {
+        skipLineFeed = current == CR;
+        return values;
+      } else if (current == quote) {
+        state = QUOTED;
+      } else if (current == escape) {
+        escaped = state == UNQUOTED;
+      } else if (!strictQuotes) {
+        state = UNQUOTED;
+      }
+    }
+  }
+
+  /**
+   * @return whether the last record skipped by {@link #skipRecord()} contains a line break in a
+   * quoted value
+   */
+  public boolean recordSpansLines() {
+    return recordSpansLines;
+  }
+
+  /**
+   * Continues parsing a file at the given offset, which has to be the start of a record.
+   *
+   * @param offset the offset in the file
+   */
+  public void seek(long offset) {
+    if (fileChannel == null) {
+      throw new UnsupportedOperationException("Only files can be parsed from an offset.");
+    }
+    if (buffer != null && offset >= bufferOffset && offset <= bufferOffset + limit) {
+      position = (int) (offset - bufferOffset);
+    } else {
+      bufferOffset = offset;
+      nextWindowOffset = offset;
+      position = 0;
+      limit = 0;
+    }
+    skipLineFeed = false;
+  }
+
+  /**
+   * @return the offset of the first byte of the last record returned by {@link #readRecord()}
+   */
+  public long getRecordStartOffset() {
+    return recordStartOffset;
+  }
+
+  /**
+   * @return the offset at which the next record starts, a parser created at this offset returns
+   * the same records as this one
+   * @throws IOException if the input cannot be read
+   */
+  public long getNextRecordOffset() throws IOException {
+    if (skipLineFeed) {
+      if (position < limit || nextWindow()) {
+        if (buffer.get(position) == LF) {
+          position++;
+        }
+        skipLineFeed = false;
+      }
+    }
+    return bufferOffset + position;
+  }
+
+  /**
+   * Copies the bytes up to the next special character in one step.
+   */
+  protected void appendPlainBytes() {
+    int end = position;
+    while (end < limit && !special[buffer.get(end) & 0xFF]) {
+      end++;
+    }
+    int length = end - position;
+    if (skipValue) {
+      position = end;
+    } else if (length > 0) {
+      ensureCapacity(length);
+      buffer.get(position, record, recordLength, length);
+      recordLength += length;
+      position = end;
+    }
+  }
+
+  protected void append(byte value) {
+    if (skipValue) {
+      return;
+    }
+    ensureCapacity(1);
+    record[recordLength++] = value;
+  }
+
+  protected void updateSkipValue() {
+    skipValue = projected != null &&
+      (numberOfValues >= projected.length || !projected[numberOfValues]);
+  }
+
+  protected void ensureCapacity(int additionalBytes) {
+    if (recordLength + additionalBytes > record.length) {
+      record = Arrays.copyOf(record, Math.max(record.length * 2, recordLength + additionalBytes));
+    }
+  }
+
+  protected boolean isWhiteSpace(int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (!Character.isWhitespace(record[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  protected void endValue(int valueStart) {
+    if (2 * numberOfValues + 2 > bounds.length) {
+      bounds = Arrays.copyOf(bounds, bounds.length * 2);
+    }
+    boolean isNull = nullValue != null &&
+      Arrays.equals(record, valueStart, recordLength, nullValue, 0, nullValue.length);
+    bounds[2 * numberOfValues] = isNull ? -1 : valueStart;
+    bounds[2 * numberOfValues + 1] = recordLength;
+    numberOfValues++;
+  }
+
+  protected ByteCsvRow createRow() {
+    return new ByteCsvRow(Arrays.copyOf(record, recordLength),
+      Arrays.copyOf(bounds, 2 * numberOfValues));
+  }
+
+  protected void skipByteOrderMark() throws IOException {
+    if (position >= limit && !nextWindow()) {
+      return;
+    }
+    if (limit - position >= UTF8_BOM.length &&
+      buffer.get(position) == UTF8_BOM[0] &&
+      buffer.get(position + 1) == UTF8_BOM[1] &&
+      buffer.get(position + 2) == UTF8_BOM[2]) {
+      position += UTF8_BOM.length;
+    }
+  }
+
+  /**
+   * Moves to the next window of the input.
+   *
+   * @return false, if the end of the input is reached
+   */
+  protected boolean nextWindow() throws IOException {
+    if (fileChannel != null) {
+      long remaining = endOffset - nextWindowOffset;
+      if (remaining <= 0) {
+        return false;
+      }
+      long length = Math.min(MAPPED_WINDOW_SIZE, remaining);
+      buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, nextWindowOffset, length);
+      bufferOffset = nextWindowOffset;
+      nextWindowOffset += length;
+      limit = (int) length;
+    } else {
+      bufferOffset += limit;
+      buffer.clear();
+      int read;
+      do {
+        read = channel.read(buffer);
+      } while (read == 0);
+      if (read < 0) {
+        limit = 0;
+        position = 0;
+        return false;
+      }
+      limit = read;
+    }
+    position = 0;
+    return true;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
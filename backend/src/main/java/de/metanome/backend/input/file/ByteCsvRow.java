@@ -0,0 +1,86 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.input.file;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * An immutable row read by the {@link ByteCsvParser}. The unescaped UTF-8 bytes of all values are
+ * kept in one array and a value is only decoded to a {@link String} when it is read for the first
+ * time, so that columns an algorithm never looks at cost no string allocation.
+ */
+public class ByteCsvRow extends AbstractList<String> implements RandomAccess {
+
+  protected final byte[] data;
+  // Start and end of every value in the data array, a start of -1 marks a null value
+  protected final int[] bounds;
+  protected String[] values;
+
+  protected ByteCsvRow(byte[] data, int[] bounds) {
+    this.data = data;
+    this.bounds = bounds;
+  }
+
+  @Override
+  public String get(int index) {
+    if (index < 0 || index >= size()) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+    }
+    int start = bounds[2 * index];
+    if (start < 0) {
+      return null;
+    }
+    if (values == null) {
+      values = new String[size()];
+    }
+    String value = values[index];
+    if (value == null) {
+      value = new String(data, start, bounds[2 * index + 1] - start, StandardCharsets.UTF_8);
+      values[index] = value;
+    }
+    return value;
+  }
+
+  @Override
+  public int size() {
+    return bounds.length / 2;
+  }
+
+  /**
+   * Creates a view on some of the values, which shares the bytes of this row.
+   *
+   * @param columns the indices of the values to keep in the order they should be returned
+   * @return the projected row
+   */
+  public ByteCsvRow project(int[] columns) {
+    int[] projectedBounds = new int[2 * columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      projectedBounds[2 * i] = bounds[2 * columns[i]];
+      projectedBounds[2 * i + 1] = bounds[2 * columns[i] + 1];
+    }
+    return new ByteCsvRow(data, projectedBounds);
+  }
+
+  /**
+   * @param index the index of the value
+   * @return true, if the value equals the null value of the setting (without decoding it)
+   */
+  public boolean isNull(int index) {
+    return bounds[2 * index] < 0;
+  }
+}
@@ -0,0 +1,227 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.input.file;
+
+import de.metanome.algorithm_integration.configuration.ConfigurationSettingFileInput;
+import de.metanome.algorithm_integration.input.InputIterationException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link FileIterator} that parses the lines with the {@link ByteCsvParser} instead of opencsv.
+ * The returned lines are {@link ByteCsvRow}s, which decode their values lazily. If the iterator is
+ * restricted to some columns, the bytes of the other values are not even copied.
+ * <p>
+ * The {@link FileInputPartition}s use an iterator that only returns the records starting in a byte
+ * range of the file.
+ */
+public final class ByteFileIterator extends FileIterator {
+
+  protected ByteCsvParser parser;
+  protected int[] projection;
+  protected List<String> projectedHeaderLine;
+  // Records starting at or behind the end offset are not returned
+  protected long endOffset = Long.MAX_VALUE;
+  // Whether a record has to start exactly at the end offset
+  protected boolean alignedEnd = false;
+  protected boolean endReached = false;
+
+  /**
+   * @param relationName the name of the relation
+   * @param file         the csv file
+   * @param setting      the setting of the file input
+   * @throws InputIterationException if the file cannot be opened or the header cannot be read
+   */
+  public ByteFileIterator(String relationName, File file, ConfigurationSettingFileInput setting)
+    throws InputIterationException {
+    super(relationName, setting);
+    try {
+      this.parser = new ByteCsvParser(FileChannel.open(file.toPath(), StandardOpenOption.READ),
+        setting, 0L);
+    } catch (IOException e) {
+      throw new InputIterationException("Could not open the file input", e);
+    }
+    initialize(setting);
+  }
+
+  /**
+   * Creates an iterator that only returns the given columns.
+   *
+   * @param relationName the name of the relation
+   * @param file         the csv file
+   * @param setting      the setting of the file input
+   * @param columns      the indices of the columns to return in the order they should be returned
+   * @throws InputIterationException if the file cannot be opened or the header cannot be read
+   */
+  public ByteFileIterator(String relationName, File file, ConfigurationSettingFileInput setting,
+                          int[] columns)
+    throws InputIterationException {
+    this(relationName, file, setting);
+    setProjection(columns);
+  }
+
+  /**
+   * @param relationName the name of the relation
+   * @param channel      the channel to read the csv data from
+   * @param setting      the setting of the input
+   * @throws InputIterationException if the channel cannot be read
+   */
+  public ByteFileIterator(String relationName, ReadableByteChannel channel,
+                          ConfigurationSettingFileInput setting)
+    throws InputIterationException {
+    super(relationName, setting);
+    try {
+      this.parser = new ByteCsvParser(channel, setting);
+    } catch (IOException e) {
+      throw new InputIterationException("Could not read the input", e);
+    }
+    initialize(setting);
+  }
+
+  /**
+   * Creates an iterator over the records starting in a byte range of the file. The header is not
+   * read from the file.
+   *
+   * @param relationName the name of the relation
+   * @param file         the csv file
+   * @param setting      the setting of the file input
+   * @param headerLine   the column names of the file
+   * @param startOffset  the offset of the range's first record
+   * @param endOffset    the offset at which the next range starts
+   * @param alignedEnd   whether the end offset has to be the start of a record, the iteration
+   *                     fails if a record spans it, i.e. the file changed after it was split
+   * @throws InputIterationException if the file cannot be read
+   */
+  ByteFileIterator(String relationName, File file, ConfigurationSettingFileInput setting,
+                   List<String> headerLine, long startOffset, long endOffset, boolean alignedEnd)
+    throws InputIterationException {
+    super(relationName, setting);
+    this.headerLine = headerLine;
+    this.numberOfColumns = headerLine.size();
+    this.endOffset = endOffset;
+    this.alignedEnd = alignedEnd;
+    try {
+      this.parser = new ByteCsvParser(FileChannel.open(file.toPath(), StandardOpenOption.READ),
+        setting, startOffset);
+    } catch (IOException e) {
+      throw new InputIterationException("Could not open the file input", e);
+    }
+
+    this.nextLine = readNextLine();
+    if (this.skipDifferingLines) {
+      readToNextValidLine();
+    }
+  }
+
+  /**
+   * @param setting the setting of a file input
+   * @return true, if the setting can be parsed by this iterator
+   * @see ByteCsvParser#supports(ConfigurationSettingFileInput)
+   */
+  public static boolean supports(ConfigurationSettingFileInput setting) {
+    return ByteCsvParser.supports(setting);
+  }
+
+  protected void initialize(ConfigurationSettingFileInput setting) throws InputIterationException {
+    try {
+      parser.skipLines(setting.getSkipLines());
+    } catch (IOException e) {
+      throw new InputIterationException("Could not skip the first lines of the input", e);
+    }
+    readHeader();
+  }
+
+  /**
+   * Restricts the iterator to the given columns. The line that has already been read ahead is
+   * projected as well.
+   */
+  protected void setProjection(int[] columns) {
+    List<String> projectedHeader = new ArrayList<>();
+    for (int column : columns) {
+      if (column < 0 || column >= numberOfColumns) {
+        throw new IllegalArgumentException("The column " + column + " does not exist.");
+      }
+      projectedHeader.add(headerLine.get(column));
+    }
+    this.projection = columns.clone();
+    this.projectedHeaderLine = Collections.unmodifiableList(projectedHeader);
+    parser.setProjection(columns);
+  }
+
+  @Override
+  public List<String> next() throws InputIterationException {
+    List<String> line = super.next();
+    if (projection == null || line == null) {
+      return line;
+    }
+    return ((ByteCsvRow) line).project(projection);
+  }
+
+  @Override
+  public int numberOfColumns() {
+    return projection == null ? numberOfColumns : projection.length;
+  }
+
+  @Override
+  public List<String> columnNames() {
+    return projection == null ? headerLine : projectedHeaderLine;
+  }
+
+  @Override
+  protected List<String> readNextLine() throws InputIterationException {
+    if (endReached) {
+      return null;
+    }
+    ByteCsvRow row;
+    try {
+      row = parser.readRecord();
+      currentLineNumber++;
+    } catch (IOException e) {
+      throw new InputIterationException("Could not read next line in file input", e);
+    }
+    if (row == null) {
+      if (alignedEnd && endOffset < parser.endOffset) {
+        throw misalignedEnd();
+      }
+      return null;
+    }
+    if (parser.getRecordStartOffset() >= endOffset) {
+      if (alignedEnd && parser.getRecordStartOffset() != endOffset) {
+        throw misalignedEnd();
+      }
+      endReached = true;
+      return null;
+    }
+    return row;
+  }
+
+  protected InputIterationException misalignedEnd() {
+    return new InputIterationException("No record starts at the partition boundary at offset "
+      + endOffset + ", the file changed after it was partitioned.");
+  }
+
+  @Override
+  public void close() throws IOException {
+    parser.close();
+  }
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.input.file;
+
+import de.metanome.algorithm_integration.configuration.ConfigurationSettingFileInput;
+import de.metanome.backend.constants.Constants;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Opens gzip and zip compressed input files as streams of their decompressed content. The
+ * decompression runs on a background thread (see {@link ReadAheadInputStream}), so that it
+ * overlaps with parsing, and gzip members are decompressed in parallel where possible (see {@link
+ * ParallelGzipInputStream}).
+ */
+public final class CompressedFiles {
+
+  public static final String GZIP_FILE_ENDING = ".gz";
+  public static final String ZIP_FILE_ENDING = ".zip";
+
+  private CompressedFiles() {
+  }
+
+  public static boolean isGzip(String fileName) {
+    return fileName.toLowerCase(Locale.ROOT).endsWith(GZIP_FILE_ENDING);
+  }
+
+  public static boolean isZip(String fileName) {
+    return fileName.toLowerCase(Locale.ROOT).endsWith(ZIP_FILE_ENDING);
+  }
+
+  public static boolean isCompressed(File file) {
+    return isGzip(file.getName()) || isZip(file.getName());
+  }
+
+  /**
+   * @param fileName a file name
+   * @return true, if the name ends with an accepted uncompressed data file ending, e.g. ".csv"
+   */
+  public static boolean isDataFile(String fileName) {
+    String lowerCaseName = fileName.toLowerCase(Locale.ROOT);
+    for (String fileEnding : Constants.ACCEPTED_FILE_ENDINGS_ARRAY) {
+      if (!isGzip(fileEnding) && !isZip(fileEnding) &&
+        lowerCaseName.endsWith(fileEnding.toLowerCase(Locale.ROOT))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the name of the decompressed file, e.g. "orders.csv" for "orders.csv.gz". Zip archives
+   * get the file ending of their first data entry.
+   *
+   * @param file the compressed file
+   * @return the name of the decompressed content
+   * @throws IOException if the zip archive cannot be read
+   */
+  public static String getDecompressedName(File file) throws IOException {
+    String name = file.getName();
+    if (isGzip(name)) {
+      return name.substring(0, name.length() - GZIP_FILE_ENDING.length());
+    }
+    if (!isZip(name)) {
+      return name;
+    }
+    String baseName = name.substring(0, name.length() - ZIP_FILE_ENDING.length());
+    try (ZipFile zip = new ZipFile(file)) {
+      Enumeration<? extends ZipEntry> entries = zip.entries();
+      while (entries.hasMoreElements()) {
+        String entryName = entries.nextElement().getName();
+        if (isDataFile(entryName)) {
+          return baseName + entryName.substring(entryName.lastIndexOf('.'));
+        }
+      }
+    }
+    return baseName;
+  }
+
+  /**
+   * Opens the decompressed content of a gzip file or the concatenated data entries of a zip
+   * archive. The header and skipped lines of all but the first zip entry are dropped.
+   *
+   * @param file    the compressed file
+   * @param setting the parse settings of the file
+   * @return the decompressed content
+   * @throws IOException if the file cannot be opened
+   */
+  public static InputStream open(File file, ConfigurationSettingFileInput setting)
+    throws IOException {
+    if (isGzip(file.getName())) {
+      return new ReadAheadInputStream(new ParallelGzipInputStream(file));
+    }
+    int skipLines = setting.getSkipLines() == null ? 0 : setting.getSkipLines();
+    int linesToDrop = skipLines + (setting.hasHeader() ? 1 : 0);
+    return new ReadAheadInputStream(new ZipEntriesInputStream(file, linesToDrop));
+  }
+}
@@ -19,6 +19,9 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
@@ -33,7 +36,12 @@ import de.metanome.algorithm_integration.configuration.ConfigurationSettingFileI
 import de.metanome.algorithm_integration.input.FileInputGenerator;
 import de.metanome.algorithm_integration.input.InputGenerationException;
 import de.metanome.algorithm_integration.input.InputIterationException;
+import de.metanome.algorithm_integration.input.InputSampling;
+import de.metanome.algorithm_integration.input.PartitionableInputGenerator;
+import de.metanome.algorithm_integration.input.ProjectedRelationalInput;
 import de.metanome.algorithm_integration.input.RelationalInput;
+import de.metanome.algorithm_integration.input.RelationalInputPartition;
+import de.metanome.backend.input.cache.ColumnarInputCache;
 
 /**
  * Generator for {@link de.metanome.algorithm_integration.input.RelationalInput}s based on file
@@ -42,10 +50,18 @@ import de.metanome.algorithm_integration.input.RelationalInput;
  *
  * @author Jakob Zwiener
  */
-public class DefaultFileInputGenerator implements FileInputGenerator {
+public class DefaultFileInputGenerator implements FileInputGenerator, PartitionableInputGenerator {
+
+  /**
+   * System property to parse files with the {@link ByteFileIterator} instead of opencsv. The byte
+   * parser is opt-in until it reaches the targeted speedup when all values of a row are read.
+   */
+  public static final String BYTE_PARSER_PROPERTY = "metanome.input.byteParser";
 
   File inputFile;
   protected ConfigurationSettingFileInput setting;
+  protected boolean useByteParser = Boolean.getBoolean(BYTE_PARSER_PROPERTY);
+  protected ColumnarInputCache inputCache = ColumnarInputCache.getDefault();
 
   protected DefaultFileInputGenerator() {
   }
@@ -89,9 +105,36 @@ public class DefaultFileInputGenerator implements FileInputGenerator {
     }
     this.setting = setting;
   }
+  /**
+   * Reads the file from the {@link ColumnarInputCache} if it is enabled. Otherwise creates a new
+   * {@link ByteFileIterator} if the setting allows byte level parsing and a {@link FileIterator}
+   * if not. If the setting defines a sampling, only the sampled rows are returned.
+   */
   @Override
   public RelationalInput generateNewCopy() throws InputGenerationException {
+    InputSampling sampling = getSampling();
+    if (sampling != null) {
+      return generateSampledCopy(sampling, null);
+    }
+    return generateUnsampledCopy();
+  }
+
+  protected RelationalInput generateUnsampledCopy() throws InputGenerationException {
+    RelationalInput cachedCopy = generateCachedCopy(null);
+    if (cachedCopy != null) {
+      return cachedCopy;
+    }
+    return generateUncachedCopy();
+  }
+
+  protected RelationalInput generateUncachedCopy() throws InputGenerationException {
+    if (CompressedFiles.isCompressed(inputFile)) {
+      return generateDecompressedCopy();
+    }
     try {
+      if (useByteParser && ByteFileIterator.supports(setting)) {
+        return new ByteFileIterator(inputFile.getName(), inputFile, setting);
+      }
       return new FileIterator(inputFile.getName(), new FileReader(inputFile), setting);
     } catch (FileNotFoundException e) {
       throw new InputGenerationException("File not found!", e);
@@ -100,6 +143,149 @@ public class DefaultFileInputGenerator implements FileInputGenerator {
     }
   }
 
+  /**
+   * Parses the decompressed content of a gzip or zip file while it is decompressed, see {@link
+   * CompressedFiles}.
+   */
+  protected RelationalInput generateDecompressedCopy() throws InputGenerationException {
+    InputStream decompressed = null;
+    RelationalInput input = null;
+    try {
+      decompressed = CompressedFiles.open(inputFile, setting);
+      if (useByteParser && ByteFileIterator.supports(setting)) {
+        input = new ByteFileIterator(inputFile.getName(), Channels.newChannel(decompressed),
+          setting);
+      } else {
+        input = new FileIterator(inputFile.getName(), new InputStreamReader(decompressed), setting);
+      }
+      return input;
+    } catch (IOException e) {
+      throw new InputGenerationException("Could not decompress the file input", e);
+    } catch (InputIterationException e) {
+      throw new InputGenerationException("Could not iterate over the first line of the file input", e);
+    } finally {
+      if (input == null && decompressed != null) {
+        // Stops the decompression threads of the stream
+        try {
+          decompressed.close();
+        } catch (IOException closeException) {
+          // The failure of the iterator is reported
+        }
+      }
+    }
+  }
+
+  /**
+   * Creates a new {@link ByteFileIterator} that only copies the bytes of the given columns. Settings
+   * the byte parser does not support fall back to projecting the rows of a {@link FileIterator}.
+   */
+  @Override
+  public RelationalInput generateNewCopy(int[] columns) throws InputGenerationException {
+    InputSampling sampling = getSampling();
+    if (sampling != null) {
+      return generateSampledCopy(sampling, columns);
+    }
+    return generateUnsampledCopy(columns);
+  }
+
+  protected RelationalInput generateUnsampledCopy(int[] columns) throws InputGenerationException {
+    RelationalInput cachedCopy = generateCachedCopy(columns);
+    if (cachedCopy != null) {
+      return cachedCopy;
+    }
+    if (!useByteParser || !ByteFileIterator.supports(setting) ||
+      CompressedFiles.isCompressed(inputFile)) {
+      return new ProjectedRelationalInput(generateUncachedCopy(), columns);
+    }
+    try {
+      return new ByteFileIterator(inputFile.getName(), inputFile, setting, columns);
+    } catch (InputIterationException e) {
+      throw new InputGenerationException("Could not iterate over the first line of the file input", e);
+    }
+  }
+
+  /**
+   * Block samples of uncompressed files are read with the {@link FileBlockSampler}, which skips the
+   * unselected blocks on disk, even if the byte parser is not used for full copies. All other
+   * samplings select the rows of a full copy.
+   *
+   * @param sampling the sampling of the setting
+   * @param columns  the columns to read or null to read all columns
+   */
+  protected RelationalInput generateSampledCopy(InputSampling sampling, int[] columns)
+    throws InputGenerationException {
+    if (sampling.getStrategy() == InputSampling.Strategy.BLOCK &&
+      ByteFileIterator.supports(setting) && !CompressedFiles.isCompressed(inputFile)) {
+      return new FileBlockSampler(inputFile, setting).sample(sampling, columns);
+    }
+    RelationalInput copy = columns == null ? generateUnsampledCopy() :
+      generateUnsampledCopy(columns);
+    return sampling.sample(copy);
+  }
+
+  /**
+   * @return the sampling of the setting or null if all rows are read
+   * @throws InputGenerationException if the sampling values of the setting are invalid
+   */
+  protected InputSampling getSampling() throws InputGenerationException {
+    try {
+      return setting.getSampling();
+    } catch (IllegalArgumentException e) {
+      throw new InputGenerationException("The sampling of the file input is invalid", e);
+    }
+  }
+
+  /**
+   * @param columns the columns to read or null to read all columns
+   * @return a copy read from the input cache or null if the cache is disabled or cannot hold the
+   * file
+   */
+  protected RelationalInput generateCachedCopy(int[] columns) throws InputGenerationException {
+    if (inputCache == null) {
+      return null;
+    }
+    try {
+      return inputCache.getInput(getCacheFingerprint(),
+        inputFile.length() + ":" + inputFile.lastModified(), this::generateUncachedCopy, columns);
+    } catch (AlgorithmConfigurationException e) {
+      throw new InputGenerationException("Could not cache the file input", e);
+    }
+  }
+
+  /**
+   * @return the file path and all settings that change the parsed values
+   */
+  protected String getCacheFingerprint() {
+    return "file\n" + inputFile.getAbsolutePath() + "\n" + setting.getSeparatorAsChar() + "\n" +
+      setting.getQuoteCharAsChar() + "\n" + setting.getEscapeCharAsChar() + "\n" +
+      setting.isStrictQuotes() + "\n" + setting.isIgnoreLeadingWhiteSpace() + "\n" +
+      setting.hasHeader() + "\n" + setting.getSkipLines() + "\n" +
+      setting.isSkipDifferingLines() + "\n" + setting.getNullValue();
+  }
+
+  /**
+   * Splits the file into byte ranges aligned to record boundaries, see {@link
+   * FileInputPartitioner}.
+   *
+   * @throws InputGenerationException if the file cannot be read, is compressed or sampled or its
+   *                                  separator, quote or escape character is not an ASCII character
+   */
+  @Override
+  public List<RelationalInputPartition> generatePartitions(int numberOfPartitions)
+    throws InputGenerationException {
+    if (CompressedFiles.isCompressed(inputFile)) {
+      throw new InputGenerationException("Compressed files cannot be partitioned.");
+    }
+    if (getSampling() != null) {
+      throw new InputGenerationException("Sampled files cannot be partitioned.");
+    }
+    if (!ByteFileIterator.supports(setting)) {
+      throw new InputGenerationException(
+        "Only files with ASCII separator, quote and escape characters can be partitioned.");
+    }
+    return new FileInputPartitioner(inputFile, setting).partition(numberOfPartitions);
+  }
+
   /**
    * @return inputFile
    */
@@ -172,7 +358,8 @@ public class DefaultFileInputGenerator implements FileInputGenerator {
     List<File> accepted = new ArrayList<>();
     for (File child : children) {
       String name = child.getName().toLowerCase();
-      if (name.endsWith(".csv") || name.endsWith(".tsv") || name.endsWith(".txt")) {
+      if (name.endsWith(".csv") || name.endsWith(".tsv") || name.endsWith(".txt") ||
+        CompressedFiles.isCompressed(child)) {
         accepted.add(child);
       }
     }
@@ -242,6 +429,20 @@ public class DefaultFileInputGenerator implements FileInputGenerator {
     return this.setting;
   }
 
+  /**
+   * @param useByteParser whether new copies should be parsed with the {@link ByteFileIterator}
+   */
+  public void setUseByteParser(boolean useByteParser) {
+    this.useByteParser = useByteParser;
+  }
+
+  /**
+   * @param inputCache the cache new copies are read from or null to parse the file every time
+   */
+  public void setInputCache(ColumnarInputCache inputCache) {
+    this.inputCache = inputCache;
+  }
+
   @Override
   public void close() throws Exception {
     // Nothing to close
@@ -0,0 +1,206 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.input.file;
+
+import de.metanome.algorithm_integration.configuration.ConfigurationSettingFileInput;
+import de.metanome.algorithm_integration.input.InputGenerationException;
+import de.metanome.algorithm_integration.input.InputIterationException;
+import de.metanome.algorithm_integration.input.InputSampling;
+import de.metanome.algorithm_integration.input.RelationalInput;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Samples blocks of a csv file without reading the unselected blocks. The data of the file is cut
+ * into byte blocks of equal size, every block is selected with the sample fraction as probability
+ * and only the records starting in selected blocks are parsed. A block starts at the record that is
+ * guessed behind its cut like the start of a range of the {@link FileInputPartitioner}. As the
+ * blocks are not adjacent, a misplaced start cannot be detected and only affects the sample.
+ */
+public class FileBlockSampler extends FileInputPartitioner {
+
+  public static final long MIN_BLOCK_SIZE = 1 << 12;
+  public static final long MAX_BLOCK_SIZE = 1 << 20;
+  // Smaller files get smaller blocks, so that the sample still consists of several blocks
+  protected static final long MIN_NUMBER_OF_BLOCKS = 1024;
+
+  protected long blockSize;
+
+  /**
+   * @param file    the csv file
+   * @param setting the setting of the file input
+   */
+  public FileBlockSampler(File file, ConfigurationSettingFileInput setting) {
+    this(file, setting, 0);
+  }
+
+  /**
+   * @param file      the csv file
+   * @param setting   the setting of the file input
+   * @param blockSize the size of the blocks in bytes or 0 to derive it from the file size
+   */
+  public FileBlockSampler(File file, ConfigurationSettingFileInput setting, long blockSize) {
+    super(file, setting);
+    this.blockSize = blockSize;
+  }
+
+  /**
+   * @param sampling the sampling of the file, its fraction is the block selection probability and
+   *                 its sample size limits the number of rows
+   * @param columns  the columns to read or null to read all columns
+   * @return the rows of the selected blocks in file order
+   * @throws InputGenerationException if the file cannot be read
+   */
+  public RelationalInput sample(InputSampling sampling, int[] columns)
+    throws InputGenerationException {
+    List<Long> blockStarts = new ArrayList<>();
+    try {
+      readHeader();
+      if (columns != null) {
+        for (int column : columns) {
+          if (column < 0 || column >= headerLine.size()) {
+            throw new IllegalArgumentException("The column " + column + " does not exist.");
+          }
+        }
+      }
+      long size = getBlockSize();
+      Random random = new Random(sampling.getSeed());
+      for (long start = dataStartOffset; start < fileSize; start += size) {
+        if (random.nextDouble() < sampling.getFraction()) {
+          blockStarts.add(start);
+        }
+      }
+      RelationalInput input = new SampledBlocks(blockStarts, size, columns);
+      if (sampling.hasSampleSize()) {
+        return InputSampling.firstN(sampling.getSampleSize()).sample(input);
+      }
+      return input;
+    } catch (IOException | IllegalArgumentException e) {
+      throw new InputGenerationException("Could not sample the file input", e);
+    }
+  }
+
+  protected long getBlockSize() {
+    if (blockSize > 0) {
+      return blockSize;
+    }
+    long derivedSize = (fileSize - dataStartOffset) / MIN_NUMBER_OF_BLOCKS;
+    return Math.max(MIN_BLOCK_SIZE, Math.min(MAX_BLOCK_SIZE, derivedSize));
+  }
+
+  /**
+   * Reads the selected blocks one after another, a block is opened when the previous one is
+   * exhausted.
+   */
+  protected class SampledBlocks implements RelationalInput {
+
+    protected List<Long> blockStarts;
+    protected long size;
+    protected int[] columns;
+    protected int nextBlock = 0;
+    protected ByteFileIterator block;
+
+    protected SampledBlocks(List<Long> blockStarts, long size, int[] columns) {
+      this.blockStarts = blockStarts;
+      this.size = size;
+      this.columns = columns == null ? null : columns.clone();
+    }
+
+    @Override
+    public boolean hasNext() throws InputIterationException {
+      while (block == null || !block.hasNext()) {
+        if (nextBlock >= blockStarts.size()) {
+          return false;
+        }
+        openNextBlock();
+      }
+      return true;
+    }
+
+    protected void openNextBlock() throws InputIterationException {
+      closeBlock();
+      long blockStart = blockStarts.get(nextBlock++);
+      long end = Math.min(blockStart + size, fileSize);
+      long start;
+      try {
+        start = findRecordStart(blockStart);
+      } catch (IOException e) {
+        throw new InputIterationException("Could not read the file input", e);
+      }
+      if (start >= end) {
+        // A quoted value spans the whole block
+        return;
+      }
+      block = new ByteFileIterator(file.getName(), file, setting, headerLine, start, end, false);
+      if (columns != null) {
+        block.setProjection(columns);
+      }
+    }
+
+    @Override
+    public List<String> next() throws InputIterationException {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return block.next();
+    }
+
+    @Override
+    public int numberOfColumns() {
+      return columns == null ? headerLine.size() : columns.length;
+    }
+
+    @Override
+    public String relationName() {
+      return file.getName();
+    }
+
+    @Override
+    public List<String> columnNames() {
+      if (columns == null) {
+        return headerLine;
+      }
+      List<String> projectedHeader = new ArrayList<>(columns.length);
+      for (int column : columns) {
+        projectedHeader.add(headerLine.get(column));
+      }
+      return Collections.unmodifiableList(projectedHeader);
+    }
+
+    protected void closeBlock() throws InputIterationException {
+      if (block == null) {
+        return;
+      }
+      try {
+        block.close();
+      } catch (IOException e) {
+        throw new InputIterationException("Could not close the file input", e);
+      }
+      block = null;
+    }
+
+    @Override
+    public void close() throws InputIterationException {
+      closeBlock();
+    }
+  }
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.input.file;
+
+import de.metanome.algorithm_integration.configuration.ConfigurationSettingFileInput;
+import de.metanome.algorithm_integration.input.InputIterationException;
+import de.metanome.algorithm_integration.input.RelationalInputPartition;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Iterates the records of a csv file that start in a byte range. The partitions are created by the
+ * {@link FileInputPartitioner}, which scans the file for the record boundaries the ranges start at
+ * and counts their rows. The iteration fails if the partition's end, i.e. the start of the next
+ * partition, is not a record boundary anymore, because the file changed in the meantime.
+ */
+public class FileInputPartition implements RelationalInputPartition {
+
+  protected ByteFileIterator rows;
+  protected long firstRowNumber;
+  protected long numberOfRows;
+
+  /**
+   * @param relationName    the name of the relation
+   * @param file            the csv file
+   * @param setting         the setting of the file input
+   * @param headerLine      the column names of the file
+   * @param startOffset     the offset of the partition's first record
+   * @param endOffset       the offset at which the next partition starts
+   * @param firstRowNumber  the number of rows in front of the partition
+   * @param numberOfRows    the number of rows of the partition
+   * @throws InputIterationException if the file cannot be read
+   */
+  protected FileInputPartition(String relationName, File file,
+                               ConfigurationSettingFileInput setting, List<String> headerLine,
+                               long startOffset, long endOffset, long firstRowNumber,
+                               long numberOfRows)
+    throws InputIterationException {
+    this.rows = new ByteFileIterator(relationName, file, setting, headerLine, startOffset,
+      endOffset, true);
+    this.firstRowNumber = firstRowNumber;
+    this.numberOfRows = numberOfRows;
+  }
+
+  /**
+   * Restricts the partition to the given columns.
+   *
+   * @param columns the indices of the columns to return in the order they should be returned
+   */
+  protected void setProjection(int[] columns) {
+    rows.setProjection(columns);
+  }
+
+  @Override
+  public boolean hasNext() {
+    return rows.hasNext();
+  }
+
+  @Override
+  public List<String> next() throws InputIterationException {
+    return rows.next();
+  }
+
+  @Override
+  public int numberOfColumns() {
+    return rows.numberOfColumns();
+  }
+
+  @Override
+  public String relationName() {
+    return rows.relationName();
+  }
+
+  @Override
+  public List<String> columnNames() {
+    return rows.columnNames();
+  }
+
+  @Override
+  public long getFirstRowNumber() {
+    return firstRowNumber;
+  }
+
+  @Override
+  public long getNumberOfRows() {
+    return numberOfRows;
+  }
+
+  @Override
+  public void close() throws IOException {
+    rows.close();
+  }
+}
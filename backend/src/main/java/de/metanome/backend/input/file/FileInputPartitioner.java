@@ -0,0 +1,290 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.input.file;
+
+import de.metanome.algorithm_integration.configuration.ConfigurationSettingFileInput;
+import de.metanome.algorithm_integration.input.InputGenerationException;
+import de.metanome.algorithm_integration.input.InputIterationException;
+import de.metanome.algorithm_integration.input.RelationalInputPartition;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Splits a csv file into {@link FileInputPartition}s that can be read concurrently.
+ * <p>
+ * The file is cut into byte ranges of equal size and every range is moved to the start of the
+ * first record behind its cut. As a line break might belong to a quoted value, such a start is a
+ * guess. Therefore a range only starts at a line that begins two consecutive records with the
+ * expected number of values and without line breaks, which skips most lines of quoted values.
+ * <p>
+ * The guessed ranges are then scanned concurrently, which counts their rows and finds the exact
+ * record boundary behind their end, without decoding any value. The first range starts at a record
+ * boundary, so its scan is exact. A range whose guessed start does not match the boundary found by
+ * its predecessor is rescanned from the correct offset, so the partitions never split a record and
+ * know the position of their rows in the whole file.
+ */
+public class FileInputPartitioner {
+
+  // Number of lines checked for the start of records before a range start is guessed
+  protected static final int MAX_RESYNC_LINES = 64;
+
+  protected File file;
+  protected ConfigurationSettingFileInput setting;
+
+  protected List<String> headerLine;
+  protected long dataStartOffset;
+  protected long fileSize;
+
+  /**
+   * @param file    the csv file
+   * @param setting the setting of the file input
+   */
+  public FileInputPartitioner(File file, ConfigurationSettingFileInput setting) {
+    if (!ByteCsvParser.supports(setting)) {
+      throw new IllegalArgumentException(
+        "The separator, quote and escape characters have to be ASCII characters.");
+    }
+    this.file = file;
+    this.setting = setting;
+  }
+
+  /**
+   * Splits the file.
+   *
+   * @param numberOfPartitions the requested number of partitions
+   * @return the partitions in file order (at least one partition)
+   * @throws InputGenerationException if the file cannot be read
+   */
+  public List<RelationalInputPartition> partition(int numberOfPartitions)
+    throws InputGenerationException {
+    if (numberOfPartitions < 1) {
+      throw new IllegalArgumentException("The number of partitions has to be positive.");
+    }
+    List<RelationalInputPartition> partitions = new ArrayList<>();
+    try {
+      readHeader();
+      for (Range range : findRanges(numberOfPartitions)) {
+        partitions.add(new FileInputPartition(file.getName(), file, setting, headerLine,
+          range.start, range.end, range.firstRowNumber, range.numberOfRows));
+      }
+      return partitions;
+    } catch (IOException | UncheckedIOException | InputIterationException e) {
+      for (RelationalInputPartition partition : partitions) {
+        try {
+          partition.close();
+        } catch (Exception closeException) {
+          // The partitioning failure is reported
+        }
+      }
+      throw new InputGenerationException("Could not partition the file input", e);
+    }
+  }
+
+  /**
+   * Reads the header or generates it and determines the offset of the first data record.
+   */
+  protected void readHeader() throws IOException {
+    try (ByteCsvParser parser = openParser(0)) {
+      fileSize = parser.endOffset;
+      parser.skipLines(setting.getSkipLines());
+      if (setting.hasHeader()) {
+        headerLine = parser.readRecord();
+        dataStartOffset = parser.getNextRecordOffset();
+        if (headerLine == null) {
+          headerLine = Collections.emptyList();
+        }
+        return;
+      }
+      dataStartOffset = parser.getNextRecordOffset();
+      ByteCsvRow firstLine = parser.readRecord();
+      int numberOfColumns = firstLine == null ? 0 : firstLine.size();
+      List<String> generatedHeader = new ArrayList<>();
+      for (int i = 1; i <= numberOfColumns; i++) {
+        generatedHeader.add(FileIterator.DEFAULT_HEADER_STRING + i);
+      }
+      headerLine = Collections.unmodifiableList(generatedHeader);
+    }
+  }
+
+  /**
+   * @return the guessed start offsets of the ranges, the first one is the start of the data
+   */
+  protected List<Long> findStarts(int numberOfPartitions) throws IOException {
+    List<Long> starts = new ArrayList<>();
+    starts.add(dataStartOffset);
+    long rangeSize = (fileSize - dataStartOffset) / numberOfPartitions;
+    if (rangeSize == 0) {
+      return starts;
+    }
+    for (int i = 1; i < numberOfPartitions; i++) {
+      long start = findRecordStart(dataStartOffset + i * rangeSize);
+      if (start >= fileSize) {
+        break;
+      }
+      if (start > starts.get(starts.size() - 1)) {
+        starts.add(start);
+      }
+    }
+    return starts;
+  }
+
+  protected long getEnd(List<Long> starts, int index) {
+    return index + 1 < starts.size() ? starts.get(index + 1) : fileSize;
+  }
+
+  /**
+   * Scans the guessed ranges concurrently and repairs the ranges behind a wrong guess, see the
+   * class comment.
+   *
+   * @param numberOfRanges the requested number of ranges
+   * @return the exact ranges in file order (at least one range)
+   */
+  protected List<Range> findRanges(int numberOfRanges) throws IOException {
+    final List<Long> starts = findStarts(numberOfRanges);
+
+    // Count all ranges in parallel assuming that the guessed starts are correct
+    final long[][] counts = new long[starts.size()][];
+    IntStream.range(0, starts.size()).parallel().forEach(i -> {
+      try {
+        counts[i] = count(starts.get(i), getEnd(starts, i));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+
+    List<Range> ranges = new ArrayList<>();
+    long start = dataStartOffset;
+    long firstRowNumber = 0;
+    for (int i = 0; i < starts.size(); i++) {
+      long end = getEnd(starts, i);
+      if (start >= end) {
+        // A quoted value spans the whole range
+        continue;
+      }
+      long[] count = start == starts.get(i) ? counts[i] : count(start, end);
+      ranges.add(new Range(start, count[1], firstRowNumber, count[0]));
+      firstRowNumber += count[0];
+      start = count[1];
+    }
+    if (ranges.isEmpty()) {
+      ranges.add(new Range(dataStartOffset, fileSize, 0, 0));
+    }
+    return ranges;
+  }
+
+  /**
+   * Counts the rows starting in the given range.
+   *
+   * @return the number of rows and the offset of the first record behind the range
+   */
+  protected long[] count(long start, long end) throws IOException {
+    int numberOfColumns = headerLine.size();
+    boolean skipDifferingLines = setting.isSkipDifferingLines();
+    try (ByteCsvParser parser = openParser(start)) {
+      long numberOfRows = 0;
+      int numberOfValues;
+      while ((numberOfValues = parser.skipRecord()) >= 0) {
+        if (parser.getRecordStartOffset() >= end) {
+          return new long[]{numberOfRows, parser.getRecordStartOffset()};
+        }
+        if (!skipDifferingLines || numberOfValues == numberOfColumns) {
+          numberOfRows++;
+        }
+      }
+      return new long[]{numberOfRows, fileSize};
+    }
+  }
+
+  /**
+   * Guesses the start of the first record behind the given offset, see the class comment.
+   *
+   * @return the offset of the first record starting at or behind the given offset
+   */
+  protected long findRecordStart(long offset) throws IOException {
+    if (offset <= dataStartOffset) {
+      return dataStartOffset;
+    }
+    try (ByteCsvParser parser = openParser(offset - 1)) {
+      parser.skipLines(1);
+      long firstLineStart = parser.getNextRecordOffset();
+      long lineStart = firstLineStart;
+      for (int i = 0; i < MAX_RESYNC_LINES && lineStart < fileSize; i++) {
+        if (beginsRecords(parser)) {
+          return lineStart;
+        }
+        parser.seek(lineStart);
+        parser.skipLines(1);
+        lineStart = parser.getNextRecordOffset();
+      }
+      return firstLineStart;
+    }
+  }
+
+  /**
+   * @return whether the parser is at the start of two records, or of the last record of the file,
+   * that have the expected number of values and do not span several lines
+   */
+  protected boolean beginsRecords(ByteCsvParser parser) throws IOException {
+    for (int i = 0; i < 2; i++) {
+      int numberOfValues = parser.skipRecord();
+      if (numberOfValues < 0) {
+        return i > 0;
+      }
+      if (numberOfValues != headerLine.size() || parser.recordSpansLines()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  protected ByteCsvParser openParser(long offset) throws IOException {
+    return new ByteCsvParser(FileChannel.open(file.toPath(), StandardOpenOption.READ), setting,
+      offset);
+  }
+
+  /**
+   * @return the column names of the file, available after partitioning
+   */
+  public List<String> getHeaderLine() {
+    return headerLine;
+  }
+
+  /**
+   * A byte range of the file that starts and ends at record boundaries.
+   */
+  protected static class Range {
+
+    protected long start;
+    protected long end;
+    protected long firstRowNumber;
+    protected long numberOfRows;
+
+    protected Range(long start, long end, long firstRowNumber, long numberOfRows) {
+      this.start = start;
+      this.end = end;
+      this.firstRowNumber = firstRowNumber;
+      this.numberOfRows = numberOfRows;
+    }
+  }
+}
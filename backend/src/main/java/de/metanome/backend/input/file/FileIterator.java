@@ -55,11 +55,7 @@ public class FileIterator implements RelationalInput {
 
   public FileIterator(String relationName, Reader reader, ConfigurationSettingFileInput setting)
     throws InputIterationException {
-    this.relationName = relationName;
-
-    this.hasHeader = setting.hasHeader();
-    this.skipDifferingLines = setting.isSkipDifferingLines();
-    this.nullValue = setting.getNullValue();
+    this(relationName, setting);
 
     this.csvReader =
       new CSVReader(reader,
@@ -70,6 +66,30 @@ public class FileIterator implements RelationalInput {
         setting.isStrictQuotes(),
         setting.isIgnoreLeadingWhiteSpace());
 
+    readHeader();
+  }
+
+  /**
+   * Only copies the setting. Subclasses reading the lines with another parser have to call {@link
+   * #readHeader()} once the parser is ready.
+   *
+   * @param relationName the name of the relation
+   * @param setting      the setting of the file input
+   */
+  protected FileIterator(String relationName, ConfigurationSettingFileInput setting) {
+    this.relationName = relationName;
+
+    this.hasHeader = setting.hasHeader();
+    this.skipDifferingLines = setting.isSkipDifferingLines();
+    this.nullValue = setting.getNullValue();
+  }
+
+  /**
+   * Reads the first line to determine the number of columns and the header.
+   *
+   * @throws InputIterationException if the first line cannot be read
+   */
+  protected void readHeader() throws InputIterationException {
     this.nextLine = readNextLine();
     if (this.nextLine != null) {
       this.numberOfColumns = this.nextLine.size();
@@ -111,7 +131,7 @@ public class FileIterator implements RelationalInput {
 
   protected void failDifferingLine(List<String> currentLine)
     throws InputIterationException {
-    if (currentLine.size() != this.numberOfColumns()) {
+    if (currentLine.size() != this.numberOfColumns) {
       throw new InputIterationException(
         "Csv line length did not match on line " + currentLineNumber);
     }
@@ -122,7 +142,7 @@ public class FileIterator implements RelationalInput {
       return;
     }
 
-    while (this.nextLine.size() != this.numberOfColumns()) {
+    while (this.nextLine.size() != this.numberOfColumns) {
       this.nextLine = readNextLine();
       this.numberOfSkippedLines++;
       if (!hasNext()) {
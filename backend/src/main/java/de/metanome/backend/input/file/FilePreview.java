@@ -0,0 +1,64 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.input.file;
+
+import java.util.List;
+
+/**
+ * The first rows of a file input together with its (estimated) number of rows.
+ */
+public class FilePreview {
+
+  /**
+   * Marks an unknown number of rows, e.g. of compressed files before they were counted.
+   */
+  public static final long UNKNOWN_ROW_COUNT = -1;
+
+  protected List<String> columnNames;
+  protected List<List<String>> rows;
+  protected long rowCount;
+  protected boolean rowCountExact;
+
+  public FilePreview(List<String> columnNames, List<List<String>> rows, long rowCount,
+                     boolean rowCountExact) {
+    this.columnNames = columnNames;
+    this.rows = rows;
+    this.rowCount = rowCount;
+    this.rowCountExact = rowCountExact;
+  }
+
+  public List<String> getColumnNames() {
+    return columnNames;
+  }
+
+  public List<List<String>> getRows() {
+    return rows;
+  }
+
+  /**
+   * @return the number of rows of the file or {@link #UNKNOWN_ROW_COUNT}
+   */
+  public long getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * @return false, if the row count is an estimation that is refined by a background count
+   */
+  public boolean isRowCountExact() {
+    return rowCountExact;
+  }
+}
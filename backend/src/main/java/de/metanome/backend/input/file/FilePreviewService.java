@@ -0,0 +1,245 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.input.file;
+
+import de.metanome.algorithm_integration.AlgorithmConfigurationException;
+import de.metanome.algorithm_integration.configuration.ConfigurationSettingFileInput;
+import de.metanome.algorithm_integration.input.InputGenerationException;
+import de.metanome.algorithm_integration.input.RelationalInput;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves previews and row counts of file inputs without scanning the files on every request.
+ * <p>
+ * The parsed head of every file is cached by the file fingerprint (path, size, modification time
+ * and all parse settings), so a changed file or setting is parsed again. The number of rows is
+ * first estimated from the record lengths of a few sampled byte ranges, see {@link
+ * FileRowCounter}, and then replaced by the exact count of a background scan. Only one file is
+ * counted at a time and by a single reader to not compete with running algorithms for the disk.
+ */
+public class FilePreviewService {
+
+  public static final int DEFAULT_HEAD_SIZE = 50;
+  public static final int MAX_HEAD_SIZE = 10000;
+  public static final int DEFAULT_MAX_ENTRIES = 256;
+  protected static final int NUMBER_OF_SAMPLES = 8;
+  protected static final long SAMPLE_SIZE = 1 << 16;
+
+  private static FilePreviewService defaultService;
+
+  protected int maxEntries;
+  protected Map<String, PreviewEntry> entries;
+  protected ExecutorService counter = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "metanome-row-counter");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * @param maxEntries the maximal number of cached file heads
+   */
+  public FilePreviewService(int maxEntries) {
+    this.maxEntries = maxEntries;
+    this.entries = new LinkedHashMap<String, PreviewEntry>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, PreviewEntry> eldest) {
+        return size() > FilePreviewService.this.maxEntries;
+      }
+    };
+  }
+
+  /**
+   * @return the preview service shared by all resources
+   */
+  public static synchronized FilePreviewService getDefault() {
+    if (defaultService == null) {
+      defaultService = new FilePreviewService(DEFAULT_MAX_ENTRIES);
+    }
+    return defaultService;
+  }
+
+  /**
+   * Returns the first rows of the file. Only the first request of a file parses it, later requests
+   * for at most as many rows are answered from the cache.
+   *
+   * @param file         the file
+   * @param setting      the parse settings of the file
+   * @param numberOfRows the number of rows to return, at most {@link #MAX_HEAD_SIZE}
+   * @return the preview with the current row count
+   * @throws InputGenerationException if the file cannot be parsed
+   */
+  public FilePreview getPreview(File file, ConfigurationSettingFileInput setting, int numberOfRows)
+    throws InputGenerationException {
+    int headSize = Math.max(0, Math.min(numberOfRows, MAX_HEAD_SIZE));
+    PreviewEntry entry = getEntry(file, setting);
+    synchronized (entry) {
+      if (entry.rows == null || (entry.rows.size() < headSize && !entry.headComplete)) {
+        readHead(entry, Math.max(headSize, DEFAULT_HEAD_SIZE));
+      }
+      estimateRowCount(entry);
+      return entry.toPreview(headSize);
+    }
+  }
+
+  /**
+   * Returns the exact number of rows if the file was counted and an estimation otherwise. The
+   * estimation reads a constant number of bytes and schedules the exact count.
+   *
+   * @param file    the file
+   * @param setting the parse settings of the file
+   * @return a preview without rows
+   * @throws InputGenerationException if the file cannot be read
+   */
+  public FilePreview getRowCount(File file, ConfigurationSettingFileInput setting)
+    throws InputGenerationException {
+    PreviewEntry entry = getEntry(file, setting);
+    synchronized (entry) {
+      estimateRowCount(entry);
+      return entry.toPreview(0);
+    }
+  }
+
+  protected PreviewEntry getEntry(File file, ConfigurationSettingFileInput setting)
+    throws InputGenerationException {
+    DefaultFileInputGenerator generator;
+    try {
+      generator = new DefaultFileInputGenerator(file, setting);
+    } catch (AlgorithmConfigurationException | FileNotFoundException e) {
+      throw new InputGenerationException("File not found!", e);
+    }
+    // The head is read from the file itself and not from the input cache
+    generator.setInputCache(null);
+    String key = generator.getCacheFingerprint() + "\n" + file.length() + ":" +
+      file.lastModified();
+    synchronized (this) {
+      return entries.computeIfAbsent(key, k -> new PreviewEntry(generator));
+    }
+  }
+
+  protected void readHead(PreviewEntry entry, int headSize) throws InputGenerationException {
+    List<List<String>> rows = new ArrayList<>();
+    RelationalInput input = entry.generator.generateUnsampledCopy();
+    try {
+      entry.columnNames = input.columnNames();
+      while (rows.size() < headSize && input.hasNext()) {
+        rows.add(Collections.unmodifiableList(new ArrayList<>(input.next())));
+      }
+      entry.headComplete = !input.hasNext();
+    } catch (Exception e) {
+      throw new InputGenerationException("Could not read the head of the file input", e);
+    } finally {
+      try {
+        input.close();
+      } catch (Exception e) {
+        // The file was read completely
+      }
+    }
+    entry.rows = Collections.unmodifiableList(rows);
+    if (entry.headComplete) {
+      entry.rowCount = rows.size();
+      entry.rowCountExact = true;
+    }
+  }
+
+  /**
+   * Estimates the number of rows if it is unknown and schedules the exact count.
+   */
+  protected void estimateRowCount(PreviewEntry entry) throws InputGenerationException {
+    if (entry.rowCountExact || entry.countScheduled) {
+      return;
+    }
+    if (canCountBytes(entry.generator)) {
+      entry.rowCount = new FileRowCounter(entry.generator.getInputFile(), entry.generator.getSetting())
+        .estimate(NUMBER_OF_SAMPLES, SAMPLE_SIZE);
+      if (entry.generator.getInputFile().length() <= NUMBER_OF_SAMPLES * SAMPLE_SIZE) {
+        entry.rowCountExact = true;
+        return;
+      }
+    }
+    entry.countScheduled = true;
+    counter.submit(() -> count(entry));
+  }
+
+  @SuppressWarnings("try")
+  protected void count(PreviewEntry entry) {
+    long numberOfRows = 0;
+    try {
+      if (canCountBytes(entry.generator)) {
+        numberOfRows = new FileRowCounter(entry.generator.getInputFile(),
+          entry.generator.getSetting()).countRows(1);
+      } else {
+        try (RelationalInput input = entry.generator.generateUnsampledCopy()) {
+          while (input.hasNext()) {
+            input.next();
+            numberOfRows++;
+          }
+        }
+      }
+    } catch (Exception e) {
+      // The estimation is kept, a later request retries the count
+      synchronized (entry) {
+        entry.countScheduled = false;
+      }
+      return;
+    }
+    synchronized (entry) {
+      entry.rowCount = numberOfRows;
+      entry.rowCountExact = true;
+    }
+  }
+
+  protected boolean canCountBytes(DefaultFileInputGenerator generator) {
+    return ByteFileIterator.supports(generator.getSetting()) &&
+      !CompressedFiles.isCompressed(generator.getInputFile());
+  }
+
+  /**
+   * @return the number of cached file heads
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  protected static class PreviewEntry {
+
+    protected DefaultFileInputGenerator generator;
+    protected List<String> columnNames;
+    protected List<List<String>> rows;
+    protected boolean headComplete = false;
+    protected long rowCount = FilePreview.UNKNOWN_ROW_COUNT;
+    protected boolean rowCountExact = false;
+    protected boolean countScheduled = false;
+
+    protected PreviewEntry(DefaultFileInputGenerator generator) {
+      this.generator = generator;
+    }
+
+    protected FilePreview toPreview(int numberOfRows) {
+      List<List<String>> head = rows == null ? Collections.<List<String>>emptyList() :
+        rows.subList(0, Math.min(numberOfRows, rows.size()));
+      return new FilePreview(columnNames, head, rowCount, rowCountExact);
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.input.file;
+
+import de.metanome.algorithm_integration.configuration.ConfigurationSettingFileInput;
+import de.metanome.algorithm_integration.input.InputGenerationException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Counts or estimates the number of rows of a csv file. The estimation counts the records of a few
+ * byte ranges spread over the file and extrapolates the average record length to the whole file,
+ * so its cost does not depend on the file size.
+ * <p>
+ * The exact count scans the file in the ranges of the {@link FileInputPartitioner} concurrently.
+ */
+public class FileRowCounter extends FileInputPartitioner {
+
+  /**
+   * @param file    the csv file
+   * @param setting the setting of the file input
+   */
+  public FileRowCounter(File file, ConfigurationSettingFileInput setting) {
+    super(file, setting);
+  }
+
+  /**
+   * @param numberOfSamples the number of byte ranges that are counted
+   * @param sampleSize      the size of every range in bytes
+   * @return the estimated number of rows, exact if the ranges cover the whole file
+   * @throws InputGenerationException if the file cannot be read
+   */
+  public long estimate(int numberOfSamples, long sampleSize) throws InputGenerationException {
+    try {
+      readHeader();
+      long dataSize = fileSize - dataStartOffset;
+      if (dataSize <= numberOfSamples * sampleSize) {
+        return count(dataStartOffset, fileSize)[0];
+      }
+      long numberOfRows = 0;
+      long numberOfBytes = 0;
+      for (long start : findStarts(numberOfSamples)) {
+        long[] count = count(start, Math.min(start + sampleSize, fileSize));
+        numberOfRows += count[0];
+        numberOfBytes += count[1] - start;
+      }
+      if (numberOfBytes == 0) {
+        return 0;
+      }
+      return Math.round((double) dataSize * numberOfRows / numberOfBytes);
+    } catch (IOException e) {
+      throw new InputGenerationException("Could not estimate the number of rows", e);
+    }
+  }
+
+  /**
+   * @param parallelism the number of ranges that are counted concurrently
+   * @return the exact number of rows
+   * @throws InputGenerationException if the file cannot be read
+   */
+  public long countRows(int parallelism) throws InputGenerationException {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("The parallelism has to be positive.");
+    }
+    try {
+      readHeader();
+      long numberOfRows = 0;
+      for (Range range : findRanges(parallelism)) {
+        numberOfRows += range.numberOfRows;
+      }
+      return numberOfRows;
+    } catch (IOException | UncheckedIOException e) {
+      throw new InputGenerationException("Could not count the rows", e);
+    }
+  }
+}
@@ -0,0 +1,179 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.input.file;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Decompresses a gzip file whose members are decompressed in parallel. The boundaries of the
+ * members are only known without decompressing if every member header stores the member's size in
+ * a "BC" extra field, as written by block gzip compressors like bgzip. These members are inflated
+ * concurrently and returned in file order. From the first member without size field on, the file
+ * is decompressed sequentially, so every valid (multi member) gzip file can be read.
+ */
+public class ParallelGzipInputStream extends InputStream {
+
+  protected static final int HEADER_SIZE = 18;
+  protected static final int BUFFER_SIZE = 1 << 16;
+
+  protected FileChannel channel;
+  protected long position = 0;
+  protected ExecutorService decompressors;
+  protected Deque<Future<byte[]>> pending = new ArrayDeque<>();
+  protected int maxPending;
+  protected InputStream sequentialStream;
+
+  protected byte[] current = new byte[0];
+  protected int currentPosition = 0;
+
+  /**
+   * @param file the gzip file
+   * @throws IOException if the file cannot be opened
+   */
+  public ParallelGzipInputStream(File file) throws IOException {
+    this(file, Runtime.getRuntime().availableProcessors());
+  }
+
+  public ParallelGzipInputStream(File file, int parallelism) throws IOException {
+    this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+    this.maxPending = 2 * Math.max(1, parallelism);
+    this.decompressors = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+      Thread thread = new Thread(runnable, "metanome-gzip");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * @param offset the offset of a member header
+   * @return the size of the member in bytes or -1 if its header does not store the size
+   */
+  protected int readMemberSize(long offset) throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    while (header.hasRemaining() && channel.read(header, offset + header.position()) >= 0) {
+      // read the complete header
+    }
+    if (header.hasRemaining()) {
+      return -1;
+    }
+    boolean hasExtraField = (header.get(3) & 0x04) != 0;
+    boolean isSizeField = header.getShort(10) == 6 && header.get(12) == 'B' &&
+      header.get(13) == 'C' && header.getShort(14) == 2;
+    if (header.get(0) != (byte) 0x1f || header.get(1) != (byte) 0x8b || !hasExtraField ||
+      !isSizeField) {
+      return -1;
+    }
+    return (header.getShort(16) & 0xFFFF) + 1;
+  }
+
+  /**
+   * Submits members for decompression until enough members are pending or a member without size
+   * field is reached.
+   */
+  protected void submitMembers() throws IOException {
+    while (sequentialStream == null && pending.size() < maxPending && position < channel.size()) {
+      int memberSize = readMemberSize(position);
+      if (memberSize < 0) {
+        if (pending.isEmpty()) {
+          sequentialStream = new GZIPInputStream(
+            Channels.newInputStream(channel.position(position)), BUFFER_SIZE);
+        }
+        return;
+      }
+      final ByteBuffer member = ByteBuffer.allocate(memberSize);
+      while (member.hasRemaining() &&
+        channel.read(member, position + member.position()) >= 0) {
+        // read the complete member
+      }
+      position += memberSize;
+      pending.add(decompressors.submit(() -> inflate(member.array())));
+    }
+  }
+
+  protected static byte[] inflate(byte[] member) throws IOException {
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(member))) {
+      return in.readAllBytes();
+    }
+  }
+
+  /**
+   * @return false if the file is exhausted
+   */
+  protected boolean nextMember() throws IOException {
+    while (currentPosition >= current.length) {
+      submitMembers();
+      if (pending.isEmpty()) {
+        return false;
+      }
+      try {
+        current = pending.poll().get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while decompressing");
+      } catch (ExecutionException e) {
+        throw new IOException("Could not decompress a gzip member", e.getCause());
+      }
+      currentPosition = 0;
+    }
+    return true;
+  }
+
+  @Override
+  public int read() throws IOException {
+    byte[] single = new byte[1];
+    return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] bytes, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+    if (!nextMember()) {
+      return sequentialStream != null ? sequentialStream.read(bytes, offset, length) : -1;
+    }
+    int copied = Math.min(length, current.length - currentPosition);
+    System.arraycopy(current, currentPosition, bytes, offset, copied);
+    currentPosition += copied;
+    return copied;
+  }
+
+  @Override
+  public void close() throws IOException {
+    decompressors.shutdownNow();
+    pending.clear();
+    if (sequentialStream != null) {
+      sequentialStream.close();
+    }
+    channel.close();
+  }
+}
@@ -0,0 +1,168 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.input.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reads an input stream on a background thread into a bounded queue of chunks, so that expensive
+ * reads of the source, e.g. decompression, overlap with the processing of the already read bytes.
+ */
+public final class ReadAheadInputStream extends InputStream {
+
+  public static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+  public static final int DEFAULT_NUMBER_OF_CHUNKS = 16;
+
+  protected static final Chunk END = new Chunk(new byte[0], 0, null);
+
+  protected InputStream source;
+  protected BlockingQueue<Chunk> chunks;
+  protected Thread reader;
+
+  protected Chunk current;
+  protected int position = 0;
+  protected boolean finished = false;
+
+  /**
+   * Starts reading the source.
+   *
+   * @param source the stream to read ahead, is closed with this stream
+   */
+  public ReadAheadInputStream(InputStream source) {
+    this(source, DEFAULT_CHUNK_SIZE, DEFAULT_NUMBER_OF_CHUNKS);
+  }
+
+  public ReadAheadInputStream(InputStream source, final int chunkSize, int numberOfChunks) {
+    this.source = source;
+    this.chunks = new ArrayBlockingQueue<>(numberOfChunks);
+    this.reader = new Thread(() -> readAhead(chunkSize), "metanome-read-ahead");
+    this.reader.setDaemon(true);
+    this.reader.start();
+  }
+
+  protected void readAhead(int chunkSize) {
+    try {
+      while (true) {
+        byte[] buffer = new byte[chunkSize];
+        int length = 0;
+        while (length < chunkSize) {
+          int read = source.read(buffer, length, chunkSize - length);
+          if (read < 0) {
+            break;
+          }
+          length += read;
+        }
+        if (length > 0) {
+          chunks.put(new Chunk(buffer, length, null));
+        }
+        if (length < chunkSize) {
+          chunks.put(END);
+          return;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (IOException | RuntimeException e) {
+      try {
+        chunks.put(new Chunk(null, 0, e));
+      } catch (InterruptedException interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * @return false if the source is exhausted
+   */
+  protected boolean nextChunk() throws IOException {
+    while (!finished && (current == null || position >= current.length)) {
+      if (current != null && current.error != null) {
+        // The failed chunk is the last one, so every further read fails with its error
+        throw current.error instanceof IOException ? (IOException) current.error
+          : new IOException(current.error);
+      }
+      try {
+        current = chunks.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while reading ahead");
+      }
+      position = 0;
+      finished = current == END;
+    }
+    return !finished;
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (!nextChunk()) {
+      return -1;
+    }
+    return current.bytes[position++] & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] bytes, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+    if (!nextChunk()) {
+      return -1;
+    }
+    int copied = Math.min(length, current.length - position);
+    System.arraycopy(current.bytes, position, bytes, offset, copied);
+    position += copied;
+    return copied;
+  }
+
+  @Override
+  public int available() {
+    return current == null || finished ? 0 : current.length - position;
+  }
+
+  /**
+   * Stops the background thread and closes the source.
+   */
+  @Override
+  public void close() throws IOException {
+    finished = true;
+    reader.interrupt();
+    chunks.clear();
+    try {
+      reader.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    source.close();
+  }
+
+  protected static class Chunk {
+
+    protected byte[] bytes;
+    protected int length;
+    protected Exception error;
+
+    protected Chunk(byte[] bytes, int length, Exception error) {
+      this.bytes = bytes;
+      this.length = length;
+      this.error = error;
+    }
+  }
+}
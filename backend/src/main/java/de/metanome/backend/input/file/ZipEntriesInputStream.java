@@ -0,0 +1,144 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.input.file;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Streams the concatenated data files of a zip archive, e.g. a table exported in several parts.
+ * Entries are read in archive order and only entries with an accepted data file ending are used.
+ * The leading lines of all but the first entry are dropped, so that the repeated header and
+ * skipped lines of the parts do not become rows. A line break is inserted between entries that do
+ * not end with one.
+ */
+public class ZipEntriesInputStream extends InputStream {
+
+  protected static final int BUFFER_SIZE = 1 << 16;
+
+  protected ZipInputStream zip;
+  protected int linesToDrop;
+  protected boolean isFirstEntry = true;
+  protected boolean inEntry = false;
+  protected boolean endsWithLineBreak = true;
+  protected boolean pendingLineBreak = false;
+  // A byte read ahead while dropping lines or -1
+  protected int pendingByte = -1;
+
+  /**
+   * @param file        the zip archive
+   * @param linesToDrop the number of leading lines of all but the first entry to drop
+   * @throws IOException if the archive cannot be opened
+   */
+  public ZipEntriesInputStream(File file, int linesToDrop) throws IOException {
+    this.zip = new ZipInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE));
+    this.linesToDrop = linesToDrop;
+  }
+
+  /**
+   * @return false if there is no further data entry
+   */
+  protected boolean nextEntry() throws IOException {
+    ZipEntry entry;
+    while ((entry = zip.getNextEntry()) != null) {
+      if (!entry.isDirectory() && CompressedFiles.isDataFile(entry.getName())) {
+        break;
+      }
+    }
+    if (entry == null) {
+      return false;
+    }
+
+    pendingLineBreak = !endsWithLineBreak;
+    if (!isFirstEntry) {
+      dropLines();
+    }
+    isFirstEntry = false;
+    inEntry = true;
+    return true;
+  }
+
+  protected void dropLines() throws IOException {
+    int dropped = 0;
+    while (dropped < linesToDrop) {
+      int current = pendingByte >= 0 ? pendingByte : zip.read();
+      pendingByte = -1;
+      if (current < 0) {
+        return;
+      }
+      if (current == '\n') {
+        dropped++;
+      } else if (current == '\r') {
+        dropped++;
+        // A line feed after a carriage return belongs to the same line break
+        int next = zip.read();
+        if (next != '\n') {
+          pendingByte = next;
+        }
+      }
+    }
+  }
+
+  @Override
+  public int read() throws IOException {
+    byte[] single = new byte[1];
+    return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] bytes, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+    while (true) {
+      if (!inEntry && !nextEntry()) {
+        return -1;
+      }
+      if (pendingLineBreak) {
+        pendingLineBreak = false;
+        endsWithLineBreak = true;
+        bytes[offset] = '\n';
+        return 1;
+      }
+      if (pendingByte >= 0) {
+        bytes[offset] = (byte) pendingByte;
+        endsWithLineBreak = pendingByte == '\r';
+        pendingByte = -1;
+        return 1;
+      }
+      int read = zip.read(bytes, offset, length);
+      if (read < 0) {
+        inEntry = false;
+        continue;
+      }
+      if (read > 0) {
+        byte last = bytes[offset + read - 1];
+        endsWithLineBreak = last == '\n' || last == '\r';
+      }
+      return read;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    zip.close();
+  }
+}
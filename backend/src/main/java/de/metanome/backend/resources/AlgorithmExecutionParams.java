@@ -29,6 +29,9 @@ public class AlgorithmExecutionParams {
   private Boolean writeResults = false;
   private Boolean countResults = false;
   private String memory;
+  private String flightRecordingProfile;
+  private Boolean minimalResults = false;
+  private Boolean minimalResultsFirst = false;
 
   public long getAlgorithmId() {
     return algorithmId;
@@ -92,4 +95,31 @@ public class AlgorithmExecutionParams {
     this.memory = memory;
     return this;
   }
+
+  public String getFlightRecordingProfile() {
+    return flightRecordingProfile;
+  }
+
+  public AlgorithmExecutionParams setFlightRecordingProfile(String flightRecordingProfile) {
+    this.flightRecordingProfile = flightRecordingProfile;
+    return this;
+  }
+
+  public Boolean getMinimalResults() {
+    return minimalResults;
+  }
+
+  public AlgorithmExecutionParams setMinimalResults(Boolean minimalResults) {
+    this.minimalResults = minimalResults;
+    return this;
+  }
+
+  public Boolean getMinimalResultsFirst() {
+    return minimalResultsFirst;
+  }
+
+  public AlgorithmExecutionParams setMinimalResultsFirst(Boolean minimalResultsFirst) {
+    this.minimalResultsFirst = minimalResultsFirst;
+    return this;
+  }
 }
@@ -29,7 +29,12 @@ import de.metanome.algorithm_integration.input.RelationalInputGenerator;
 import de.metanome.algorithm_integration.input.TableInputGenerator;
 import de.metanome.algorithm_integration.results.JsonConverter;
 import de.metanome.backend.algorithm_execution.AlgorithmExecution;
+import de.metanome.backend.algorithm_execution.AlgorithmWorker;
+import de.metanome.backend.algorithm_execution.ExecutionJob;
+import de.metanome.backend.algorithm_execution.ExecutionQueue;
 import de.metanome.backend.algorithm_execution.ProcessRegistry;
+import de.metanome.backend.algorithm_execution.ResourceManager;
+import de.metanome.backend.algorithm_execution.WorkerPool;
 import de.metanome.backend.configuration.DefaultConfigurationFactory;
 import de.metanome.backend.constants.Constants;
 import de.metanome.backend.helper.DatabaseConnectionGeneratorMixIn;
@@ -37,6 +42,8 @@ import de.metanome.backend.helper.FileInputGeneratorMixIn;
 import de.metanome.backend.helper.RelationalInputGeneratorMixIn;
 import de.metanome.backend.helper.TableInputGeneratorMixIn;
 import de.metanome.backend.result_postprocessing.ResultPostProcessor;
+import de.metanome.backend.result_receiver.ResultStreamSender;
+import de.metanome.backend.result_receiver.ResultStreamServer;
 import de.metanome.backend.results_db.EntityStorageException;
 import de.metanome.backend.results_db.Execution;
 import de.metanome.backend.results_db.ExecutionSetting;
@@ -53,21 +60,169 @@ import java.io.InputStreamReader;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 
 import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Response;
 
 @Path("algorithm-execution")
 public class AlgorithmExecutionResource {
 
+  /**
+   * System property to stream the results of executions from the executing process to the backend,
+   * see {@link ResultStreamServer}.
+   */
+  public static final String STREAM_RESULTS_PROPERTY = "metanome.results.stream";
+
+  /**
+   * Prefix of the system properties that are passed on to the processes executing algorithms, e.g.
+   * {@link de.metanome.backend.result_receiver.ResultPrinter#BINARY_PROPERTY}.
+   */
+  public static final String FORWARDED_PROPERTY_PREFIX = "metanome.";
+
   private static final Class<?> algorithmExecutionClass = AlgorithmExecution.class;
 
+  private static WorkerPool workerPool;
+
+  /**
+   * @return the pool of {@link AlgorithmWorker} processes used if
+   *         {@link WorkerPool#ENABLED_PROPERTY} is set
+   */
+  public static synchronized WorkerPool getWorkerPool() {
+    if (workerPool == null) {
+      workerPool = new WorkerPool(memory -> buildProcess(AlgorithmWorker.class, memory, null,
+          new ArrayList<String>())).setResourceManager(ResourceManager.getInstance());
+    }
+    return workerPool;
+  }
+
+  /**
+   * Returns the number of results the running execution with the given identifier received so far.
+   * Only executions streaming their results report counts.
+   *
+   * @param executionIdentifier the execution identifier
+   * @return the number of results by result type name
+   */
+  @GET
+  @Path("/progress/{identifier}")
+  @Produces(Constants.APPLICATION_JSON_RESOURCE_PATH)
+  public Map<String, Long> getProgress(@PathParam("identifier") String executionIdentifier) {
+    ResultStreamServer resultStream = ResultStreamServer.get(executionIdentifier);
+    if (resultStream == null) {
+      return new TreeMap<>();
+    }
+    return resultStream.getCounts();
+  }
+
+  /**
+   * Returns the memory and processors of the machine and the memory reserved by running algorithm
+   * executions and DPQL runs.
+   *
+   * @return the status of the {@link ResourceManager}
+   */
+  @GET
+  @Path("/reservations")
+  @Produces(Constants.APPLICATION_JSON_RESOURCE_PATH)
+  public Map<String, Object> getReservations() {
+    return ResourceManager.getInstance().getStatus();
+  }
+
+  /**
+   * Queues the execution of an algorithm and returns immediately. The execution identifier of the
+   * returned job can be used to query the status of the execution, to cancel it and to check if its
+   * results are ready.
+   *
+   * @param params all parameters to execute the algorithm
+   * @return the queued job
+   */
+  @POST
+  @Path("/async")
+  @Consumes(Constants.APPLICATION_JSON_RESOURCE_PATH)
+  @Produces(Constants.APPLICATION_JSON_RESOURCE_PATH)
+  public ExecutionJob submitAlgorithmExecution(AlgorithmExecutionParams params) {
+    validateMemory(params.getMemory());
+    if (params.getExecutionIdentifier() == null || params.getExecutionIdentifier().isEmpty()) {
+      params.setExecutionIdentifier(UUID.randomUUID().toString());
+    }
+
+    try {
+      return ExecutionQueue.getInstance().submit(params.getExecutionIdentifier(), () -> {
+        try {
+          return executeAlgorithm(params).getId();
+        } catch (WebApplicationException e) {
+          throw new Exception(String.valueOf(e.getResponse().getEntity()), e);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      throw new WebException("Too many queued executions", Response.Status.SERVICE_UNAVAILABLE);
+    } catch (IllegalStateException e) {
+      throw new WebException(e, Response.Status.BAD_REQUEST);
+    }
+  }
+
+  /**
+   * Returns the status of a submitted execution.
+   *
+   * @param executionIdentifier the execution identifier
+   * @return the job of the execution
+   */
+  @GET
+  @Path("/status/{identifier}")
+  @Produces(Constants.APPLICATION_JSON_RESOURCE_PATH)
+  public ExecutionJob getStatus(@PathParam("identifier") String executionIdentifier) {
+    ExecutionJob job = ExecutionQueue.getInstance().get(executionIdentifier);
+    if (job == null) {
+      throw new WebException("Unknown execution " + executionIdentifier,
+        Response.Status.NOT_FOUND);
+    }
+    return job;
+  }
+
+  /**
+   * Cancels a submitted execution, that is waiting or running.
+   *
+   * @param executionIdentifier the execution identifier
+   * @return the job of the execution
+   */
+  @POST
+  @Path("/cancel/{identifier}")
+  @Produces(Constants.APPLICATION_JSON_RESOURCE_PATH)
+  public ExecutionJob cancelExecution(@PathParam("identifier") String executionIdentifier) {
+    ExecutionJob job = ExecutionQueue.getInstance().cancel(executionIdentifier);
+    if (job == null) {
+      throw new WebException("Unknown execution " + executionIdentifier,
+        Response.Status.NOT_FOUND);
+    }
+    return job;
+  }
+
+  /**
+   * Checks if the results of a submitted execution are stored.
+   *
+   * @param executionIdentifier the execution identifier
+   * @return true, if the execution succeeded and its results are stored
+   */
+  @GET
+  @Path("/result-ready/{identifier}")
+  @Produces(Constants.APPLICATION_JSON_RESOURCE_PATH)
+  public boolean isResultReady(@PathParam("identifier") String executionIdentifier) {
+    return getStatus(executionIdentifier).isResultReady();
+  }
+
   /**
    * Stops the algorithm with the given identifier.
    *
@@ -98,6 +253,7 @@ public class AlgorithmExecutionResource {
   public Execution executeAlgorithm(AlgorithmExecutionParams params) {
     //TODO: Why is the executionIdentifier i.e. unique ID managed by the frontend?
     String executionIdentifier = params.getExecutionIdentifier();
+    validateMemory(params.getMemory());
 
     // Build the execution setting and store it.
     ExecutionSetting executionSetting = null;
@@ -114,36 +270,86 @@ public class AlgorithmExecutionResource {
     }
 
     String exceptionMessage = "";
+    ResultStreamServer resultStream = null;
+    Map<String, List<de.metanome.algorithm_integration.results.Result>> streamedResults = null;
+    ResourceManager.Reservation reservation = null;
+    boolean timedOut = false;
     try {
-      // Start the process, which executes the algorithm
-      Process process =
-        executeAlgorithm(String.valueOf(params.getAlgorithmId()),
+      // Wait until the memory of the execution's process is available, pooled workers hold the
+      // reservation of their memory themselves
+      if (!Boolean.getBoolean(WorkerPool.ENABLED_PROPERTY)) {
+        ResourceManager resourceManager = ResourceManager.getInstance();
+        reservation = resourceManager.reserve(executionIdentifier,
+          ResourceManager.Kind.ALGORITHM_EXECUTION,
+          resourceManager.getExecutionMemoryMb(params.getMemory()),
+          resourceManager.getReserveTimeoutMillis());
+      }
+
+      if (Boolean.getBoolean(STREAM_RESULTS_PROPERTY) && !executionSetting.getCacheResults()
+        && !executionSetting.getCountResults()) {
+        resultStream = new ResultStreamServer(executionIdentifier).start();
+      }
+
+      if (Boolean.getBoolean(WorkerPool.ENABLED_PROPERTY)) {
+        exceptionMessage = executeInWorker(String.valueOf(params.getAlgorithmId()),
           executionIdentifier,
-          params.getMemory());
-      ProcessRegistry.getInstance().put(executionIdentifier, process);
-
-      // Forward messages from the process to the console output
-      InputStreamReader isr = new InputStreamReader(process.getInputStream());
-      BufferedReader br = new BufferedReader(isr);
-      String lineRead;
-      while ((lineRead = br.readLine()) != null) {
-        if (lineRead.contains("Exception") || lineRead.contains("Caused by: ")) {
-          exceptionMessage = lineRead;
+          params.getMemory(),
+          resultStream);
+      } else {
+        // Start the process, which executes the algorithm
+        Process process =
+          executeAlgorithm(String.valueOf(params.getAlgorithmId()),
+            executionIdentifier,
+            params.getMemory(),
+            resultStream);
+        ProcessRegistry.getInstance().put(executionIdentifier, process);
+
+        // Forward messages from the process to the console output
+        InputStreamReader isr = new InputStreamReader(process.getInputStream());
+        BufferedReader br = new BufferedReader(isr);
+        String lineRead;
+        while ((lineRead = br.readLine()) != null) {
+          if (isExceptionMessage(lineRead)) {
+            exceptionMessage = lineRead;
+          }
+          System.out.println(lineRead);
         }
-        System.out.println(lineRead);
-      }
 
-      try {
-        if (process.exitValue() != 0) {
-          exceptionMessage = "Error in algorithm execution. " +  exceptionMessage;
+        try {
+          if (process.exitValue() != 0) {
+            exceptionMessage = "Error in algorithm execution. " +  exceptionMessage;
+          }
+        } catch (IllegalThreadStateException e) {
+          // The process has not exit, but it should be.
+          process.destroy();
+          exceptionMessage = "Error in algorithm execution. " + exceptionMessage;
         }
-      } catch (IllegalThreadStateException e) {
-        // The process has not exit, but it should be.
-        process.destroy();
-        exceptionMessage = "Error in algorithm execution. " + exceptionMessage;
       }
+
+      if (resultStream != null) {
+        streamedResults = resultStream.awaitResults();
+      }
+    } catch (TimeoutException e) {
+      exceptionMessage = e.getMessage();
+      timedOut = true;
     } catch (IOException | InterruptedException e) {
       e.printStackTrace();
+    } finally {
+      if (reservation != null) {
+        reservation.close();
+      }
+      if (resultStream != null) {
+        try {
+          resultStream.close();
+        } catch (IOException e) {
+          e.printStackTrace();
+        }
+      }
+    }
+
+    if (timedOut) {
+      throw new WebException("The memory for the execution is not available: " + exceptionMessage,
+        Response.Status.SERVICE_UNAVAILABLE);
     }
 
     Execution execution;
@@ -189,7 +395,11 @@ public class AlgorithmExecutionResource {
     // Execute the result post processing
     if (!executionSetting.getCountResults()) {
       try {
-        ResultPostProcessor.extractAndStoreResultsDataIndependent(execution);
+        if (streamedResults != null) {
+          ResultPostProcessor.extractAndStoreResultsDataIndependent(execution, streamedResults);
+        } else {
+          ResultPostProcessor.extractAndStoreResultsDataIndependent(execution);
+        }
       } catch (Exception e) {
         e.printStackTrace();
         String message = "Could not execute result post processing";
@@ -276,7 +486,10 @@ public class AlgorithmExecutionResource {
       new ExecutionSetting(parameterValuesJson, inputsJson, params.getExecutionIdentifier())
         .setCacheResults(params.getCacheResults())
         .setWriteResults(params.getWriteResults())
-        .setCountResults(params.getCountResults());
+        .setCountResults(params.getCountResults())
+        .setFlightRecordingProfile(params.getFlightRecordingProfile())
+        .setMinimalResults(params.getMinimalResults())
+        .setMinimalResultsFirst(params.getMinimalResultsFirst());
 
     return executionSetting;
   }
@@ -308,11 +521,107 @@ public class AlgorithmExecutionResource {
    * @param algorithmId         id of algorithm to be executed
    * @param executionIdentifier identifier for the upcoming algorithm execution
    * @param memory              memory argument for the process running the algorithm execution
+   * @param resultStream        the {@link ResultStreamServer} or null to write the results to files
+   *                            in the process
    * @return resulting process object for the algorithm execution
    */
   private Process executeAlgorithm(String algorithmId, String executionIdentifier,
-                                   String memory) throws IOException,
-    InterruptedException {
+                                   String memory, ResultStreamServer resultStream)
+    throws IOException, InterruptedException {
+    ProcessBuilder builder = buildProcess(algorithmExecutionClass, memory,
+      resultStream != null ? resultStream.getPort() : null,
+      Arrays.asList(algorithmId, executionIdentifier));
+    if (resultStream != null) {
+      builder.environment().put(ResultStreamSender.TOKEN_ENVIRONMENT, resultStream.getToken());
+    }
+    return builder.start();
+  }
+
+  /**
+   * executes the algorithm in a pooled {@link AlgorithmWorker} of the execution's memory size
+   *
+   * @param algorithmId         id of algorithm to be executed
+   * @param executionIdentifier identifier for the upcoming algorithm execution
+   * @param memory              memory argument of the worker running the algorithm execution
+   * @param resultStream        the {@link ResultStreamServer} or null to write the results to files
+   *                            in the worker
+   * @return the exception message of the execution or an empty string
+   */
+  private String executeInWorker(String algorithmId, String executionIdentifier,
+                                 String memory, ResultStreamServer resultStream)
+    throws IOException, InterruptedException, TimeoutException {
+    WorkerPool pool = getWorkerPool();
+    WorkerPool.Worker worker = pool.acquire(memory);
+    // Stopping the execution destroys the worker
+    ProcessRegistry.getInstance().put(executionIdentifier, worker.getProcess());
+
+    Integer resultPort = resultStream != null ? resultStream.getPort() : null;
+    String resultToken = resultStream != null ? resultStream.getToken() : null;
+    String[] exceptionMessage = {""};
+    int exitCode;
+    try {
+      exitCode = worker.execute(algorithmId, executionIdentifier, resultPort, resultToken, line -> {
+        if (isExceptionMessage(line)) {
+          exceptionMessage[0] = line;
+        }
+        System.out.println(line);
+      });
+    } finally {
+      // The worker must not be stopped by this identifier once it runs another execution
+      ProcessRegistry.getInstance().remove(executionIdentifier);
+      pool.release(worker);
+    }
+
+    if (exitCode != 0) {
+      return "Error in algorithm execution. " + exceptionMessage[0];
+    }
+    return exceptionMessage[0];
+  }
+
+  /**
+   * The result printer and the inputs of an execution are configured by system properties, which
+   * have to be set in the executing process as well. The port of the result stream is set per
+   * execution.
+   *
+   * @return the arguments that set the backend's {@link #FORWARDED_PROPERTY_PREFIX} properties
+   */
+  static List<String> getForwardedProperties() {
+    List<String> arguments = new ArrayList<>();
+    for (String name : new TreeSet<>(System.getProperties().stringPropertyNames())) {
+      if (name.startsWith(FORWARDED_PROPERTY_PREFIX) &&
+        !name.equals(ResultStreamSender.PORT_PROPERTY)) {
+        arguments.add("-D" + name + "=" + System.getProperty(name));
+      }
+    }
+    return arguments;
+  }
+
+  /**
+   * @param memory the memory argument of an execution
+   * @throws WebException with status 400, if the memory is not a positive number of MB
+   */
+  private static void validateMemory(String memory) {
+    if (!ResourceManager.isValidMemory(memory)) {
+      throw new WebException("Invalid memory: '" + memory + "' is not a positive number of MB",
+        Response.Status.BAD_REQUEST);
+    }
+  }
+
+  private static boolean isExceptionMessage(String line) {
+    return line.contains("Exception") || line.contains("Caused by: ");
+  }
+
+  /**
+   * builds the process of a JVM with the backend's class path
+   *
+   * @param mainClass  the main class of the process
+   * @param memory     memory argument for the process
+   * @param resultPort port of the {@link ResultStreamServer} or null
+   * @param arguments  the arguments of the main class
+   * @return the process builder, its error stream is redirected to its output
+   */
+  private static ProcessBuilder buildProcess(Class<?> mainClass, String memory, Integer resultPort,
+                                             List<String> arguments) {
     /**
      * NOTE: Dpeneding on the Java ApplicationServer paths have to be adjusted
      */
@@ -321,7 +630,7 @@ public class AlgorithmExecutionResource {
       Constants.FILE_SEPARATOR + "bin" +
       Constants.FILE_SEPARATOR + "java";
     String myPath = System.getProperty("java.class.path");
-    String className = algorithmExecutionClass.getCanonicalName();
+    String className = mainClass.getCanonicalName();
 
     try {
       URL baseUrl = algorithmExecutionClass.getProtectionDomain().getCodeSource().getLocation();
@@ -340,16 +649,23 @@ public class AlgorithmExecutionResource {
     // to define proxy classes (ClassLoader#defineClass is in java.lang).
     String[] addOpens = new String[] {"--add-opens=java.base/java.lang=ALL-UNNAMED",
         "--add-opens=java.base/java.lang.reflect=ALL-UNNAMED"};
+    List<String> command = new ArrayList<>();
+    command.add(javaBin);
+    command.addAll(Arrays.asList(addOpens));
     if (!memory.equals("")) {
-      builder = new ProcessBuilder(javaBin, addOpens[0], addOpens[1], "-Xmx" + memory + "m",
-          "-Xms" + memory + "m", "-classpath", myPath, className, algorithmId, executionIdentifier);
-    } else {
-      builder = new ProcessBuilder(javaBin, addOpens[0], addOpens[1], "-classpath", myPath,
-          className, algorithmId, executionIdentifier);
+      command.add("-Xmx" + memory + "m");
+      command.add("-Xms" + memory + "m");
+    }
+    command.addAll(getForwardedProperties());
+    if (resultPort != null) {
+      command.add("-D" + ResultStreamSender.PORT_PROPERTY + "=" + resultPort);
     }
+    command.addAll(Arrays.asList("-classpath", myPath, className));
+    command.addAll(arguments);
+    builder = new ProcessBuilder(command);
     builder.redirectErrorStream(true);
 
-    return builder.start();
+    return builder;
   }
 
 }
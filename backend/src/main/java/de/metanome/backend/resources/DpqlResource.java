@@ -1,5 +1,6 @@
 package de.metanome.backend.resources;
 
+import de.metanome.backend.algorithm_execution.FlightRecordingSummary;
 import de.metanome.backend.dpql.DpqlExpandRequest;
 import de.metanome.backend.dpql.DpqlExpandResponseDto;
 import de.metanome.backend.dpql.DpqlNormalizedTablePageResponseDto;
@@ -149,6 +150,24 @@ public class DpqlResource {
         }
     }
 
+    @GET
+    @Path("/runs/{id}/flight-recording")
+    public Response getFlightRecordingSummary(@PathParam("id") String executionId,
+            @QueryParam("top") @DefaultValue("20") int top) {
+        try {
+            FlightRecordingSummary summary = dpqlService.getFlightRecordingSummary(executionId, top);
+            if (summary == null) {
+                return Response.status(Response.Status.NOT_FOUND).entity("No flight recording for this execution ID").build();
+            }
+            return Response.ok(summary).build();
+        } catch (Throwable t) {
+            t.printStackTrace();
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+              .entity("Error summarizing flight recording: " + t.getMessage())
+              .build();
+        }
+    }
+
     @POST
     @Path("/runs/{id}/cancel")
     public Response cancelRun(@PathParam("id") String executionId) {
@@ -15,6 +15,10 @@
  */
 package de.metanome.backend.resources;
 
+import de.metanome.backend.algorithm_execution.FlightRecording;
+import de.metanome.backend.algorithm_execution.FlightRecordingSummary;
+import de.metanome.backend.algorithm_execution.RuntimeProfile;
+import de.metanome.backend.algorithm_execution.RuntimeProfiler;
 import de.metanome.backend.constants.Constants;
 import de.metanome.backend.result_receiver.ResultReader;
 import de.metanome.backend.results_db.Execution;
@@ -109,6 +113,55 @@ public class ExecutionResource {
     }
   }
 
+  /**
+   * Retrieves the runtime profile of an execution, i.e. the CPU time, garbage collections, peak
+   * memory, threads, input bytes and results per second measured in the executing process.
+   *
+   * @param id the execution's id
+   * @return the runtime profile
+   */
+  @GET
+  @Path("/profile/{id}")
+  @Produces(Constants.APPLICATION_JSON_RESOURCE_PATH)
+  public RuntimeProfile getRuntimeProfile(@PathParam("id") long id) {
+    Execution execution = get(id);
+    if (execution == null || execution.getRuntimeProfile() == null) {
+      throw new WebException("The execution has no runtime profile", Response.Status.NOT_FOUND);
+    }
+    try {
+      return RuntimeProfiler.fromJson(execution.getRuntimeProfile());
+    } catch (Exception e) {
+      e.printStackTrace();
+      throw new WebException(e, Response.Status.BAD_REQUEST);
+    }
+  }
+
+  /**
+   * Summarizes the flight recording of an execution, i.e. its hot methods, allocation hot spots
+   * and contended locks.
+   *
+   * @param id  the execution's id
+   * @param top the maximum number of entries of each hot spot list
+   * @return the summary of the recording
+   */
+  @GET
+  @Path("/flight-recording/{id}")
+  @Produces(Constants.APPLICATION_JSON_RESOURCE_PATH)
+  public FlightRecordingSummary getFlightRecordingSummary(
+    @PathParam("id") long id, @QueryParam("top") @DefaultValue("20") int top) {
+    Execution execution = get(id);
+    if (execution == null || execution.getFlightRecording() == null
+      || !new File(execution.getFlightRecording()).exists()) {
+      throw new WebException("The execution has no flight recording", Response.Status.NOT_FOUND);
+    }
+    try {
+      return FlightRecording.summarize(new File(execution.getFlightRecording()), top);
+    } catch (Exception e) {
+      e.printStackTrace();
+      throw new WebException(e, Response.Status.BAD_REQUEST);
+    }
+  }
+
   /**
    * @return all executions in the database
    */
@@ -22,8 +22,8 @@ import de.metanome.backend.results_db.EntityStorageException;
 import de.metanome.backend.results_db.FileInput;
 import de.metanome.backend.results_db.HibernateUtil;
 import de.metanome.algorithm_integration.configuration.*;
-import de.metanome.backend.input.file.DefaultFileInputGenerator;
-import de.metanome.algorithm_integration.input.RelationalInput;
+import de.metanome.backend.input.file.FilePreview;
+import de.metanome.backend.input.file.FilePreviewService;
 
 
 import org.glassfish.jersey.media.multipart.FormDataContentDisposition;
@@ -330,14 +330,76 @@ public class FileInputResource implements Resource<FileInput> {
   }
 
   /**
-   * Returns a small preview of the dataset content (headers and first N rows).
+   * Returns a small preview of the dataset content (headers and first N rows) together with the
+   * number of rows. The head is cached and the row count is an estimation until the file has been
+   * counted in the background, see {@link FilePreviewService}.
    */
-  @SuppressWarnings("resource")
   @GET
   @Path("/preview/{id}/{lines}")
   @Produces(Constants.APPLICATION_JSON_RESOURCE_PATH)
   public Map<String, Object> preview(@PathParam("id") long id, @PathParam("lines") int lines) {
-      if (lines <= 0) lines = 50;
+      if (lines <= 0) lines = FilePreviewService.DEFAULT_HEAD_SIZE;
+      FileInput fileinput = retrieveFileInput(id);
+      File physicalFile = findphysicalfile(fileinput);
+      if (!physicalFile.isFile()) {
+        throw new WebException("Underlying file not found for preview: " + fileinput.getFileName(), Response.Status.BAD_REQUEST);
+      }
+
+      FilePreview preview;
+      try {
+        preview = FilePreviewService.getDefault()
+          .getPreview(physicalFile, createSetting(fileinput), lines);
+      } catch (Exception e) {
+        e.printStackTrace();
+        throw new WebException(e, Response.Status.BAD_REQUEST);
+      }
+
+      Map<String, Object> result = new HashMap<>();
+      result.put("headers", preview.getColumnNames());
+      result.put("rows", preview.getRows());
+      result.put("lineCount", preview.getRows().size());
+      result.put("rowCount", preview.getRowCount());
+      result.put("rowCountExact", preview.isRowCountExact());
+      return result;
+  }
+
+  /**
+   * Returns the (estimated) number of rows of all file inputs whose files exist. Estimations read
+   * a constant number of bytes per file and are refined in the background.
+   *
+   * @return the row count and whether it is exact by file input id
+   */
+  @GET
+  @Path("/row-counts")
+  @Produces(Constants.APPLICATION_JSON_RESOURCE_PATH)
+  public Map<Long, Map<String, Object>> rowCounts() {
+    Map<Long, Map<String, Object>> rowCounts = new HashMap<>();
+    for (FileInput fileInput : getAll()) {
+      File physicalFile = findphysicalfile(fileInput);
+      if (physicalFile == null || !physicalFile.isFile()) {
+        continue;
+      }
+      try {
+        FilePreview preview =
+          FilePreviewService.getDefault().getRowCount(physicalFile, createSetting(fileInput));
+        Map<String, Object> rowCount = new HashMap<>();
+        rowCount.put("rowCount", preview.getRowCount());
+        rowCount.put("rowCountExact", preview.isRowCountExact());
+        rowCounts.put(fileInput.getId(), rowCount);
+      } catch (Exception e) {
+        // Files that cannot be parsed have no row count
+      }
+    }
+    return rowCounts;
+  }
+
+  /**
+   * retrieves the file input with the given id from the database.
+   *
+   * @param id the id of the file input
+   * @return the file input
+   */
+  private FileInput retrieveFileInput(long id) {
       FileInput fileinput;
       try{
       fileinput = (FileInput) HibernateUtil.retrieve(FileInput.class, id);
@@ -350,8 +412,17 @@ public class FileInputResource implements Resource<FileInput> {
       }
       if (fileinput == null) {
         throw new WebException("FileInput not found", Response.Status.NOT_FOUND);
-      }  
-      // Build setting from stored FileInput
+      }
+      return fileinput;
+  }
+
+  /**
+   * build the parse setting of a stored file input.
+   *
+   * @param fileinput the file input
+   * @return the setting
+   */
+  private ConfigurationSettingFileInput createSetting(FileInput fileinput) {
       ConfigurationSettingFileInput setting = new ConfigurationSettingFileInput();
       setting.setFileName(fileinput.getFileName());
       setting.setSeparatorChar(fileinput.getSeparator());
@@ -363,60 +434,7 @@ public class FileInputResource implements Resource<FileInput> {
       setting.setHeader(fileinput.isHasHeader());
       setting.setSkipDifferingLines(fileinput.isSkipDifferingLines());
       setting.setNullValue(fileinput.getNullValue());
-
-      // get physical file path
-      File physicalFile = getpathfromfilename(fileinput.getFileName());
-      if (!physicalFile.isFile()) {
-        String name = fileinput.getFileName() != null ? new File(fileinput.getFileName()).getName() : null;
-        File filefrominputdirectory = getfilefromfolder(inputDataFinder.getFileDirectory(), name);
-        if (filefrominputdirectory != null) {
-          physicalFile = filefrominputdirectory;
-        }
-      }
-      if (!physicalFile.isFile()) {
-        throw new WebException("Underlying file not found for preview: " + fileinput.getFileName(), Response.Status.BAD_REQUEST);
-      }
-
-      // Use file iterator to read preview rows
-      List<String> headers;
-      List<List<String>> rows = new ArrayList<>();
-      int count = 0;
-      DefaultFileInputGenerator generator;
-      try{
-        generator = new DefaultFileInputGenerator(physicalFile,setting);
-      } catch (Exception e) {
-        e.printStackTrace();
-        throw new WebException(e, Response.Status.BAD_REQUEST);
-      }
-      RelationalInput relationalinput;
-      try {
-        relationalinput = generator.generateNewCopy();
-      } catch (Exception e) {
-        e.printStackTrace();
-        throw new WebException(e, Response.Status.BAD_REQUEST);
-      }
-      headers = relationalinput.columnNames();
-      try {
-      while (relationalinput.hasNext() && count < lines) {
-        List<String> row = relationalinput.next();
-        rows.add(row);
-        count++;
-      }
-      } catch (Exception e) {
-        e.printStackTrace();
-        throw new WebException(e, Response.Status.BAD_REQUEST);
-      }
-      try {
-        relationalinput.close();
-      } catch (Exception e) {
-        e.printStackTrace();
-      }
-      
-      Map<String, Object> result = new HashMap<>();
-      result.put("headers", headers);
-      result.put("rows", rows);
-      result.put("lineCount", count);
-      return result;
+      return setting;
   }
 
   /**
@@ -37,6 +37,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -58,7 +59,26 @@ public class ResultPostProcessor {
   public static void extractAndStoreResultsDataIndependent(Execution execution)
     throws IOException, AlgorithmConfigurationException, InputGenerationException,
     InputIterationException, NullPointerException, IndexOutOfBoundsException {
-    extractAndStoreResults(execution.getResults(), execution.getInputs(), true);
+    extractAndStoreResults(execution.getResults(), execution.getInputs(), true, null);
+  }
+
+  /**
+   * Analyzes the results of an algorithm run, that were received while the algorithm was running,
+   * without using the actual data and stores them. Results of result files without received results
+   * are loaded from hard disk.
+   *
+   * @param execution       Execution containing the algorithm results file path
+   * @param receivedResults the received results by the name of their result file
+   * @throws java.io.IOException if a result file could not be loaded
+   * @throws de.metanome.algorithm_integration.AlgorithmConfigurationException if the inputs could not be converted to values
+   * @throws de.metanome.algorithm_integration.input.InputGenerationException if no input generator could be created
+   * @throws de.metanome.algorithm_integration.input.InputIterationException if the file could not be iterated
+   */
+  public static void extractAndStoreResultsDataIndependent(Execution execution,
+                                                           Map<String, List<de.metanome.algorithm_integration.results.Result>> receivedResults)
+    throws IOException, AlgorithmConfigurationException, InputGenerationException,
+    InputIterationException, NullPointerException, IndexOutOfBoundsException {
+    extractAndStoreResults(execution.getResults(), execution.getInputs(), true, receivedResults);
   }
 
   /**
@@ -74,7 +94,7 @@ public class ResultPostProcessor {
   public static void extractAndStoreResultsDataDependent(Execution execution)
     throws IOException, AlgorithmConfigurationException, InputGenerationException,
     InputIterationException, NullPointerException, IndexOutOfBoundsException {
-    extractAndStoreResults(execution.getResults(), execution.getInputs(), false);
+    extractAndStoreResults(execution.getResults(), execution.getInputs(), false, null);
   }
 
   /**
@@ -92,7 +112,7 @@ public class ResultPostProcessor {
                                                            Collection<Input> inputs)
     throws AlgorithmConfigurationException, InputGenerationException, InputIterationException,
     IOException, NullPointerException, IndexOutOfBoundsException {
-    extractAndStoreResults(results, inputs, true);
+    extractAndStoreResults(results, inputs, true, null);
   }
 
   /**
@@ -110,7 +130,7 @@ public class ResultPostProcessor {
                                                          Collection<Input> inputs)
     throws AlgorithmConfigurationException, InputGenerationException, InputIterationException,
     IOException, NullPointerException, IndexOutOfBoundsException {
-    extractAndStoreResults(results, inputs, false);
+    extractAndStoreResults(results, inputs, false, null);
   }
 
 
@@ -121,13 +141,16 @@ public class ResultPostProcessor {
    * @param inputs          the inputs used by the algorithm
    * @param dataIndependent true, if the result analyzes should use the actual data, false
    *                        otherwise
+   * @param receivedResults the results received while the algorithm was running by the name of
+   *                        their result file, may be null
    * @throws java.io.IOException if the result file could not be loaded
    * @throws de.metanome.algorithm_integration.AlgorithmConfigurationException if the inputs could not be converted to values
    * @throws de.metanome.algorithm_integration.input.InputGenerationException if no input generator could be created
    * @throws de.metanome.algorithm_integration.input.InputIterationException if the file could not be iterated
    */
   protected static void extractAndStoreResults(Set<Result> results, Collection<Input> inputs,
-                                               boolean dataIndependent)
+                                               boolean dataIndependent,
+                                               Map<String, List<de.metanome.algorithm_integration.results.Result>> receivedResults)
     throws IOException, AlgorithmConfigurationException, InputGenerationException,
     InputIterationException, NullPointerException, IndexOutOfBoundsException {
     ResultsStoreHolder.clearStores();
@@ -174,7 +197,8 @@ public class ResultPostProcessor {
       String fileName = result.getFileName();
       String resultTypeName = result.getType().getName();
 
-      analyzeAndStoreResults(fileName, resultTypeName, inputGenerators, dataIndependent);
+      analyzeAndStoreResults(fileName, resultTypeName, inputGenerators, dataIndependent,
+        receivedResults);
     }
   }
 
@@ -185,13 +209,15 @@ public class ResultPostProcessor {
    * @param name            the name of the result type
    * @param dataIndependent true, if the result analyzes should use the actual data, false
    *                        otherwise
+   * @param receivedResults the results received while the algorithm was running, may be null
    * @throws java.io.IOException if the result file could not be loaded
    * @throws de.metanome.algorithm_integration.input.InputGenerationException if no input generator could be created
    * @throws de.metanome.algorithm_integration.input.InputIterationException if the file could not be iterated
    */
   private static void analyzeAndStoreResults(String fileName, String name,
                                              List<RelationalInputGenerator> inputGenerators,
-                                             boolean dataIndependent)
+                                             boolean dataIndependent,
+                                             Map<String, List<de.metanome.algorithm_integration.results.Result>> receivedResults)
     throws IOException, InputGenerationException, InputIterationException, AlgorithmConfigurationException,
     NullPointerException, IndexOutOfBoundsException {
 
@@ -201,7 +227,7 @@ public class ResultPostProcessor {
         new ResultReader<>(ResultType.CUCC);
       List<ConditionalUniqueColumnCombination>
         conditionalUniqueColumnCombinations =
-        resultReader.readResultsFromFile(fileName);
+        readResults(resultReader, fileName, receivedResults);
       // analyze results
       ResultAnalyzer<ConditionalUniqueColumnCombination, ConditionalUniqueColumnCombinationResult>
         resultAnalyzer =
@@ -221,7 +247,7 @@ public class ResultPostProcessor {
       // read results
       ResultReader<OrderDependency> resultReader =
         new ResultReader<>(ResultType.OD);
-      List<OrderDependency> orderDependencies = resultReader.readResultsFromFile(fileName);
+      List<OrderDependency> orderDependencies = readResults(resultReader, fileName, receivedResults);
       // analyze results
       ResultAnalyzer<OrderDependency, OrderDependencyResult>
         resultAnalyzer = new OrderDependencyResultAnalyzer(inputGenerators, dataIndependent);
@@ -236,7 +262,7 @@ public class ResultPostProcessor {
       // read results
       ResultReader<InclusionDependency> resultReader =
         new ResultReader<>(ResultType.IND);
-      List<InclusionDependency> inclusionDependencies = resultReader.readResultsFromFile(fileName);
+      List<InclusionDependency> inclusionDependencies = readResults(resultReader, fileName, receivedResults);
       // analyze results
       ResultAnalyzer<InclusionDependency, InclusionDependencyResult>
         resultAnalyzer = new InclusionDependencyResultAnalyzer(inputGenerators, dataIndependent);
@@ -255,7 +281,7 @@ public class ResultPostProcessor {
         new ResultReader<>(ResultType.FD);
       List<FunctionalDependency>
         functionalDependencies =
-        resultReader.readResultsFromFile(fileName);
+        readResults(resultReader, fileName, receivedResults);
       // analyze results
       ResultAnalyzer<FunctionalDependency, FunctionalDependencyResult>
         resultAnalyzer =
@@ -275,7 +301,7 @@ public class ResultPostProcessor {
         new ResultReader<>(ResultType.CID);
       List<ConditionalInclusionDependency>
         conditionalInclusionDependencies =
-        resultReader.readResultsFromFile(fileName);
+        readResults(resultReader, fileName, receivedResults);
       // analyze results
       ResultAnalyzer<ConditionalInclusionDependency, ConditionalInclusionDependencyResult>
         resultAnalyzer =
@@ -295,7 +321,7 @@ public class ResultPostProcessor {
           new ResultReader<>(ResultType.MD);
       List<MatchingDependency>
           matchingDependencies =
-          resultReader.readResultsFromFile(fileName);
+          readResults(resultReader, fileName, receivedResults);
       // analyze results
       ResultAnalyzer<MatchingDependency, MatchingDependencyResult>
           resultAnalyzer =
@@ -314,7 +340,7 @@ public class ResultPostProcessor {
               new ResultReader<>(ResultType.CFD);
       List<ConditionalFunctionalDependency>
               conditionalFunctionalDependencies =
-              resultReader.readResultsFromFile(fileName);
+              readResults(resultReader, fileName, receivedResults);
       // analyze results
       ResultAnalyzer<ConditionalFunctionalDependency, ConditionalFunctionalDependencyResult>
               resultAnalyzer =
@@ -333,7 +359,7 @@ public class ResultPostProcessor {
               new ResultReader<>(ResultType.RFD);
       List<RelaxedFunctionalDependency>
               relaxedFunctionalDependencies =
-              resultReader.readResultsFromFile(fileName);
+              readResults(resultReader, fileName, receivedResults);
       // analyze results
       ResultAnalyzer<RelaxedFunctionalDependency, RelaxedFunctionalDependencyResult>
               resultAnalyzer =
@@ -352,7 +378,7 @@ public class ResultPostProcessor {
               new ResultReader<>(ResultType.RIND);
       List<RelaxedInclusionDependency>
               relaxedInclusionDependencies =
-              resultReader.readResultsFromFile(fileName);
+              readResults(resultReader, fileName, receivedResults);
       // analyze results
       ResultAnalyzer<RelaxedInclusionDependency, RelaxedInclusionDependencyResult>
               resultAnalyzer =
@@ -371,7 +397,7 @@ public class ResultPostProcessor {
               new ResultReader<>(ResultType.RUCC);
       List<RelaxedUniqueColumnCombination>
               relaxedUniqueColumnCombinations =
-              resultReader.readResultsFromFile(fileName);
+              readResults(resultReader, fileName, receivedResults);
       // analyze results
       ResultAnalyzer<RelaxedUniqueColumnCombination, RelaxedUniqueColumnCombinationResult>
               resultAnalyzer =
@@ -392,7 +418,7 @@ public class ResultPostProcessor {
         new ResultReader<>(ResultType.MVD);
       List<MultivaluedDependency>
         multivaluedDependencies =
-        resultReader.readResultsFromFile(fileName);
+        readResults(resultReader, fileName, receivedResults);
       // analyze results
       ResultAnalyzer<MultivaluedDependency, MultivaluedDependencyResult>
         resultAnalyzer =
@@ -411,7 +437,7 @@ public class ResultPostProcessor {
         new ResultReader<>(ResultType.UCC);
       List<UniqueColumnCombination>
         uniqueColumnCombinations =
-        resultReader.readResultsFromFile(fileName);
+        readResults(resultReader, fileName, receivedResults);
       // analyze results
       ResultAnalyzer<UniqueColumnCombination, UniqueColumnCombinationResult>
         resultAnalyzer =
@@ -429,7 +455,7 @@ public class ResultPostProcessor {
       // read results
       ResultReader<BasicStatistic> resultReader =
         new ResultReader<>(ResultType.BASIC_STAT);
-      List<BasicStatistic> basicStatistics = resultReader.readResultsFromFile(fileName);
+      List<BasicStatistic> basicStatistics = readResults(resultReader, fileName, receivedResults);
       // analyze results
       ResultAnalyzer<BasicStatistic, BasicStatisticResult>
         resultAnalyzer = new BasicStatisticResultAnalyzer(inputGenerators, dataIndependent);
@@ -443,7 +469,7 @@ public class ResultPostProcessor {
       // read results
       ResultReader<DenialConstraint> resultReader =
         new ResultReader<>(ResultType.DC);
-      List<DenialConstraint> denialConstraints = resultReader.readResultsFromFile(fileName);
+      List<DenialConstraint> denialConstraints = readResults(resultReader, fileName, receivedResults);
       // analyze results
       ResultAnalyzer<DenialConstraint, DenialConstraintResult>
         resultAnalyzer = new DenialConstraintResultAnalyzer(inputGenerators, dataIndependent);
@@ -454,4 +480,18 @@ public class ResultPostProcessor {
       ResultsStoreHolder.register(name, resultsStore);
     }
   }
+
+  /**
+   * Returns the received results of the given result file or reads them from the file.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T extends de.metanome.algorithm_integration.results.Result> List<T> readResults(
+    ResultReader<T> resultReader, String fileName,
+    Map<String, List<de.metanome.algorithm_integration.results.Result>> receivedResults)
+    throws IOException {
+    if (receivedResults != null && receivedResults.containsKey(fileName)) {
+      return (List<T>) receivedResults.get(fileName);
+    }
+    return resultReader.readResultsFromFile(fileName);
+  }
 }
@@ -25,10 +25,15 @@ import java.util.*;
 /**
  * Provides metadata and statistics about a table column
  */
-public class ColumnInformation {
+public final class ColumnInformation {
 
   // Stores the byte sizes for a cell of given column type
   private static final Map<ColumnType, Integer> contentSizes;
+  // Common boolean descriptors (lower case)
+  private static final Set<String> commonNegativeDescriptors =
+    new HashSet<>(Arrays.asList("0", "false", "f", "no", "n"));
+  private static final Set<String> commonPositiveDescriptors =
+    new HashSet<>(Arrays.asList("1", "true", "t", "yes", "y"));
 
   /**
    * Static initializer to fill the final content sizes map
@@ -99,6 +104,28 @@ public class ColumnInformation {
     }
   }
 
+  /**
+   * Creates a new column information from an already filled histogram of the column values, e.g.
+   * filled by a single scan over all columns of the table.
+   *
+   * @param columnName  name of the column
+   * @param columnIndex index of the column
+   * @param bitSet      bit set representing this column
+   * @param histogram   histogram of all values of the column
+   */
+  public ColumnInformation(String columnName, int columnIndex, BitSet bitSet,
+                           Histogram histogram) {
+    this.columnName = columnName;
+    this.columnIndex = columnIndex;
+    this.bitSet = bitSet;
+    this.histogram = histogram;
+    for (Long count : histogram.getHistogramData().values()) {
+      this.rowCount += count;
+    }
+    this.determineColumnType();
+    this.computeHistogramStatistics();
+  }
+
   /**
    * Computes all column metadata, which need access to the actual data
    *
@@ -109,6 +136,13 @@ public class ColumnInformation {
     throws InputIterationException {
     // Create histogram and determine column type
     this.createHistogramAndDetermineType(relationalInput);
+    this.computeHistogramStatistics();
+  }
+
+  /**
+   * Computes all column metadata, which can be derived from the histogram and the column type
+   */
+  protected void computeHistogramStatistics() {
     // Compute number of distinct values
     this.computeDistinctValuesCount();
     // Compute number of null values
@@ -128,28 +162,27 @@ public class ColumnInformation {
     this.histogram = new Histogram();
     this.rowCount = 0L;
 
-    Map<ColumnType, Integer> columnTypeMap = new EnumMap<>(ColumnType.class);
-
     // iterate over data and add each cell value to the histogram
     while (relationalInput.hasNext()) {
       List<String> row = relationalInput.next();
-      String cellValue = row.get(this.columnIndex);
-
-      // determine type of cell and store it in a map
-      if (cellValue != null) {
-        ColumnType type = getCellType(cellValue);
-        if (columnTypeMap.containsKey(type)) {
-          columnTypeMap.put(type, columnTypeMap.get(type) + 1);
-        } else {
-          columnTypeMap.put(type, 1);
-        }
-      }
-      // add value to histogram
-      this.histogram.addValue(cellValue);
-
+      this.histogram.addValue(row.get(this.columnIndex));
       this.rowCount++;
     }
     // determine column type
+    this.determineColumnType();
+  }
+
+  /**
+   * Determines the column type from the histogram. Every distinct value is typed only once and
+   * counts as often as it occurs in the column.
+   */
+  protected void determineColumnType() {
+    Map<ColumnType, Long> columnTypeMap = new EnumMap<>(ColumnType.class);
+    for (Map.Entry<String, Long> entry : this.histogram.getHistogramData().entrySet()) {
+      if (entry.getKey() != null) {
+        columnTypeMap.merge(getCellType(entry.getKey()), entry.getValue(), Long::sum);
+      }
+    }
     this.columnType = determineColumnType(columnTypeMap);
   }
 
@@ -178,10 +211,10 @@ public class ColumnInformation {
    * @param columnTypeMap map holding a count for each possible column type
    * @return the column type with the highest occurrence
    */
-  private ColumnType determineColumnType(Map<ColumnType, Integer> columnTypeMap) {
+  private ColumnType determineColumnType(Map<ColumnType, Long> columnTypeMap) {
     ColumnType columnType = ColumnType.STRING_COLUMN;
-    Integer count = 0;
-    for (Map.Entry<ColumnType, Integer> entry : columnTypeMap.entrySet()) {
+    long count = 0;
+    for (Map.Entry<ColumnType, Long> entry : columnTypeMap.entrySet()) {
       if (entry.getValue() > count) {
         columnType = entry.getKey();
         count = entry.getValue();
@@ -216,13 +249,6 @@ public class ColumnInformation {
    */
   protected boolean isBooleanValue(String value) {
     // Check both values for a common boolean descriptor (lower case)
-    String[] commonNegativeDescriptorsArray = {"0", "false", "f", "no", "n"};
-    String[] commonPositiveDescriptorsArray = {"1", "true", "t", "yes", "y"};
-    Set<String> commonNegativeDescriptors =
-      new HashSet<>(Arrays.asList(commonNegativeDescriptorsArray));
-    Set<String> commonPositiveDescriptors =
-      new HashSet<>(Arrays.asList(commonPositiveDescriptorsArray));
-
     return commonNegativeDescriptors.contains(value.toLowerCase()) ||
       commonPositiveDescriptors.contains(value.toLowerCase());
   }
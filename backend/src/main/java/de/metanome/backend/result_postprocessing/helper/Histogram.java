@@ -51,11 +51,7 @@ public class Histogram {
    * @param v value to add
    */
   public void addValue(String v) {
-    if (this.histogramData.containsKey(v)) {
-      this.histogramData.put(v, this.histogramData.get(v) + 1L);
-    } else {
-      this.histogramData.put(v, 1L);
-    }
+    this.histogramData.merge(v, 1L, Long::sum);
   }
 
   /**
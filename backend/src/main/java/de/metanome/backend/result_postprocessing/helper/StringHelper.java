@@ -21,7 +21,7 @@ import de.metanome.backend.constants.Constants;
 public class StringHelper {
 
   /**
-   * Removes the file ending "csv" and "tsv" from the given string.
+   * Removes the accepted file endings, e.g. "csv", "tsv" or "csv.gz", from the given string.
    *
    * @param fileName the file name
    * @return the file name without file ending
@@ -29,7 +29,7 @@ public class StringHelper {
   public static String removeFileEnding(String fileName) {
     for (String fileEnding : Constants.ACCEPTED_FILE_ENDINGS_ARRAY) {
       if (fileName.endsWith(fileEnding)) {
-        return fileName.substring(0, fileName.length() - 4);
+        return fileName.substring(0, fileName.length() - fileEnding.length());
       }
     }
     return fileName;
@@ -15,7 +15,7 @@
  */
 package de.metanome.backend.result_postprocessing.helper;
 
-import de.metanome.algorithm_helper.data_structures.PositionListIndex;
+import de.metanome.algorithm_helper.data_structures.PositionListIndexCache;
 import de.metanome.algorithm_integration.AlgorithmConfigurationException;
 import de.metanome.algorithm_integration.input.InputGenerationException;
 import de.metanome.algorithm_integration.input.InputIterationException;
@@ -23,11 +23,18 @@ import de.metanome.algorithm_integration.input.RelationalInput;
 import de.metanome.algorithm_integration.input.RelationalInputGenerator;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Provides metadata and statistics about a table including all columns
  */
-public class TableInformation {
+public final class TableInformation {
+
+  // Number of rows handed to the column workers at once
+  protected static final int BATCH_SIZE = 1024;
 
   // Number of columns
   private int columnCount;
@@ -39,8 +46,8 @@ public class TableInformation {
   private RelationalInputGenerator relationalInputGenerator;
   // Unique bit set representing this table
   private BitSet bitSet;
-  // Map of the column indices to the corresponding position list index
-  private Map<BitSet, PositionListIndex> PLIs;
+  // Cache of the position list indices of the columns and column combinations
+  private PositionListIndexCache PLIs;
 
   /**
    * Computes table metadata on the input data
@@ -70,31 +77,138 @@ public class TableInformation {
     List<String> columnNames = relationalInput.columnNames();
     this.columnInformationMap = new HashMap<>();
 
-    for (int columnIndex = 0; columnIndex < this.columnCount; columnIndex++) {
-      BitSet columnBitSet = new BitSet(this.columnCount);
-      columnBitSet.set(columnIndex);
-
-      // Compute the column information for the current column
-      if (!useDataIndependentStatistics) {
-        // Generate a new data iterator for each column
-        relationalInput = relationalInputGenerator.generateNewCopy();
-        this.columnInformationMap
-          .put(columnNames.get(columnIndex),
-            new ColumnInformation(columnNames.get(columnIndex),
-              columnIndex,
-              columnBitSet,
-              relationalInput,
-              true));
-      } else {
+    if (!useDataIndependentStatistics) {
+      // Compute the statistics of all columns in a single scan
+      Histogram[] histograms = createHistograms(relationalInput);
+      for (ColumnInformation columnInformation : createColumnInformation(columnNames, histograms)) {
+        this.columnInformationMap.put(columnInformation.getColumnName(), columnInformation);
+      }
+    } else {
+      for (int columnIndex = 0; columnIndex < this.columnCount; columnIndex++) {
         this.columnInformationMap.
           put(columnNames.get(columnIndex),
             new ColumnInformation(columnNames.get(columnIndex),
               columnIndex,
-              columnBitSet));
+              getColumnBitSet(columnIndex)));
       }
     }
   }
 
+  /**
+   * Reads the input once and adds the values of each column to the column's histogram. The rows are
+   * read in batches, while the worker threads add the previous batch to the histograms. Each worker
+   * owns a fixed stripe of columns, so no histogram is accessed concurrently.
+   *
+   * @param relationalInput the input to read, is closed afterwards
+   * @return the histograms of all columns
+   * @throws InputIterationException if the input is not iterable
+   */
+  protected Histogram[] createHistograms(final RelationalInput relationalInput)
+    throws InputIterationException {
+    final Histogram[] histograms = new Histogram[this.columnCount];
+    for (int columnIndex = 0; columnIndex < this.columnCount; columnIndex++) {
+      histograms[columnIndex] = new Histogram();
+    }
+    final int numberOfWorkers = getNumberOfWorkers();
+
+    ExecutorService workers = Executors.newFixedThreadPool(numberOfWorkers);
+    try {
+      List<Future<?>> pending = new ArrayList<>();
+      List<List<String>> batch = readBatch(relationalInput);
+      while (!batch.isEmpty()) {
+        awaitAll(pending);
+        pending.clear();
+        for (int worker = 0; worker < numberOfWorkers; worker++) {
+          final int firstColumn = worker;
+          final List<List<String>> rows = batch;
+          pending.add(workers.submit(() -> {
+            for (List<String> row : rows) {
+              for (int column = firstColumn; column < columnCount; column += numberOfWorkers) {
+                histograms[column].addValue(row.get(column));
+              }
+            }
+            return null;
+          }));
+        }
+        batch = readBatch(relationalInput);
+      }
+      awaitAll(pending);
+    } finally {
+      workers.shutdownNow();
+      try {
+        relationalInput.close();
+      } catch (Exception e) {
+        // The statistics are complete, so a failing close is not relevant
+      }
+    }
+    return histograms;
+  }
+
+  /**
+   * Creates the column information from the histograms. The type inference of the columns runs in
+   * parallel.
+   */
+  protected List<ColumnInformation> createColumnInformation(List<String> columnNames,
+                                                            Histogram[] histograms)
+    throws InputIterationException {
+    ExecutorService workers = Executors.newFixedThreadPool(getNumberOfWorkers());
+    try {
+      List<Future<ColumnInformation>> futures = new ArrayList<>();
+      for (int columnIndex = 0; columnIndex < this.columnCount; columnIndex++) {
+        final int column = columnIndex;
+        futures.add(workers.submit(() -> new ColumnInformation(columnNames.get(column), column,
+          getColumnBitSet(column), histograms[column])));
+      }
+      List<ColumnInformation> columnInformation = new ArrayList<>();
+      for (Future<ColumnInformation> future : futures) {
+        columnInformation.add(await(future));
+      }
+      return columnInformation;
+    } finally {
+      workers.shutdownNow();
+    }
+  }
+
+  protected List<List<String>> readBatch(RelationalInput relationalInput)
+    throws InputIterationException {
+    List<List<String>> batch = new ArrayList<>(BATCH_SIZE);
+    while (batch.size() < BATCH_SIZE && relationalInput.hasNext()) {
+      batch.add(relationalInput.next());
+    }
+    return batch;
+  }
+
+  protected void awaitAll(List<Future<?>> futures) throws InputIterationException {
+    for (Future<?> future : futures) {
+      await(future);
+    }
+  }
+
+  protected <T> T await(Future<T> future) throws InputIterationException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InputIterationException("The computation of the column statistics was interrupted",
+        e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new InputIterationException("Could not compute the column statistics", e.getCause());
+    }
+  }
+
+  protected int getNumberOfWorkers() {
+    return Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), this.columnCount));
+  }
+
+  protected BitSet getColumnBitSet(int columnIndex) {
+    BitSet columnBitSet = new BitSet(this.columnCount);
+    columnBitSet.set(columnIndex);
+    return columnBitSet;
+  }
+
   /**
    * Computes the information content as sum of columns information contents
    *
@@ -143,11 +257,11 @@ public class TableInformation {
     return bitSet;
   }
 
-  public Map<BitSet, PositionListIndex> getPLIs() {
+  public PositionListIndexCache getPLIs() {
     return PLIs;
   }
 
-  public void setPLIs(Map<BitSet, PositionListIndex> PLIs) {
+  public void setPLIs(PositionListIndexCache PLIs) {
     this.PLIs = PLIs;
   }
 }
@@ -18,6 +18,7 @@ package de.metanome.backend.result_postprocessing.result_ranking;
 
 import de.metanome.algorithm_helper.data_structures.PLIBuilder;
 import de.metanome.algorithm_helper.data_structures.PositionListIndex;
+import de.metanome.algorithm_helper.data_structures.PositionListIndexCache;
 import de.metanome.algorithm_integration.AlgorithmConfigurationException;
 import de.metanome.algorithm_integration.ColumnIdentifier;
 import de.metanome.algorithm_integration.input.InputGenerationException;
@@ -34,7 +35,7 @@ import java.util.*;
 public class MultivaluedDependencyRanking extends Ranking {
 
   protected List<MultivaluedDependencyResult> results;
-  protected Map<BitSet, PositionListIndex> PLIs;
+  protected PositionListIndexCache PLIs;
 
   public MultivaluedDependencyRanking(List<MultivaluedDependencyResult> results,
                                      Map<String, TableInformation> tableInformationMap) {
@@ -77,7 +78,7 @@ public class MultivaluedDependencyRanking extends Ranking {
     TableInformation tableInformation = this.tableInformationMap.values().iterator().next();
 
     if (this.tableInformationMap.size() == 1) {
-      this.PLIs = createPLIs(tableInformation);
+      this.PLIs = new PositionListIndexCache(createPLIs(tableInformation));
       tableInformation.setPLIs(PLIs);
     }
 
@@ -223,7 +224,8 @@ public class MultivaluedDependencyRanking extends Ranking {
 
   /**
    * Calculates the key error for the given columns using the given PLIs. The key error is equal to
-   * the number of entries, which has to be removed, so that the columns become unique.
+   * the number of entries, which has to be removed, so that the columns become unique. Intersected
+   * PLIs are kept in the memory bounded {@link PositionListIndexCache}.
    *
    * @param columnBitSet the columns as BitSet
    * @return the key error
@@ -233,27 +235,7 @@ public class MultivaluedDependencyRanking extends Ranking {
       return 0L;
     }
 
-    // the PLI already exists
-    if (this.PLIs.containsKey(columnBitSet)) {
-      return this.PLIs.get(columnBitSet).getRawKeyError();
-    }
-
-    // get all individual columns as bit set
-    List<BitSet> columns = new ArrayList<>();
-    for (int i = columnBitSet.nextSetBit(0); i != -1; i = columnBitSet.nextSetBit(i + 1)) {
-      BitSet bitSet = new BitSet();
-      bitSet.set(i);
-      columns.add(bitSet);
-    }
-
-    // calculate the new PLI
-    PositionListIndex pli = this.PLIs.get(columns.get(0));
-    for (int i = 1; i < columns.size(); i++) {
-      pli = pli.intersect(this.PLIs.get(columns.get(i)));
-    }
-    this.PLIs.put(columnBitSet, pli);
-
-    return pli.getRawKeyError();
+    return this.PLIs.getOrCalculate(columnBitSet).getRawKeyError();
   }
 
   /**
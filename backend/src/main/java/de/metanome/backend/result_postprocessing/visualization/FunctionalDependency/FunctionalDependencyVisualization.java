@@ -15,7 +15,6 @@
  */
 package de.metanome.backend.result_postprocessing.visualization.FunctionalDependency;
 
-import de.metanome.algorithm_helper.data_structures.PositionListIndex;
 import de.metanome.algorithm_integration.ColumnCombination;
 import de.metanome.algorithm_integration.ColumnIdentifier;
 import de.metanome.backend.constants.Constants;
@@ -229,30 +228,7 @@ public class FunctionalDependencyVisualization {
    * @return the key error
    */
   private long calculateKeyError(BitSet columnBitSet) {
-    Map<BitSet, PositionListIndex> PLIs = this.tableInformation.getPLIs();
-
-    // the PLI already exists
-    if (PLIs.containsKey(columnBitSet)) {
-      return PLIs.get(columnBitSet).getRawKeyError();
-    }
-
-    // get all individual columns as bit set
-    List<BitSet> columns = new ArrayList<>();
-    for (int i = columnBitSet.nextSetBit(0); i != -1; i = columnBitSet.nextSetBit(i + 1)) {
-      BitSet bitSet = new BitSet();
-      bitSet.set(i);
-      columns.add(bitSet);
-    }
-
-    // calculate the new PLI
-    PositionListIndex pli = PLIs.get(columns.get(0));
-    for (int i = 1; i < columns.size(); i++) {
-      pli = pli.intersect(PLIs.get(columns.get(i)));
-    }
-    PLIs.put(columnBitSet, pli);
-    this.tableInformation.setPLIs(PLIs);
-
-    return pli.getRawKeyError();
+    return this.tableInformation.getPLIs().getOrCalculate(columnBitSet).getRawKeyError();
   }
 
   /**
@@ -0,0 +1,219 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.result_receiver;
+
+import de.metanome.algorithm_integration.ColumnCombination;
+import de.metanome.algorithm_integration.ColumnIdentifier;
+import de.metanome.algorithm_integration.ColumnPermutation;
+import de.metanome.algorithm_integration.results.FunctionalDependency;
+import de.metanome.algorithm_integration.results.InclusionDependency;
+import de.metanome.algorithm_integration.results.Result;
+import de.metanome.algorithm_integration.results.UniqueColumnCombination;
+import de.metanome.backend.results_db.ResultType;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the results of a file written by {@link BinaryResultWriter} one after another.
+ */
+public final class BinaryResultReader implements Closeable {
+
+  protected DataInputStream in;
+  protected ResultType type;
+  protected ColumnRegistry dictionary = new ColumnRegistry();
+  protected Result next;
+
+  /**
+   * @param in the stream to read from, it is closed with this reader
+   * @throws IOException if the header could not be read or does not belong to a binary result file
+   */
+  public BinaryResultReader(InputStream in) throws IOException {
+    this.in = new DataInputStream(new BufferedInputStream(in, ResultPrinter.BUFFER_SIZE));
+
+    byte[] magic = new byte[BinaryResultWriter.MAGIC.length];
+    this.in.readFully(magic);
+    if (!Arrays.equals(magic, BinaryResultWriter.MAGIC)) {
+      throw new IOException("The stream does not contain binary results.");
+    }
+    this.type = ResultType.valueOf(this.in.readUTF());
+    int numberOfColumns = readVarInt();
+    for (int i = 0; i < numberOfColumns; i++) {
+      dictionary.register(readColumn());
+    }
+  }
+
+  /**
+   * @param file the file
+   * @return true, if the file starts with the header of the binary result format
+   * @throws IOException if the file could not be read
+   */
+  public static boolean isBinaryResultFile(File file) throws IOException {
+    if (!file.isFile()) {
+      return false;
+    }
+    byte[] magic = new byte[BinaryResultWriter.MAGIC.length];
+    try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+      in.readFully(magic);
+    } catch (EOFException e) {
+      return false;
+    }
+    return Arrays.equals(magic, BinaryResultWriter.MAGIC);
+  }
+
+  /**
+   * Reads all results of the given binary result file.
+   *
+   * @param fileName the name of the result file
+   * @return the results
+   * @throws IOException if the file could not be read
+   */
+  public static List<Result> readResultsFromFile(String fileName) throws IOException {
+    List<Result> results = new ArrayList<>();
+    try (BinaryResultReader reader = new BinaryResultReader(new FileInputStream(fileName))) {
+      while (reader.hasNext()) {
+        results.add(reader.next());
+      }
+    }
+    return results;
+  }
+
+  public ResultType getType() {
+    return type;
+  }
+
+  /**
+   * @return true, if another result follows
+   * @throws IOException if the next entry could not be read
+   */
+  public boolean hasNext() throws IOException {
+    while (next == null) {
+      int tag = in.read();
+      if (tag < 0) {
+        return false;
+      } else if (tag == BinaryResultWriter.COLUMN_TAG) {
+        dictionary.register(readColumn());
+      } else if (tag == BinaryResultWriter.RESULT_TAG) {
+        next = readResult();
+      } else {
+        throw new IOException("Unknown entry " + tag + " in binary result stream.");
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return the next result
+   * @throws IOException            if the next entry could not be read
+   * @throws NoSuchElementException if all results were read
+   */
+  public Result next() throws IOException {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    Result result = next;
+    next = null;
+    return result;
+  }
+
+  protected Result readResult() throws IOException {
+    switch (type) {
+      case FD:
+        ColumnCombination determinant = readColumnSet();
+        return new FunctionalDependency(determinant, getColumn(readVarInt()));
+      case UCC:
+        return new UniqueColumnCombination(readColumnSet());
+      case IND:
+        ColumnPermutation dependant = readColumnList();
+        return new InclusionDependency(dependant, readColumnList());
+      default:
+        throw new IOException("Unsupported result type " + type.getName());
+    }
+  }
+
+  protected ColumnCombination readColumnSet() throws IOException {
+    int header = readVarInt();
+    int length = header >>> 1;
+    List<ColumnIdentifier> columns = new ArrayList<>();
+    if ((header & 1) == BinaryResultWriter.SPARSE_SET) {
+      int column = -1;
+      for (int i = 0; i < length; i++) {
+        column += readVarInt() + 1;
+        columns.add(getColumn(column));
+      }
+    } else {
+      for (int word = 0; word < length; word++) {
+        long bits = readVarLong();
+        while (bits != 0) {
+          columns.add(getColumn(word * Long.SIZE + Long.numberOfTrailingZeros(bits)));
+          bits &= bits - 1;
+        }
+      }
+    }
+    return new ColumnCombination(columns.toArray(new ColumnIdentifier[0]));
+  }
+
+  protected ColumnPermutation readColumnList() throws IOException {
+    ColumnIdentifier[] columns = new ColumnIdentifier[readVarInt()];
+    for (int i = 0; i < columns.length; i++) {
+      columns[i] = getColumn(readVarInt());
+    }
+    return new ColumnPermutation(columns);
+  }
+
+  protected ColumnIdentifier getColumn(int index) throws IOException {
+    if (index >= dictionary.size()) {
+      throw new IOException("The column " + index + " is not defined in the binary result stream.");
+    }
+    return dictionary.getColumn(index);
+  }
+
+  protected ColumnIdentifier readColumn() throws IOException {
+    String table = in.readUTF();
+    return new ColumnIdentifier(table, in.readUTF());
+  }
+
+  protected int readVarInt() throws IOException {
+    return (int) readVarLong();
+  }
+
+  protected long readVarLong() throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < Long.SIZE; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed variable-length number in binary result stream.");
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+}
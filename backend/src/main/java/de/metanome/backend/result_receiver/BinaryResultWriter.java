@@ -0,0 +1,253 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.result_receiver;
+
+import de.metanome.algorithm_integration.ColumnIdentifier;
+import de.metanome.algorithm_integration.results.FunctionalDependency;
+import de.metanome.algorithm_integration.results.InclusionDependency;
+import de.metanome.algorithm_integration.results.Result;
+import de.metanome.algorithm_integration.results.UniqueColumnCombination;
+import de.metanome.backend.results_db.ResultType;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes functional dependencies, unique column combinations and inclusion dependencies in a
+ * compact binary format. The file starts with {@link #MAGIC}, the name of the {@link ResultType}
+ * and a dictionary of all columns. Every following entry is a tag byte and either the definition
+ * of a column, that was not contained in the dictionary yet, or a result whose columns are encoded
+ * by their index in the dictionary:
+ * <ul>
+ * <li>column sets (determinants, unique column combinations) as bitset or as sorted index list,
+ * whichever is smaller, see {@link #writeColumnSet(BitSet)}</li>
+ * <li>column lists (the permutations of inclusion dependencies) as index list</li>
+ * <li>single columns (dependants) as index</li>
+ * </ul>
+ * All numbers are written as variable-length ints, so that narrow schemas need one byte per index
+ * and wide schemas are still supported. Entries are written one after another, so results can be
+ * streamed into the file and read again with {@link BinaryResultReader} while it is written.
+ */
+public final class BinaryResultWriter implements Closeable, Flushable {
+
+  public static final byte[] MAGIC = {'M', 'R', 'B', 1};
+
+  protected static final int COLUMN_TAG = 1;
+  protected static final int RESULT_TAG = 2;
+
+  // Flags of the column set header, the remaining bits hold the length
+  protected static final int DENSE_SET = 0;
+  protected static final int SPARSE_SET = 1;
+
+  protected DataOutputStream out;
+  protected ResultType type;
+  protected ColumnRegistry dictionary;
+
+  /**
+   * @param out        the stream to write to, it is closed with this writer
+   * @param type       the type of the written results
+   * @param dictionary the known columns, may be null if the columns are unknown in advance
+   * @throws IOException              if the header could not be written
+   * @throws IllegalArgumentException if the result type is not supported
+   */
+  public BinaryResultWriter(OutputStream out, ResultType type, Collection<ColumnIdentifier> dictionary)
+    throws IOException {
+    this(out, type, dictionary == null ? new ColumnRegistry() : new ColumnRegistry(dictionary));
+  }
+
+  /**
+   * @param out        the stream to write to, it is closed with this writer
+   * @param type       the type of the written results
+   * @param dictionary the known columns, unknown columns of written results are registered
+   * @throws IOException              if the header could not be written
+   * @throws IllegalArgumentException if the result type is not supported
+   */
+  public BinaryResultWriter(OutputStream out, ResultType type, ColumnRegistry dictionary)
+    throws IOException {
+    if (!supports(type)) {
+      throw new IllegalArgumentException("The binary result format does not support " + type.getName());
+    }
+    this.out = new DataOutputStream(new BufferedOutputStream(out, ResultPrinter.BUFFER_SIZE));
+    this.type = type;
+    this.dictionary = dictionary;
+
+    this.out.write(MAGIC);
+    this.out.writeUTF(type.name());
+    writeVarInt(dictionary.size());
+    for (int index = 0; index < dictionary.size(); index++) {
+      writeColumn(dictionary.getColumn(index));
+    }
+  }
+
+  /**
+   * @param type the result type
+   * @return true, if results of the given type can be written in the binary format
+   */
+  public static boolean supports(ResultType type) {
+    return type == ResultType.FD || type == ResultType.UCC || type == ResultType.IND;
+  }
+
+  /**
+   * Appends the given result.
+   *
+   * @param result a result of the type of this writer
+   * @throws IOException if the result could not be written
+   */
+  public void write(Result result) throws IOException {
+    switch (type) {
+      case FD:
+        FunctionalDependency fd = (FunctionalDependency) result;
+        BitSet determinant = toBitSet(fd.getDeterminant().getColumnIdentifiers());
+        int dependant = indexOf(fd.getDependant());
+        out.write(RESULT_TAG);
+        writeColumnSet(determinant);
+        writeVarInt(dependant);
+        break;
+      case UCC:
+        UniqueColumnCombination ucc = (UniqueColumnCombination) result;
+        BitSet columns = toBitSet(ucc.getColumnCombination().getColumnIdentifiers());
+        out.write(RESULT_TAG);
+        writeColumnSet(columns);
+        break;
+      case IND:
+        InclusionDependency ind = (InclusionDependency) result;
+        int[] dependantColumns = toIndices(ind.getDependant().getColumnIdentifiers());
+        int[] referencedColumns = toIndices(ind.getReferenced().getColumnIdentifiers());
+        out.write(RESULT_TAG);
+        writeColumnList(dependantColumns);
+        writeColumnList(referencedColumns);
+        break;
+      default:
+        throw new IllegalStateException("Unsupported result type " + type.getName());
+    }
+  }
+
+  /**
+   * Returns the index of the given column and defines the column in the file if it is new. Columns
+   * have to be resolved before the tag of the result is written.
+   */
+  protected int indexOf(ColumnIdentifier column) throws IOException {
+    int index = dictionary.indexOf(column);
+    if (index < 0) {
+      index = dictionary.register(column);
+      out.write(COLUMN_TAG);
+      writeColumn(column);
+    }
+    return index;
+  }
+
+  protected BitSet toBitSet(Collection<ColumnIdentifier> columns) throws IOException {
+    BitSet bitSet = new BitSet();
+    for (ColumnIdentifier column : columns) {
+      bitSet.set(indexOf(column));
+    }
+    return bitSet;
+  }
+
+  protected int[] toIndices(List<ColumnIdentifier> columns) throws IOException {
+    int[] indices = new int[columns.size()];
+    for (int i = 0; i < indices.length; i++) {
+      indices[i] = indexOf(columns.get(i));
+    }
+    return indices;
+  }
+
+  protected void writeColumn(ColumnIdentifier column) throws IOException {
+    out.writeUTF(column.getTableIdentifier());
+    out.writeUTF(column.getColumnIdentifier());
+  }
+
+  /**
+   * Writes the set either as its 64 bit words or as the gaps between its sorted indices. The words
+   * are smaller for dense sets of narrow schemas, the gaps for sparse sets of wide schemas.
+   */
+  protected void writeColumnSet(BitSet columns) throws IOException {
+    long[] words = columns.toLongArray();
+    int denseSize = 0;
+    for (long word : words) {
+      denseSize += varLongSize(word);
+    }
+    int sparseSize = 0;
+    int previous = -1;
+    for (int column = columns.nextSetBit(0); column >= 0; column = columns.nextSetBit(column + 1)) {
+      sparseSize += varLongSize(column - previous - 1);
+      previous = column;
+    }
+
+    if (denseSize <= sparseSize) {
+      writeVarInt(words.length << 1 | DENSE_SET);
+      for (long word : words) {
+        writeVarLong(word);
+      }
+    } else {
+      writeVarInt(columns.cardinality() << 1 | SPARSE_SET);
+      previous = -1;
+      for (int column = columns.nextSetBit(0); column >= 0; column = columns.nextSetBit(column + 1)) {
+        writeVarInt(column - previous - 1);
+        previous = column;
+      }
+    }
+  }
+
+  protected void writeColumnList(int[] columns) throws IOException {
+    writeVarInt(columns.length);
+    for (int column : columns) {
+      writeVarInt(column);
+    }
+  }
+
+  protected void writeVarInt(int value) throws IOException {
+    writeVarLong(value & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Writes the value in groups of seven bits, least significant group first. The highest bit of
+   * every byte marks whether another byte follows.
+   */
+  protected void writeVarLong(long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.write((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+
+  protected static int varLongSize(long value) {
+    int size = 1;
+    while ((value & ~0x7FL) != 0) {
+      value >>>= 7;
+      size++;
+    }
+    return size;
+  }
+
+  @Override
+  public void flush() throws IOException {
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+}
@@ -0,0 +1,171 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.result_receiver;
+
+import de.metanome.algorithm_helper.data_structures.ColumnCombinationBitset;
+import de.metanome.algorithm_integration.ColumnIdentifier;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns a dense index to every registered {@link ColumnIdentifier}. Result receivers validate
+ * the columns of a result with hashed index lookups instead of scanning the accepted columns, and
+ * result writers use the indices to encode the columns of a result, e.g. as {@link BitSet}.
+ * <p>
+ * The registry is not thread safe. It may be read concurrently as long as no columns are
+ * registered.
+ */
+public final class ColumnRegistry {
+
+  protected Map<ColumnIdentifier, Integer> indices;
+  protected List<ColumnIdentifier> columns;
+
+  public ColumnRegistry() {
+    this.indices = new HashMap<>();
+    this.columns = new ArrayList<>();
+  }
+
+  /**
+   * @param columns the columns to register, they are indexed in iteration order
+   */
+  public ColumnRegistry(Collection<ColumnIdentifier> columns) {
+    this.indices = new HashMap<>(columns.size() * 2);
+    this.columns = new ArrayList<>(columns.size());
+    for (ColumnIdentifier column : columns) {
+      register(column);
+    }
+  }
+
+  /**
+   * Registers the column if it is not registered yet.
+   *
+   * @param column the column
+   * @return the index of the column
+   */
+  public int register(ColumnIdentifier column) {
+    Integer index = indices.get(column);
+    if (index == null) {
+      index = columns.size();
+      indices.put(column, index);
+      columns.add(column);
+    }
+    return index;
+  }
+
+  /**
+   * @param column the column
+   * @return the index of the column or -1 if it is not registered
+   */
+  public int indexOf(ColumnIdentifier column) {
+    Integer index = indices.get(column);
+    return index == null ? -1 : index;
+  }
+
+  /**
+   * @param column the column
+   * @return true, if the column is registered
+   */
+  public boolean contains(ColumnIdentifier column) {
+    return indices.containsKey(column);
+  }
+
+  /**
+   * @param columns the columns
+   * @return true, if all columns are registered
+   */
+  public boolean containsAll(Iterable<ColumnIdentifier> columns) {
+    for (ColumnIdentifier column : columns) {
+      if (!indices.containsKey(column)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @param index the index of a registered column
+   * @return the column
+   * @throws IndexOutOfBoundsException if no column has the given index
+   */
+  public ColumnIdentifier getColumn(int index) {
+    return columns.get(index);
+  }
+
+  /**
+   * @return the number of registered columns
+   */
+  public int size() {
+    return columns.size();
+  }
+
+  /**
+   * Converts the given columns into their index form.
+   *
+   * @param columns the columns
+   * @return the indices of the columns or null if a column is not registered
+   */
+  public BitSet toBitSet(Iterable<ColumnIdentifier> columns) {
+    BitSet bitSet = new BitSet(this.columns.size());
+    for (ColumnIdentifier column : columns) {
+      int index = indexOf(column);
+      if (index < 0) {
+        return null;
+      }
+      bitSet.set(index);
+    }
+    return bitSet;
+  }
+
+  /**
+   * Converts the given columns into the column combination of their indices.
+   *
+   * @param columns the columns
+   * @return the column combination or null if a column is not registered
+   */
+  public ColumnCombinationBitset toColumnCombinationBitset(Iterable<ColumnIdentifier> columns) {
+    ColumnCombinationBitset columnCombination = new ColumnCombinationBitset();
+    for (ColumnIdentifier column : columns) {
+      int index = indexOf(column);
+      if (index < 0) {
+        return null;
+      }
+      columnCombination.addColumn(index);
+    }
+    return columnCombination;
+  }
+
+  /**
+   * Converts the given column list into its index form keeping the order of the columns.
+   *
+   * @param columns the columns
+   * @return the indices of the columns or null if a column is not registered
+   */
+  public int[] toIndices(List<ColumnIdentifier> columns) {
+    int[] result = new int[columns.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = indexOf(columns.get(i));
+      if (result[i] < 0) {
+        return null;
+      }
+    }
+    return result;
+  }
+}
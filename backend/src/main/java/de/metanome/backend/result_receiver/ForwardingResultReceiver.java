@@ -0,0 +1,242 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.result_receiver;
+
+import de.metanome.algorithm_integration.result_receiver.ColumnNameMismatchException;
+import de.metanome.algorithm_integration.result_receiver.CouldNotReceiveResultException;
+import de.metanome.algorithm_integration.results.*;
+
+import java.io.IOException;
+
+/**
+ * A stage in front of another result receiver. Every result is passed to {@link #forward(Result)}
+ * and handed to the next receiver, if it returns true. Subclasses override it to observe or drop
+ * results. Closing the stage closes the next receiver.
+ */
+public class ForwardingResultReceiver implements CloseableOmniscientResultReceiver {
+
+  protected CloseableOmniscientResultReceiver next;
+
+  /**
+   * @param next the receiver the results are forwarded to
+   */
+  public ForwardingResultReceiver(CloseableOmniscientResultReceiver next) {
+    this.next = next;
+  }
+
+  public CloseableOmniscientResultReceiver getNext() {
+    return next;
+  }
+
+  /**
+   * Decides whether the received result is passed to the next receiver.
+   *
+   * @param result the received result
+   * @return true, if the result should be passed to the next receiver
+   * @throws CouldNotReceiveResultException if the result could not be received
+   */
+  protected boolean forward(Result result) throws CouldNotReceiveResultException {
+    return true;
+  }
+
+  @Override
+  public void receiveResult(BasicStatistic statistic)
+    throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    if (forward(statistic)) {
+      next.receiveResult(statistic);
+    }
+  }
+
+  @Override
+  public void receiveResult(ConditionalFunctionalDependency conditionalFunctionalDependency)
+    throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    if (forward(conditionalFunctionalDependency)) {
+      next.receiveResult(conditionalFunctionalDependency);
+    }
+  }
+
+  @Override
+  public void receiveResult(ConditionalInclusionDependency conditionalDependency)
+    throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    if (forward(conditionalDependency)) {
+      next.receiveResult(conditionalDependency);
+    }
+  }
+
+  @Override
+  public void receiveResult(ConditionalUniqueColumnCombination conditionalUniqueColumnCombination)
+    throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    if (forward(conditionalUniqueColumnCombination)) {
+      next.receiveResult(conditionalUniqueColumnCombination);
+    }
+  }
+
+  @Override
+  public void receiveResult(DenialConstraint denialConstraint)
+    throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    if (forward(denialConstraint)) {
+      next.receiveResult(denialConstraint);
+    }
+  }
+
+  @Override
+  public void receiveResult(FunctionalDependency functionalDependency)
+    throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    if (forward(functionalDependency)) {
+      next.receiveResult(functionalDependency);
+    }
+  }
+
+  @Override
+  public void receiveResult(InclusionDependency inclusionDependency)
+    throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    if (forward(inclusionDependency)) {
+      next.receiveResult(inclusionDependency);
+    }
+  }
+
+  @Override
+  public void receiveResult(MatchingDependency matchingDependency)
+    throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    if (forward(matchingDependency)) {
+      next.receiveResult(matchingDependency);
+    }
+  }
+
+  @Override
+  public void receiveResult(MultivaluedDependency multivaluedDependency)
+    throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    if (forward(multivaluedDependency)) {
+      next.receiveResult(multivaluedDependency);
+    }
+  }
+
+  @Override
+  public void receiveResult(OrderDependency orderDependency)
+    throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    if (forward(orderDependency)) {
+      next.receiveResult(orderDependency);
+    }
+  }
+
+  @Override
+  public void receiveResult(RelaxedFunctionalDependency relaxedFunctionalDependency)
+    throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    if (forward(relaxedFunctionalDependency)) {
+      next.receiveResult(relaxedFunctionalDependency);
+    }
+  }
+
+  @Override
+  public void receiveResult(RelaxedInclusionDependency relaxedDependency)
+    throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    if (forward(relaxedDependency)) {
+      next.receiveResult(relaxedDependency);
+    }
+  }
+
+  @Override
+  public void receiveResult(RelaxedUniqueColumnCombination relaxedUniqueColumnCombination)
+    throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    if (forward(relaxedUniqueColumnCombination)) {
+      next.receiveResult(relaxedUniqueColumnCombination);
+    }
+  }
+
+  @Override
+  public void receiveResult(UniqueColumnCombination uniqueColumnCombination)
+    throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    if (forward(uniqueColumnCombination)) {
+      next.receiveResult(uniqueColumnCombination);
+    }
+  }
+
+  @Override
+  public Boolean acceptedResult(BasicStatistic result) {
+    return next.acceptedResult(result);
+  }
+
+  @Override
+  public Boolean acceptedResult(ConditionalFunctionalDependency result) {
+    return next.acceptedResult(result);
+  }
+
+  @Override
+  public Boolean acceptedResult(ConditionalInclusionDependency result) {
+    return next.acceptedResult(result);
+  }
+
+  @Override
+  public Boolean acceptedResult(ConditionalUniqueColumnCombination result) {
+    return next.acceptedResult(result);
+  }
+
+  @Override
+  public Boolean acceptedResult(DenialConstraint result) {
+    return next.acceptedResult(result);
+  }
+
+  @Override
+  public Boolean acceptedResult(FunctionalDependency result) {
+    return next.acceptedResult(result);
+  }
+
+  @Override
+  public Boolean acceptedResult(InclusionDependency result) {
+    return next.acceptedResult(result);
+  }
+
+  @Override
+  public Boolean acceptedResult(MatchingDependency result) {
+    return next.acceptedResult(result);
+  }
+
+  @Override
+  public Boolean acceptedResult(MultivaluedDependency result) {
+    return next.acceptedResult(result);
+  }
+
+  @Override
+  public Boolean acceptedResult(OrderDependency result) {
+    return next.acceptedResult(result);
+  }
+
+  @Override
+  public Boolean acceptedResult(RelaxedFunctionalDependency result) {
+    return next.acceptedResult(result);
+  }
+
+  @Override
+  public Boolean acceptedResult(RelaxedInclusionDependency result) {
+    return next.acceptedResult(result);
+  }
+
+  @Override
+  public Boolean acceptedResult(RelaxedUniqueColumnCombination result) {
+    return next.acceptedResult(result);
+  }
+
+  @Override
+  public Boolean acceptedResult(UniqueColumnCombination result) {
+    return next.acceptedResult(result);
+  }
+
+  @Override
+  public void close() throws IOException {
+    next.close();
+  }
+
+}
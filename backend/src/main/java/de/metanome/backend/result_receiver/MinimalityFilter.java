@@ -0,0 +1,284 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.result_receiver;
+
+import de.metanome.algorithm_helper.data_structures.ColumnCombinationBitset;
+import de.metanome.algorithm_helper.data_structures.SubSetGraph;
+import de.metanome.algorithm_integration.ColumnCombination;
+import de.metanome.algorithm_integration.ColumnIdentifier;
+import de.metanome.algorithm_integration.result_receiver.ColumnNameMismatchException;
+import de.metanome.algorithm_integration.result_receiver.CouldNotReceiveResultException;
+import de.metanome.algorithm_integration.results.FunctionalDependency;
+import de.metanome.algorithm_integration.results.Result;
+import de.metanome.algorithm_integration.results.UniqueColumnCombination;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps only the minimal functional dependencies and unique column combinations of an execution.
+ * Each dependant has its own {@link SubSetGraph} of determinants, the unique column combinations
+ * share one graph. A result is dropped, if the graph already holds a subset of it, which includes
+ * duplicates. Otherwise the held supersets of the result are retracted before it is added.
+ * <p>
+ * As a held result can still be retracted by a later one, the filtered results are handed to the
+ * next receiver by {@link #flush()}, i.e. when the algorithm finished. If the algorithm emits every
+ * minimal result before its supersets, see {@link #setHoldResults(boolean)}, the results are
+ * forwarded as soon as they are received. The held results are limited to the memory budget of a
+ * {@link ResultCache}. If they exceed it, they are flushed and later results are forwarded right
+ * away, so that results forwarded before a later subset are no longer retracted. All other results
+ * are passed through immediately.
+ */
+public class MinimalityFilter extends ForwardingResultReceiver {
+
+  protected ColumnRegistry columns;
+  protected Map<Integer, MinimalResults<FunctionalDependency>> functionalDependencies;
+  protected MinimalResults<UniqueColumnCombination> uniqueColumnCombinations;
+  protected long numberOfDroppedResults;
+  protected boolean holdResults = true;
+  protected long maxHeldBytes = ResultCache.getDefaultMaxBytes();
+  protected long heldBytes = 0;
+
+  /**
+   * @param next the receiver the minimal results are forwarded to
+   */
+  public MinimalityFilter(CloseableOmniscientResultReceiver next) {
+    super(next);
+    this.columns = new ColumnRegistry();
+    this.functionalDependencies = new LinkedHashMap<>();
+    this.uniqueColumnCombinations = new MinimalResults<>();
+  }
+
+  /**
+   * @param holdResults false, if the algorithm emits every minimal result before its supersets, so
+   *                    that results do not have to be retracted and are forwarded right away
+   * @return the filter
+   */
+  public MinimalityFilter setHoldResults(boolean holdResults) {
+    this.holdResults = holdResults;
+    return this;
+  }
+
+  /**
+   * @param maxHeldBytes the memory budget of the held results in bytes
+   * @return the filter
+   */
+  public MinimalityFilter setMaxHeldBytes(long maxHeldBytes) {
+    this.maxHeldBytes = maxHeldBytes;
+    return this;
+  }
+
+  /**
+   * @return the number of duplicate, non-minimal and retracted results
+   */
+  public long getNumberOfDroppedResults() {
+    return numberOfDroppedResults;
+  }
+
+  /**
+   * @return the number of results that are held until the filter is flushed
+   */
+  public int getNumberOfHeldResults() {
+    int held = uniqueColumnCombinations.size();
+    for (MinimalResults<FunctionalDependency> results : functionalDependencies.values()) {
+      held += results.size();
+    }
+    return held;
+  }
+
+  /**
+   * @return the estimated size of the held results in bytes
+   */
+  public long getHeldBytes() {
+    return heldBytes;
+  }
+
+  @Override
+  protected boolean forward(Result result) throws CouldNotReceiveResultException {
+    // subclasses such as relaxed dependencies do not follow the same minimality rules
+    if (result.getClass() == FunctionalDependency.class) {
+      FunctionalDependency functionalDependency = (FunctionalDependency) result;
+      // let the next receiver reject results with unknown columns right away
+      if (Boolean.FALSE.equals(next.acceptedResult(functionalDependency))) {
+        return true;
+      }
+      int dependant = columns.register(functionalDependency.getDependant());
+      MinimalResults<FunctionalDependency> results = functionalDependencies.get(dependant);
+      if (results == null) {
+        results = new MinimalResults<>();
+        functionalDependencies.put(dependant, results);
+      }
+      return add(results, toBitset(functionalDependency.getDeterminant()), functionalDependency);
+    }
+    if (result.getClass() == UniqueColumnCombination.class) {
+      UniqueColumnCombination uniqueColumnCombination = (UniqueColumnCombination) result;
+      if (Boolean.FALSE.equals(next.acceptedResult(uniqueColumnCombination))) {
+        return true;
+      }
+      return add(uniqueColumnCombinations,
+        toBitset(uniqueColumnCombination.getColumnCombination()), uniqueColumnCombination);
+    }
+    return true;
+  }
+
+  /**
+   * Drops the result, if it is not minimal, and holds it otherwise.
+   *
+   * @return true, if the result is minimal and should be forwarded right away
+   * @throws CouldNotReceiveResultException if the held results exceeded the memory budget and
+   *                                        could not be flushed
+   */
+  protected <R extends Result> boolean add(MinimalResults<R> results,
+                                           ColumnCombinationBitset columnCombination, R result)
+    throws CouldNotReceiveResultException {
+    if (!results.isMinimal(columnCombination)) {
+      numberOfDroppedResults++;
+      return false;
+    }
+    long resultsHeldBytes = results.getHeldBytes();
+    numberOfDroppedResults += results.add(columnCombination, holdResults ? result : null);
+    heldBytes += results.getHeldBytes() - resultsHeldBytes;
+    if (holdResults && heldBytes > maxHeldBytes) {
+      System.err.println("The minimal results exceed " + maxHeldBytes
+        + " bytes, they are forwarded without retracting them from now on.");
+      holdResults = false;
+      try {
+        flush();
+      } catch (ColumnNameMismatchException e) {
+        throw new CouldNotReceiveResultException("Could not forward the held results.", e);
+      }
+      // the result was flushed with the others
+      return false;
+    }
+    return !holdResults;
+  }
+
+  protected ColumnCombinationBitset toBitset(ColumnCombination columnCombination) {
+    ColumnCombinationBitset bitset = new ColumnCombinationBitset();
+    for (ColumnIdentifier column : columnCombination.getColumnIdentifiers()) {
+      bitset.addColumn(columns.register(column));
+    }
+    return bitset;
+  }
+
+  /**
+   * Hands the held minimal results to the next receiver. Later results are still filtered against
+   * them. Call it once the algorithm finished successfully, the held results of a failed algorithm
+   * may not be minimal.
+   *
+   * @throws CouldNotReceiveResultException if the next receiver could not receive a result
+   * @throws ColumnNameMismatchException    if a result does not match the accepted columns
+   */
+  public void flush() throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    for (MinimalResults<FunctionalDependency> results : functionalDependencies.values()) {
+      for (FunctionalDependency functionalDependency : results.removeResults()) {
+        next.receiveResult(functionalDependency);
+      }
+    }
+    for (UniqueColumnCombination uniqueColumnCombination : uniqueColumnCombinations
+      .removeResults()) {
+      next.receiveResult(uniqueColumnCombination);
+    }
+    heldBytes = 0;
+  }
+
+  /**
+   * Hands the held minimal results to the next receiver and closes it.
+   *
+   * @throws IOException if the next receiver could not receive a result or could not be closed
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      flush();
+    } catch (CouldNotReceiveResultException | ColumnNameMismatchException e) {
+      throw new IOException(e);
+    } finally {
+      functionalDependencies.clear();
+      uniqueColumnCombinations = new MinimalResults<>();
+      next.close();
+    }
+  }
+
+  /**
+   * The minimal column combinations of one result type and dependant and their results.
+   */
+  protected static class MinimalResults<R extends Result> {
+
+    protected SubSetGraph graph = new SubSetGraph();
+    // the graph does not report the empty set as subset
+    protected boolean containsEmptySet = false;
+    protected Map<ColumnCombinationBitset, R> results = new LinkedHashMap<>();
+    protected long heldBytes = 0;
+
+    /**
+     * @param columnCombination the column combination of a result
+     * @return true, if no subset of the column combination was added before
+     */
+    public boolean isMinimal(ColumnCombinationBitset columnCombination) {
+      return !containsEmptySet && !graph.containsSubset(columnCombination);
+    }
+
+    /**
+     * Adds a minimal column combination and retracts the held results of its supersets.
+     *
+     * @param columnCombination the column combination of the result
+     * @param result            the result to hold or null, if it was forwarded already
+     * @return the number of retracted results
+     */
+    public int add(ColumnCombinationBitset columnCombination, R result) {
+      int retracted = 0;
+      for (ColumnCombinationBitset superset : graph.getExistingSupersets(columnCombination)) {
+        graph.remove(superset);
+        R heldResult = results.remove(superset);
+        if (heldResult != null) {
+          heldBytes -= ResultCache.estimateSize(heldResult);
+          retracted++;
+        }
+      }
+      if (columnCombination.isEmpty()) {
+        containsEmptySet = true;
+      }
+      graph.add(columnCombination);
+      if (result != null) {
+        results.put(columnCombination, result);
+        heldBytes += ResultCache.estimateSize(result);
+      }
+      return retracted;
+    }
+
+    /**
+     * @return the held results, which are no longer held afterwards
+     */
+    public List<R> removeResults() {
+      List<R> removed = new ArrayList<>(results.values());
+      results.clear();
+      heldBytes = 0;
+      return removed;
+    }
+
+    public int size() {
+      return results.size();
+    }
+
+    public long getHeldBytes() {
+      return heldBytes;
+    }
+  }
+}
@@ -15,26 +15,58 @@
  */
 package de.metanome.backend.result_receiver;
 
+import de.metanome.algorithm_integration.ColumnCombination;
 import de.metanome.algorithm_integration.ColumnIdentifier;
+import de.metanome.algorithm_integration.ColumnPermutation;
+import de.metanome.algorithm_integration.MatchingCombination;
+import de.metanome.algorithm_integration.Predicate;
 import de.metanome.algorithm_integration.result_receiver.ColumnNameMismatchException;
 import de.metanome.algorithm_integration.result_receiver.CouldNotReceiveResultException;
 import de.metanome.algorithm_integration.results.*;
 
-import java.io.FileNotFoundException;
-import java.io.IOException;
-import java.util.LinkedList;
-import java.util.List;
+import java.io.*;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Stores all received Results in a list and returns the new results on call to {@link
  * ResultCache#fetchNewResults()}. When all results were received, they are written to disk.
+ * <p>
+ * The results in memory are limited by a memory budget. If the estimated size of the results
+ * exceeds the budget, they are spilled as a compressed run to the results directory. The runs keep
+ * the results in the order they were received, so {@link #iterateNewResults()} returns the results
+ * of all runs followed by the results in memory without loading the runs at once.
  *
  * @author Jakob Zwiener
  */
 public class ResultCache extends ResultReceiver {
 
-  protected List<Result> results = new LinkedList<>();
-  protected int fromIndex = 0;
+  /**
+   * System property to set the memory budget of result caches in bytes.
+   */
+  public static final String MAX_BYTES_PROPERTY = "metanome.resultCache.maxBytes";
+  /**
+   * Fraction of the maximum heap size a result cache uses if no budget is set.
+   */
+  public static final double DEFAULT_MEMORY_FRACTION = 0.1;
+
+  // Estimated size of the java objects of a result besides its columns
+  protected static final long RESULT_OVERHEAD = 64;
+  // Estimated size of a column identifier including its names and the entry in its combination
+  protected static final long COLUMN_SIZE = 96;
+  // The object stream remembers every written object until it is reset
+  protected static final int RESET_INTERVAL = 1024;
+
+  protected List<Result> results = new ArrayList<>();
+  protected long fromIndex = 0;
+  protected long maxBytes = getDefaultMaxBytes();
+  protected long usedBytes = 0;
+  protected List<SpillRun> runs = new ArrayList<>();
+  // Number of results in the spilled runs, i.e. the position of the first result in memory
+  protected long spilledResults = 0;
+  // Spilling is disabled after the first failure, the results are kept in memory from then on
+  protected IOException spillFailure;
 
   /**
    * Initializes the result cache. The given algorithm execution identifier and accepted columns are stored.
@@ -68,7 +100,7 @@ public class ResultCache extends ResultReceiver {
   @Override
   public void receiveResult(BasicStatistic statistic) throws ColumnNameMismatchException {
     if (this.acceptedResult(statistic)) {
-      results.add(statistic);
+      add(statistic);
     } else {
       throw new ColumnNameMismatchException("The column name of the result does not match with the column names in the input!");
     }
@@ -78,7 +110,7 @@ public class ResultCache extends ResultReceiver {
   @Override
   public void receiveResult(FunctionalDependency functionalDependency) throws ColumnNameMismatchException {
     if (this.acceptedResult(functionalDependency)) {
-      results.add(functionalDependency);
+      add(functionalDependency);
     } else {
       throw new ColumnNameMismatchException("The column name of the result does not match with the column names in the input!");
     }
@@ -87,7 +119,7 @@ public class ResultCache extends ResultReceiver {
   @Override
   public void receiveResult(MatchingDependency matchingDependency) throws ColumnNameMismatchException {
     if (this.acceptedResult(matchingDependency)) {
-      results.add(matchingDependency);
+      add(matchingDependency);
     } else {
       throw new ColumnNameMismatchException("The column name of the result does not match with the column names in the input!");
     }
@@ -96,7 +128,7 @@ public class ResultCache extends ResultReceiver {
   @Override
   public void receiveResult(ConditionalFunctionalDependency conditionalFunctionalDependency) throws ColumnNameMismatchException {
     if (this.acceptedResult(conditionalFunctionalDependency)) {
-      results.add(conditionalFunctionalDependency);
+      add(conditionalFunctionalDependency);
     } else {
       throw new ColumnNameMismatchException("The column name of the result does not match with the column names in the input!");
     }
@@ -105,7 +137,7 @@ public class ResultCache extends ResultReceiver {
   @Override
   public void receiveResult(MultivaluedDependency multivaluedDependency) throws ColumnNameMismatchException {
     if (this.acceptedResult(multivaluedDependency)) {
-      results.add(multivaluedDependency);
+      add(multivaluedDependency);
     } else {
       throw new ColumnNameMismatchException("The column name of the result does not match with the column names in the input!");
     }
@@ -114,7 +146,7 @@ public class ResultCache extends ResultReceiver {
   @Override
   public void receiveResult(InclusionDependency inclusionDependency) throws ColumnNameMismatchException {
     if (this.acceptedResult(inclusionDependency)) {
-      results.add(inclusionDependency);
+      add(inclusionDependency);
     } else {
       throw new ColumnNameMismatchException("The column name of the result does not match with the column names in the input!");
     }
@@ -123,7 +155,7 @@ public class ResultCache extends ResultReceiver {
   @Override
   public void receiveResult(UniqueColumnCombination uniqueColumnCombination) throws ColumnNameMismatchException {
     if (this.acceptedResult(uniqueColumnCombination)) {
-      results.add(uniqueColumnCombination);
+      add(uniqueColumnCombination);
     } else {
       throw new ColumnNameMismatchException("The column name of the result does not match with the column names in the input!");
     }
@@ -131,7 +163,7 @@ public class ResultCache extends ResultReceiver {
 
   public void receiveResult(ConditionalUniqueColumnCombination conditionalUniqueColumnCombination) throws ColumnNameMismatchException {
     if (this.acceptedResult(conditionalUniqueColumnCombination)) {
-      results.add(conditionalUniqueColumnCombination);
+      add(conditionalUniqueColumnCombination);
     } else {
       throw new ColumnNameMismatchException("The column name of the result does not match with the column names in the input!");
     }
@@ -140,7 +172,7 @@ public class ResultCache extends ResultReceiver {
   @Override
   public void receiveResult(OrderDependency orderDependency) throws ColumnNameMismatchException {
     if (this.acceptedResult(orderDependency)) {
-      results.add(orderDependency);
+      add(orderDependency);
     } else {
       throw new ColumnNameMismatchException("The column name of the result does not match with the column names in the input!");
     }
@@ -149,7 +181,7 @@ public class ResultCache extends ResultReceiver {
   @Override
   public void receiveResult(DenialConstraint denialConstraint) throws ColumnNameMismatchException {
     if (this.acceptedResult(denialConstraint)) {
-      results.add(denialConstraint);
+      add(denialConstraint);
     } else {
       throw new ColumnNameMismatchException("The column name of the result does not match with the column names in the input!");
     }
@@ -158,7 +190,7 @@ public class ResultCache extends ResultReceiver {
     @Override
     public void receiveResult(ConditionalInclusionDependency conditionalDependency) throws ColumnNameMismatchException {
         if (this.acceptedResult(conditionalDependency)) {
-            results.add(conditionalDependency);
+            add(conditionalDependency);
         } else {
             throw new ColumnNameMismatchException("The column name of the result does not match with the column names in the input!");
         }
@@ -167,7 +199,7 @@ public class ResultCache extends ResultReceiver {
   @Override
   public void receiveResult(RelaxedFunctionalDependency relaxedFunctionalDependency) throws CouldNotReceiveResultException, ColumnNameMismatchException {
     if (this.acceptedResult(relaxedFunctionalDependency)) {
-      results.add(relaxedFunctionalDependency);
+      add(relaxedFunctionalDependency);
     } else {
       throw new ColumnNameMismatchException("The column name of the result does not match with the column names in the input!");
     }
@@ -176,7 +208,7 @@ public class ResultCache extends ResultReceiver {
   @Override
   public void receiveResult(RelaxedInclusionDependency relaxedDependency) throws CouldNotReceiveResultException, ColumnNameMismatchException {
     if (this.acceptedResult(relaxedDependency)) {
-      results.add(relaxedDependency);
+      add(relaxedDependency);
     } else {
       throw new ColumnNameMismatchException("The column name of the result does not match with the column names in the input!");
     }
@@ -185,62 +217,381 @@ public class ResultCache extends ResultReceiver {
   @Override
   public void receiveResult(RelaxedUniqueColumnCombination relaxedUniqueColumnCombination) throws CouldNotReceiveResultException, ColumnNameMismatchException {
     if (this.acceptedResult(relaxedUniqueColumnCombination)) {
-      results.add(relaxedUniqueColumnCombination);
+      add(relaxedUniqueColumnCombination);
     } else {
       throw new ColumnNameMismatchException("The column name of the result does not match with the column names in the input!");
     }
   }
 
+  /**
+   * @param maxBytes the memory budget of the results in memory in bytes
+   * @return the result cache
+   */
+  public ResultCache setMaxBytes(long maxBytes) {
+    this.maxBytes = maxBytes;
+    return this;
+  }
+
+  public long getMaxBytes() {
+    return maxBytes;
+  }
+
+  /**
+   * @return the memory budget set with {@link #MAX_BYTES_PROPERTY} or the default fraction of the
+   *         maximum heap size
+   */
+  public static long getDefaultMaxBytes() {
+    return Long.getLong(MAX_BYTES_PROPERTY,
+      (long) (Runtime.getRuntime().maxMemory() * DEFAULT_MEMORY_FRACTION));
+  }
+
+  /**
+   * @return the number of received results
+   */
+  public long getNumberOfResults() {
+    return spilledResults + results.size();
+  }
+
+  /**
+   * @return the number of results that were spilled to disk
+   */
+  public long getNumberOfSpilledResults() {
+    return spilledResults;
+  }
+
+  protected void add(Result result) {
+    results.add(result);
+    usedBytes += estimateSize(result);
+    if (usedBytes > maxBytes && spillFailure == null) {
+      try {
+        spill();
+      } catch (IOException e) {
+        spillFailure = e;
+        e.printStackTrace();
+      }
+    }
+  }
+
+  /**
+   * @return the exception that disabled spilling, or null if no spill failed
+   */
+  public IOException getSpillFailure() {
+    return spillFailure;
+  }
+
+  /**
+   * Estimates the heap size of the given result by the number of its columns.
+   *
+   * @param result the result
+   * @return the estimated size in bytes
+   */
+  protected static long estimateSize(Result result) {
+    return RESULT_OVERHEAD + COLUMN_SIZE * countColumns(result);
+  }
+
+  /**
+   * @param result the result
+   * @return the number of column identifiers the result consists of
+   */
+  protected static int countColumns(Result result) {
+    if (result instanceof FunctionalDependency) {
+      return size(((FunctionalDependency) result).getDeterminant()) + 1;
+    } else if (result instanceof ConditionalFunctionalDependency) {
+      return size(((ConditionalFunctionalDependency) result).getDeterminant()) + 1;
+    } else if (result instanceof RelaxedFunctionalDependency) {
+      return size(((RelaxedFunctionalDependency) result).getDeterminant()) + 1;
+    } else if (result instanceof MatchingDependency) {
+      MatchingCombination determinant = ((MatchingDependency) result).getDeterminant();
+      return 2 * ((determinant == null ? 0 : determinant.getMatchingIdentifiers().size()) + 1);
+    } else if (result instanceof MultivaluedDependency) {
+      MultivaluedDependency mvd = (MultivaluedDependency) result;
+      return size(mvd.getDeterminant()) + size(mvd.getDependant());
+    } else if (result instanceof InclusionDependency) {
+      InclusionDependency ind = (InclusionDependency) result;
+      return size(ind.getDependant()) + size(ind.getReferenced());
+    } else if (result instanceof ConditionalInclusionDependency) {
+      ConditionalInclusionDependency cind = (ConditionalInclusionDependency) result;
+      return size(cind.getDependant()) + size(cind.getReferenced());
+    } else if (result instanceof RelaxedInclusionDependency) {
+      RelaxedInclusionDependency rind = (RelaxedInclusionDependency) result;
+      return size(rind.getDependant()) + size(rind.getReferenced());
+    } else if (result instanceof OrderDependency) {
+      OrderDependency od = (OrderDependency) result;
+      return size(od.getLhs()) + size(od.getRhs());
+    } else if (result instanceof UniqueColumnCombination) {
+      return size(((UniqueColumnCombination) result).getColumnCombination());
+    } else if (result instanceof ConditionalUniqueColumnCombination) {
+      return size(((ConditionalUniqueColumnCombination) result).getColumnCombination());
+    } else if (result instanceof RelaxedUniqueColumnCombination) {
+      return size(((RelaxedUniqueColumnCombination) result).getColumnCombination());
+    } else if (result instanceof BasicStatistic) {
+      // count every statistic value like a column
+      BasicStatistic statistic = (BasicStatistic) result;
+      Map<String, ?> statistics = statistic.getStatisticMap();
+      return size(statistic.getColumnCombination()) + (statistics == null ? 0 : statistics.size());
+    } else if (result instanceof DenialConstraint) {
+      int columns = 0;
+      Collection<Predicate> predicates = ((DenialConstraint) result).getPredicates();
+      if (predicates != null) {
+        for (Predicate predicate : predicates) {
+          columns += predicate.getColumnIdentifiers().size();
+        }
+      }
+      return columns;
+    }
+    return 1;
+  }
+
+  private static int size(ColumnCombination combination) {
+    return combination == null ? 0 : combination.getColumnIdentifiers().size();
+  }
+
+  private static int size(ColumnPermutation permutation) {
+    return permutation == null ? 0 : permutation.getColumnIdentifiers().size();
+  }
+
+  /**
+   * Writes the results in memory as a compressed run to the results directory.
+   *
+   * @throws IOException if the run could not be written
+   */
+  protected void spill() throws IOException {
+    File file = File.createTempFile(this.algorithmExecutionIdentifier + "_run", ".gz",
+      new File(this.directory));
+    file.deleteOnExit();
+    try (ObjectOutputStream out = new ObjectOutputStream(new GZIPOutputStream(
+      new BufferedOutputStream(new FileOutputStream(file), ResultPrinter.BUFFER_SIZE)))) {
+      for (int i = 0; i < results.size(); i++) {
+        if (i % RESET_INTERVAL == 0) {
+          out.reset();
+        }
+        out.writeObject(results.get(i));
+      }
+    } catch (IOException e) {
+      file.delete();
+      throw e;
+    }
+    runs.add(new SpillRun(file, spilledResults, results.size()));
+    spilledResults += results.size();
+    results = new ArrayList<>();
+    usedBytes = 0;
+  }
+
   /**
    * Should return all results once. Copies the new received results and returns them.
+   * All new results are loaded into memory, see {@link #iterateNewResults()} to stream them.
    *
    * @return new results
    */
   public List<Result> fetchNewResults() {
-    int toIndex = this.results.size();
-    List<Result> newResults = results.subList(this.fromIndex, toIndex);
-    this.fromIndex = toIndex;
+    List<Result> newResults = new ArrayList<>();
+    try (ResultIterator iterator = iterateNewResults()) {
+      while (iterator.hasNext()) {
+        newResults.add(iterator.next());
+      }
+    }
     return newResults;
   }
 
+  /**
+   * Should return all results once. The returned iterator reads the spilled results from disk while
+   * iterating and has to be closed if it is not iterated to the end.
+   *
+   * @return an iterator over the new results
+   */
+  public ResultIterator iterateNewResults() {
+    ResultIterator iterator = iterator(this.fromIndex);
+    this.fromIndex = getNumberOfResults();
+    return iterator;
+  }
+
+  /**
+   * @param from the position of the first result
+   * @return an iterator over the results from the given position on in the received order
+   */
+  protected ResultIterator iterator(long from) {
+    List<ResultIterator> parts = new ArrayList<>();
+    for (SpillRun run : runs) {
+      if (from < run.start + run.count) {
+        parts.add(run.iterator(Math.max(0, from - run.start)));
+      }
+    }
+    int memoryFrom = (int) Math.max(0, from - spilledResults);
+    Iterator<Result> memory = new ArrayList<>(results.subList(memoryFrom, results.size())).iterator();
+
+    Iterator<ResultIterator> partIterator = parts.iterator();
+    return new ResultIterator() {
+      // the current run, the results in memory are returned after the last run
+      ResultIterator current = partIterator.hasNext() ? partIterator.next() : null;
+
+      @Override
+      public boolean hasNext() {
+        while (current != null) {
+          if (current.hasNext()) {
+            return true;
+          }
+          current.close();
+          current = partIterator.hasNext() ? partIterator.next() : null;
+        }
+        return memory.hasNext();
+      }
+
+      @Override
+      public Result next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return current != null ? current.next() : memory.next();
+      }
+
+      @Override
+      public void close() {
+        if (current != null) {
+          current.close();
+        }
+        while (partIterator.hasNext()) {
+          partIterator.next().close();
+        }
+        current = null;
+      }
+    };
+  }
+
   /**
    * When the result receiver is closed, the results are written to disk.
    */
   @Override
   public void close() throws IOException {
-    ResultPrinter
-      printer =
-      new ResultPrinter(this.algorithmExecutionIdentifier, this.acceptedColumns, this.testDirectory);
-    for (Result result : results) {
-      try {
-        if (result instanceof FunctionalDependency) {
-          printer.receiveResult((FunctionalDependency) result);
-        } else if (result instanceof MatchingDependency) {
-          printer.receiveResult((MatchingDependency) result);
-        } else if (result instanceof ConditionalFunctionalDependency) {
-          printer.receiveResult((ConditionalFunctionalDependency) result);
-        } else if (result instanceof MultivaluedDependency) {
-          printer.receiveResult((MultivaluedDependency) result);
-        } else if (result instanceof InclusionDependency) {
-          printer.receiveResult((InclusionDependency) result);
-        } else if (result instanceof UniqueColumnCombination) {
-          printer.receiveResult((UniqueColumnCombination) result);
-        } else if (result instanceof ConditionalUniqueColumnCombination) {
-          printer.receiveResult((ConditionalUniqueColumnCombination) result);
-        } else if (result instanceof OrderDependency) {
-          printer.receiveResult((OrderDependency) result);
-        } else if (result instanceof BasicStatistic) {
-          printer.receiveResult((BasicStatistic) result);
-        }  else if (result instanceof DenialConstraint) {
-          printer.receiveResult((DenialConstraint) result);
-        } 
-      } catch (CouldNotReceiveResultException e) {
-        e.printStackTrace();
-      } catch (ColumnNameMismatchException ignored) {
-        // should not occur
+    // the printer validates the cached results against the same accepted columns
+    ResultPrinter printer = new ResultPrinter(this.algorithmExecutionIdentifier, this.acceptedColumns,
+      this.testDirectory, this.columnRegistry);
+    try (ResultIterator iterator = iterator(0)) {
+      while (iterator.hasNext()) {
+        print(printer, iterator.next());
       }
     }
     printer.close();
+
+    for (SpillRun run : runs) {
+      run.file.delete();
+    }
+  }
+
+  /**
+   * Writes the given result with the printer.
+   *
+   * @param printer the result printer
+   * @param result  the result
+   */
+  protected void print(ResultPrinter printer, Result result) {
+    try {
+      if (result instanceof FunctionalDependency) {
+        printer.receiveResult((FunctionalDependency) result);
+      } else if (result instanceof MatchingDependency) {
+        printer.receiveResult((MatchingDependency) result);
+      } else if (result instanceof ConditionalFunctionalDependency) {
+        printer.receiveResult((ConditionalFunctionalDependency) result);
+      } else if (result instanceof MultivaluedDependency) {
+        printer.receiveResult((MultivaluedDependency) result);
+      } else if (result instanceof InclusionDependency) {
+        printer.receiveResult((InclusionDependency) result);
+      } else if (result instanceof UniqueColumnCombination) {
+        printer.receiveResult((UniqueColumnCombination) result);
+      } else if (result instanceof ConditionalUniqueColumnCombination) {
+        printer.receiveResult((ConditionalUniqueColumnCombination) result);
+      } else if (result instanceof OrderDependency) {
+        printer.receiveResult((OrderDependency) result);
+      } else if (result instanceof BasicStatistic) {
+        printer.receiveResult((BasicStatistic) result);
+      }  else if (result instanceof DenialConstraint) {
+        printer.receiveResult((DenialConstraint) result);
+      } 
+    } catch (CouldNotReceiveResultException e) {
+      e.printStackTrace();
+    } catch (ColumnNameMismatchException ignored) {
+      // should not occur
+    }
+  }
+
+  /**
+   * An iterator over received results, which releases the opened run files on close.
+   */
+  public interface ResultIterator extends Iterator<Result>, Closeable {
+
+    @Override
+    void close();
   }
 
+  /**
+   * A compressed file with consecutive received results.
+   */
+  protected static class SpillRun {
+
+    protected File file;
+    protected long start;
+    protected int count;
+
+    protected SpillRun(File file, long start, int count) {
+      this.file = file;
+      this.start = start;
+      this.count = count;
+    }
+
+    /**
+     * @param skip the number of results to skip
+     * @return an iterator reading the results of the run, the file is opened on the first access
+     */
+    protected ResultIterator iterator(long skip) {
+      return new ResultIterator() {
+        ObjectInputStream in;
+        long position = skip;
+
+        @Override
+        public boolean hasNext() {
+          return position < count;
+        }
+
+        @Override
+        public void close() {
+          position = count;
+          if (in != null) {
+            try {
+              in.close();
+            } catch (IOException ignored) {
+              // the run is only read
+            }
+            in = null;
+          }
+        }
+
+        @Override
+        public Result next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          try {
+            if (in == null) {
+              in = new ObjectInputStream(new GZIPInputStream(
+                new BufferedInputStream(new FileInputStream(file), ResultPrinter.BUFFER_SIZE)));
+              for (long skipped = 0; skipped < skip; skipped++) {
+                in.readObject();
+              }
+            }
+            Result result = (Result) in.readObject();
+            position++;
+            if (position == count) {
+              close();
+            }
+            return result;
+          } catch (IOException e) {
+            close();
+            throw new UncheckedIOException("Could not read the spilled results of " + file, e);
+          } catch (ClassNotFoundException e) {
+            close();
+            throw new IllegalStateException("Could not read the spilled results of " + file, e);
+          }
+        }
+      };
+    }
+  }
 }
@@ -0,0 +1,62 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.result_receiver;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import de.metanome.algorithm_integration.results.JsonConverter;
+import de.metanome.backend.results_db.ResultType;
+
+import java.util.EnumMap;
+
+/**
+ * Converts results to the JSON strings of the result files. In contrast to the {@link
+ * JsonConverter}, the object mapper is only configured once and every result type gets its own
+ * prepared writer, which caches the serializers of the type. The strings are identical to the ones
+ * of the {@link JsonConverter}, so the {@link ResultReader} reads them unchanged. All methods are
+ * thread safe.
+ */
+public class ResultJsonWriter {
+
+  protected static final ObjectMapper MAPPER =
+    new ObjectMapper().setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+
+  protected static final EnumMap<ResultType, ObjectWriter> WRITERS =
+    new EnumMap<>(ResultType.class);
+
+  static {
+    for (ResultType type : ResultType.values()) {
+      WRITERS.put(type, MAPPER.writerFor(type.getResultClass()));
+    }
+  }
+
+  private ResultJsonWriter() {
+  }
+
+  /**
+   * @param type   the type of the result
+   * @param result the result
+   * @return the JSON string of the result
+   * @throws JsonProcessingException if the result could not be converted
+   */
+  public static String toJsonString(ResultType type, Object result)
+    throws JsonProcessingException {
+    return WRITERS.get(type).writeValueAsString(result);
+  }
+}
@@ -26,11 +26,24 @@ import java.io.*;
 import java.util.*;
 
 /**
- * Writes all received Results immediately to disk. When all results were received, the results are read again
- * and returned.
+ * Writes all received Results to disk. The result files are written through large buffers, which
+ * are flushed when the results are read again or the printer is closed. When all results were
+ * received, the results are read again and returned.
  */
 public class ResultPrinter extends ResultReceiver {
 
+  /**
+   * System property to write the result files on a background thread, see {@link
+   * WriteBehindOutputStream}.
+   */
+  public static final String WRITE_BEHIND_PROPERTY = "metanome.results.writeBehind";
+  public static final int BUFFER_SIZE = 1 << 20;
+  /**
+   * System property to write functional dependencies, unique column combinations and inclusion
+   * dependencies in the compact binary format of {@link BinaryResultWriter}.
+   */
+  public static final String BINARY_PROPERTY = "metanome.results.binary";
+
   protected static final String TABLE_MARKER = "# TABLES";
   protected static final String COLUMN_MARKER = "# COLUMN";
   protected static final String RESULT_MARKER = "# RESULTS";
@@ -39,6 +52,9 @@ public class ResultPrinter extends ResultReceiver {
   protected EnumMap<ResultType, Boolean> headerWritten;
   protected Map<String, String> columnMapping;
   protected Map<String, String> tableMapping;
+  protected boolean writeBehind = Boolean.getBoolean(WRITE_BEHIND_PROPERTY);
+  protected boolean binary = Boolean.getBoolean(BINARY_PROPERTY);
+  protected EnumMap<ResultType, BinaryResultWriter> binaryWriters = new EnumMap<>(ResultType.class);
 
   /**
    * Initializes the result printer. The given algorithm execution identifier and accepted columns are stored.
@@ -74,7 +90,22 @@ public class ResultPrinter extends ResultReceiver {
    */
   protected ResultPrinter(String algorithmExecutionIdentifier, List<ColumnIdentifier> acceptedColumns, Boolean test)
     throws FileNotFoundException {
-    super(algorithmExecutionIdentifier, acceptedColumns, test);
+    this(algorithmExecutionIdentifier, acceptedColumns, test, null);
+  }
+
+  /**
+   * Initializes the result printer like {@link #ResultPrinter(String, List, Boolean)}, but validates the results
+   * with the given column registry.
+   * @param algorithmExecutionIdentifier the algorithm execution identifier
+   * @param acceptedColumns              a list of accepted column identifiers
+   * @param test                         if true, a test directory is used to store the results on disk
+   * @param columnRegistry               a registry containing the accepted columns or null to create one
+   * @throws FileNotFoundException if the directory, where all results are stored on disk in a file, could not be found
+   */
+  protected ResultPrinter(String algorithmExecutionIdentifier, List<ColumnIdentifier> acceptedColumns, Boolean test,
+                          ColumnRegistry columnRegistry)
+    throws FileNotFoundException {
+    super(algorithmExecutionIdentifier, acceptedColumns, test, columnRegistry);
     this.headerWritten = new EnumMap<>(ResultType.class);
     this.openStreams = new EnumMap<>(ResultType.class);
     this.columnMapping = new HashMap<>();
@@ -90,8 +121,8 @@ public class ResultPrinter extends ResultReceiver {
     throws CouldNotReceiveResultException, ColumnNameMismatchException {
     if (this.acceptedResult(statistic)) {
       try {
-        JsonConverter<BasicStatistic> jsonConverter = new JsonConverter<>();
-        getStream(ResultType.BASIC_STAT).println(jsonConverter.toJsonString(statistic));
+        getStream(ResultType.BASIC_STAT)
+          .println(ResultJsonWriter.toJsonString(ResultType.BASIC_STAT, statistic));
       } catch (JsonProcessingException e) {
         throw new CouldNotReceiveResultException("Could not convert the result to JSON!");
       }
@@ -104,7 +135,9 @@ public class ResultPrinter extends ResultReceiver {
   public void receiveResult(FunctionalDependency functionalDependency)
     throws CouldNotReceiveResultException, ColumnNameMismatchException {
     if (this.acceptedResult(functionalDependency)) {
-      if (this.acceptedColumns != null) {
+      if (binary) {
+        writeBinary(ResultType.FD, functionalDependency);
+      } else if (this.acceptedColumns != null) {
         // write a customize string
         try {
           if (!getHeaderWritten(ResultType.FD)) {
@@ -120,8 +153,8 @@ public class ResultPrinter extends ResultReceiver {
         // the acceptableColumnNames are null, that means a database connection was used
         // we do not know which columns are in the result
         try {
-          JsonConverter<FunctionalDependency> jsonConverter = new JsonConverter<>();
-          getStream(ResultType.FD).println(jsonConverter.toJsonString(functionalDependency));
+          getStream(ResultType.FD)
+            .println(ResultJsonWriter.toJsonString(ResultType.FD, functionalDependency));
         } catch (JsonProcessingException e) {
           throw new CouldNotReceiveResultException("Could not convert the result to JSON!");
         }
@@ -151,8 +184,8 @@ public class ResultPrinter extends ResultReceiver {
         // the acceptableColumnNames are null, that means a database connection was used
         // we do not know which columns are in the result
         try {
-          JsonConverter<ConditionalInclusionDependency> jsonConverter = new JsonConverter<>();
-          getStream(ResultType.CID).println(jsonConverter.toJsonString(conditionalDependency));
+          getStream(ResultType.CID)
+            .println(ResultJsonWriter.toJsonString(ResultType.CID, conditionalDependency));
         } catch (JsonProcessingException e) {
           throw new CouldNotReceiveResultException("Could not convert the result to JSON!");
         }
@@ -182,8 +215,8 @@ public class ResultPrinter extends ResultReceiver {
         // the acceptableColumnNames are null, that means a database connection was used
         // we do not know which columns are in the result
         try {
-          JsonConverter<RelaxedInclusionDependency> jsonConverter = new JsonConverter<>();
-          getStream(ResultType.RIND).println(jsonConverter.toJsonString(relaxedDependency));
+          getStream(ResultType.RIND)
+            .println(ResultJsonWriter.toJsonString(ResultType.RIND, relaxedDependency));
         } catch (JsonProcessingException e) {
           throw new CouldNotReceiveResultException("Could not convert the result to JSON!");
         }
@@ -213,8 +246,8 @@ public class ResultPrinter extends ResultReceiver {
         // the acceptableColumnNames are null, that means a database connection was used
         // we do not know which columns are in the result
         try {
-          JsonConverter<MatchingDependency> jsonConverter = new JsonConverter<>();
-          getStream(ResultType.MD).println(jsonConverter.toJsonString(matchingDependency));
+          getStream(ResultType.MD)
+            .println(ResultJsonWriter.toJsonString(ResultType.MD, matchingDependency));
         } catch (JsonProcessingException e) {
           throw new CouldNotReceiveResultException("Could not convert the result to JSON!");
         }
@@ -244,8 +277,8 @@ public class ResultPrinter extends ResultReceiver {
         // the acceptableColumnNames are null, that means a database connection was used
         // we do not know which columns are in the result
         try {
-          JsonConverter<ConditionalFunctionalDependency> jsonConverter = new JsonConverter<>();
-          getStream(ResultType.CFD).println(jsonConverter.toJsonString(conditionalFunctionalDependency));
+          getStream(ResultType.CFD)
+            .println(ResultJsonWriter.toJsonString(ResultType.CFD, conditionalFunctionalDependency));
         } catch (JsonProcessingException e) {
           throw new CouldNotReceiveResultException("Could not convert the result to JSON!");
         }
@@ -275,8 +308,8 @@ public class ResultPrinter extends ResultReceiver {
         // the acceptableColumnNames are null, that means a database connection was used
         // we do not know which columns are in the result
         try {
-          JsonConverter<RelaxedFunctionalDependency> jsonConverter = new JsonConverter<>();
-          getStream(ResultType.RFD).println(jsonConverter.toJsonString(relaxedFunctionalDependency));
+          getStream(ResultType.RFD)
+            .println(ResultJsonWriter.toJsonString(ResultType.RFD, relaxedFunctionalDependency));
         } catch (JsonProcessingException e) {
           throw new CouldNotReceiveResultException("Could not convert the result to JSON!");
         }
@@ -306,8 +339,8 @@ public class ResultPrinter extends ResultReceiver {
         // the acceptableColumnNames are null, that means a database connection was used
         // we do not know which columns are in the result
         try {
-          JsonConverter<MultivaluedDependency> jsonConverter = new JsonConverter<>();
-          getStream(ResultType.MVD).println(jsonConverter.toJsonString(multivaluedDependency));
+          getStream(ResultType.MVD)
+            .println(ResultJsonWriter.toJsonString(ResultType.MVD, multivaluedDependency));
         } catch (JsonProcessingException e) {
           throw new CouldNotReceiveResultException("Could not convert the result to JSON!");
         }
@@ -321,7 +354,9 @@ public class ResultPrinter extends ResultReceiver {
   public void receiveResult(InclusionDependency inclusionDependency)
     throws CouldNotReceiveResultException, ColumnNameMismatchException {
     if (this.acceptedResult(inclusionDependency)) {
-      if (this.acceptedColumns != null) {
+      if (binary) {
+        writeBinary(ResultType.IND, inclusionDependency);
+      } else if (this.acceptedColumns != null) {
         // write a customize string
         try {
           if (!getHeaderWritten(ResultType.IND)) {
@@ -337,8 +372,8 @@ public class ResultPrinter extends ResultReceiver {
         // the acceptableColumnNames are null, that means a database connection was used
         // we do not know which columns are in the result
         try {
-          JsonConverter<InclusionDependency> jsonConverter = new JsonConverter<>();
-          getStream(ResultType.IND).println(jsonConverter.toJsonString(inclusionDependency));
+          getStream(ResultType.IND)
+            .println(ResultJsonWriter.toJsonString(ResultType.IND, inclusionDependency));
         } catch (JsonProcessingException e) {
           throw new CouldNotReceiveResultException("Could not convert the result to JSON!");
         }
@@ -352,7 +387,9 @@ public class ResultPrinter extends ResultReceiver {
   public void receiveResult(UniqueColumnCombination uniqueColumnCombination)
     throws CouldNotReceiveResultException, ColumnNameMismatchException {
     if (this.acceptedResult(uniqueColumnCombination)) {
-      if (this.acceptedColumns != null) {
+      if (binary) {
+        writeBinary(ResultType.UCC, uniqueColumnCombination);
+      } else if (this.acceptedColumns != null) {
         // write a customize string
         try {
           if (!getHeaderWritten(ResultType.UCC)) {
@@ -368,8 +405,8 @@ public class ResultPrinter extends ResultReceiver {
         // the acceptableColumnNames are null, that means a database connection was used
         // we do not know which columns are in the result
         try {
-          JsonConverter<UniqueColumnCombination> jsonConverter = new JsonConverter<>();
-          getStream(ResultType.UCC).println(jsonConverter.toJsonString(uniqueColumnCombination));
+          getStream(ResultType.UCC)
+            .println(ResultJsonWriter.toJsonString(ResultType.UCC, uniqueColumnCombination));
         } catch (JsonProcessingException e) {
           throw new CouldNotReceiveResultException("Could not convert the result to JSON!");
         }
@@ -384,9 +421,8 @@ public class ResultPrinter extends ResultReceiver {
     throws CouldNotReceiveResultException, ColumnNameMismatchException {
     if (this.acceptedResult(conditionalUniqueColumnCombination)) {
       try {
-        JsonConverter<ConditionalUniqueColumnCombination> jsonConverter = new JsonConverter<>();
         getStream(ResultType.CUCC)
-          .println(jsonConverter.toJsonString(conditionalUniqueColumnCombination));
+          .println(ResultJsonWriter.toJsonString(ResultType.CUCC, conditionalUniqueColumnCombination));
       } catch (JsonProcessingException e) {
         throw new CouldNotReceiveResultException("Could not convert the result to JSON!");
       }
@@ -400,9 +436,8 @@ public class ResultPrinter extends ResultReceiver {
           throws CouldNotReceiveResultException, ColumnNameMismatchException {
     if (this.acceptedResult(relaxedUniqueColumnCombination)) {
       try {
-        JsonConverter<RelaxedUniqueColumnCombination> jsonConverter = new JsonConverter<>();
         getStream(ResultType.RUCC)
-                .println(jsonConverter.toJsonString(relaxedUniqueColumnCombination));
+          .println(ResultJsonWriter.toJsonString(ResultType.RUCC, relaxedUniqueColumnCombination));
       } catch (JsonProcessingException e) {
         throw new CouldNotReceiveResultException("Could not convert the result to JSON!");
       }
@@ -431,8 +466,8 @@ public class ResultPrinter extends ResultReceiver {
         // the acceptableColumnNames are null, that means a database connection was used
         // we do not know which columns are in the result
         try {
-          JsonConverter<OrderDependency> jsonConverter = new JsonConverter<>();
-          getStream(ResultType.OD).println(jsonConverter.toJsonString(orderDependency));
+          getStream(ResultType.OD)
+            .println(ResultJsonWriter.toJsonString(ResultType.OD, orderDependency));
         } catch (JsonProcessingException e) {
           throw new CouldNotReceiveResultException("Could not convert the result to JSON!");
         }
@@ -447,8 +482,8 @@ public class ResultPrinter extends ResultReceiver {
     throws CouldNotReceiveResultException, ColumnNameMismatchException {
     if (this.acceptedResult(dc)) {
       try {
-        JsonConverter<DenialConstraint> jsonConverter = new JsonConverter<>();
-        getStream(ResultType.DC).println(jsonConverter.toJsonString(dc));
+        getStream(ResultType.DC)
+          .println(ResultJsonWriter.toJsonString(ResultType.DC, dc));
       } catch (JsonProcessingException e) {
         throw new CouldNotReceiveResultException("Could not convert the result to JSON!");
       }
@@ -466,12 +501,32 @@ public class ResultPrinter extends ResultReceiver {
 
   protected PrintStream openStream(String fileSuffix) throws CouldNotReceiveResultException {
     try {
-      return new PrintStream(new FileOutputStream(getOutputFilePathPrefix() + fileSuffix), true);
+      OutputStream file = new FileOutputStream(getOutputFilePathPrefix() + fileSuffix);
+      if (writeBehind) {
+        return new PrintStream(new WriteBehindOutputStream(file, BUFFER_SIZE), false);
+      }
+      return new PrintStream(new BufferedOutputStream(file, BUFFER_SIZE), false);
     } catch (FileNotFoundException e) {
       throw new CouldNotReceiveResultException("Could not open result file for writing", e);
     }
   }
 
+  protected void writeBinary(ResultType type, Result result) throws CouldNotReceiveResultException {
+    try {
+      if (!binaryWriters.containsKey(type)) {
+        OutputStream file = new FileOutputStream(getOutputFilePathPrefix() + type.getEnding());
+        // the accepted columns are validated before, so the writer does not add columns to the
+        // registry of the printer
+        ColumnRegistry dictionary =
+          this.acceptedColumns != null ? this.columnRegistry : new ColumnRegistry();
+        binaryWriters.put(type, new BinaryResultWriter(file, type, dictionary));
+      }
+      binaryWriters.get(type).write(result);
+    } catch (IOException e) {
+      throw new CouldNotReceiveResultException("Could not write the binary result!", e);
+    }
+  }
+
   protected Boolean getHeaderWritten(ResultType type) throws CouldNotReceiveResultException {
     if (!this.headerWritten.containsKey(type)) {
       this.headerWritten.put(type, false);
@@ -497,11 +552,26 @@ public class ResultPrinter extends ResultReceiver {
     this.headerWritten.put(resultType, true);
   }
 
+  /**
+   * Writes all buffered results to their files.
+   */
+  public void flush() throws IOException {
+    for (PrintStream stream : openStreams.values()) {
+      stream.flush();
+    }
+    for (BinaryResultWriter writer : binaryWriters.values()) {
+      writer.flush();
+    }
+  }
+
   @Override
   public void close() throws IOException {
     for (PrintStream stream : openStreams.values()) {
       stream.close();
     }
+    for (BinaryResultWriter writer : binaryWriters.values()) {
+      writer.close();
+    }
   }
 
   /**
@@ -514,7 +584,11 @@ public class ResultPrinter extends ResultReceiver {
     throws IOException, NullPointerException, IndexOutOfBoundsException {
     List<Result> results = new ArrayList<>();
 
-    for (ResultType type : openStreams.keySet()) {
+    flush();
+    Set<ResultType> types = EnumSet.noneOf(ResultType.class);
+    types.addAll(openStreams.keySet());
+    types.addAll(binaryWriters.keySet());
+    for (ResultType type : types) {
       if (existsFile(type.getEnding())) {
         String fileName = getOutputFilePathPrefix() + type.getEnding();
         results.addAll(ResultReader.readResultsFromFile(fileName, type.getName()));
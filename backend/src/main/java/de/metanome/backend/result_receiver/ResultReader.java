@@ -48,6 +48,9 @@ public class ResultReader<T extends Result> {
     if (!resultFile.exists()) {
       resultFile.createNewFile();
     }
+    if (BinaryResultReader.isBinaryResultFile(resultFile)) {
+      return BinaryResultReader.readResultsFromFile(fileName);
+    }
 
       try (BufferedReader br = new BufferedReader(new FileReader(resultFile))) {
           String line;
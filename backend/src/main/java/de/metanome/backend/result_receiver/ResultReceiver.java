@@ -19,10 +19,13 @@ import de.metanome.algorithm_integration.ColumnIdentifier;
 import de.metanome.algorithm_integration.MatchingIdentifier;
 import de.metanome.algorithm_integration.Predicate;
 import de.metanome.algorithm_integration.results.*;
+import de.metanome.algorithm_helper.data_structures.ColumnCombinationBitset;
 import de.metanome.backend.constants.Constants;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 public abstract class ResultReceiver implements CloseableOmniscientResultReceiver {
@@ -35,6 +38,9 @@ public abstract class ResultReceiver implements CloseableOmniscientResultReceive
   protected String directory;
   protected Boolean testDirectory;
   protected List<ColumnIdentifier> acceptedColumns;
+  protected ColumnRegistry columnRegistry;
+  // The indices of the accepted columns in the column registry
+  protected ColumnCombinationBitset acceptedColumnsBitset;
 
   public ResultReceiver(String algorithmExecutionIdentifier, List<ColumnIdentifier> acceptedColumns)
     throws FileNotFoundException {
@@ -43,8 +49,27 @@ public abstract class ResultReceiver implements CloseableOmniscientResultReceive
 
   protected ResultReceiver(String algorithmExecutionIdentifier, List<ColumnIdentifier> acceptedColumns, Boolean testDirectory)
     throws FileNotFoundException {
+    this(algorithmExecutionIdentifier, acceptedColumns, testDirectory, null);
+  }
+
+  /**
+   * @param algorithmExecutionIdentifier the algorithm execution identifier
+   * @param acceptedColumns              a list of accepted column identifiers or null to accept all columns
+   * @param testDirectory                if true, a test directory is used to store the results on disk
+   * @param columnRegistry               a registry containing the accepted columns, which is shared with
+   *                                     another receiver, or null to create a new registry
+   * @throws FileNotFoundException if the directory, where all results are stored on disk in a file, could not be found
+   */
+  protected ResultReceiver(String algorithmExecutionIdentifier, List<ColumnIdentifier> acceptedColumns,
+                           Boolean testDirectory, ColumnRegistry columnRegistry)
+    throws FileNotFoundException {
     this.testDirectory = testDirectory;
     this.acceptedColumns = acceptedColumns;
+    if (acceptedColumns != null) {
+      this.columnRegistry =
+        columnRegistry != null ? columnRegistry : new ColumnRegistry(acceptedColumns);
+      this.acceptedColumnsBitset = this.columnRegistry.toColumnCombinationBitset(acceptedColumns);
+    }
 
     if (testDirectory) {
       this.directory = RESULT_TEST_DIR;
@@ -84,15 +109,9 @@ public abstract class ResultReceiver implements CloseableOmniscientResultReceive
     if (this.acceptedColumns == null) {
       return true;
     }
-    if (!this.columnAccepted(result.getDependant())) {
-      return false;
-    }
-    for (ColumnIdentifier ci : result.getDeterminant().getColumnIdentifiers()) {
-      if (! this.columnAccepted(ci)) {
-        return false;
-      }
-    }
-    return true;
+    List<ColumnIdentifier> columns = new ArrayList<>(result.getDeterminant().getColumnIdentifiers());
+    columns.add(result.getDependant());
+    return this.columnsAccepted(columns);
   }
   
   /**
@@ -105,11 +124,9 @@ public abstract class ResultReceiver implements CloseableOmniscientResultReceive
     if (this.acceptedColumns == null) {
       return true;
     }
-    if (!result.getDependant().getColumnIdentifiers().stream().allMatch((ci) -> (this.columnAccepted(ci)))) {
-      return false;
-    }
-    
-    return result.getReferenced().getColumnIdentifiers().stream().allMatch((ci) -> (this.columnAccepted(ci)));
+    List<ColumnIdentifier> columns = new ArrayList<>(result.getDependant().getColumnIdentifiers());
+    columns.addAll(result.getReferenced().getColumnIdentifiers());
+    return this.columnsAccepted(columns);
   }
 
   /**
@@ -122,21 +139,14 @@ public abstract class ResultReceiver implements CloseableOmniscientResultReceive
     if (this.acceptedColumns == null) {
       return true;
     }
-    if (!this.columnAccepted(result.getDependant().getLeft())) {
-      return false;
-    }
-    if (!this.columnAccepted(result.getDependant().getRight())) {
-      return false;
-    }
+    List<ColumnIdentifier> columns = new ArrayList<>();
+    columns.add(result.getDependant().getLeft());
+    columns.add(result.getDependant().getRight());
     for (MatchingIdentifier mi : result.getDeterminant().getMatchingIdentifiers()) {
-      if (! this.columnAccepted(mi.getLeft())) {
-        return false;
-      }
-      if (! this.columnAccepted(mi.getRight())) {
-        return false;
-      }
+      columns.add(mi.getLeft());
+      columns.add(mi.getRight());
     }
-    return true;
+    return this.columnsAccepted(columns);
   }
 
   /**
@@ -149,15 +159,9 @@ public abstract class ResultReceiver implements CloseableOmniscientResultReceive
     if (this.acceptedColumns == null) {
       return true;
     }
-    if (!this.columnAccepted(result.getDependant())) {
-      return false;
-    }
-    for (ColumnIdentifier ci : result.getDeterminant().getColumnIdentifiers()) {
-      if (! this.columnAccepted(ci)) {
-        return false;
-      }
-    }
-    return true;
+    List<ColumnIdentifier> columns = new ArrayList<>(result.getDeterminant().getColumnIdentifiers());
+    columns.add(result.getDependant());
+    return this.columnsAccepted(columns);
   }
 
   /**
@@ -170,15 +174,9 @@ public abstract class ResultReceiver implements CloseableOmniscientResultReceive
     if (this.acceptedColumns == null) {
       return true;
     }
-    if (!this.columnAccepted(result.getDependant())) {
-      return false;
-    }
-    for (ColumnIdentifier ci : result.getDeterminant().getColumnIdentifiers()) {
-      if (! this.columnAccepted(ci)) {
-        return false;
-      }
-    }
-    return true;
+    List<ColumnIdentifier> columns = new ArrayList<>(result.getDeterminant().getColumnIdentifiers());
+    columns.add(result.getDependant());
+    return this.columnsAccepted(columns);
   }
 
   /**
@@ -191,11 +189,9 @@ public abstract class ResultReceiver implements CloseableOmniscientResultReceive
     if (this.acceptedColumns == null) {
       return true;
     }
-    if (!result.getDependant().getColumnIdentifiers().stream().allMatch((ci) -> (this.columnAccepted(ci)))) {
-      return false;
-    }
-
-    return result.getReferenced().getColumnIdentifiers().stream().allMatch((ci) -> (this.columnAccepted(ci)));
+    List<ColumnIdentifier> columns = new ArrayList<>(result.getDependant().getColumnIdentifiers());
+    columns.addAll(result.getReferenced().getColumnIdentifiers());
+    return this.columnsAccepted(columns);
   }
 
   /**
@@ -208,12 +204,7 @@ public abstract class ResultReceiver implements CloseableOmniscientResultReceive
     if (this.acceptedColumns == null) {
       return true;
     }
-    for (ColumnIdentifier ci : result.getColumnCombination().getColumnIdentifiers()) {
-      if (! this.columnAccepted(ci)) {
-        return false;
-      }
-    }
-    return true;
+    return this.columnsAccepted(result.getColumnCombination().getColumnIdentifiers());
   }
 
   /**
@@ -226,17 +217,9 @@ public abstract class ResultReceiver implements CloseableOmniscientResultReceive
     if (this.acceptedColumns == null) {
       return true;
     }
-    for (ColumnIdentifier ci : result.getDependant().getColumnIdentifiers()) {
-      if (! this.columnAccepted(ci)) {
-        return false;
-      }
-	}
-    for (ColumnIdentifier ci : result.getDeterminant().getColumnIdentifiers()) {
-      if (! this.columnAccepted(ci)) {
-        return false;
-      }
-    }
-    return true;
+    List<ColumnIdentifier> columns = new ArrayList<>(result.getDependant().getColumnIdentifiers());
+    columns.addAll(result.getDeterminant().getColumnIdentifiers());
+    return this.columnsAccepted(columns);
   }
 
   /**
@@ -249,12 +232,7 @@ public abstract class ResultReceiver implements CloseableOmniscientResultReceive
     if (this.acceptedColumns == null) {
       return true;
     }
-    for (ColumnIdentifier ci : result.getColumnCombination().getColumnIdentifiers()) {
-      if (! this.columnAccepted(ci)) {
-        return false;
-      }
-    }
-    return true;
+    return this.columnsAccepted(result.getColumnCombination().getColumnIdentifiers());
   }
 
   /**
@@ -267,17 +245,9 @@ public abstract class ResultReceiver implements CloseableOmniscientResultReceive
     if (this.acceptedColumns == null) {
       return true;
     }
-    for (ColumnIdentifier ci : result.getDependant().getColumnIdentifiers()) {
-      if (! this.columnAccepted(ci)) {
-        return false;
-      }
-    }
-    for (ColumnIdentifier ci : result.getReferenced().getColumnIdentifiers()) {
-      if (! this.columnAccepted(ci)) {
-        return false;
-      }
-    }
-    return true;
+    List<ColumnIdentifier> columns = new ArrayList<>(result.getDependant().getColumnIdentifiers());
+    columns.addAll(result.getReferenced().getColumnIdentifiers());
+    return this.columnsAccepted(columns);
   }
 
   /**
@@ -290,17 +260,9 @@ public abstract class ResultReceiver implements CloseableOmniscientResultReceive
     if (this.acceptedColumns == null) {
       return true;
     }
-    for (ColumnIdentifier ci : result.getLhs().getColumnIdentifiers()) {
-      if (! this.columnAccepted(ci)) {
-        return false;
-      }
-    }
-    for (ColumnIdentifier ci : result.getRhs().getColumnIdentifiers()) {
-      if (! this.columnAccepted(ci)) {
-        return false;
-      }
-    }
-    return true;
+    List<ColumnIdentifier> columns = new ArrayList<>(result.getLhs().getColumnIdentifiers());
+    columns.addAll(result.getRhs().getColumnIdentifiers());
+    return this.columnsAccepted(columns);
   }
 
   /**
@@ -313,12 +275,7 @@ public abstract class ResultReceiver implements CloseableOmniscientResultReceive
     if (this.acceptedColumns == null) {
       return true;
     }
-    for (ColumnIdentifier ci : result.getColumnCombination().getColumnIdentifiers()) {
-      if (! this.columnAccepted(ci)) {
-        return false;
-      }
-    }
-    return true;
+    return this.columnsAccepted(result.getColumnCombination().getColumnIdentifiers());
   }
 
   /**
@@ -331,12 +288,7 @@ public abstract class ResultReceiver implements CloseableOmniscientResultReceive
     if (this.acceptedColumns == null) {
       return true;
     }
-    for (ColumnIdentifier ci : result.getColumnCombination().getColumnIdentifiers()) {
-      if (! this.columnAccepted(ci)) {
-        return false;
-      }
-    }
-    return true;
+    return this.columnsAccepted(result.getColumnCombination().getColumnIdentifiers());
   }
   
   /**
@@ -349,23 +301,22 @@ public abstract class ResultReceiver implements CloseableOmniscientResultReceive
     if (this.acceptedColumns == null) {
       return true;
     }
+    List<ColumnIdentifier> columns = new ArrayList<>();
     for (Predicate p : result.getPredicates()) {
-      for(ColumnIdentifier ci : p.getColumnIdentifiers()) {
-        if (! this.columnAccepted(ci)) {
-          return false;
-        }
-      }
+      columns.addAll(p.getColumnIdentifiers());
     }
-    return true;
+    return this.columnsAccepted(columns);
   }
 
   /**
-   * Checks if the given column is accepted, i.e., if the table and column name is the same
-   * as in the input.
-   * @param ci the column identifier
-   * @return true, if the name is accepted, false otherwise
+   * Checks if the given columns are accepted, i.e., if their table and column names are the same
+   * as in the input. The columns are converted into their registry indices once and compared to
+   * the accepted columns with a single subset check.
+   * @param columns the column identifiers
+   * @return true, if all names are accepted, false otherwise
    */
-  private Boolean columnAccepted(ColumnIdentifier ci) {
-    return this.acceptedColumns.contains(ci);
+  protected boolean columnsAccepted(Collection<ColumnIdentifier> columns) {
+    ColumnCombinationBitset indices = this.columnRegistry.toColumnCombinationBitset(columns);
+    return indices != null && indices.isSubsetOf(this.acceptedColumnsBitset);
   }
 }
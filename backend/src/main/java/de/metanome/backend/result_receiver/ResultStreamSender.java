@@ -0,0 +1,259 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.result_receiver;
+
+import de.metanome.algorithm_integration.ColumnIdentifier;
+import de.metanome.algorithm_integration.result_receiver.ColumnNameMismatchException;
+import de.metanome.algorithm_integration.result_receiver.CouldNotReceiveResultException;
+import de.metanome.algorithm_integration.results.*;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends all received results in batches over a local socket to a {@link ResultStreamServer} in the
+ * backend, which counts and persists them. The sender is used by the process executing the
+ * algorithm, if the backend passes the port of its server in {@link #PORT_PROPERTY} and its token
+ * in the environment variable {@link #TOKEN_ENVIRONMENT}.
+ * <p>
+ * The stream starts with the token and the accepted columns, followed by lists of at most
+ * {@link #BATCH_SIZE} results. The stream ends when the sender is closed.
+ */
+public class ResultStreamSender extends ResultReceiver {
+
+  /**
+   * System property holding the port of the {@link ResultStreamServer} of the backend.
+   */
+  public static final String PORT_PROPERTY = "metanome.results.port";
+  /**
+   * Environment variable holding the token of the {@link ResultStreamServer}. Unlike system
+   * properties, the environment of a process is not visible to other users.
+   */
+  public static final String TOKEN_ENVIRONMENT = "METANOME_RESULTS_TOKEN";
+  public static final int BATCH_SIZE = 1024;
+
+  protected Socket socket;
+  protected ObjectOutputStream out;
+  protected List<Result> batch = new ArrayList<>(BATCH_SIZE);
+
+  /**
+   * Connects to the result stream server of the backend. The given accepted columns are sent to the
+   * server and used to check the results on both sides. Set them to 'null' to skip the checks.
+   *
+   * @param algorithmExecutionIdentifier the algorithm execution identifier
+   * @param acceptedColumns              a list of accepted column identifiers
+   * @param port                         the local port of the result stream server
+   * @param token                        the token of the result stream server
+   * @throws IOException if the connection to the server could not be established
+   */
+  public ResultStreamSender(String algorithmExecutionIdentifier,
+                            List<ColumnIdentifier> acceptedColumns, int port, String token)
+    throws IOException {
+    super(algorithmExecutionIdentifier, acceptedColumns);
+    if (token == null) {
+      throw new IOException("The token of the result stream is missing!");
+    }
+    this.socket = new Socket(InetAddress.getLoopbackAddress(), port);
+    DataOutputStream authentication = new DataOutputStream(socket.getOutputStream());
+    authentication.writeUTF(token);
+    authentication.flush();
+    this.out = new ObjectOutputStream(
+      new BufferedOutputStream(socket.getOutputStream(), ResultPrinter.BUFFER_SIZE));
+    this.out.writeObject(acceptedColumns == null ? null : new ArrayList<>(acceptedColumns));
+    this.out.flush();
+  }
+
+  @Override
+  public void receiveResult(BasicStatistic statistic)
+    throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    if (this.acceptedResult(statistic)) {
+      send(statistic);
+    } else {
+      throw new ColumnNameMismatchException("The column name of the result does not match with the column names in the input!");
+    }
+  }
+
+  @Override
+  public void receiveResult(FunctionalDependency functionalDependency)
+    throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    if (this.acceptedResult(functionalDependency)) {
+      send(functionalDependency);
+    } else {
+      throw new ColumnNameMismatchException("The column name of the result does not match with the column names in the input!");
+    }
+  }
+
+  @Override
+  public void receiveResult(MatchingDependency matchingDependency)
+    throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    if (this.acceptedResult(matchingDependency)) {
+      send(matchingDependency);
+    } else {
+      throw new ColumnNameMismatchException("The column name of the result does not match with the column names in the input!");
+    }
+  }
+
+  @Override
+  public void receiveResult(ConditionalFunctionalDependency conditionalFunctionalDependency)
+    throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    if (this.acceptedResult(conditionalFunctionalDependency)) {
+      send(conditionalFunctionalDependency);
+    } else {
+      throw new ColumnNameMismatchException("The column name of the result does not match with the column names in the input!");
+    }
+  }
+
+  @Override
+  public void receiveResult(MultivaluedDependency multivaluedDependency)
+    throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    if (this.acceptedResult(multivaluedDependency)) {
+      send(multivaluedDependency);
+    } else {
+      throw new ColumnNameMismatchException("The column name of the result does not match with the column names in the input!");
+    }
+  }
+
+  @Override
+  public void receiveResult(InclusionDependency inclusionDependency)
+    throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    if (this.acceptedResult(inclusionDependency)) {
+      send(inclusionDependency);
+    } else {
+      throw new ColumnNameMismatchException("The column name of the result does not match with the column names in the input!");
+    }
+  }
+
+  @Override
+  public void receiveResult(UniqueColumnCombination uniqueColumnCombination)
+    throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    if (this.acceptedResult(uniqueColumnCombination)) {
+      send(uniqueColumnCombination);
+    } else {
+      throw new ColumnNameMismatchException("The column name of the result does not match with the column names in the input!");
+    }
+  }
+
+  @Override
+  public void receiveResult(ConditionalUniqueColumnCombination conditionalUniqueColumnCombination)
+    throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    if (this.acceptedResult(conditionalUniqueColumnCombination)) {
+      send(conditionalUniqueColumnCombination);
+    } else {
+      throw new ColumnNameMismatchException("The column name of the result does not match with the column names in the input!");
+    }
+  }
+
+  @Override
+  public void receiveResult(OrderDependency orderDependency)
+    throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    if (this.acceptedResult(orderDependency)) {
+      send(orderDependency);
+    } else {
+      throw new ColumnNameMismatchException("The column name of the result does not match with the column names in the input!");
+    }
+  }
+
+  @Override
+  public void receiveResult(DenialConstraint denialConstraint)
+    throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    if (this.acceptedResult(denialConstraint)) {
+      send(denialConstraint);
+    } else {
+      throw new ColumnNameMismatchException("The column name of the result does not match with the column names in the input!");
+    }
+  }
+
+  @Override
+  public void receiveResult(ConditionalInclusionDependency conditionalDependency)
+    throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    if (this.acceptedResult(conditionalDependency)) {
+      send(conditionalDependency);
+    } else {
+      throw new ColumnNameMismatchException("The column name of the result does not match with the column names in the input!");
+    }
+  }
+
+  @Override
+  public void receiveResult(RelaxedFunctionalDependency relaxedFunctionalDependency)
+    throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    if (this.acceptedResult(relaxedFunctionalDependency)) {
+      send(relaxedFunctionalDependency);
+    } else {
+      throw new ColumnNameMismatchException("The column name of the result does not match with the column names in the input!");
+    }
+  }
+
+  @Override
+  public void receiveResult(RelaxedInclusionDependency relaxedDependency)
+    throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    if (this.acceptedResult(relaxedDependency)) {
+      send(relaxedDependency);
+    } else {
+      throw new ColumnNameMismatchException("The column name of the result does not match with the column names in the input!");
+    }
+  }
+
+  @Override
+  public void receiveResult(RelaxedUniqueColumnCombination relaxedUniqueColumnCombination)
+    throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    if (this.acceptedResult(relaxedUniqueColumnCombination)) {
+      send(relaxedUniqueColumnCombination);
+    } else {
+      throw new ColumnNameMismatchException("The column name of the result does not match with the column names in the input!");
+    }
+  }
+
+  protected void send(Result result) throws CouldNotReceiveResultException {
+    batch.add(result);
+    if (batch.size() >= BATCH_SIZE) {
+      try {
+        sendBatch();
+      } catch (IOException e) {
+        throw new CouldNotReceiveResultException("Could not send the results to the backend!", e);
+      }
+    }
+  }
+
+  /**
+   * Sends the collected results, so that the backend sees them while the algorithm is running.
+   */
+  protected void sendBatch() throws IOException {
+    if (batch.isEmpty()) {
+      return;
+    }
+    out.writeObject(batch);
+    // the results are not sent again, so the stream does not need to remember them
+    out.reset();
+    out.flush();
+    batch = new ArrayList<>(BATCH_SIZE);
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      sendBatch();
+      out.close();
+    } finally {
+      socket.close();
+    }
+  }
+}
@@ -0,0 +1,279 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.result_receiver;
+
+import de.metanome.algorithm_integration.ColumnIdentifier;
+import de.metanome.algorithm_integration.result_receiver.ColumnNameMismatchException;
+import de.metanome.algorithm_integration.result_receiver.CouldNotReceiveResultException;
+import de.metanome.algorithm_integration.results.Result;
+import de.metanome.backend.results_db.ResultType;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Receives the results of an algorithm execution from the {@link ResultStreamSender} of the
+ * executing process. The results are counted while they arrive, written once to the result files
+ * by a {@link ResultPrinter} and kept in memory up to the budget of {@link
+ * ResultCache#MAX_BYTES_PROPERTY}, so that the result post processing does not need to read the
+ * files again. Beyond the budget the received results are dropped and the post processing reads
+ * the result files instead.
+ * <p>
+ * The server listens on a free local port and accepts the first connection, that presents the
+ * random token of the server, see {@link #getToken()}. Only the classes of results are
+ * deserialized. Running servers can be looked up by their execution identifier to report the live
+ * result counts.
+ */
+public class ResultStreamServer implements Closeable {
+
+  // Time to wait for the connection of a process, that has already terminated
+  protected static final long CONNECTION_GRACE_MILLIS = 1000;
+  // Time a connecting process has to present the token
+  protected static final int AUTHENTICATION_TIMEOUT_MILLIS = 10000;
+  protected static final int TOKEN_BYTES = 32;
+  // The stream only contains the accepted columns and lists of results
+  protected static final ObjectInputFilter RESULT_FILTER = ObjectInputFilter.Config.createFilter(
+    "maxdepth=64;de.metanome.algorithm_integration.**;java.lang.*;java.util.*;java.math.*;!*");
+
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  private static final Map<String, ResultStreamServer> RUNNING = new ConcurrentHashMap<>();
+  private static final Map<Class<?>, ResultType> RESULT_TYPES = new HashMap<>();
+
+  static {
+    for (ResultType type : ResultType.values()) {
+      RESULT_TYPES.put(type.getResultClass(), type);
+    }
+  }
+
+  protected String executionIdentifier;
+  protected String token;
+  protected ServerSocket serverSocket;
+  protected Thread receiver;
+  protected volatile boolean connected = false;
+  protected volatile Exception failure;
+  protected Map<ResultType, AtomicLong> counts = new ConcurrentHashMap<>();
+  // Only accessed by the receiver thread until it terminated, null once the budget is exceeded
+  protected Map<String, List<Result>> results = new HashMap<>();
+  protected long maxBytes = Long.getLong(ResultCache.MAX_BYTES_PROPERTY,
+    (long) (Runtime.getRuntime().maxMemory() * ResultCache.DEFAULT_MEMORY_FRACTION));
+  protected long usedBytes = 0;
+  protected ResultPrinter printer;
+
+  /**
+   * Opens the server socket on a free local port.
+   *
+   * @param executionIdentifier the identifier of the execution, it prefixes the result files
+   * @throws IOException if the server socket could not be opened
+   */
+  public ResultStreamServer(String executionIdentifier) throws IOException {
+    this.executionIdentifier = executionIdentifier;
+    byte[] tokenBytes = new byte[TOKEN_BYTES];
+    RANDOM.nextBytes(tokenBytes);
+    this.token = Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
+    this.serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+  }
+
+  /**
+   * @param executionIdentifier the execution identifier
+   * @return the running server of the execution or null
+   */
+  public static ResultStreamServer get(String executionIdentifier) {
+    return RUNNING.get(executionIdentifier);
+  }
+
+  /**
+   * @return the port the sender has to connect to
+   */
+  public int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  /**
+   * @return the token the sender has to present, it must only be passed to the executing process
+   */
+  public String getToken() {
+    return token;
+  }
+
+  /**
+   * @param maxBytes the memory budget of the received results in bytes
+   * @return the server
+   */
+  public ResultStreamServer setMaxBytes(long maxBytes) {
+    this.maxBytes = maxBytes;
+    return this;
+  }
+
+  /**
+   * Starts receiving results on a background thread.
+   *
+   * @return the server
+   */
+  public ResultStreamServer start() {
+    RUNNING.put(executionIdentifier, this);
+    receiver = new Thread(this::receive, "metanome-result-stream-" + executionIdentifier);
+    receiver.setDaemon(true);
+    receiver.start();
+    return this;
+  }
+
+  /**
+   * @return the number of results received so far by result type name
+   */
+  public Map<String, Long> getCounts() {
+    Map<String, Long> namedCounts = new TreeMap<>();
+    for (Map.Entry<ResultType, AtomicLong> count : counts.entrySet()) {
+      namedCounts.put(count.getKey().getName(), count.getValue().get());
+    }
+    return namedCounts;
+  }
+
+  /**
+   * Waits until the sender closed the stream and all results are written. Has to be called after
+   * the executing process terminated, because a process that never connects is not waited for.
+   *
+   * @return the received results by the name of their result file, empty if the results exceeded
+   *         the memory budget
+   * @throws IOException          if the results could not be received or written
+   * @throws InterruptedException if the thread was interrupted while waiting
+   */
+  public Map<String, List<Result>> awaitResults() throws IOException, InterruptedException {
+    if (!connected) {
+      receiver.join(CONNECTION_GRACE_MILLIS);
+    }
+    // stops waiting for a connection, an accepted connection is not affected
+    serverSocket.close();
+    receiver.join();
+    if (failure != null) {
+      throw new IOException("Could not receive the results of " + executionIdentifier, failure);
+    }
+    return results != null ? results : new HashMap<>();
+  }
+
+  protected void receive() {
+    try (Socket socket = accept();
+         ObjectInputStream in = new ObjectInputStream(
+           new BufferedInputStream(socket.getInputStream(), ResultPrinter.BUFFER_SIZE))) {
+      in.setObjectInputFilter(RESULT_FILTER);
+      @SuppressWarnings("unchecked")
+      List<ColumnIdentifier> acceptedColumns = (List<ColumnIdentifier>) in.readObject();
+      printer = new ResultPrinter(executionIdentifier, acceptedColumns);
+
+      while (true) {
+        List<?> batch;
+        try {
+          batch = (List<?>) in.readObject();
+        } catch (EOFException e) {
+          break;
+        }
+        for (Object object : batch) {
+          receiveResult((Result) object);
+        }
+      }
+    } catch (SocketException e) {
+      // the server socket was closed before a process connected
+      if (connected) {
+        failure = e;
+      }
+    } catch (Exception e) {
+      failure = e;
+    } finally {
+      closePrinter();
+    }
+  }
+
+  /**
+   * Accepts connections until a process presents the token of the server. Other connections are
+   * closed before any object is read from them.
+   *
+   * @return the connection of the sender
+   * @throws IOException if the server socket was closed
+   */
+  protected Socket accept() throws IOException {
+    byte[] expected = token.getBytes(StandardCharsets.UTF_8);
+    while (true) {
+      Socket socket = serverSocket.accept();
+      try {
+        socket.setSoTimeout(AUTHENTICATION_TIMEOUT_MILLIS);
+        // not buffered, so that no bytes of the object stream are consumed
+        String received = new DataInputStream(socket.getInputStream()).readUTF();
+        if (MessageDigest.isEqual(expected, received.getBytes(StandardCharsets.UTF_8))) {
+          socket.setSoTimeout(0);
+          connected = true;
+          return socket;
+        }
+      } catch (IOException e) {
+        // not a sender of this execution
+      }
+      socket.close();
+    }
+  }
+
+  protected void receiveResult(Result result)
+    throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    ResultType type = RESULT_TYPES.get(result.getClass());
+    if (type == null) {
+      throw new CouldNotReceiveResultException("Unknown result " + result.getClass().getName());
+    }
+    result.sendResultTo(printer);
+    if (results != null) {
+      usedBytes += ResultCache.estimateSize(result);
+      if (usedBytes > maxBytes) {
+        // the printer has written all results, the post processing reads them from the files
+        results = null;
+      } else {
+        results.computeIfAbsent(printer.getOutputFilePathPrefix() + type.getEnding(),
+          fileName -> new ArrayList<>()).add(result);
+      }
+    }
+    counts.computeIfAbsent(type, key -> new AtomicLong()).incrementAndGet();
+  }
+
+  protected void closePrinter() {
+    if (printer == null) {
+      return;
+    }
+    try {
+      printer.close();
+    } catch (IOException e) {
+      if (failure == null) {
+        failure = e;
+      }
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    RUNNING.remove(executionIdentifier);
+    serverSocket.close();
+  }
+}
@@ -0,0 +1,167 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.result_receiver;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects written bytes in chunks and writes full chunks to the underlying stream on a background
+ * thread, so that the writing thread does not wait for the disk. At most {@link #MAX_PENDING_CHUNKS}
+ * chunks wait for the background thread, further writes block until a chunk was written. Write
+ * errors of the background thread are thrown by the next write, flush or close.
+ */
+public class WriteBehindOutputStream extends OutputStream {
+
+  public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+  protected static final int MAX_PENDING_CHUNKS = 4;
+
+  protected OutputStream out;
+  protected byte[] chunk;
+  protected int position = 0;
+  protected Semaphore pendingChunks = new Semaphore(MAX_PENDING_CHUNKS);
+  protected ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "metanome-result-writer");
+    thread.setDaemon(true);
+    return thread;
+  });
+  protected volatile IOException failure;
+  protected boolean closed = false;
+
+  /**
+   * @param out the stream the chunks are written to, it is closed with this stream
+   */
+  public WriteBehindOutputStream(OutputStream out) {
+    this(out, DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * @param out       the stream the chunks are written to, it is closed with this stream
+   * @param chunkSize the size of the chunks in bytes
+   */
+  public WriteBehindOutputStream(OutputStream out, int chunkSize) {
+    this.out = out;
+    this.chunk = new byte[chunkSize];
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    if (position == chunk.length) {
+      handOver();
+    }
+    chunk[position++] = (byte) b;
+  }
+
+  @Override
+  public void write(byte[] bytes, int offset, int length) throws IOException {
+    while (length > 0) {
+      if (position == chunk.length) {
+        handOver();
+      }
+      int copied = Math.min(length, chunk.length - position);
+      System.arraycopy(bytes, offset, chunk, position, copied);
+      position += copied;
+      offset += copied;
+      length -= copied;
+    }
+  }
+
+  /**
+   * Passes the collected bytes to the background thread.
+   */
+  protected void handOver() throws IOException {
+    checkFailure();
+    if (position == 0) {
+      return;
+    }
+    final byte[] data = position == chunk.length ? chunk : Arrays.copyOf(chunk, position);
+    try {
+      pendingChunks.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for the result writer", e);
+    }
+    writer.execute(() -> {
+      try {
+        if (failure == null) {
+          out.write(data);
+        }
+      } catch (IOException e) {
+        failure = e;
+      } finally {
+        pendingChunks.release();
+      }
+    });
+    if (data == chunk) {
+      chunk = new byte[chunk.length];
+    }
+    position = 0;
+  }
+
+  /**
+   * Waits until all bytes written so far have been written and flushed by the background thread.
+   */
+  @Override
+  public void flush() throws IOException {
+    if (closed) {
+      return;
+    }
+    handOver();
+    try {
+      writer.submit(() -> {
+        out.flush();
+        return null;
+      }).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for the result writer", e);
+    } catch (ExecutionException e) {
+      throw new IOException("Could not flush the results", e.getCause());
+    }
+    checkFailure();
+  }
+
+  protected void checkFailure() throws IOException {
+    if (failure != null) {
+      throw new IOException("Could not write the results", failure);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    try {
+      flush();
+    } finally {
+      closed = true;
+      writer.shutdown();
+      try {
+        writer.awaitTermination(1, TimeUnit.MINUTES);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      out.close();
+    }
+  }
+}
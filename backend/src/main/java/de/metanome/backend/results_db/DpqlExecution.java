@@ -31,6 +31,7 @@ public class DpqlExecution implements Serializable {
   private Long engineId;
   private String engineFileName;
   private boolean normalizedOnly;
+  private String flightRecording; // path of the JFR recording, if the run was recorded
 
   private List<DpqlNormalizedTable> normalizedTables = new ArrayList<>();
 
@@ -105,6 +106,14 @@ public class DpqlExecution implements Serializable {
     this.normalizedTables = normalizedTables;
   }
 
+  public String getFlightRecording() {
+    return flightRecording;
+  }
+
+  public void setFlightRecording(String flightRecording) {
+    this.flightRecording = flightRecording;
+  }
+
   public void addNormalizedTable(DpqlNormalizedTable table) {
     if (table == null) {
       return;
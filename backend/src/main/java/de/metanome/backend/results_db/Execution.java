@@ -34,6 +34,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
+import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -67,6 +68,8 @@ public class Execution implements Serializable, Comparable<Execution> {
   protected ExecutionSetting executionSetting;
   protected boolean aborted;
   protected boolean running;
+  protected String runtimeProfile;
+  protected String flightRecording;
 
   /**
    * Exists for hibernate serialization
@@ -243,6 +246,33 @@ public class Execution implements Serializable, Comparable<Execution> {
     return this;
   }
 
+  /**
+   * @return the {@link de.metanome.backend.algorithm_execution.RuntimeProfile} of the execution as
+   *         JSON or null, if the execution was not profiled
+   */
+  @Lob
+  @Column(columnDefinition = "LONGVARCHAR")
+  public String getRuntimeProfile() {
+    return runtimeProfile;
+  }
+
+  public Execution setRuntimeProfile(String runtimeProfile) {
+    this.runtimeProfile = runtimeProfile;
+    return this;
+  }
+
+  /**
+   * @return the path of the JDK Flight Recorder recording of the execution or null
+   */
+  public String getFlightRecording() {
+    return flightRecording;
+  }
+
+  public Execution setFlightRecording(String flightRecording) {
+    this.flightRecording = flightRecording;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
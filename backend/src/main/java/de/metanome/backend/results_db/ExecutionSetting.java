@@ -37,6 +37,9 @@ public class ExecutionSetting implements Serializable {
   private Boolean cacheResults = false;
   private Boolean writeResults = false;
   private Boolean countResults = false;
+  private String flightRecordingProfile;
+  private Boolean minimalResults = false;
+  private Boolean minimalResultsFirst = false;
 
   /**
    * Exists for hibernate serialization
@@ -107,6 +110,49 @@ public class ExecutionSetting implements Serializable {
     return this;
   }
 
+  /**
+   * @return the JDK Flight Recorder settings to record the execution with or null, if the
+   *         execution should not be recorded
+   */
+  public String getFlightRecordingProfile() {
+    return flightRecordingProfile;
+  }
+
+  public ExecutionSetting setFlightRecordingProfile(String flightRecordingProfile) {
+    this.flightRecordingProfile = flightRecordingProfile;
+    return this;
+  }
+
+  /**
+   * The minimal functional dependencies and unique column combinations are delivered when the
+   * algorithm finished, as a later result may still retract them, unless
+   * {@link #getMinimalResultsFirst()} is set. Those of failed executions are discarded.
+   *
+   * @return true, if only the minimal functional dependencies and unique column combinations
+   *         should be kept
+   */
+  public Boolean getMinimalResults() {
+    return minimalResults;
+  }
+
+  public ExecutionSetting setMinimalResults(Boolean minimalResults) {
+    this.minimalResults = minimalResults;
+    return this;
+  }
+
+  /**
+   * @return true, if the algorithm emits every minimal result before its supersets, so that the
+   *         minimal results are delivered as soon as they are found
+   */
+  public Boolean getMinimalResultsFirst() {
+    return minimalResultsFirst;
+  }
+
+  public ExecutionSetting setMinimalResultsFirst(Boolean minimalResultsFirst) {
+    this.minimalResultsFirst = minimalResultsFirst;
+    return this;
+  }
+
   @Id
   @GeneratedValue
   public long getId() {
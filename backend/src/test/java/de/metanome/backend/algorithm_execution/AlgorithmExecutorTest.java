@@ -471,4 +471,25 @@ public class AlgorithmExecutorTest {
     verify(resultReceiver).close();
   }
 
+  /**
+   * Test method for {@link AlgorithmExecutor#stopFlightRecording(FlightRecording, Execution)} <p/>
+   * A recording, that could not be written, should be returned as failure instead of being thrown
+   * and removed from the execution.
+   */
+  @Test
+  public void testStopFlightRecordingFailure() throws IOException {
+    // Setup
+    FlightRecording recording = mock(FlightRecording.class);
+    IOException failure = new IOException("disk full");
+    when(recording.stop()).thenThrow(failure);
+    Execution execution = new Execution(null).setFlightRecording("execution.jfr");
+
+    // Execute functionality
+    IOException actualFailure = AlgorithmExecutor.stopFlightRecording(recording, execution);
+
+    // Check result
+    assertSame(failure, actualFailure);
+    assertNull(execution.getFlightRecording());
+  }
+
 }
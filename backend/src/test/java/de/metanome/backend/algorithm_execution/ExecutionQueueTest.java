@@ -0,0 +1,158 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.algorithm_execution;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for {@link ExecutionQueue}
+ */
+public class ExecutionQueueTest {
+
+  protected ExecutionQueue queue;
+
+  @Before
+  public void setUp() throws Exception {
+    queue = new ExecutionQueue(1, 1);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    queue.close();
+  }
+
+  /**
+   * Test method for {@link ExecutionQueue#submit(String, java.util.concurrent.Callable)} and
+   * {@link ExecutionQueue#cancel(String)} <p/> Submissions should return immediately, wait for a
+   * free slot, be rejected if the queue is full and be cancelable while they wait.
+   */
+  @Test
+  public void testSubmitAndCancel() throws Exception {
+    // Setup
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    // Execute functionality
+    ExecutionJob running = queue.submit("running", () -> {
+      started.countDown();
+      release.await();
+      return 42L;
+    });
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    ExecutionJob waiting = queue.submit("waiting", () -> 23L);
+    try {
+      queue.submit("rejected", () -> 0L);
+      fail("Expected a RejectedExecutionException");
+    } catch (RejectedExecutionException e) {
+      // expected
+    }
+    try {
+      queue.submit("running", () -> 0L);
+      fail("Expected an IllegalStateException");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+    ExecutionJob.Status runningStatus = running.getStatus();
+    ExecutionJob.Status waitingStatus = waiting.getStatus();
+    queue.cancel("waiting");
+    release.countDown();
+    running.future.get(10, TimeUnit.SECONDS);
+
+    // Check result
+    assertEquals(ExecutionJob.Status.RUNNING, runningStatus);
+    assertEquals(ExecutionJob.Status.QUEUED, waitingStatus);
+    assertEquals(ExecutionJob.Status.CANCELLED, waiting.getStatus());
+    assertFalse(waiting.isResultReady());
+    assertEquals(ExecutionJob.Status.SUCCEEDED, queue.get("running").getStatus());
+    assertTrue(running.isResultReady());
+    assertEquals(Long.valueOf(42), running.getExecutionId());
+    assertNull(queue.get("rejected"));
+  }
+
+  /**
+   * Test method for {@link ExecutionQueue#submit(String, java.util.concurrent.Callable)} <p/>
+   * Failing executions should report their error message.
+   */
+  @Test
+  public void testSubmitFailingExecution() throws Exception {
+    // Execute functionality
+    ExecutionJob job = queue.submit("failing", () -> {
+      throw new Exception("algorithm failed");
+    });
+    job.future.get(10, TimeUnit.SECONDS);
+
+    // Check result
+    assertEquals(ExecutionJob.Status.FAILED, job.getStatus());
+    assertEquals("algorithm failed", job.getErrorMessage());
+    assertNull(job.getExecutionId());
+    assertNotNull(job.getFinished());
+  }
+
+  /**
+   * Test method for {@link ExecutionQueue#cancel(String)} <p/> Running executions should only be
+   * reported as cancelled, if the cancellation stopped them.
+   */
+  @Test
+  public void testCancelRunningExecution() throws Exception {
+    // Setup
+    CountDownLatch started = new CountDownLatch(1);
+    ExecutionJob stopped = queue.submit("stopped", () -> {
+      started.countDown();
+      new CountDownLatch(1).await();
+      return 1L;
+    });
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+
+    // Execute functionality
+    queue.cancel("stopped");
+    awaitDone(stopped);
+    CountDownLatch completing = new CountDownLatch(1);
+    ExecutionJob completed = queue.submit("completed", () -> {
+      completing.countDown();
+      try {
+        new CountDownLatch(1).await();
+      } catch (InterruptedException e) {
+        // the execution finishes anyway
+      }
+      return 2L;
+    });
+    assertTrue(completing.await(10, TimeUnit.SECONDS));
+    queue.cancel("completed");
+    awaitDone(completed);
+
+    // Check result
+    assertEquals(ExecutionJob.Status.CANCELLED, stopped.getStatus());
+    assertEquals(ExecutionJob.Status.SUCCEEDED, completed.getStatus());
+    assertEquals(Long.valueOf(2), completed.getExecutionId());
+  }
+
+  protected void awaitDone(ExecutionJob job) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10000;
+    while (!job.isDone() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertTrue(job.isDone());
+  }
+
+}
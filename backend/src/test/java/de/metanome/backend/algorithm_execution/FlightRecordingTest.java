@@ -0,0 +1,69 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.algorithm_execution;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for {@link FlightRecording}
+ */
+public class FlightRecordingTest {
+
+  /**
+   * Test method for {@link FlightRecording#start(String, File)}, {@link FlightRecording#stop()}
+   * and {@link FlightRecording#summarize(File, int)} <p/> The recording should be written to the
+   * given file and its summary should contain the sampled methods.
+   */
+  @Test
+  public void testRecordAndSummarize() throws Exception {
+    // Setup
+    File file = File.createTempFile("flightRecordingTest", FlightRecording.FILE_ENDING);
+    file.deleteOnExit();
+
+    // Execute functionality
+    FlightRecording recording = FlightRecording.start("profile", file);
+    long end = System.currentTimeMillis() + 500;
+    List<String> garbage = new ArrayList<>();
+    while (System.currentTimeMillis() < end) {
+      garbage.add(String.valueOf(Math.random()));
+      if (garbage.size() > 10000) {
+        garbage.clear();
+      }
+    }
+    File recorded = recording.stop();
+    FlightRecordingSummary summary = FlightRecording.summarize(recorded, 5);
+
+    // Check result
+    assertEquals(file, recorded);
+    assertTrue(file.length() > 0);
+    assertTrue(summary.getExecutionSamples() > 0);
+    assertFalse(summary.getHotMethods().isEmpty());
+    assertTrue(summary.getHotMethods().size() <= 5);
+    assertTrue(summary.getAllocationHotSpots().size() <= 5);
+    assertTrue(summary.getLockContention().size() <= 5);
+    assertTrue(summary.getParkTime().size() <= 5);
+
+    // Cleanup
+    file.delete();
+  }
+
+}
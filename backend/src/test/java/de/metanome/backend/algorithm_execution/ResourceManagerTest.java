@@ -0,0 +1,140 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.algorithm_execution;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for {@link ResourceManager}
+ */
+public class ResourceManagerTest {
+
+  /**
+   * Test method for {@link ResourceManager#reserve(String, ResourceManager.Kind, long)} <p/>
+   * Requests, that do not fit into the memory budget, should wait until enough memory is released.
+   */
+  @Test
+  public void testReserveWaitsForMemory() throws Exception {
+    // Setup
+    ResourceManager manager = new ResourceManager(4096, 4, 1000, 4);
+    ResourceManager.Reservation first =
+        manager.reserve("first", ResourceManager.Kind.ALGORITHM_EXECUTION, 600);
+
+    // Execute functionality
+    CompletableFuture<ResourceManager.Reservation> second = CompletableFuture.supplyAsync(() -> {
+      try {
+        return manager.reserve("second", ResourceManager.Kind.DPQL_RUN, 600);
+      } catch (InterruptedException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    while (!manager.getStatus().get("waiting").equals(1)) {
+      Thread.sleep(10);
+    }
+    Map<String, Object> statusWhileWaiting = manager.getStatus();
+    first.close();
+    ResourceManager.Reservation admitted = second.get(10, TimeUnit.SECONDS);
+
+    // Check result
+    assertEquals(600L, statusWhileWaiting.get("reservedMemoryMb"));
+    assertEquals(1, ((List<?>) statusWhileWaiting.get("reservations")).size());
+    assertEquals("second", admitted.getOwner());
+    assertEquals(600L, manager.getStatus().get("reservedMemoryMb"));
+    assertEquals(0, manager.getStatus().get("waiting"));
+  }
+
+  /**
+   * Test method for {@link ResourceManager#reserve(String, ResourceManager.Kind, long)} <p/>
+   * Requests larger than the budget should run alone instead of waiting forever.
+   */
+  @Test
+  public void testReserveLargerThanBudget() throws Exception {
+    // Setup
+    ResourceManager manager = new ResourceManager(4096, 4, 1000, 4);
+
+    // Execute functionality
+    ResourceManager.Reservation reservation =
+        manager.reserve("large", ResourceManager.Kind.ALGORITHM_EXECUTION, 2000);
+
+    // Check result
+    assertEquals(2000L, manager.getStatus().get("reservedMemoryMb"));
+    reservation.close();
+    assertEquals(0L, manager.getStatus().get("reservedMemoryMb"));
+    assertEquals(1280L, manager.getExecutionMemoryMb(""));
+    assertEquals(768L, manager.getExecutionMemoryMb("512"));
+  }
+
+  /**
+   * Test method for {@link ResourceManager#reserve(String, ResourceManager.Kind, long, long)} <p/>
+   * Requests, that do not get their memory in time, should give up and not block later requests.
+   */
+  @Test
+  public void testReserveTimeout() throws Exception {
+    // Setup
+    ResourceManager manager = new ResourceManager(4096, 4, 1000, 4);
+    ResourceManager.Reservation first =
+        manager.reserve("first", ResourceManager.Kind.ALGORITHM_EXECUTION, 600);
+
+    // Execute functionality
+    try {
+      manager.reserve("second", ResourceManager.Kind.ALGORITHM_EXECUTION, 600, 50);
+      fail("Expected a TimeoutException");
+    } catch (TimeoutException e) {
+      // expected
+    }
+    ResourceManager.Reservation third =
+        manager.reserve("third", ResourceManager.Kind.ALGORITHM_EXECUTION, 300, 50);
+
+    // Check result
+    assertEquals(0, manager.getStatus().get("waiting"));
+    assertEquals(900L, manager.getStatus().get("reservedMemoryMb"));
+    first.close();
+    third.close();
+  }
+
+  /**
+   * Test method for {@link ResourceManager#getExecutionMemoryMb(String)} <p/> Memory arguments,
+   * that are no positive number of MB, should be rejected.
+   */
+  @Test
+  public void testInvalidMemory() {
+    // Setup
+    ResourceManager manager = new ResourceManager(4096, 4, 1000, 4);
+
+    // Check result
+    assertTrue(ResourceManager.isValidMemory("512"));
+    assertTrue(ResourceManager.isValidMemory(""));
+    assertFalse(ResourceManager.isValidMemory("abc"));
+    assertFalse(ResourceManager.isValidMemory("-1"));
+    assertFalse(ResourceManager.isValidMemory("0"));
+    assertFalse(ResourceManager.isValidMemory("512m"));
+    try {
+      manager.getExecutionMemoryMb("abc");
+      fail("Expected an IllegalArgumentException");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+
+}
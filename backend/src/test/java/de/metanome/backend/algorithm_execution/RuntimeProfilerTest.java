@@ -0,0 +1,142 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.algorithm_execution;
+
+import de.metanome.algorithm_integration.ColumnCombination;
+import de.metanome.algorithm_integration.ColumnIdentifier;
+import de.metanome.algorithm_integration.results.FunctionalDependency;
+import de.metanome.backend.result_receiver.CloseableOmniscientResultReceiver;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test for {@link RuntimeProfiler}
+ */
+public class RuntimeProfilerTest {
+
+  /**
+   * Test method for {@link RuntimeProfiler#start()} and {@link RuntimeProfiler#stop()} <p/> The
+   * profile should count the forwarded results, sample the results per second and record the bytes
+   * read from the input files only.
+   */
+  @Test
+  public void testProfile() throws Exception {
+    // Setup
+    byte[] content = new byte[64 * 1024];
+    File input = createFile(content);
+    File other = createFile(content);
+    CloseableOmniscientResultReceiver receiver = mock(CloseableOmniscientResultReceiver.class);
+    RuntimeProfiler profiler = new RuntimeProfiler(50)
+        .setInputFiles(Collections.singletonList(input))
+        .setCountInputReads(true);
+    CloseableOmniscientResultReceiver profiledReceiver = profiler.wrap(receiver);
+    FunctionalDependency fd = new FunctionalDependency(
+        new ColumnCombination(new ColumnIdentifier("table", "a")),
+        new ColumnIdentifier("table", "b"));
+
+    // Execute functionality
+    profiler.start();
+    profiledReceiver.receiveResult(fd);
+    profiledReceiver.receiveResult(fd);
+    readFile(input, content);
+    readFile(other, content);
+    Thread.sleep(120);
+    RuntimeProfile profile = profiler.stop();
+    RuntimeProfile storedProfile = RuntimeProfiler.fromJson(RuntimeProfiler.toJson(profile));
+
+    // Check result
+    verify(receiver, times(2)).receiveResult(fd);
+    assertEquals(2, profile.getResults());
+    assertFalse(profile.getResultsPerSecond().isEmpty());
+    assertTrue(profile.getInputBytesRead() >= input.length());
+    assertTrue(profile.getInputBytesRead() < input.length() + other.length());
+    assertTrue(profile.getDurationMillis() >= 120);
+    assertTrue(profile.getPeakHeapBytes() > 0);
+    assertTrue(profile.getPeakThreadCount() > 0);
+    assertEquals(profile.getResults(), storedProfile.getResults());
+    assertEquals(profile.getResultsPerSecond(), storedProfile.getResultsPerSecond());
+  }
+
+  /**
+   * Test method for {@link RuntimeProfiler#start()} <p/> Input reads should not be recorded, if
+   * counting them was not requested.
+   */
+  @Test
+  public void testInputReadsNotRequested() throws Exception {
+    // Setup
+    byte[] content = new byte[1024];
+    File input = createFile(content);
+    RuntimeProfiler profiler = new RuntimeProfiler(50)
+        .setInputFiles(Collections.singletonList(input))
+        .setCountInputReads(false);
+
+    // Execute functionality
+    profiler.start();
+    readFile(input, content);
+    RuntimeProfile profile = profiler.stop();
+
+    // Check result
+    assertNull(profiler.inputEvents);
+    assertEquals(-1, profile.getInputBytesRead());
+  }
+
+  /**
+   * Test method for {@link RuntimeProfiler#isInputPath(String)} <p/> Files in an input directory
+   * should be input paths, other files not.
+   */
+  @Test
+  public void testIsInputPath() {
+    // Setup
+    File directory = new File("inputs").getAbsoluteFile();
+    RuntimeProfiler profiler = new RuntimeProfiler()
+        .setInputFiles(Collections.singletonList(new File("inputs")));
+
+    // Execute functionality
+    // Check result
+    assertTrue(profiler.isInputPath(new File(directory, "table.csv").getPath()));
+    assertFalse(profiler.isInputPath(new File("inputs.csv").getAbsolutePath()));
+    assertFalse(profiler.isInputPath(null));
+  }
+
+  protected File createFile(byte[] content) throws IOException {
+    File file = File.createTempFile("runtimeProfilerTest", ".csv");
+    file.deleteOnExit();
+    try (FileOutputStream out = new FileOutputStream(file)) {
+      out.write(content);
+    }
+    return file;
+  }
+
+  protected void readFile(File file, byte[] buffer) throws IOException {
+    try (InputStream in = new FileInputStream(file)) {
+      while (in.read(buffer) > 0) {
+        // read the whole file
+      }
+    }
+  }
+
+}
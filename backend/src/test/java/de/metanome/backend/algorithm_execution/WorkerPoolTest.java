@@ -0,0 +1,200 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.algorithm_execution;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for {@link WorkerPool}
+ */
+public class WorkerPoolTest {
+
+  protected WorkerPool pool;
+
+  /**
+   * Speaks the protocol of an {@link AlgorithmWorker} without executing algorithms. Executions
+   * with the identifier "leak" report a full heap.
+   */
+  public static class FakeWorker {
+
+    public static void main(String args[]) throws IOException {
+      System.out.println(AlgorithmWorker.CONTROL_PREFIX + AlgorithmWorker.READY);
+      BufferedReader commands = new BufferedReader(new InputStreamReader(System.in));
+      String command;
+      while ((command = commands.readLine()) != null) {
+        String[] arguments = command.split(" ");
+        System.out.println("executing " + arguments[1]);
+        long usedHeap = arguments[1].equals("leak") ? 100 : 10;
+        System.out.println(AlgorithmWorker.CONTROL_PREFIX + AlgorithmWorker.DONE + " 0 "
+            + usedHeap + " 100");
+      }
+    }
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    String javaBin = System.getProperty("java.home") + File.separator + "bin" + File.separator
+        + "java";
+    pool = new WorkerPool(memory -> new ProcessBuilder(javaBin, "-classpath",
+        System.getProperty("java.class.path"), FakeWorker.class.getName())
+        .redirectErrorStream(true));
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    pool.close();
+  }
+
+  /**
+   * Test method for {@link WorkerPool#acquire(String)} and
+   * {@link WorkerPool#release(WorkerPool.Worker)} <p/> Released workers should execute further
+   * algorithms of their memory size class until they reach the maximum number of runs.
+   */
+  @Test
+  public void testReuseWorker() throws Exception {
+    // Setup
+    pool.setMaxRuns(2);
+    List<String> output = new ArrayList<>();
+
+    // Execute functionality
+    WorkerPool.Worker worker = pool.acquire("");
+    int firstExitCode = worker.execute("1", "first", null, null, output::add);
+    pool.release(worker);
+    int idleAfterFirstRun = pool.getNumberOfIdleWorkers("");
+    WorkerPool.Worker otherMemoryWorker = pool.acquire("512");
+    WorkerPool.Worker reusedWorker = pool.acquire("");
+    int secondExitCode = reusedWorker.execute("1", "second", 4711, "token", output::add);
+    pool.release(reusedWorker);
+    pool.release(otherMemoryWorker);
+
+    // Check result
+    assertEquals(0, firstExitCode);
+    assertEquals(0, secondExitCode);
+    assertEquals(1, idleAfterFirstRun);
+    assertSame(worker, reusedWorker);
+    assertNotSame(worker, otherMemoryWorker);
+    assertEquals(2, output.size());
+    assertEquals("executing first", output.get(0));
+    assertEquals("executing second", output.get(1));
+    // The worker reached the maximum number of runs
+    assertEquals(0, pool.getNumberOfIdleWorkers(""));
+    assertTrue(worker.getProcess().waitFor(10, TimeUnit.SECONDS));
+    assertEquals(1, pool.getNumberOfIdleWorkers("512"));
+  }
+
+  /**
+   * Test method for {@link WorkerPool#release(WorkerPool.Worker)} <p/> Workers, whose heap usage
+   * grew beyond the maximum heap usage, should be retired.
+   */
+  @Test
+  public void testRetireWorkerOnHeapGrowth() throws Exception {
+    // Setup
+    pool.setMaxHeapUsage(0.5);
+    WorkerPool.Worker worker = pool.acquire("");
+
+    // Execute functionality
+    worker.execute("1", "leak", null, null, line -> { });
+    pool.release(worker);
+
+    // Check result
+    assertEquals(100, worker.getUsedHeap());
+    assertEquals(0, pool.getNumberOfIdleWorkers(""));
+    assertTrue(worker.getProcess().waitFor(10, TimeUnit.SECONDS));
+  }
+
+  /**
+   * Test method for {@link WorkerPool#acquire(String)} <p/> Every live worker should hold a
+   * reservation of its memory until it is retired. Idle workers should be retired if a worker of
+   * another memory size class does not fit otherwise.
+   */
+  @Test
+  public void testWorkerReservations() throws Exception {
+    // Setup
+    ResourceManager manager = new ResourceManager(4096, 4, 1000, 4);
+    pool.setResourceManager(manager).setMaxRuns(1);
+
+    // Execute functionality
+    WorkerPool.Worker worker = pool.acquire("512");
+    long reservedWhileRunning = (Long) manager.getStatus().get("reservedMemoryMb");
+    worker.execute("1", "first", null, null, line -> { });
+    pool.release(worker);
+    long reservedAfterRetirement = (Long) manager.getStatus().get("reservedMemoryMb");
+    pool.setMaxRuns(2);
+    pool.prestart("512", 1);
+    WorkerPool.Worker otherWorker = pool.acquire("600");
+    long reservedForOtherWorker = (Long) manager.getStatus().get("reservedMemoryMb");
+    pool.release(otherWorker);
+    pool.close();
+
+    // Check result
+    assertEquals(768L, reservedWhileRunning);
+    assertEquals(0L, reservedAfterRetirement);
+    assertEquals(856L, reservedForOtherWorker);
+    assertEquals(0, pool.getNumberOfIdleWorkers("512"));
+    assertEquals(0L, manager.getStatus().get("reservedMemoryMb"));
+  }
+
+  /**
+   * Test method for {@link ResourceManager#reserve(String, ResourceManager.Kind, long, long)} <p/>
+   * Idle workers should not block reservations of other work, e.g. DPQL runs, and released workers
+   * should not be kept while requests wait.
+   */
+  @Test
+  public void testIdleWorkersYieldToWaitingRequests() throws Exception {
+    // Setup
+    ResourceManager manager = new ResourceManager(4096, 1, 4096, 1);
+    pool.setResourceManager(manager);
+    pool.prestart("512", 1);
+    WorkerPool.Worker worker = pool.acquire("512");
+
+    // Execute functionality
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    Future<ResourceManager.Reservation> dpqlRun = executor.submit(
+        () -> manager.reserve("dpql", ResourceManager.Kind.DPQL_RUN, 1024, 10000));
+    while (!manager.hasWaitingRequests()) {
+      Thread.sleep(10);
+    }
+    pool.release(worker);
+    ResourceManager.Reservation dpqlReservation = dpqlRun.get(10, TimeUnit.SECONDS);
+    dpqlReservation.close();
+    pool.prestart("512", 1);
+    ResourceManager.Reservation otherReservation =
+        manager.reserve("other", ResourceManager.Kind.DPQL_RUN, 1024, 10000);
+    otherReservation.close();
+    executor.shutdown();
+
+    // Check result
+    assertEquals(0, pool.getNumberOfIdleWorkers("512"));
+    assertEquals(0L, manager.getStatus().get("reservedMemoryMb"));
+    assertTrue(worker.getProcess().waitFor(10, TimeUnit.SECONDS));
+  }
+
+}
@@ -60,6 +60,10 @@ public class AlgorithmJarLoaderTest {
     uccAlgorithm.setResultReceiver(mock(OmniscientResultReceiver.class));
 
     algorithm.execute();
+
+    // the class loader of the algorithm stays open until it is closed
+    assertNotNull(loader.getClassLoader());
+    loader.getClassLoader().close();
   }
 
   @Test
@@ -0,0 +1,250 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.input.cache;
+
+import de.metanome.algorithm_integration.input.RelationalInput;
+import de.metanome.backend.input.file.DefaultFileInputGenerator;
+import de.metanome.backend.input.file.FileFixture;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ColumnarInputCache}
+ */
+public class ColumnarInputCacheTest {
+
+  protected static final String CSV_DATA =
+    "id,name,city\n" +
+    "1,Doe,Berlin\n" +
+    "2,,\"Potsdam, Brandenburg\"\n" +
+    "3,Doe,ümläut\n";
+
+  protected File directory;
+
+  @Before
+  public void setUp() throws Exception {
+    directory = Files.createTempDirectory("metanome-input-cache").toFile();
+  }
+
+  @After
+  public void tearDown() {
+    for (File entry : directory.listFiles()) {
+      ColumnarInputCache.delete(entry);
+    }
+    directory.delete();
+  }
+
+  /**
+   * Test method for {@link ColumnarInputCache#getInput(String, String,
+   * ColumnarInputCache.InputSource, int[])}
+   * <p/>
+   * The first copy should build the entry and all copies should return the parsed rows.
+   */
+  @Test
+  public void testGetInput() throws Exception {
+    // Setup
+    File file = new FileFixture(CSV_DATA).getTestData("cached.csv");
+    ColumnarInputCache cache = new ColumnarInputCache(directory, Long.MAX_VALUE, Long.MAX_VALUE);
+    DefaultFileInputGenerator generator = new DefaultFileInputGenerator(file);
+    generator.setInputCache(null);
+    // Expected values
+    List<List<String>> expectedRows = readAll(generator.generateNewCopy());
+    generator.setInputCache(cache);
+
+    // Execute functionality
+    RelationalInput firstCopy = generator.generateNewCopy();
+    List<List<String>> firstRows = readAll(firstCopy);
+    RelationalInput secondCopy = generator.generateNewCopy();
+    List<List<String>> secondRows = readAll(secondCopy);
+
+    // Check result
+    assertTrue(secondCopy instanceof CachedRelationalInput);
+    assertEquals(Arrays.asList("id", "name", "city"), secondCopy.columnNames());
+    assertEquals("cached.csv", secondCopy.relationName());
+    assertEquals(expectedRows, firstRows);
+    assertEquals(expectedRows, secondRows);
+    assertEquals(Arrays.asList("2", null, "Potsdam, Brandenburg"), secondRows.get(1));
+    assertEquals(1, cache.getMissCount());
+    assertEquals(1, cache.getHitCount());
+  }
+
+  /**
+   * Test method for {@link DefaultFileInputGenerator#generateNewCopy(int[])}
+   * <p/>
+   * Projected copies should only read the given columns from the entry.
+   */
+  @Test
+  public void testGetInputProjection() throws Exception {
+    // Setup
+    File file = new FileFixture(CSV_DATA).getTestData("cached_projection.csv");
+    ColumnarInputCache cache = new ColumnarInputCache(directory, Long.MAX_VALUE, Long.MAX_VALUE);
+    DefaultFileInputGenerator generator = new DefaultFileInputGenerator(file);
+    generator.setInputCache(cache);
+
+    // Execute functionality
+    RelationalInput input = generator.generateNewCopy(new int[]{2, 0});
+
+    // Check result
+    assertEquals(Arrays.asList("city", "id"), input.columnNames());
+    assertEquals(2, input.numberOfColumns());
+    List<List<String>> rows = readAll(input);
+    assertEquals(3, rows.size());
+    assertEquals(Arrays.asList("ümläut", "3"), rows.get(2));
+  }
+
+  /**
+   * Test method for {@link ColumnarInputCache#getInput(String, String,
+   * ColumnarInputCache.InputSource, int[])}
+   * <p/>
+   * Entries should be rebuilt if the source version changed and expire if the source has no
+   * version. Sources without version should not be cached without a maximal age.
+   */
+  @Test
+  public void testGetInputInvalidation() throws Exception {
+    // Setup
+    File file = new FileFixture(CSV_DATA).getTestData("cached_invalidation.csv");
+    ColumnarInputCache cache = new ColumnarInputCache(directory, Long.MAX_VALUE, 1);
+    ColumnarInputCache cacheWithoutMaxAge = new ColumnarInputCache(directory, Long.MAX_VALUE, 0);
+    DefaultFileInputGenerator generator = new DefaultFileInputGenerator(file);
+    generator.setInputCache(cache);
+    readAll(generator.generateNewCopy());
+
+    // Execute functionality
+    new FileFixture(CSV_DATA + "4,Roe,Hamburg\n").getTestData("cached_invalidation.csv");
+    List<List<String>> rows = readAll(generator.generateNewCopy());
+    DefaultFileInputGenerator uncachedGenerator = new DefaultFileInputGenerator(file);
+    uncachedGenerator.setInputCache(null);
+    ColumnarInputCache.InputSource source = uncachedGenerator::generateNewCopy;
+    readAll(cache.getInput("unversioned", "", source, null));
+    Thread.sleep(5);
+    readAll(cache.getInput("unversioned", "", source, null));
+    RelationalInput uncachedCopy = cacheWithoutMaxAge.getInput("unversioned", "", source, null);
+
+    // Check result
+    assertNull(uncachedCopy);
+    assertEquals(4, rows.size());
+    assertEquals(Arrays.asList("4", "Roe", "Hamburg"), rows.get(3));
+    assertEquals(4, cache.getMissCount());
+    assertEquals(0, cache.getHitCount());
+  }
+
+  /**
+   * Test method for {@link ColumnarInputCache#evict(File)}
+   * <p/>
+   * The least recently used entries should be evicted if the size limit is exceeded and inputs
+   * exceeding the limit on their own should not be cached.
+   */
+  @Test
+  public void testEvict() throws Exception {
+    // Setup
+    DefaultFileInputGenerator firstGenerator =
+      new DefaultFileInputGenerator(new FileFixture(CSV_DATA).getTestData("cached_first.csv"));
+    DefaultFileInputGenerator secondGenerator =
+      new DefaultFileInputGenerator(new FileFixture(CSV_DATA).getTestData("cached_second.csv"));
+    ColumnarInputCache unlimitedCache =
+      new ColumnarInputCache(directory, Long.MAX_VALUE, Long.MAX_VALUE);
+    firstGenerator.setInputCache(unlimitedCache);
+    readAll(firstGenerator.generateNewCopy());
+    long entrySize = unlimitedCache.getUsedBytes();
+    ColumnarInputCache cache = new ColumnarInputCache(directory, entrySize + 10, Long.MAX_VALUE);
+    firstGenerator.setInputCache(cache);
+    secondGenerator.setInputCache(cache);
+
+    // Execute functionality
+    readAll(secondGenerator.generateNewCopy());
+    readAll(firstGenerator.generateNewCopy());
+    ColumnarInputCache tinyCache = new ColumnarInputCache(directory, 10, Long.MAX_VALUE);
+    secondGenerator.setInputCache(tinyCache);
+    RelationalInput uncachedCopy = secondGenerator.generateNewCopy();
+
+    // Check result
+    assertEquals(2, cache.getEvictionCount());
+    assertEquals(entrySize, cache.getUsedBytes());
+    assertFalse(uncachedCopy instanceof CachedRelationalInput);
+    assertEquals(3, readAll(uncachedCopy).size());
+  }
+
+  /**
+   * Test method for {@link ColumnarInputCache#evict(File)}
+   * <p/>
+   * Entries that are locked by another thread should not be evicted.
+   */
+  @Test
+  public void testEvictSkipsLockedEntries() throws Exception {
+    // Setup
+    DefaultFileInputGenerator firstGenerator =
+      new DefaultFileInputGenerator(new FileFixture(CSV_DATA).getTestData("locked_first.csv"));
+    DefaultFileInputGenerator secondGenerator =
+      new DefaultFileInputGenerator(new FileFixture(CSV_DATA).getTestData("locked_second.csv"));
+    ColumnarInputCache cache = new ColumnarInputCache(directory, Long.MAX_VALUE, Long.MAX_VALUE);
+    firstGenerator.setInputCache(cache);
+    secondGenerator.setInputCache(cache);
+    readAll(firstGenerator.generateNewCopy());
+    String lockedKey =
+      directory.list((dir, name) -> !name.endsWith(ColumnarInputCache.LOCK_SUFFIX))[0];
+    readAll(secondGenerator.generateNewCopy());
+    File keep = null;
+    for (File entry : directory.listFiles(File::isDirectory)) {
+      if (!entry.getName().equals(lockedKey)) {
+        keep = entry;
+      }
+    }
+    ColumnarInputCache tinyCache = new ColumnarInputCache(directory, 10, Long.MAX_VALUE);
+    final CountDownLatch locked = new CountDownLatch(1);
+    final CountDownLatch evicted = new CountDownLatch(1);
+    Thread holder = new Thread(() -> {
+      tinyCache.getLock(lockedKey).lock();
+      locked.countDown();
+      try {
+        evicted.await();
+      } catch (InterruptedException e) {
+        // Finish
+      } finally {
+        tinyCache.getLock(lockedKey).unlock();
+      }
+    });
+    holder.start();
+    locked.await();
+
+    // Execute functionality
+    tinyCache.evict(keep);
+    evicted.countDown();
+    holder.join();
+
+    // Check result
+    assertTrue(new File(directory, lockedKey).isDirectory());
+    assertEquals(0, tinyCache.getEvictionCount());
+  }
+
+  protected List<List<String>> readAll(RelationalInput input) throws Exception {
+    List<List<String>> rows = new ArrayList<>();
+    while (input.hasNext()) {
+      rows.add(input.next());
+    }
+    input.close();
+    return rows;
+  }
+}
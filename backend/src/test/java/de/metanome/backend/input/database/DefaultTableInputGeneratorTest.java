@@ -17,10 +17,22 @@ package de.metanome.backend.input.database;
 
 import de.metanome.algorithm_integration.AlgorithmConfigurationException;
 import de.metanome.algorithm_integration.input.InputGenerationException;
+import de.metanome.algorithm_integration.input.RelationalInput;
 import org.junit.Test;
 
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Tests for {@link de.metanome.backend.input.database.DefaultTableInputGenerator}
@@ -131,4 +143,71 @@ public class DefaultTableInputGeneratorTest {
       .generateResultSetFromSql(String.format(DefaultTableInputGenerator.SORT_STATEMENT,
         expectedTable, expectedColumn, "DESC"));
   }
+
+  /**
+   * Test method for {@link DefaultTableInputGenerator#retrieveColumnNames()}
+   * <p/>
+   * The statement and the result set of the metadata query should be closed if the metadata
+   * cannot be read.
+   */
+  @Test
+  public void testRetrieveColumnNamesClosesOnFailure() throws Exception {
+    // Setup
+    DefaultDatabaseConnectionGenerator
+      defaultDatabaseConnectionGenerator = mock(DefaultDatabaseConnectionGenerator.class);
+    String expectedTable = "some table";
+    ResultSet resultSet = mock(ResultSet.class);
+    Statement statement = mock(Statement.class);
+    when(resultSet.getStatement()).thenReturn(statement);
+    when(resultSet.getMetaData()).thenThrow(new SQLException("broken connection"));
+    when(defaultDatabaseConnectionGenerator.generateResultSetFromSql(
+      String.format(DefaultTableInputGenerator.METADATA_STATEMENT, expectedTable)))
+      .thenReturn(resultSet);
+    DefaultTableInputGenerator tableInputGenerator =
+      new DefaultTableInputGenerator(defaultDatabaseConnectionGenerator, expectedTable);
+
+    // Execute functionality
+    try {
+      tableInputGenerator.retrieveColumnNames();
+      fail("Exception should have been thrown.");
+    } catch (InputGenerationException e) {
+      // Intentionally left blank
+    }
+
+    // Check result
+    verify(statement).close();
+    verify(resultSet).close();
+  }
+
+  /**
+   * Test method for {@link DefaultTableInputGenerator#generateNewCopy(int[])}
+   * <p/>
+   * Only the requested columns should be selected in the requested order.
+   */
+  @Test
+  public void testGenerateNewCopyProjection() throws Exception {
+    // Setup
+    String url = "jdbc:hsqldb:mem:projection";
+    try (Connection connection = DriverManager.getConnection(url, "SA", "");
+         Statement statement = connection.createStatement()) {
+      statement.execute("CREATE TABLE persons (id INT, name VARCHAR(20), city VARCHAR(20))");
+      statement.execute("INSERT INTO persons VALUES (1, 'Anna', 'Potsdam')");
+      statement.execute("INSERT INTO persons VALUES (2, 'Ben', NULL)");
+
+      DefaultTableInputGenerator tableInputGenerator = new DefaultTableInputGenerator(
+        new DefaultDatabaseConnectionGenerator(url, "SA", "", null), "persons");
+
+      // Execute functionality
+      RelationalInput input = tableInputGenerator.generateNewCopy(new int[]{2, 0});
+
+      // Check result
+      assertEquals(2, input.numberOfColumns());
+      assertEquals(Arrays.asList("CITY", "ID"), input.columnNames());
+      assertEquals(Arrays.asList("Potsdam", "1"), input.next());
+      assertEquals(Arrays.asList(null, "2"), input.next());
+      assertFalse(input.hasNext());
+      tableInputGenerator.close();
+      statement.execute("DROP TABLE persons");
+    }
+  }
 }
@@ -0,0 +1,195 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.input.database;
+
+import de.metanome.algorithm_integration.input.InputIterationException;
+import de.metanome.algorithm_integration.input.RelationalInput;
+import de.metanome.algorithm_integration.input.RelationalInputPartition;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for {@link TablePartitioner}, {@link TableInputPartition} and {@link MergedTableInput}
+ */
+public class TablePartitionerTest {
+
+  protected static final String URL = "jdbc:hsqldb:mem:partitioning";
+  protected static final int NUMBER_OF_ROWS = 500;
+
+  protected Connection connection;
+  protected DefaultTableInputGenerator tableInputGenerator;
+  protected List<List<String>> expectedRows;
+
+  @Before
+  public void setUp() throws Exception {
+    connection = DriverManager.getConnection(URL, "SA", "");
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("CREATE TABLE orders (id INT, customer VARCHAR(20))");
+    }
+    try (PreparedStatement insert =
+           connection.prepareStatement("INSERT INTO orders VALUES (?, ?)")) {
+      for (int i = 0; i < NUMBER_OF_ROWS; i++) {
+        // Negative and null keys have to be covered by the partitions as well
+        insert.setObject(1, i % 50 == 0 ? null : i - 100);
+        insert.setString(2, i % 7 == 0 ? null : "customer" + (i % 13));
+        insert.execute();
+      }
+    }
+    tableInputGenerator = new DefaultTableInputGenerator(
+      new DefaultDatabaseConnectionGenerator(URL, "SA", "", null), "orders");
+    tableInputGenerator.setInputCache(null);
+    expectedRows = sort(readAll(tableInputGenerator.generateNewCopy()));
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    tableInputGenerator.close();
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("DROP TABLE orders");
+    }
+    connection.close();
+  }
+
+  /**
+   * Test method for {@link DefaultTableInputGenerator#generatePartitions(int)}
+   * <p/>
+   * The partitions of every strategy should cover all rows exactly once and number them
+   * consecutively.
+   */
+  @Test
+  public void testGeneratePartitions() throws Exception {
+    for (TablePartitioner.Strategy strategy : TablePartitioner.Strategy.values()) {
+      // Setup
+      String column = strategy == TablePartitioner.Strategy.HASH ? "CUSTOMER" : "ID";
+      tableInputGenerator.setPartitioning(column, strategy).setHashExpression("ASCII(%s)");
+
+      // Execute functionality
+      List<RelationalInputPartition> partitions = tableInputGenerator.generatePartitions(4);
+
+      // Check result
+      assertTrue(partitions.size() > 1);
+      List<List<String>> actualRows = new ArrayList<>();
+      long nextRowNumber = 0;
+      for (RelationalInputPartition partition : partitions) {
+        assertEquals(nextRowNumber, partition.getFirstRowNumber());
+        List<List<String>> rows = readAll(partition);
+        assertEquals(partition.getNumberOfRows(), rows.size());
+        nextRowNumber += rows.size();
+        actualRows.addAll(rows);
+      }
+      assertEquals(strategy.name(), expectedRows, sort(actualRows));
+    }
+  }
+
+  /**
+   * Test method for {@link TablePartitioner#createPredicates(int)}
+   * <p/>
+   * Integer keys should be split into ranges with integer bounds and null keys should be assigned
+   * to the first range.
+   */
+  @Test
+  public void testCreateRangePredicates() throws Exception {
+    // Setup
+    TablePartitioner partitioner = new TablePartitioner(
+      new DefaultDatabaseConnectionGenerator(URL, "SA", "", null), "orders", "ID",
+      TablePartitioner.Strategy.RANGE, null);
+
+    // Execute functionality
+    List<String> predicates = partitioner.createPredicates(3);
+
+    // Check result
+    assertEquals(Arrays.asList("ID < 67 OR ID IS NULL", "ID >= 67 AND ID < 233", "ID >= 233"),
+      predicates);
+  }
+
+  /**
+   * Test method for {@link DefaultTableInputGenerator#generateNewCopy()}
+   * <p/>
+   * A parallel read should return all rows of the table through several cursors.
+   */
+  @Test
+  public void testGenerateNewCopyParallel() throws Exception {
+    // Setup
+    tableInputGenerator.setPartitioning("ID", TablePartitioner.Strategy.MODULO).setParallelism(3);
+
+    // Execute functionality
+    RelationalInput input = tableInputGenerator.generateNewCopy();
+
+    // Check result
+    assertTrue(input instanceof MergedTableInput);
+    assertEquals(Arrays.asList("ID", "CUSTOMER"), input.columnNames());
+    assertEquals(expectedRows, sort(readAll(input)));
+  }
+
+  /**
+   * Test method for {@link MergedTableInput#hasNext()}
+   * <p/>
+   * A failed partition should fail every further call instead of waiting for more rows.
+   */
+  @Test
+  public void testMergedInputFailure() throws Exception {
+    // Setup
+    RelationalInputPartition partition = mock(RelationalInputPartition.class);
+    when(partition.relationName()).thenReturn("orders");
+    when(partition.columnNames()).thenReturn(Arrays.asList("ID", "CUSTOMER"));
+    when(partition.hasNext()).thenThrow(new InputIterationException("broken cursor"));
+    MergedTableInput input = new MergedTableInput(Collections.singletonList(partition));
+
+    // Execute functionality
+    List<InputIterationException> failures = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      try {
+        input.hasNext();
+      } catch (InputIterationException e) {
+        failures.add(e);
+      }
+    }
+    input.close();
+
+    // Check result
+    assertEquals(2, failures.size());
+    assertSame(failures.get(0), failures.get(1));
+    verify(partition).close();
+  }
+
+  protected List<List<String>> readAll(RelationalInput input) throws Exception {
+    List<List<String>> rows = new ArrayList<>();
+    while (input.hasNext()) {
+      rows.add(input.next());
+    }
+    input.close();
+    return rows;
+  }
+
+  protected List<List<String>> sort(List<List<String>> rows) {
+    rows.sort(Comparator.comparing(Object::toString));
+    return rows;
+  }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.input.file;
+
+import de.metanome.algorithm_integration.configuration.ConfigurationSettingFileInput;
+import de.metanome.algorithm_integration.input.RelationalInput;
+import de.metanome.algorithm_integration.input.RelationalInputPartition;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the rows per second of the opencsv based {@link FileIterator}, the {@link
+ * ByteFileIterator} and partitions of the file read in parallel. Not a unit test, run it with
+ * <pre>
+ * java -cp ... de.metanome.backend.input.file.ByteFileIteratorBenchmark [number of rows]
+ * </pre>
+ */
+public class ByteFileIteratorBenchmark {
+
+  protected static final int WARMUP_ROUNDS = 2;
+  protected static final int MEASURED_ROUNDS = 5;
+  protected static final int NUMBER_OF_COLUMNS = 10;
+
+  // Consumes the results, so that the JIT cannot eliminate the measured operations
+  protected static long sink = 0;
+
+  public static void main(String[] args) throws Exception {
+    int numberOfRows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+    File file = File.createTempFile("benchmark", ".csv");
+    file.deleteOnExit();
+    writeFile(file, numberOfRows);
+    ConfigurationSettingFileInput setting = new ConfigurationSettingFileInput(file.getPath());
+
+    for (final boolean readValues : new boolean[]{false, true}) {
+      String suffix = readValues ? " (all values read)" : " (rows only)";
+      report("opencsv" + suffix, numberOfRows,
+        () -> consume(new FileIterator(file.getName(), new FileReader(file), setting),
+          readValues));
+      report("byte parser" + suffix, numberOfRows,
+        () -> consume(new ByteFileIterator(file.getName(), file, setting), readValues));
+    }
+    final int numberOfPartitions = Runtime.getRuntime().availableProcessors();
+    report("byte parser " + numberOfPartitions + " partitions (rows only)", numberOfRows, () -> {
+      List<RelationalInputPartition> partitions =
+        new FileInputPartitioner(file, setting).partition(numberOfPartitions);
+      partitions.parallelStream().forEach(partition -> {
+        try {
+          consume(partition, false);
+        } catch (Exception e) {
+          throw new RuntimeException(e);
+        }
+      });
+    });
+    System.out.println("(" + sink + ")");
+  }
+
+  protected static void writeFile(File file, int numberOfRows) throws IOException {
+    Random random = new Random(42);
+    try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+      for (int column = 0; column < NUMBER_OF_COLUMNS; column++) {
+        writer.write((column > 0 ? "," : "") + "column" + column);
+      }
+      writer.newLine();
+      for (int row = 0; row < numberOfRows; row++) {
+        writer.write(Integer.toString(row));
+        writer.write(",\"value " + random.nextInt(1000) + "\"");
+        for (int column = 2; column < NUMBER_OF_COLUMNS; column++) {
+          writer.write("," + Long.toHexString(random.nextLong()));
+        }
+        writer.newLine();
+      }
+    }
+  }
+
+  protected static void consume(RelationalInput input, boolean readValues) throws Exception {
+    while (input.hasNext()) {
+      List<String> row = input.next();
+      sink += row.size();
+      if (readValues) {
+        for (String value : row) {
+          sink += value.length();
+        }
+      }
+    }
+    input.close();
+  }
+
+  protected static void report(String name, int numberOfRows, Operation operation)
+    throws Exception {
+    for (int i = 0; i < WARMUP_ROUNDS; i++) {
+      operation.run();
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < MEASURED_ROUNDS; i++) {
+      operation.run();
+    }
+    double seconds = (System.nanoTime() - start) / 1e9 / MEASURED_ROUNDS;
+    System.out.printf("%-40s %12.0f rows/s%n", name, numberOfRows / seconds);
+  }
+
+  protected interface Operation {
+    void run() throws Exception;
+  }
+}
@@ -0,0 +1,202 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.input.file;
+
+import de.metanome.algorithm_integration.configuration.ConfigurationSettingFileInput;
+import de.metanome.algorithm_integration.input.InputIterationException;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ByteFileIterator} and {@link ByteCsvParser}
+ */
+public class ByteFileIteratorTest {
+
+  protected static final String CSV_DATA =
+    "id,name,comment\n" +
+    "1,\"Doe, John\",\"multi\nline\"\r\n" +
+    "2,,\"say \"\"hi\"\"\"\r" +
+    "3,\"esc\\\"aped\",  \"padded\"\n" +
+    "4,m\"id\"dle,plain\n" +
+    "5,ümläut,\"\"\n";
+
+  /**
+   * Test method for {@link ByteFileIterator#next()}
+   * <p/>
+   * The byte parser should return the same lines as the opencsv based {@link FileIterator}.
+   */
+  @Test
+  public void testNextEqualsFileIterator() throws InputIterationException {
+    // Setup
+    ConfigurationSettingFileInput setting = new ConfigurationSettingFileInput("some relation");
+    // Expected values
+    List<List<String>> expectedLines = readAll(
+      new FileIterator("some relation", new StringReader(CSV_DATA), setting));
+
+    // Execute functionality
+    FileIterator byteFileIterator = new ByteFileIterator("some relation",
+      Channels.newChannel(new ByteArrayInputStream(CSV_DATA.getBytes(StandardCharsets.UTF_8))),
+      setting);
+    List<List<String>> actualLines = readAll(byteFileIterator);
+
+    // Check result
+    assertEquals(Arrays.asList("id", "name", "comment"), byteFileIterator.columnNames());
+    assertEquals(expectedLines, actualLines);
+    assertEquals(Arrays.asList("1", "Doe, John", "multi\nline"), actualLines.get(0));
+    assertEquals(Arrays.asList("2", null, "say \"hi\""), actualLines.get(1));
+    assertEquals(Arrays.asList("3", "esc\"aped", "padded"), actualLines.get(2));
+    assertEquals(Arrays.asList("5", "ümläut", null), actualLines.get(4));
+  }
+
+  /**
+   * Test method for {@link ByteCsvParser#readRecord()}
+   * <p/>
+   * Records spanning several buffer refills should be parsed correctly.
+   */
+  @Test
+  public void testReadRecordSmallBuffer() throws Exception {
+    // Setup
+    ConfigurationSettingFileInput setting = new ConfigurationSettingFileInput("some relation");
+    // Expected values
+    List<List<String>> expectedLines = readAll(
+      new FileIterator("some relation", new StringReader(CSV_DATA), setting.setHeader(false)));
+
+    // Execute functionality
+    ByteCsvParser parser = new ByteCsvParser(
+      Channels.newChannel(new ByteArrayInputStream(CSV_DATA.getBytes(StandardCharsets.UTF_8))),
+      setting, 3);
+    List<List<String>> actualLines = new ArrayList<>();
+    ByteCsvRow row;
+    while ((row = parser.readRecord()) != null) {
+      actualLines.add(new ArrayList<>(row));
+    }
+
+    // Check result
+    assertEquals(expectedLines, actualLines);
+  }
+
+  /**
+   * Test method for {@link ByteFileIterator#ByteFileIterator(String, File, ConfigurationSettingFileInput)}
+   * <p/>
+   * Skip lines, strict quotes, other separators and custom null values should be respected when
+   * reading a file.
+   */
+  @Test
+  public void testSettings() throws Exception {
+    // Setup
+    String data = "garbage line\n'a';x'b';'null'\n'c';'d';'e'\n";
+    File file = new FileFixture(data).getTestData("settings.csv");
+    ConfigurationSettingFileInput setting = new ConfigurationSettingFileInput(file.getPath())
+      .setSeparatorChar(";")
+      .setQuoteChar("'")
+      .setStrictQuotes(true)
+      .setSkipLines(1)
+      .setHeader(false)
+      .setNullValue("null");
+    // Expected values
+    List<List<String>> expectedLines = readAll(
+      new FileIterator("settings.csv", new StringReader(data), setting));
+
+    // Execute functionality
+    List<List<String>> actualLines = readAll(new ByteFileIterator("settings.csv", file, setting));
+
+    // Check result
+    assertEquals(expectedLines, actualLines);
+    assertEquals(Arrays.asList("a", "b", null), actualLines.get(0));
+  }
+
+  /**
+   * Test method for {@link ByteFileIterator#next()}
+   * <p/>
+   * Lines with a differing number of values should be skipped like in the {@link FileIterator}.
+   */
+  @Test
+  public void testSkipDifferingLines() throws Exception {
+    // Setup
+    String data = "one,two,three\nfour,five\nsix,seven,eight\nnine\n";
+    ConfigurationSettingFileInput setting = new ConfigurationSettingFileInput("some relation")
+      .setHeader(false)
+      .setSkipDifferingLines(true);
+
+    // Execute functionality
+    FileIterator byteFileIterator = new ByteFileIterator("some relation",
+      Channels.newChannel(new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8))),
+      setting);
+    List<List<String>> actualLines = readAll(byteFileIterator);
+
+    // Check result
+    assertEquals(2, actualLines.size());
+    assertEquals(Arrays.asList("six", "seven", "eight"), actualLines.get(1));
+    assertEquals(2, byteFileIterator.getNumberOfSkippedDifferingLines());
+  }
+
+  /**
+   * Test method for {@link ByteFileIterator#ByteFileIterator(String, File, ConfigurationSettingFileInput, int[])}
+   * <p/>
+   * A projected iterator should only return the requested columns in the requested order.
+   */
+  @Test
+  public void testProjection() throws Exception {
+    // Setup
+    File file = new FileFixture(CSV_DATA).getTestData("projection.csv");
+    ConfigurationSettingFileInput setting = new ConfigurationSettingFileInput(file.getPath());
+
+    // Execute functionality
+    FileIterator projected = new ByteFileIterator("projection.csv", file, setting, new int[]{2, 0});
+    List<List<String>> actualLines = readAll(projected);
+
+    // Check result
+    assertEquals(2, projected.numberOfColumns());
+    assertEquals(Arrays.asList("comment", "id"), projected.columnNames());
+    assertEquals(5, actualLines.size());
+    assertEquals(Arrays.asList("multi\nline", "1"), actualLines.get(0));
+    assertEquals(Arrays.asList("say \"hi\"", "2"), actualLines.get(1));
+    assertEquals(Arrays.asList(null, "5"), actualLines.get(4));
+  }
+
+  /**
+   * Test method for {@link ByteCsvParser#supports(ConfigurationSettingFileInput)}
+   * <p/>
+   * Only ASCII separators, quotes and escape characters can be parsed on byte level.
+   */
+  @Test
+  public void testSupports() {
+    // Execute functionality
+    // Check result
+    assertTrue(ByteCsvParser.supports(new ConfigurationSettingFileInput("file")));
+    assertTrue(ByteCsvParser.supports(new ConfigurationSettingFileInput("file").setEscapeChar("")));
+    assertFalse(ByteCsvParser.supports(new ConfigurationSettingFileInput("file")
+      .setSeparatorChar("§")));
+  }
+
+  protected List<List<String>> readAll(FileIterator iterator) throws InputIterationException {
+    List<List<String>> lines = new ArrayList<>();
+    while (iterator.hasNext()) {
+      lines.add(new ArrayList<>(iterator.next()));
+    }
+    return lines;
+  }
+}
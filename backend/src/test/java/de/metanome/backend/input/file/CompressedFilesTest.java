@@ -0,0 +1,240 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.input.file;
+
+import de.metanome.algorithm_integration.input.RelationalInput;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link CompressedFiles}, {@link ParallelGzipInputStream}, {@link
+ * ZipEntriesInputStream} and {@link ReadAheadInputStream}
+ */
+public class CompressedFilesTest {
+
+  protected static final String HEADER = "id,name\n";
+
+  /**
+   * Test method for {@link DefaultFileInputGenerator#generateNewCopy()}
+   * <p/>
+   * Gzip files should yield the same rows as the uncompressed file, no matter whether their
+   * members store their sizes or not.
+   */
+  @Test
+  public void testGenerateNewCopyGzip() throws Exception {
+    // Setup
+    String data = createData(0, 3000);
+    File plainFile = new FileFixture(data).getTestData("compressed_plain.csv");
+    File singleMember = writeFile("compressed_single.csv.gz", gzip(data));
+    File multiMember = writeFile("compressed_multi.csv.gz",
+      gzip(data.substring(0, 1000)), gzip(data.substring(1000)));
+    File blockMembers = writeFile("compressed_blocks.csv.gz", blockGzip(data, 997),
+      gzip(""));
+    // Expected values
+    List<List<String>> expectedRows = readAll(plainFile);
+    try (ParallelGzipInputStream blocks = new ParallelGzipInputStream(blockMembers)) {
+      assertTrue(blocks.readMemberSize(0) > 0);
+    }
+    try (ParallelGzipInputStream members = new ParallelGzipInputStream(multiMember)) {
+      assertEquals(-1, members.readMemberSize(0));
+    }
+
+    for (File file : new File[]{singleMember, multiMember, blockMembers}) {
+      for (boolean useByteParser : new boolean[]{true, false}) {
+        // Execute functionality
+        DefaultFileInputGenerator generator = new DefaultFileInputGenerator(file);
+        generator.setUseByteParser(useByteParser);
+        generator.setInputCache(null);
+        RelationalInput input = generator.generateNewCopy();
+
+        // Check result
+        assertEquals(Arrays.asList("id", "name"), input.columnNames());
+        assertEquals(file.getName(), expectedRows, readAll(input));
+      }
+    }
+  }
+
+  /**
+   * Test method for {@link DefaultFileInputGenerator#generateNewCopy()}
+   * <p/>
+   * The data entries of a zip archive should be concatenated without their repeated headers.
+   */
+  @Test
+  public void testGenerateNewCopyZip() throws Exception {
+    // Setup
+    File plainFile = new FileFixture(createData(0, 30)).getTestData("zipped_plain.csv");
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+      addEntry(zip, "part-1.csv", createData(0, 10));
+      addEntry(zip, "readme.md", "not a data file");
+      addEntry(zip, "part-2.csv", createData(10, 20).replace("\n", "\r\n").trim());
+      addEntry(zip, "part-3.csv", createData(20, 30));
+    }
+    File zipFile = writeFile("zipped.zip", bytes.toByteArray());
+    // Expected values
+    List<List<String>> expectedRows = readAll(plainFile);
+
+    // Execute functionality
+    DefaultFileInputGenerator generator = new DefaultFileInputGenerator(zipFile);
+    generator.setInputCache(null);
+    List<List<String>> actualRows = readAll(generator.generateNewCopy());
+
+    // Check result
+    assertEquals(expectedRows, actualRows);
+    assertEquals("zipped.csv", CompressedFiles.getDecompressedName(zipFile));
+  }
+
+  /**
+   * Test method for {@link CompressedFiles#isDataFile(String)}
+   * <p/>
+   * The file endings should be matched regardless of their case, like the compressed ones.
+   */
+  @Test
+  public void testIsDataFile() {
+    // Check result
+    assertTrue(CompressedFiles.isDataFile("part-1.csv"));
+    assertTrue(CompressedFiles.isDataFile("PART-1.CSV"));
+    assertFalse(CompressedFiles.isDataFile("readme.md"));
+    assertFalse(CompressedFiles.isDataFile("PART-1.CSV.GZ"));
+  }
+
+  /**
+   * Test method for {@link ReadAheadInputStream#read()}
+   * <p/>
+   * A failed source should fail every further read instead of blocking it.
+   */
+  @Test
+  public void testReadAheadFailure() throws Exception {
+    // Setup
+    final IOException failure = new IOException("broken source");
+    InputStream source = new InputStream() {
+      @Override
+      public int read() throws IOException {
+        throw failure;
+      }
+    };
+
+    // Execute functionality
+    List<IOException> errors = new ArrayList<>();
+    try (ReadAheadInputStream in = new ReadAheadInputStream(source)) {
+      for (int i = 0; i < 2; i++) {
+        try {
+          in.read();
+        } catch (IOException e) {
+          errors.add(e);
+        }
+      }
+    }
+
+    // Check result
+    assertEquals(Arrays.asList(failure, failure), errors);
+  }
+
+  protected String createData(int from, int to) {
+    StringBuilder data = new StringBuilder(HEADER);
+    for (int i = from; i < to; i++) {
+      data.append(i).append(",\"name ").append(i % 17).append("\"\n");
+    }
+    return data.toString();
+  }
+
+  protected byte[] gzip(String data) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+      out.write(data.getBytes(StandardCharsets.UTF_8));
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Compresses the data into members of the given size that store their size in a "BC" extra
+   * field like bgzip does.
+   */
+  protected byte[] blockGzip(String data, int blockSize) {
+    byte[] input = data.getBytes(StandardCharsets.UTF_8);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    for (int start = 0; start < input.length; start += blockSize) {
+      int length = Math.min(blockSize, input.length - start);
+      Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+      deflater.setInput(input, start, length);
+      deflater.finish();
+      byte[] deflated = new byte[2 * blockSize + 64];
+      int deflatedLength = deflater.deflate(deflated);
+      deflater.end();
+      CRC32 crc = new CRC32();
+      crc.update(input, start, length);
+
+      ByteBuffer member = ByteBuffer.allocate(26 + deflatedLength).order(ByteOrder.LITTLE_ENDIAN);
+      member.put((byte) 0x1f).put((byte) 0x8b).put((byte) 8).put((byte) 4).putInt(0)
+        .put((byte) 0).put((byte) 0xff).putShort((short) 6).put((byte) 'B').put((byte) 'C')
+        .putShort((short) 2).putShort((short) (member.capacity() - 1))
+        .put(deflated, 0, deflatedLength).putInt((int) crc.getValue()).putInt(length);
+      bytes.write(member.array(), 0, member.capacity());
+    }
+    return bytes.toByteArray();
+  }
+
+  protected void addEntry(ZipOutputStream zip, String name, String data) throws IOException {
+    zip.putNextEntry(new ZipEntry(name));
+    zip.write(data.getBytes(StandardCharsets.UTF_8));
+    zip.closeEntry();
+  }
+
+  protected File writeFile(String name, byte[]... parts) throws IOException {
+    File file = new File(System.getProperty("java.io.tmpdir"), name);
+    file.deleteOnExit();
+    try (OutputStream out = new FileOutputStream(file)) {
+      for (byte[] part : parts) {
+        out.write(part);
+      }
+    }
+    return file;
+  }
+
+  protected List<List<String>> readAll(File file) throws Exception {
+    DefaultFileInputGenerator generator = new DefaultFileInputGenerator(file);
+    generator.setInputCache(null);
+    return readAll(generator.generateNewCopy());
+  }
+
+  protected List<List<String>> readAll(RelationalInput input) throws Exception {
+    List<List<String>> rows = new ArrayList<>();
+    while (input.hasNext()) {
+      rows.add(input.next());
+    }
+    input.close();
+    return rows;
+  }
+}
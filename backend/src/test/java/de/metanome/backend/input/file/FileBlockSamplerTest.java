@@ -0,0 +1,112 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.input.file;
+
+import de.metanome.algorithm_integration.configuration.ConfigurationSettingFileInput;
+import de.metanome.algorithm_integration.input.InputSampling;
+import de.metanome.algorithm_integration.input.RelationalInput;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link FileBlockSampler}
+ */
+public class FileBlockSamplerTest {
+
+  /**
+   * Test method for {@link FileBlockSampler#sample(InputSampling, int[])}
+   * <p/>
+   * The sample should consist of complete rows of the file in file order, be reproducible and
+   * contain all rows if every block is selected.
+   */
+  @Test
+  public void testSample() throws Exception {
+    // Setup
+    File file = createFile(500);
+    ConfigurationSettingFileInput setting = new ConfigurationSettingFileInput(file.getPath());
+    // Expected values
+    List<List<String>> allRows = readAll(new ByteFileIterator("sampled.csv", file, setting));
+
+    // Execute functionality
+    List<List<String>> sample =
+      readAll(new FileBlockSampler(file, setting, 256).sample(InputSampling.block(0.3, 1), null));
+    List<List<String>> completeSample =
+      readAll(new FileBlockSampler(file, setting, 256).sample(InputSampling.block(1, 1), null));
+
+    // Check result
+    assertTrue(sample.size() > 0 && sample.size() < allRows.size());
+    int lastIndex = -1;
+    for (List<String> row : sample) {
+      int index = allRows.indexOf(row);
+      assertTrue(index > lastIndex);
+      lastIndex = index;
+    }
+    assertEquals(sample,
+      readAll(new FileBlockSampler(file, setting, 256).sample(InputSampling.block(0.3, 1), null)));
+    assertEquals(allRows, completeSample);
+  }
+
+  /**
+   * Test method for {@link DefaultFileInputGenerator#generateNewCopy(int[])}
+   * <p/>
+   * The generator should apply the sampling of its setting to projected copies as well.
+   */
+  @Test
+  public void testGenerateSampledCopy() throws Exception {
+    // Setup
+    File file = createFile(5000);
+    ConfigurationSettingFileInput setting = new ConfigurationSettingFileInput(file.getPath())
+      .setSampling(new InputSampling(InputSampling.Strategy.BLOCK, 5, 0.5, 9));
+    DefaultFileInputGenerator generator = new DefaultFileInputGenerator(file, setting);
+    generator.setInputCache(null);
+
+    // Execute functionality
+    RelationalInput input = generator.generateNewCopy(new int[]{1});
+    List<String> columnNames = input.columnNames();
+    List<List<String>> projectedSample = readAll(input);
+
+    // Check result
+    assertEquals(Arrays.asList("value"), columnNames);
+    assertEquals(5, projectedSample.size());
+    List<List<String>> sample = readAll(generator.generateNewCopy());
+    for (int i = 0; i < sample.size(); i++) {
+      assertEquals(sample.get(i).subList(1, 2), projectedSample.get(i));
+    }
+  }
+
+  protected File createFile(int numberOfRows) throws Exception {
+    StringBuilder data = new StringBuilder("id,value\n");
+    for (int i = 0; i < numberOfRows; i++) {
+      data.append(i).append(",\"value,").append(i).append("\"\n");
+    }
+    return new FileFixture(data.toString()).getTestData("sampled.csv");
+  }
+
+  protected List<List<String>> readAll(RelationalInput input) throws Exception {
+    List<List<String>> rows = new ArrayList<>();
+    while (input.hasNext()) {
+      rows.add(new ArrayList<>(input.next()));
+    }
+    input.close();
+    return rows;
+  }
+}
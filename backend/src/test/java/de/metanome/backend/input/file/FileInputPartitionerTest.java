@@ -0,0 +1,162 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.input.file;
+
+import de.metanome.algorithm_integration.configuration.ConfigurationSettingFileInput;
+import de.metanome.algorithm_integration.input.RelationalInput;
+import de.metanome.algorithm_integration.input.RelationalInputPartition;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link FileInputPartitioner} and {@link FileInputPartition}
+ */
+public class FileInputPartitionerTest {
+
+  /**
+   * Test method for {@link FileInputPartitioner#partition(int)}
+   * <p/>
+   * The partitions should contain all rows of the file in order and know their row numbers, even
+   * if quoted values contain line breaks that look like records.
+   */
+  @Test
+  public void testPartition() throws Exception {
+    // Setup
+    StringBuilder data = new StringBuilder("id,value\n");
+    for (int i = 0; i < 200; i++) {
+      if (i % 7 == 0) {
+        data.append(i).append(",\"quoted\n").append(i).append(",fake\r\nrecord\"\r\n");
+      } else {
+        data.append(i).append(",plain").append(i).append('\n');
+      }
+    }
+    File file = new FileFixture(data.toString()).getTestData("partitioned.csv");
+    ConfigurationSettingFileInput setting = new ConfigurationSettingFileInput(file.getPath());
+    // Expected values
+    List<List<String>> expectedRows = readAll(new ByteFileIterator("partitioned.csv", file,
+      setting));
+
+    for (int numberOfPartitions : new int[]{1, 2, 3, 7, 64, 1000}) {
+      // Execute functionality
+      List<RelationalInputPartition> partitions =
+        new FileInputPartitioner(file, setting).partition(numberOfPartitions);
+
+      // Check result
+      assertTrue(partitions.size() <= numberOfPartitions);
+      List<List<String>> actualRows = new ArrayList<>();
+      for (RelationalInputPartition partition : partitions) {
+        assertEquals(Arrays.asList("id", "value"), partition.columnNames());
+        assertEquals(actualRows.size(), partition.getFirstRowNumber());
+        List<List<String>> rows = readAll(partition);
+        assertEquals(rows.size(), partition.getNumberOfRows());
+        actualRows.addAll(rows);
+      }
+      assertEquals(expectedRows, actualRows);
+    }
+  }
+
+  /**
+   * Test method for {@link FileInputPartitioner#partition(int)}
+   * <p/>
+   * Skipped lines, generated headers and skipped differing lines should be handled like in the
+   * {@link ByteFileIterator}.
+   */
+  @Test
+  public void testPartitionSettings() throws Exception {
+    // Setup
+    StringBuilder data = new StringBuilder("comment line\n");
+    for (int i = 0; i < 100; i++) {
+      data.append(i).append(";a;b\n");
+      if (i % 10 == 0) {
+        data.append("short;line\n");
+      }
+    }
+    File file = new FileFixture(data.toString()).getTestData("partitioned_settings.csv");
+    ConfigurationSettingFileInput setting = new ConfigurationSettingFileInput(file.getPath())
+      .setSeparatorChar(";")
+      .setSkipLines(1)
+      .setHeader(false)
+      .setSkipDifferingLines(true);
+
+    // Execute functionality
+    List<RelationalInputPartition> partitions =
+      new DefaultFileInputGenerator(setting).generatePartitions(4);
+
+    // Check result
+    long numberOfRows = 0;
+    for (RelationalInputPartition partition : partitions) {
+      assertEquals(Arrays.asList("column1", "column2", "column3"), partition.columnNames());
+      assertEquals(numberOfRows, partition.getFirstRowNumber());
+      List<List<String>> rows = readAll(partition);
+      assertEquals(rows.size(), partition.getNumberOfRows());
+      for (int i = 0; i < rows.size(); i++) {
+        assertEquals(String.valueOf(numberOfRows + i), rows.get(i).get(0));
+      }
+      numberOfRows += rows.size();
+    }
+    assertEquals(100, numberOfRows);
+  }
+
+  /**
+   * Test method for {@link FileInputPartitioner#partition(int)}
+   * <p/>
+   * A quoted value, that consists of lines looking like records and spans the cuts of several
+   * ranges, should not be split.
+   */
+  @Test
+  public void testPartitionBoundaryInQuotedValue() throws Exception {
+    // Setup
+    StringBuilder data = new StringBuilder("id,value\n0,\"");
+    for (int i = 0; i < 1000; i++) {
+      data.append(i).append(",fake\n");
+    }
+    data.append("\"\n1,plain\n");
+    File file = new FileFixture(data.toString()).getTestData("partitioned_quoted.csv");
+    ConfigurationSettingFileInput setting = new ConfigurationSettingFileInput(file.getPath());
+
+    // Expected values
+    List<List<String>> expectedRows = readAll(new ByteFileIterator("partitioned_quoted.csv", file,
+      setting));
+
+    // Execute functionality
+    List<RelationalInputPartition> partitions =
+      new FileInputPartitioner(file, setting).partition(4);
+
+    // Check result
+    assertEquals(2, expectedRows.size());
+    List<List<String>> actualRows = new ArrayList<>();
+    for (RelationalInputPartition partition : partitions) {
+      assertEquals(actualRows.size(), partition.getFirstRowNumber());
+      actualRows.addAll(readAll(partition));
+    }
+    assertEquals(expectedRows, actualRows);
+  }
+
+  protected List<List<String>> readAll(RelationalInput input) throws Exception {
+    List<List<String>> rows = new ArrayList<>();
+    while (input.hasNext()) {
+      rows.add(new ArrayList<>(input.next()));
+    }
+    input.close();
+    return rows;
+  }
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.input.file;
+
+import de.metanome.algorithm_integration.configuration.ConfigurationSettingFileInput;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link FilePreviewService} and {@link FileRowCounter}
+ */
+public class FilePreviewServiceTest {
+
+  /**
+   * Test method for {@link FilePreviewService#getPreview(File, ConfigurationSettingFileInput, int)}
+   * <p/>
+   * Previews should be served from the cached head of the file and small files should be counted
+   * exactly. Different settings should be cached separately.
+   */
+  @Test
+  public void testGetPreview() throws Exception {
+    // Setup
+    FilePreviewService service = new FilePreviewService(FilePreviewService.DEFAULT_MAX_ENTRIES);
+    File file = createFile(120);
+    ConfigurationSettingFileInput setting = new ConfigurationSettingFileInput(file.getPath());
+
+    // Execute functionality
+    FilePreview preview = service.getPreview(file, setting, 3);
+    FilePreview largerPreview = service.getPreview(file, setting, 80);
+    FilePreview previewWithoutHeader =
+      service.getPreview(file, new ConfigurationSettingFileInput(file.getPath()).setHeader(false), 1);
+
+    // Check result
+    assertEquals(Arrays.asList("id", "value"), preview.getColumnNames());
+    assertEquals(3, preview.getRows().size());
+    assertEquals(Arrays.asList("2", "value2"), preview.getRows().get(2));
+    assertEquals(120, preview.getRowCount());
+    assertTrue(preview.isRowCountExact());
+    assertEquals(80, largerPreview.getRows().size());
+    assertEquals(Arrays.asList("id", "value"), previewWithoutHeader.getRows().get(0));
+    assertEquals(2, service.size());
+  }
+
+  /**
+   * Test method for {@link FilePreviewService#getRowCount(File, ConfigurationSettingFileInput)}
+   * <p/>
+   * The row count of large files should be estimated from samples and replaced by the exact count
+   * of the background scan.
+   */
+  @Test
+  public void testGetRowCount() throws Exception {
+    // Setup
+    FilePreviewService service = new FilePreviewService(FilePreviewService.DEFAULT_MAX_ENTRIES);
+    File file = createFile(100000);
+    ConfigurationSettingFileInput setting = new ConfigurationSettingFileInput(file.getPath());
+
+    // Execute functionality
+    long estimation = new FileRowCounter(file, setting).estimate(8, 1 << 16);
+    FilePreview rowCount = service.getRowCount(file, setting);
+    for (int i = 0; i < 100 && !rowCount.isRowCountExact(); i++) {
+      Thread.sleep(50);
+      rowCount = service.getRowCount(file, setting);
+    }
+
+    // Check result
+    assertEquals(100000, estimation, 10000);
+    assertTrue(rowCount.isRowCountExact());
+    assertEquals(100000, rowCount.getRowCount());
+    assertEquals(100000, new FileRowCounter(file, setting).countRows(3));
+  }
+
+  protected File createFile(int numberOfRows) throws Exception {
+    StringBuilder data = new StringBuilder("id,value\n");
+    for (int i = 0; i < numberOfRows; i++) {
+      data.append(i).append(",value").append(i).append('\n');
+    }
+    return new FileFixture(data.toString()).getTestData("preview.csv");
+  }
+}
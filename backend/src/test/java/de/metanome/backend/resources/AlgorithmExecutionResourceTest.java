@@ -24,6 +24,8 @@ import de.metanome.backend.algorithm_execution.AlgorithmExecution;
 import de.metanome.backend.configuration.ConfigurationValueFileInputGenerator;
 import de.metanome.backend.configuration.ConfigurationValueString;
 import de.metanome.backend.input.file.FileFixture;
+import de.metanome.backend.result_receiver.ResultPrinter;
+import de.metanome.backend.result_receiver.ResultStreamSender;
 import de.metanome.backend.results_db.ExecutionSetting;
 import de.metanome.backend.results_db.Input;
 import org.junit.Test;
@@ -34,6 +36,7 @@ import java.util.List;
 import static junit.framework.TestCase.assertEquals;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 public class AlgorithmExecutionResourceTest {
@@ -95,6 +98,32 @@ public class AlgorithmExecutionResourceTest {
    * Test method for {@link de.metanome.backend.resources.AlgorithmExecutionResource#configurationValuesToJson(java.util.List)}
    */
 
+  /**
+   * Test method for {@link AlgorithmExecutionResource#getForwardedProperties()}
+   * <p/>
+   * The result settings of the backend should be passed on to the executing processes, the result
+   * port of another execution not.
+   */
+  @Test
+  public void testGetForwardedProperties() {
+    // Setup
+    System.setProperty(ResultPrinter.BINARY_PROPERTY, "true");
+    System.setProperty(ResultStreamSender.PORT_PROPERTY, "4711");
+
+    // Execute functionality
+    List<String> arguments;
+    try {
+      arguments = AlgorithmExecutionResource.getForwardedProperties();
+    } finally {
+      System.clearProperty(ResultPrinter.BINARY_PROPERTY);
+      System.clearProperty(ResultStreamSender.PORT_PROPERTY);
+    }
+
+    // Check result
+    assertTrue(arguments.contains("-D" + ResultPrinter.BINARY_PROPERTY + "=true"));
+    assertFalse(arguments.contains("-D" + ResultStreamSender.PORT_PROPERTY + "=4711"));
+  }
+
   @Test
   public void testConfigurationValuesToJson() throws Exception {
     List<ConfigurationValue> configValues = new ArrayList<>();
@@ -24,6 +24,7 @@ import de.metanome.backend.result_postprocessing.file_fixture.FileFixtureDiffere
 import org.junit.Test;
 
 import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
@@ -84,4 +85,46 @@ public class TableInformationTest {
     assertEquals(expectedBitSet, tableInformation.getBitSet());
   }
 
+  /**
+   * The data dependent statistics of all columns should be computed in a single scan and match the
+   * statistics computed from one scan per column.
+   */
+  @Test
+  public void testSetUpWithDataDependentStatisticsSingleScan()
+    throws InputIterationException, InputGenerationException, AlgorithmConfigurationException {
+    // Setup
+    final AtomicInteger numberOfCopies = new AtomicInteger();
+    RelationalInputGenerator countingGenerator = new RelationalInputGenerator() {
+      @Override
+      public RelationalInput generateNewCopy() throws InputGenerationException {
+        numberOfCopies.incrementAndGet();
+        try {
+          return fileFixture.getTestData();
+        } catch (InputIterationException e) {
+          return null;
+        }
+      }
+      @Override
+      public void close() {}
+    };
+
+    // Execute Functionality
+    TableInformation tableInformation = new TableInformation(countingGenerator, false, new BitSet());
+
+    // Check
+    assertEquals(1, numberOfCopies.get());
+    for (int columnIndex = 0; columnIndex < 4; columnIndex++) {
+      ColumnInformation actual = tableInformation.getColumn(columnIndex);
+      ColumnInformation expected = new ColumnInformation(actual.getColumnName(), columnIndex,
+        actual.getBitSet(), fileFixture.getTestData(), true);
+      assertEquals(expected.getColumnType(), actual.getColumnType());
+      assertEquals(expected.getRowCount(), actual.getRowCount());
+      assertEquals(expected.getDistinctValuesCount(), actual.getDistinctValuesCount());
+      assertEquals(expected.getNullValuesCount(), actual.getNullValuesCount());
+      assertEquals(expected.getAverageValueLength(), actual.getAverageValueLength(), 0.0001);
+      assertEquals(expected.getHistogram().getHistogramData(),
+        actual.getHistogram().getHistogramData());
+    }
+  }
+
 }
@@ -16,6 +16,7 @@
 package de.metanome.backend.result_postprocessing.result_ranking;
 
 import de.metanome.algorithm_helper.data_structures.PositionListIndex;
+import de.metanome.algorithm_helper.data_structures.PositionListIndexCache;
 import de.metanome.algorithm_integration.ColumnCombination;
 import de.metanome.algorithm_integration.ColumnIdentifier;
 import de.metanome.algorithm_integration.input.InputGenerationException;
@@ -280,7 +281,7 @@ public class FunctionalDependencyRankingTest {
 
     TableInformation tableInformation = tableInformationMap.values().iterator().next();
     Map<BitSet, PositionListIndex> plis = ranking.createPLIs(tableInformation);
-    ranking.PLIs = plis;
+    ranking.PLIs = new PositionListIndexCache(plis);
 
     // Execute Functionality
     ranking.calculatePollution(result, tableInformation);
@@ -299,7 +300,7 @@ public class FunctionalDependencyRankingTest {
 
     TableInformation tableInformation = tableInformationMap.values().iterator().next();
     Map<BitSet, PositionListIndex> plis = ranking.createPLIs(tableInformation);
-    ranking.PLIs = plis;
+    ranking.PLIs = new PositionListIndexCache(plis);
 
     // Execute Functionality
     BitSet columns = new BitSet(5);
@@ -308,7 +309,7 @@ public class FunctionalDependencyRankingTest {
 
     // Check
     assertEquals(0.0, keyError, 0.00);
-    assertEquals(tableInformation.getColumnCount(), ranking.PLIs.keySet().size());
+    assertEquals(tableInformation.getColumnCount(), ranking.PLIs.size());
 
     // Execute Functionality
     columns = new BitSet(5);
@@ -318,7 +319,7 @@ public class FunctionalDependencyRankingTest {
 
     // Check
     assertEquals(0.0, keyError, 0.0001);
-    assertEquals(tableInformation.getColumnCount() + 1, ranking.PLIs.keySet().size());
+    assertEquals(tableInformation.getColumnCount() + 1, ranking.PLIs.size());
 
     // Execute Functionality
     columns = new BitSet(5);
@@ -328,7 +329,7 @@ public class FunctionalDependencyRankingTest {
 
     // Check
     assertEquals(1.0, keyError, 0.0001);
-    assertEquals(tableInformation.getColumnCount() + 2, ranking.PLIs.keySet().size());
+    assertEquals(tableInformation.getColumnCount() + 2, ranking.PLIs.size());
 
     // Execute Functionality
     columns = new BitSet(5);
@@ -338,7 +339,7 @@ public class FunctionalDependencyRankingTest {
 
     // Check
     assertEquals(3.0, keyError, 0.0001);
-    assertEquals(tableInformation.getColumnCount() + 3, ranking.PLIs.keySet().size());
+    assertEquals(tableInformation.getColumnCount() + 3, ranking.PLIs.size());
   }
 
   @Test
@@ -351,7 +352,7 @@ public class FunctionalDependencyRankingTest {
 
     TableInformation tableInformation = tableInformationMap.values().iterator().next();
     Map<BitSet, PositionListIndex> plis = ranking.createPLIs(tableInformation);
-    ranking.PLIs = plis;
+    ranking.PLIs = new PositionListIndexCache(plis);
 
     // Execute Functionality
     ranking.calculateInformationGainCells(result, tableInformation);
@@ -371,7 +372,7 @@ public class FunctionalDependencyRankingTest {
 
     TableInformation tableInformation = tableInformationMap.values().iterator().next();
     Map<BitSet, PositionListIndex> plis = ranking.createPLIs(tableInformation);
-    ranking.PLIs = plis;
+    ranking.PLIs = new PositionListIndexCache(plis);
 
     // Execute Functionality
     ranking.calculateInformationGainBytes(result, tableInformation);
@@ -16,6 +16,7 @@
 package de.metanome.backend.result_postprocessing.visualization.FunctionalDependency;
 
 import de.metanome.algorithm_helper.data_structures.PositionListIndex;
+import de.metanome.algorithm_helper.data_structures.PositionListIndexCache;
 import de.metanome.algorithm_integration.AlgorithmConfigurationException;
 import de.metanome.algorithm_integration.ColumnCombination;
 import de.metanome.algorithm_integration.ColumnIdentifier;
@@ -178,7 +179,7 @@ public class FunctionalDependencyVisualizationTest {
 
     TableInformation tableInformation = tableInformationMap.values().iterator().next();
     Map<BitSet, PositionListIndex> plis = ranking.createPLIs(tableInformation);
-    tableInformation.setPLIs(plis);
+    tableInformation.setPLIs(new PositionListIndexCache(plis));
 
     FunctionalDependencyVisualization visualization = new FunctionalDependencyVisualization(
         functionalDependencyResults, tableInformation);
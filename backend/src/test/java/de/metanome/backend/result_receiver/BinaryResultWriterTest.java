@@ -0,0 +1,137 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.result_receiver;
+
+import de.metanome.algorithm_integration.ColumnCombination;
+import de.metanome.algorithm_integration.ColumnIdentifier;
+import de.metanome.algorithm_integration.ColumnPermutation;
+import de.metanome.algorithm_integration.results.FunctionalDependency;
+import de.metanome.algorithm_integration.results.InclusionDependency;
+import de.metanome.algorithm_integration.results.Result;
+import de.metanome.algorithm_integration.results.UniqueColumnCombination;
+import de.metanome.backend.results_db.ResultType;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link BinaryResultWriter} and {@link BinaryResultReader}
+ */
+public class BinaryResultWriterTest {
+
+  /**
+   * Test method for {@link BinaryResultWriter#write(Result)}
+   * <p/>
+   * Functional dependencies of a wide schema should be read again unchanged and be an order of
+   * magnitude smaller than their JSON representation.
+   */
+  @Test
+  public void testWriteFunctionalDependencies() throws Exception {
+    // Setup
+    List<ColumnIdentifier> columns = createColumns(300);
+    List<Result> expectedResults = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      ColumnCombination determinant = new ColumnCombination(
+        columns.get(i % 300), columns.get((i * 7) % 300), columns.get((i * 13 + 1) % 300));
+      expectedResults.add(new FunctionalDependency(determinant, columns.get((i * 3 + 2) % 300)));
+    }
+
+    // Execute functionality
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    write(out, ResultType.FD, columns, expectedResults);
+
+    // Check result
+    assertEquals(expectedResults, read(out));
+    long jsonSize = 0;
+    for (Result result : expectedResults) {
+      jsonSize += ResultJsonWriter.toJsonString(ResultType.FD, result).length() + 1;
+    }
+    assertTrue(out.size() * 10 < jsonSize);
+  }
+
+  /**
+   * Test method for {@link BinaryResultWriter#write(Result)}
+   * <p/>
+   * Unique column combinations and inclusion dependencies should be read again unchanged, also if
+   * their columns were not known in advance.
+   */
+  @Test
+  public void testWriteWithoutDictionary() throws IOException {
+    // Setup
+    List<ColumnIdentifier> columns = createColumns(70);
+    List<Result> expectedUccs = new ArrayList<>();
+    expectedUccs.add(new UniqueColumnCombination(columns.get(0), columns.get(1), columns.get(2)));
+    expectedUccs.add(new UniqueColumnCombination(columns.get(69)));
+    List<Result> expectedInds = new ArrayList<>();
+    expectedInds.add(new InclusionDependency(
+      new ColumnPermutation(columns.get(5), columns.get(3)),
+      new ColumnPermutation(columns.get(68), columns.get(1))));
+
+    // Execute functionality
+    ByteArrayOutputStream uccOut = new ByteArrayOutputStream();
+    write(uccOut, ResultType.UCC, null, expectedUccs);
+    ByteArrayOutputStream indOut = new ByteArrayOutputStream();
+    write(indOut, ResultType.IND, null, expectedInds);
+
+    // Check result
+    assertEquals(expectedUccs, read(uccOut));
+    assertEquals(expectedInds, read(indOut));
+  }
+
+  /**
+   * Test method for {@link BinaryResultWriter#BinaryResultWriter(java.io.OutputStream, ResultType, ColumnRegistry)}
+   * <p/>
+   * Result types without binary encoding should be rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnsupportedResultType() throws IOException {
+    new BinaryResultWriter(new ByteArrayOutputStream(), ResultType.OD, new ColumnRegistry());
+  }
+
+  protected List<ColumnIdentifier> createColumns(int numberOfColumns) {
+    List<ColumnIdentifier> columns = new ArrayList<>();
+    for (int i = 0; i < numberOfColumns; i++) {
+      columns.add(new ColumnIdentifier("table", "column" + i));
+    }
+    return columns;
+  }
+
+  protected void write(ByteArrayOutputStream out, ResultType type,
+                       List<ColumnIdentifier> dictionary, List<Result> results) throws IOException {
+    try (BinaryResultWriter writer = new BinaryResultWriter(out, type, dictionary)) {
+      for (Result result : results) {
+        writer.write(result);
+      }
+    }
+  }
+
+  protected List<Result> read(ByteArrayOutputStream out) throws IOException {
+    List<Result> results = new ArrayList<>();
+    try (BinaryResultReader reader =
+           new BinaryResultReader(new ByteArrayInputStream(out.toByteArray()))) {
+      while (reader.hasNext()) {
+        results.add(reader.next());
+      }
+    }
+    return results;
+  }
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.result_receiver;
+
+import de.metanome.algorithm_helper.data_structures.ColumnCombinationBitset;
+import de.metanome.algorithm_integration.ColumnIdentifier;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ColumnRegistry}
+ */
+public class ColumnRegistryTest {
+
+  protected ColumnIdentifier ci1 = new ColumnIdentifier("table1", "column1");
+  protected ColumnIdentifier ci2 = new ColumnIdentifier("table1", "column2");
+  protected ColumnIdentifier ci3 = new ColumnIdentifier("table2", "column1");
+
+  /**
+   * Test method for {@link ColumnRegistry#toBitSet(Iterable)}
+   * <p/>
+   * Registered columns should be converted to their dense indices, unknown columns should fail the
+   * conversion.
+   */
+  @Test
+  public void testToBitSet() {
+    // Setup
+    ColumnRegistry registry = new ColumnRegistry(Arrays.asList(ci1, ci2, ci1));
+    // Expected values
+    BitSet expectedBitSet = new BitSet();
+    expectedBitSet.set(1);
+
+    // Execute functionality
+    BitSet actualBitSet = registry.toBitSet(Arrays.asList(ci2));
+
+    // Check result
+    assertEquals(2, registry.size());
+    assertEquals(expectedBitSet, actualBitSet);
+    assertNull(registry.toBitSet(Arrays.asList(ci1, ci3)));
+    assertTrue(registry.containsAll(Arrays.asList(ci2, ci1)));
+    assertFalse(registry.containsAll(Arrays.asList(ci3)));
+  }
+
+  /**
+   * Test method for {@link ColumnRegistry#toColumnCombinationBitset(Iterable)}
+   * <p/>
+   * Registered columns should be converted to the column combination of their indices, unknown
+   * columns should fail the conversion.
+   */
+  @Test
+  public void testToColumnCombinationBitset() {
+    // Setup
+    ColumnRegistry registry = new ColumnRegistry(Arrays.asList(ci1, ci2, ci3));
+
+    // Execute functionality
+    ColumnCombinationBitset actualColumns =
+      registry.toColumnCombinationBitset(Arrays.asList(ci3, ci1));
+
+    // Check result
+    assertEquals(new ColumnCombinationBitset(0, 2), actualColumns);
+    assertTrue(actualColumns.isSubsetOf(new ColumnCombinationBitset().setAllBits(3)));
+    assertNull(registry.toColumnCombinationBitset(
+      Arrays.asList(ci1, new ColumnIdentifier("table3", "column1"))));
+  }
+
+  /**
+   * Test method for {@link ColumnRegistry#register(ColumnIdentifier)}
+   * <p/>
+   * Newly registered columns should get the next index, the order of column lists should be kept.
+   */
+  @Test
+  public void testRegister() {
+    // Setup
+    ColumnRegistry registry = new ColumnRegistry();
+    List<ColumnIdentifier> columns = Arrays.asList(ci3, ci1);
+
+    // Execute functionality
+    int index3 = registry.register(ci3);
+    int index1 = registry.register(ci1);
+
+    // Check result
+    assertEquals(0, index3);
+    assertEquals(1, index1);
+    assertEquals(1, registry.register(ci1));
+    assertEquals(-1, registry.indexOf(ci2));
+    assertArrayEquals(new int[]{0, 1}, registry.toIndices(columns));
+    assertEquals(ci3, registry.getColumn(0));
+  }
+}
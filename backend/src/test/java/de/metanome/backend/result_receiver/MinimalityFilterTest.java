@@ -0,0 +1,197 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.result_receiver;
+
+import de.metanome.algorithm_integration.ColumnCombination;
+import de.metanome.algorithm_integration.ColumnIdentifier;
+import de.metanome.algorithm_integration.results.FunctionalDependency;
+import de.metanome.algorithm_integration.results.InclusionDependency;
+import de.metanome.algorithm_integration.results.UniqueColumnCombination;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for {@link MinimalityFilter}
+ */
+public class MinimalityFilterTest {
+
+  protected ColumnIdentifier ci1 = new ColumnIdentifier("table1", "column1");
+  protected ColumnIdentifier ci2 = new ColumnIdentifier("table1", "column2");
+  protected ColumnIdentifier ci3 = new ColumnIdentifier("table1", "column3");
+  protected ColumnIdentifier ci4 = new ColumnIdentifier("table1", "column4");
+
+  /**
+   * Test method for {@link MinimalityFilter#receiveResult(FunctionalDependency)} and
+   * {@link MinimalityFilter#close()}
+   * <p/>
+   * Duplicates and supersets of held determinants should be dropped, held determinants should be
+   * retracted by later subsets. Each dependant is filtered on its own. The minimal results should
+   * only reach the next receiver when the filter is closed.
+   */
+  @Test
+  public void testFunctionalDependencies() throws Exception {
+    // Setup
+    CloseableOmniscientResultReceiver next = mock(CloseableOmniscientResultReceiver.class);
+    when(next.acceptedResult(any(FunctionalDependency.class))).thenReturn(true);
+    MinimalityFilter filter = new MinimalityFilter(next);
+    FunctionalDependency fd123to4 =
+      new FunctionalDependency(new ColumnCombination(ci1, ci2, ci3), ci4);
+    FunctionalDependency fd13to4 = new FunctionalDependency(new ColumnCombination(ci1, ci3), ci4);
+    FunctionalDependency fd23to4 = new FunctionalDependency(new ColumnCombination(ci2, ci3), ci4);
+    FunctionalDependency fd3to4 = new FunctionalDependency(new ColumnCombination(ci3), ci4);
+    FunctionalDependency fd3to4Duplicate =
+      new FunctionalDependency(new ColumnCombination(ci3), ci4);
+    FunctionalDependency fd12to3 = new FunctionalDependency(new ColumnCombination(ci1, ci2), ci3);
+    FunctionalDependency fd124to3 =
+      new FunctionalDependency(new ColumnCombination(ci1, ci2, ci4), ci3);
+
+    // Execute functionality
+    filter.receiveResult(fd123to4);
+    filter.receiveResult(fd13to4);
+    filter.receiveResult(fd12to3);
+    filter.receiveResult(fd23to4);
+    filter.receiveResult(fd3to4);
+    filter.receiveResult(fd3to4Duplicate);
+    filter.receiveResult(fd124to3);
+
+    // Check result
+    verify(next, never()).receiveResult(any(FunctionalDependency.class));
+    assertEquals(2, filter.getNumberOfHeldResults());
+    assertEquals(5, filter.getNumberOfDroppedResults());
+
+    // Execute functionality
+    filter.close();
+
+    // Check result
+    InOrder inOrder = inOrder(next);
+    inOrder.verify(next).receiveResult(same(fd3to4));
+    inOrder.verify(next).receiveResult(same(fd12to3));
+    inOrder.verify(next).close();
+    verify(next, times(2)).receiveResult(any(FunctionalDependency.class));
+  }
+
+  /**
+   * Test method for {@link MinimalityFilter#receiveResult(UniqueColumnCombination)} and
+   * {@link MinimalityFilter#receiveResult(InclusionDependency)}
+   * <p/>
+   * Unique column combinations should be reduced to the minimal ones, other results should be
+   * passed through immediately.
+   */
+  @Test
+  public void testUniqueColumnCombinationsAndPassThrough() throws Exception {
+    // Setup
+    CloseableOmniscientResultReceiver next = mock(CloseableOmniscientResultReceiver.class);
+    when(next.acceptedResult(any(UniqueColumnCombination.class))).thenReturn(true);
+    MinimalityFilter filter = new MinimalityFilter(next);
+    UniqueColumnCombination ucc12 = new UniqueColumnCombination(ci1, ci2);
+    UniqueColumnCombination ucc2 = new UniqueColumnCombination(ci2);
+    UniqueColumnCombination ucc23 = new UniqueColumnCombination(ci2, ci3);
+    UniqueColumnCombination ucc34 = new UniqueColumnCombination(ci3, ci4);
+    InclusionDependency ind = mock(InclusionDependency.class);
+
+    // Execute functionality
+    filter.receiveResult(ucc12);
+    filter.receiveResult(ind);
+    filter.receiveResult(ucc2);
+    filter.receiveResult(ucc23);
+    filter.receiveResult(ucc34);
+
+    // Check result
+    verify(next).receiveResult(ind);
+    verify(next, never()).receiveResult(any(UniqueColumnCombination.class));
+
+    // Execute functionality
+    filter.close();
+
+    // Check result
+    verify(next).receiveResult(same(ucc2));
+    verify(next).receiveResult(same(ucc34));
+    verify(next, times(2)).receiveResult(any(UniqueColumnCombination.class));
+    assertEquals(2, filter.getNumberOfDroppedResults());
+  }
+
+  /**
+   * Test method for {@link MinimalityFilter#setHoldResults(boolean)}
+   * <p/>
+   * Without holding, minimal results should be forwarded right away and later duplicates and
+   * supersets should still be dropped.
+   */
+  @Test
+  public void testForwardWithoutHolding() throws Exception {
+    // Setup
+    CloseableOmniscientResultReceiver next = mock(CloseableOmniscientResultReceiver.class);
+    when(next.acceptedResult(any(UniqueColumnCombination.class))).thenReturn(true);
+    MinimalityFilter filter = new MinimalityFilter(next).setHoldResults(false);
+    UniqueColumnCombination ucc2 = new UniqueColumnCombination(ci2);
+    UniqueColumnCombination ucc34 = new UniqueColumnCombination(ci3, ci4);
+    UniqueColumnCombination ucc12 = new UniqueColumnCombination(ci1, ci2);
+    UniqueColumnCombination ucc2Duplicate = new UniqueColumnCombination(ci2);
+
+    // Execute functionality
+    filter.receiveResult(ucc2);
+    filter.receiveResult(ucc34);
+    filter.receiveResult(ucc12);
+    filter.receiveResult(ucc2Duplicate);
+
+    // Check result
+    verify(next).receiveResult(same(ucc2));
+    verify(next).receiveResult(same(ucc34));
+    verify(next, times(2)).receiveResult(any(UniqueColumnCombination.class));
+    assertEquals(0, filter.getNumberOfHeldResults());
+    assertEquals(2, filter.getNumberOfDroppedResults());
+  }
+
+  /**
+   * Test method for {@link MinimalityFilter#setMaxHeldBytes(long)}
+   * <p/>
+   * Once the held results exceed the memory budget, they should be flushed and later minimal
+   * results should be forwarded right away.
+   */
+  @Test
+  public void testMaxHeldBytes() throws Exception {
+    // Setup
+    CloseableOmniscientResultReceiver next = mock(CloseableOmniscientResultReceiver.class);
+    when(next.acceptedResult(any(FunctionalDependency.class))).thenReturn(true);
+    FunctionalDependency fd12to4 = new FunctionalDependency(new ColumnCombination(ci1, ci2), ci4);
+    FunctionalDependency fd23to4 = new FunctionalDependency(new ColumnCombination(ci2, ci3), ci4);
+    FunctionalDependency fd13to4 = new FunctionalDependency(new ColumnCombination(ci1, ci3), ci4);
+    FunctionalDependency fd123to4 =
+      new FunctionalDependency(new ColumnCombination(ci1, ci2, ci3), ci4);
+    MinimalityFilter filter = new MinimalityFilter(next)
+      .setMaxHeldBytes(ResultCache.estimateSize(fd12to4) + 1);
+
+    // Execute functionality
+    filter.receiveResult(fd12to4);
+    long heldBytes = filter.getHeldBytes();
+    filter.receiveResult(fd23to4);
+    filter.receiveResult(fd13to4);
+    filter.receiveResult(fd123to4);
+
+    // Check result
+    assertEquals(ResultCache.estimateSize(fd12to4), heldBytes);
+    InOrder inOrder = inOrder(next);
+    inOrder.verify(next).receiveResult(same(fd12to4));
+    inOrder.verify(next).receiveResult(same(fd23to4));
+    inOrder.verify(next).receiveResult(same(fd13to4));
+    verify(next, times(3)).receiveResult(any(FunctionalDependency.class));
+    assertEquals(0, filter.getNumberOfHeldResults());
+    assertEquals(0, filter.getHeldBytes());
+    assertEquals(1, filter.getNumberOfDroppedResults());
+  }
+}
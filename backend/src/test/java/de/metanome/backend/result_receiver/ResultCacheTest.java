@@ -166,4 +166,77 @@ public class ResultCacheTest {
     FileUtils.deleteDirectory(new File(ResultPrinter.RESULT_TEST_DIR).getParentFile());
   }
 
+  /**
+   * Test method for {@link ResultCache#iterateNewResults()} <p/> Results above the memory budget
+   * should be spilled to disk and still be returned once in the received order.
+   */
+  @Test
+  public void testSpillResults() throws IOException, ColumnNameMismatchException {
+    // Setup
+    ResultCache resultCache = new ResultCache("identifier", null).setMaxBytes(500);
+    resultCache.setResultTestDir();
+    List<Result> expectedResults = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      expectedResults.add(new UniqueColumnCombination(new ColumnIdentifier("table1", "column" + i)));
+    }
+
+    // Execute functionality
+    List<Result> actualResults = new ArrayList<>();
+    for (int i = 0; i < expectedResults.size(); i++) {
+      resultCache.receiveResult((UniqueColumnCombination) expectedResults.get(i));
+      if (i == 6) {
+        actualResults.addAll(resultCache.fetchNewResults());
+      }
+    }
+    try (ResultCache.ResultIterator iterator = resultCache.iterateNewResults()) {
+      while (iterator.hasNext()) {
+        actualResults.add(iterator.next());
+      }
+    }
+
+    // Check result
+    assertTrue(resultCache.getNumberOfSpilledResults() > 0);
+    assertEquals(expectedResults, actualResults);
+    assertFalse(resultCache.iterateNewResults().hasNext());
+
+    resultCache.close();
+    File actualFile = new File(resultCache.getOutputFilePathPrefix() + ResultType.UCC.getEnding());
+    assertEquals(expectedResults, ResultReader.readResultsFromFile(actualFile.getPath(),
+      ResultType.UCC.getName()));
+    File[] runs = new File(ResultPrinter.RESULT_TEST_DIR).listFiles((dir, name) -> name.endsWith(".gz"));
+    assertEquals(0, runs.length);
+
+    // Cleanup
+    FileUtils.deleteDirectory(new File(ResultPrinter.RESULT_TEST_DIR).getParentFile());
+  }
+
+  /**
+   * Test method for {@link ResultCache#iterateNewResults()} <p/> If a spill fails, spilling should
+   * be disabled and all results should be kept in memory.
+   */
+  @Test
+  public void testSpillFailure() throws IOException, ColumnNameMismatchException {
+    // Setup
+    ResultCache resultCache = new ResultCache("identifier", null).setMaxBytes(200);
+    resultCache.setResultTestDir();
+    resultCache.directory = new File(ResultPrinter.RESULT_TEST_DIR, "missing").getPath();
+    List<Result> expectedResults = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      expectedResults.add(new UniqueColumnCombination(new ColumnIdentifier("table1", "column" + i)));
+    }
+
+    // Execute functionality
+    for (Result result : expectedResults) {
+      resultCache.receiveResult((UniqueColumnCombination) result);
+    }
+
+    // Check result
+    assertNotNull(resultCache.getSpillFailure());
+    assertEquals(0, resultCache.getNumberOfSpilledResults());
+    assertEquals(expectedResults, resultCache.fetchNewResults());
+
+    // Cleanup
+    FileUtils.deleteDirectory(new File(ResultPrinter.RESULT_TEST_DIR).getParentFile());
+  }
+
 }
@@ -98,6 +98,7 @@ public class ResultPrinterTest {
     printer.receiveResult(expectedStat);
 
     // Check result
+    printer.flush();
     File actualFile = new File(printer.getOutputFilePathPrefix() + ResultType.BASIC_STAT.getEnding());
     assertTrue(actualFile.exists());
 
@@ -130,6 +131,7 @@ public class ResultPrinterTest {
     printer.receiveResult(expectedFd);
 
     // Check result
+    printer.flush();
     File actualFile = new File(printer.getOutputFilePathPrefix() + ResultType.FD.getEnding());
     assertTrue(actualFile.exists());
 
@@ -164,6 +166,7 @@ public class ResultPrinterTest {
     printer.receiveResult(expectedCid);
 
     // Check result
+    printer.flush();
     File actualFile = new File(printer.getOutputFilePathPrefix() + ResultType.CID.getEnding());
     assertTrue(actualFile.exists());
 
@@ -196,6 +199,7 @@ public class ResultPrinterTest {
     printer.receiveResult(expectedFd);
 
     // Check result
+    printer.flush();
     File actualFile = new File(printer.getOutputFilePathPrefix() + ResultType.FD.getEnding());
     assertTrue(actualFile.exists());
 
@@ -230,6 +234,7 @@ public class ResultPrinterTest {
     printer.receiveResult(expectedInd);
 
     // Check result
+    printer.flush();
     File actualFile = new File(printer.getOutputFilePathPrefix() + ResultType.IND.getEnding());
     assertTrue(actualFile.exists());
 
@@ -263,6 +268,7 @@ public class ResultPrinterTest {
     printer.receiveResult(expectedUcc);
 
     // Check result
+    printer.flush();
     File actualFile = new File(printer.getOutputFilePathPrefix() + ResultType.UCC.getEnding());
     assertTrue(actualFile.exists());
 
@@ -297,6 +303,7 @@ public class ResultPrinterTest {
     printer.receiveResult(expectedOd);
 
     // Check result
+    printer.flush();
     File actualFile = new File(printer.getOutputFilePathPrefix() + ResultType.OD.getEnding());
     assertTrue(actualFile.exists());
 
@@ -332,6 +339,7 @@ public class ResultPrinterTest {
     printer.receiveResult(expectedOd);
 
     // Check result
+    printer.flush();
     File actualFile = new File(printer.getOutputFilePathPrefix() + ResultType.OD.getEnding());
     assertTrue(actualFile.exists());
 
@@ -369,6 +377,7 @@ public class ResultPrinterTest {
     printer.receiveResult(expectedDc);
 
     // Check result
+    printer.flush();
     File actualFile = new File(printer.getOutputFilePathPrefix() + ResultType.DC.getEnding());
     assertTrue(actualFile.exists());
 
@@ -494,5 +503,30 @@ public class ResultPrinterTest {
     assertTrue(printer.columnMapping.get("1.column23").equals("2"));
   }
 
+  /**
+   * Test method for {@link ResultPrinter#receiveResult(FunctionalDependency)} <p/> With the binary
+   * format enabled, functional dependencies should be written in the binary format and read again.
+   */
+  @Test
+  public void testWriteBinaryFunctionalDependency()
+    throws CouldNotReceiveResultException, IOException, ColumnNameMismatchException {
+    // Setup
+    printer.binary = true;
+    // Expected values
+    FunctionalDependency expectedFd = new FunctionalDependency(
+      new ColumnCombination(ci1), ci2);
+
+    // Execute functionality
+    printer.receiveResult(expectedFd);
+
+    // Check result
+    printer.flush();
+    File actualFile = new File(printer.getOutputFilePathPrefix() + ResultType.FD.getEnding());
+    assertTrue(BinaryResultReader.isBinaryResultFile(actualFile));
+
+    List<Result> results = printer.getResults();
+    assertEquals(1, results.size());
+    assertTrue(results.contains(expectedFd));
+  }
 
 }
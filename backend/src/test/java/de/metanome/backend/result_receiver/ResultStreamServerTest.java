@@ -0,0 +1,154 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.result_receiver;
+
+import de.metanome.algorithm_integration.ColumnCombination;
+import de.metanome.algorithm_integration.ColumnIdentifier;
+import de.metanome.algorithm_integration.results.FunctionalDependency;
+import de.metanome.algorithm_integration.results.Result;
+import de.metanome.algorithm_integration.results.UniqueColumnCombination;
+import de.metanome.backend.results_db.ResultType;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ResultStreamServer} and {@link ResultStreamSender}
+ */
+public class ResultStreamServerTest {
+
+  protected String executionIdentifier = "resultStreamTest";
+
+  @After
+  public void tearDown() throws Exception {
+    for (ResultType type : ResultType.values()) {
+      new File(ResultReceiver.RESULT_DIR, executionIdentifier + type.getEnding()).delete();
+    }
+    // only removes the directory if no other results are stored
+    new File(ResultReceiver.RESULT_DIR).delete();
+  }
+
+  /**
+   * Test method for {@link ResultStreamServer#awaitResults()}
+   * <p/>
+   * All sent results should be counted, written once to the result files and returned.
+   */
+  @Test
+  public void testStreamResults() throws Exception {
+    // Setup
+    ColumnIdentifier ci1 = new ColumnIdentifier("table1", "column1");
+    ColumnIdentifier ci2 = new ColumnIdentifier("table1", "column2");
+    List<ColumnIdentifier> acceptedColumns = Arrays.asList(ci1, ci2);
+    List<Result> expectedFds = new ArrayList<>();
+    for (int i = 0; i < ResultStreamSender.BATCH_SIZE + 10; i++) {
+      expectedFds.add(new FunctionalDependency(new ColumnCombination(ci1), ci2));
+    }
+    UniqueColumnCombination expectedUcc = new UniqueColumnCombination(ci1, ci2);
+
+    // Execute functionality
+    ResultStreamServer server = new ResultStreamServer(executionIdentifier).start();
+    assertSame(server, ResultStreamServer.get(executionIdentifier));
+    ResultStreamSender sender =
+      new ResultStreamSender(executionIdentifier, acceptedColumns, server.getPort(),
+        server.getToken());
+    for (Result fd : expectedFds) {
+      sender.receiveResult((FunctionalDependency) fd);
+    }
+    sender.receiveResult(expectedUcc);
+    sender.close();
+    Map<String, List<Result>> actualResults = server.awaitResults();
+    server.close();
+
+    // Check result
+    String prefix = ResultReceiver.RESULT_DIR + "/" + executionIdentifier;
+    assertEquals(expectedFds, actualResults.get(prefix + ResultType.FD.getEnding()));
+    assertEquals(Arrays.asList(expectedUcc), actualResults.get(prefix + ResultType.UCC.getEnding()));
+    assertEquals(Long.valueOf(expectedFds.size()),
+      server.getCounts().get(ResultType.FD.getName()));
+    assertEquals(expectedFds, ResultReader.readResultsFromFile(prefix + ResultType.FD.getEnding(),
+      ResultType.FD.getName()));
+    assertNull(ResultStreamServer.get(executionIdentifier));
+  }
+
+  /**
+   * Test method for {@link ResultStreamServer#awaitResults()}
+   * <p/>
+   * If the executing process never connects, no results should be returned.
+   */
+  @Test
+  public void testAwaitResultsWithoutConnection() throws Exception {
+    // Setup
+    ResultStreamServer server = new ResultStreamServer(executionIdentifier).start();
+
+    // Execute functionality
+    Map<String, List<Result>> actualResults = server.awaitResults();
+    server.close();
+
+    // Check result
+    assertTrue(actualResults.isEmpty());
+    assertTrue(server.getCounts().isEmpty());
+  }
+
+  /**
+   * Test method for {@link ResultStreamServer#awaitResults()}
+   * <p/>
+   * Connections without the token of the server should be closed without reading from them and
+   * results beyond the memory budget should only be written to the result files.
+   */
+  @Test
+  public void testRejectUnknownSender() throws Exception {
+    // Setup
+    ColumnIdentifier ci1 = new ColumnIdentifier("table1", "column1");
+    List<Result> expectedUccs = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      expectedUccs.add(new UniqueColumnCombination(ci1));
+    }
+    ResultStreamServer server = new ResultStreamServer(executionIdentifier).setMaxBytes(500).start();
+
+    // Execute functionality
+    ResultStreamSender unknownSender =
+      new ResultStreamSender(executionIdentifier, null, server.getPort(), "unknown");
+    ResultStreamSender sender =
+      new ResultStreamSender(executionIdentifier, null, server.getPort(), server.getToken());
+    for (Result ucc : expectedUccs) {
+      sender.receiveResult((UniqueColumnCombination) ucc);
+    }
+    sender.close();
+    Map<String, List<Result>> actualResults = server.awaitResults();
+    server.close();
+    try {
+      unknownSender.close();
+    } catch (IOException ignored) {
+      // the server closed the connection
+    }
+
+    // Check result
+    String prefix = ResultReceiver.RESULT_DIR + "/" + executionIdentifier;
+    assertTrue(actualResults.isEmpty());
+    assertEquals(Long.valueOf(expectedUccs.size()),
+      server.getCounts().get(ResultType.UCC.getName()));
+    assertEquals(expectedUccs, ResultReader.readResultsFromFile(prefix + ResultType.UCC.getEnding(),
+      ResultType.UCC.getName()));
+  }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright 2026 by Metanome Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.metanome.backend.result_receiver;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link WriteBehindOutputStream}
+ */
+public class WriteBehindOutputStreamTest {
+
+  /**
+   * Test method for {@link WriteBehindOutputStream#write(byte[], int, int)}
+   * <p/>
+   * All written bytes should reach the underlying stream in order, also across chunk borders.
+   */
+  @Test
+  public void testWrite() throws IOException {
+    // Setup
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    WriteBehindOutputStream stream = new WriteBehindOutputStream(out, 16);
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      expected.append("line ").append(i).append('\n');
+    }
+
+    // Execute functionality
+    byte[] bytes = expected.toString().getBytes();
+    stream.write(bytes, 0, 100);
+    stream.write(bytes[100]);
+    stream.flush();
+    assertEquals(expected.substring(0, 101), out.toString());
+    stream.write(bytes, 101, bytes.length - 101);
+    stream.close();
+
+    // Check result
+    assertEquals(expected.toString(), out.toString());
+  }
+
+  /**
+   * Test method for {@link WriteBehindOutputStream#close()}
+   * <p/>
+   * Errors of the background thread should be thrown to the writing thread.
+   */
+  @Test(expected = IOException.class)
+  public void testWriteFailure() throws IOException {
+    // Setup
+    OutputStream out = new OutputStream() {
+      @Override
+      public void write(int b) throws IOException {
+        throw new IOException("disk full");
+      }
+    };
+    WriteBehindOutputStream stream = new WriteBehindOutputStream(out, 4);
+
+    // Execute functionality
+    stream.write(new byte[64], 0, 64);
+    stream.close();
+  }
+}
@@ -17,15 +17,18 @@ import de.metanome.algorithm_integration.configuration.ConfigurationSettingTable
 import de.metanome.algorithm_integration.configuration.DbSystem;
 import de.metanome.algorithm_integration.input.DatabaseConnectionGenerator;
 import de.metanome.algorithm_integration.input.FileInputGenerator;
+import de.metanome.algorithm_integration.input.InputSampling;
 import de.metanome.algorithm_integration.input.RelationalInputGenerator;
 import de.metanome.algorithm_integration.input.TableInputGenerator;
 import de.metanome.algorithm_integration.result_receiver.*;
 import de.metanome.algorithm_integration.results.Result;
 import de.metanome.backend.input.database.DefaultDatabaseConnectionGenerator;
 import de.metanome.backend.input.database.DefaultTableInputGenerator;
+import de.metanome.backend.algorithm_execution.FlightRecording;
 import de.metanome.backend.input.file.DefaultFileInputGenerator;
 import de.metanome.backend.result_receiver.ResultCache;
 import de.metanome.backend.result_receiver.ResultPrinter;
+import de.metanome.backend.result_receiver.ResultReceiver;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -41,6 +44,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
@@ -70,7 +74,9 @@ public class App {
     final JCommander jCommander = new JCommander(parameters);
     try {
       jCommander.parse(args);
-    } catch (ParameterException e) {
+      // Invalid sampling values are reported like unparsable arguments
+      createSampling(parameters);
+    } catch (ParameterException | IllegalArgumentException e) {
       LOG.error("Could not parse command line args: {}", e.getMessage());
       StringBuilder sb = new StringBuilder();
       jCommander.usage(sb);
@@ -85,12 +91,15 @@ public class App {
     LOG.info("* in:            {}", parameters.inputDatasets);
     LOG.info("* out:           {}", parameters.output);
     LOG.info("* configuration: {}", parameters.algorithmConfigurationValues);
+    InputSampling sampling = createSampling(parameters);
+    LOG.info("* sample:        {}", sampling == null ? "none" : sampling);
 
     LOG.info("Initializing algorithm.");
     OmniscientResultReceiver resultReceiver = createResultReceiver(parameters);
     Algorithm algorithm = configureAlgorithm(parameters, resultReceiver);
 
     TempFileGenerator tempFileGenerator = setUpTempFileGenerator(parameters, algorithm);
+    FlightRecording recording = startFlightRecording(parameters, resultReceiver);
 
     final long startTimeMillis = System.currentTimeMillis();
     LOG.debug("Execution started at {}", DATE_FORMAT.format(new Date(startTimeMillis)));
@@ -105,6 +114,13 @@ public class App {
       if (tempFileGenerator != null) {
         tempFileGenerator.cleanUp();
       }
+      if (recording != null) {
+        try {
+          LOG.info("Flight recording: {}", recording.stop());
+        } catch (IOException e) {
+          LOG.error("Storing the flight recording failed.", e);
+        }
+      }
 
       long endTimeMillis = System.currentTimeMillis();
       elapsedMillis = endTimeMillis - startTimeMillis;
@@ -118,8 +134,9 @@ public class App {
       case "print":
         resultCache = (ResultCache) resultReceiver;
         LOG.info("Results:");
-        for (Result result : resultCache.fetchNewResults()) {
-          LOG.info(result.toString());
+        Iterator<Result> results = resultCache.iterateNewResults();
+        while (results.hasNext()) {
+          LOG.info(results.next().toString());
         }
         break;
       default:
@@ -141,6 +158,37 @@ public class App {
     System.exit(isExecutionSuccess ? 0 : 23);
   }
 
+  private static FlightRecording startFlightRecording(Parameters parameters,
+      OmniscientResultReceiver resultReceiver) {
+    if (parameters.flightRecordingProfile == null) {
+      return null;
+    }
+    File file;
+    if (resultReceiver instanceof ResultReceiver) {
+      file = new File(((ResultReceiver) resultReceiver).getOutputFilePathPrefix()
+          + FlightRecording.FILE_ENDING);
+    } else {
+      // Without result files, the run is identified by its start time and process
+      Calendar calendar = GregorianCalendar.getInstance();
+      file = new File(ResultReceiver.RESULT_DIR, String.format(
+          "metanome-cli_%04d-%02d-%02d_%02d-%02d-%02d_%d%s",
+          calendar.get(Calendar.YEAR),
+          calendar.get(Calendar.MONTH) + 1,
+          calendar.get(Calendar.DATE),
+          calendar.get(Calendar.HOUR_OF_DAY),
+          calendar.get(Calendar.MINUTE),
+          calendar.get(Calendar.SECOND),
+          ProcessHandle.current().pid(),
+          FlightRecording.FILE_ENDING));
+    }
+    try {
+      return FlightRecording.start(parameters.flightRecordingProfile, file);
+    } catch (IOException e) {
+      LOG.error("Could not start the flight recording.", e);
+      return null;
+    }
+  }
+
   private static OmniscientResultReceiver createResultReceiver(Parameters parameters) {
     String executionId;
     if (parameters.output.equalsIgnoreCase("none")) {
@@ -403,6 +451,7 @@ public class App {
         parameters.inputFileSkipDifferingLines,
         parameters.inputFileNullString
     );
+    setting.setSampling(createSampling(parameters));
     RelationalInputGenerator generator;
     if (path.startsWith("hdfs://")) {
       generator = new HdfsInputGenerator(setting);
@@ -470,7 +519,8 @@ public class App {
         return Files.lines(Paths.get(parameter.substring("load:".length())))
             .map(table -> {
               try {
-                return createTableInputGenerator(databaseSettings, table);
+                return createTableInputGenerator(databaseSettings, table,
+                    createSampling(parameters));
               } catch (AlgorithmConfigurationException e) {
                 throw new RuntimeException("Could not create input generator.", e);
               }
@@ -487,17 +537,29 @@ public class App {
       }
     } else {
       return Collections.singleton(
-          createTableInputGenerator(databaseSettings, parameter)
+          createTableInputGenerator(databaseSettings, parameter, createSampling(parameters))
       );
     }
   }
 
   private static DefaultTableInputGenerator createTableInputGenerator(
-      ConfigurationSettingDatabaseConnection configurationSettingDatabaseConnection, String table)
+      ConfigurationSettingDatabaseConnection configurationSettingDatabaseConnection, String table,
+      InputSampling sampling)
       throws AlgorithmConfigurationException {
     return new DefaultTableInputGenerator(new ConfigurationSettingTableInput(
         table, configurationSettingDatabaseConnection
-    ));
+    )).setSampling(sampling);
+  }
+
+  /**
+   * Create the {@link InputSampling} of all inputs.
+   *
+   * @param parameters defines the sample strategy, size, fraction and seed
+   * @return the sampling or null if all rows should be read
+   */
+  private static InputSampling createSampling(Parameters parameters) {
+    return InputSampling.fromValues(parameters.sampleStrategy, parameters.sampleSize,
+        parameters.sampleFraction, parameters.sampleSeed);
   }
 
   private static DefaultDatabaseConnectionGenerator createDatabaseConnectionGenerator(
@@ -693,6 +755,18 @@ public class App {
     @Parameter(names = "--null", description = "representation of NULLs")
     public String inputFileNullString = "";
 
+    @Parameter(names = "--sample", description = "only profile a sample of the rows (first_n/bernoulli/reservoir/block)")
+    public String sampleStrategy = null;
+
+    @Parameter(names = "--sample-size", description = "number of sampled rows (required for first_n and reservoir)")
+    public Long sampleSize = null;
+
+    @Parameter(names = "--sample-fraction", description = "probability with which a row or block is sampled")
+    public Double sampleFraction = null;
+
+    @Parameter(names = "--sample-seed", description = "seed of the random sample")
+    public Long sampleSeed = 0L;
+
     @Parameter(names = "--temp", description = "directory for temporary files")
     public String tempFileDirectory;
 
@@ -705,5 +779,8 @@ public class App {
     @Parameter(names = {"-o",
         "--output"}, description = "how to output results (none/print/file[:run-ID])")
     public String output = "file";
+
+    @Parameter(names = "--jfr", description = "record the execution with JDK Flight Recorder using the given settings (default/profile); the recording is stored next to the results")
+    public String flightRecordingProfile = null;
   }
 }
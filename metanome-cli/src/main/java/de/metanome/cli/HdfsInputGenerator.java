@@ -4,6 +4,7 @@ import de.metanome.algorithm_integration.AlgorithmConfigurationException;
 import de.metanome.algorithm_integration.configuration.ConfigurationSettingFileInput;
 import de.metanome.algorithm_integration.input.InputGenerationException;
 import de.metanome.algorithm_integration.input.InputIterationException;
+import de.metanome.algorithm_integration.input.InputSampling;
 import de.metanome.algorithm_integration.input.RelationalInput;
 import de.metanome.algorithm_integration.input.RelationalInputGenerator;
 import de.metanome.backend.input.file.FileIterator;
@@ -20,6 +21,7 @@ import java.net.URISyntaxException;
 
 /**
  * This {@link RelationalInputGenerator} allows to read CSV files from HDFS in Metanome algorithms.
+ * A sampling of the settings is applied to every copy while the file is read.
  */
 public class HdfsInputGenerator implements RelationalInputGenerator {
 
@@ -39,6 +41,13 @@ public class HdfsInputGenerator implements RelationalInputGenerator {
         // Get a name for the relation.
         String relationName = getFileName(hfdsUrl);
 
+        InputSampling sampling;
+        try {
+            sampling = this.settings.getSampling();
+        } catch (IllegalArgumentException e) {
+            throw new InputGenerationException("The sampling of the HDFS input is invalid", e);
+        }
+
         try {
             // Create a HDFS reader.
             Configuration conf = new Configuration();
@@ -47,7 +56,8 @@ public class HdfsInputGenerator implements RelationalInputGenerator {
             BufferedReader reader = new BufferedReader(new InputStreamReader(fs.open(new Path(hfdsUrl))));
 
             // Create the input.
-            return new FileIterator(relationName, reader, this.settings);
+            RelationalInput input = new FileIterator(relationName, reader, this.settings);
+            return sampling == null ? input : sampling.sample(input);
         } catch (IOException | URISyntaxException | InputIterationException e) {
             throw new InputGenerationException("Could not access HDFS.", e);
         }